@@ -23,6 +23,9 @@ public Datas datas;
 
 // the model
 public Model mModel;
+
+// when not null, the items parsed are also recorded, to be replayed on other models
+public List<FItem> items;
 }
 
 
@@ -223,6 +226,12 @@ param_decl
 	{
     // Parameter(Datas datas, Declaration type, String identifier, Expression expression)
     FParameter.make_parameter(datas, $pt.decl, $IDENTIFIER.text, $e.exp);
+    if (items != null) {
+        // parameters are constant, their values are shared between models
+        String id = $IDENTIFIER.text;
+        Object value = datas.get(id);
+        items.add((m, d) -> d.register(id, value));
+    }
     }
 	;
 
@@ -232,6 +241,13 @@ var_decl
 	vt=var_type CL IDENTIFIER anns=annotations (eq=EQ e=expr)? SC
 	{
 	FVariable.make_variable(datas, $vt.decl, $IDENTIFIER.text, $anns.anns, $eq!=null?$e.exp:null, mModel);
+    if (items != null) {
+        Declaration type = $vt.decl;
+        String id = $IDENTIFIER.text;
+        List<EAnnotation> anns = $anns.anns;
+        Expression e = $eq!=null?$e.exp:null;
+        items.add((m, d) -> FVariable.make_variable(d, type, id, Expression.rebind(anns, d), e == null ? null : e.rebind(d), m));
+    }
     }
 	;
 
@@ -246,6 +262,13 @@ constraint
     String name = $IDENTIFIER.text;
     datas.incCstrCounter(name);
     FConstraint.valueOf(name).build(mModel, datas, name, exps, $anns.anns);
+    if (items != null) {
+        List<EAnnotation> anns = $anns.anns;
+        items.add((m, d) -> {
+            d.incCstrCounter(name);
+            FConstraint.valueOf(name).build(m, d, name, Expression.rebind(exps, d), Expression.rebind(anns, d));
+        });
+    }
     }
 	;
 
@@ -253,6 +276,12 @@ solve_goal
 	:   SOLVE anns=annotations res=resolution SC
 	{
     FGoal.define_goal(mModel, $anns.anns,$res.rtype,$res.exp);
+    if (items != null) {
+        List<EAnnotation> anns = $anns.anns;
+        ResolutionPolicy rtype = $res.rtype;
+        Expression e = $res.exp;
+        items.add((m, d) -> FGoal.define_goal(m, Expression.rebind(anns, d), rtype, e == null ? null : e.rebind(d)));
+    }
     }
 	;
 
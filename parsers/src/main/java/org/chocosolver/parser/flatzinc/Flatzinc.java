@@ -14,10 +14,12 @@ import org.antlr.v4.runtime.atn.PredictionMode;
 import org.chocosolver.parser.Level;
 import org.chocosolver.parser.RegParser;
 import org.chocosolver.parser.flatzinc.ast.Datas;
+import org.chocosolver.parser.flatzinc.ast.FItem;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.ResolutionPolicy;
 import org.chocosolver.solver.Settings;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.extension.Tuples;
 import org.chocosolver.solver.search.strategy.BlackBoxConfigurator;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.search.strategy.SearchParams;
@@ -131,11 +133,13 @@ public class Flatzinc extends RegParser {
         super.createSolver();
         datas = new Datas[nb_cores];
         String iname = instance == null ? "" : Paths.get(instance).getFileName().toString();
+        // the models share the tuples of their tables, and so the immutable data of the propagators
+        Map<int[], Tuples> tuples = new IdentityHashMap<>();
         for (int i = 0; i < nb_cores; i++) {
             Model threadModel = new Model(iname + "_" + (i + 1), defaultSettings);
             threadModel.getSolver().logWithANSI(ansi);
             portfolio.addModel(threadModel);
-            datas[i] = new Datas(threadModel, level, oss);
+            datas[i] = new Datas(threadModel, level, oss, tuples);
             threadModel.addHook("CUMULATIVE", "GLB");
         }
     }
@@ -143,14 +147,22 @@ public class Flatzinc extends RegParser {
     @Override
     public void buildModel() {
         List<Model> models = portfolio.getModels();
+        // the instance is parsed once, then the items parsed are replayed on the other models
+        List<FItem> items = models.size() > 1 ? new ArrayList<>() : null;
         for (int i = 0; i < models.size(); i++) {
             Model m = models.get(i);
             Solver s = m.getSolver();
             try {
                 long ptime = -System.currentTimeMillis();
-                FileInputStream fileInputStream = new FileInputStream(instance);
-                parse(m, datas[i], fileInputStream);
-                fileInputStream.close();
+                if (i == 0) {
+                    FileInputStream fileInputStream = new FileInputStream(instance);
+                    parse(m, datas[i], fileInputStream, items);
+                    fileInputStream.close();
+                } else {
+                    for (FItem item : items) {
+                        item.build(m, datas[i]);
+                    }
+                }
                 if(logFilePath != null) {
                     s.log().remove(System.out);
                     s.log().add(new PrintStream(Files.newOutputStream(Paths.get(logFilePath)), true));
@@ -187,6 +199,19 @@ public class Flatzinc extends RegParser {
     }
 
     public void parse(Model target, Datas data, InputStream is) {
+        parse(target, data, is, null);
+    }
+
+    /**
+     * Parse the instance read from <i>is</i> and populate <i>target</i>.
+     *
+     * @param target the model to populate
+     * @param data   the data of <i>target</i>
+     * @param is     the instance
+     * @param items  when not null, the items parsed are added to this list, in order,
+     *               so that they can be replayed on other models (see {@link FItem#build(Model, Datas)})
+     */
+    public void parse(Model target, Datas data, InputStream is, List<FItem> items) {
         CharStream input = new UnbufferedCharStream(is);
         Flatzinc4Lexer lexer = new Flatzinc4Lexer(input);
         lexer.setTokenFactory(new CommonTokenFactory(true));
@@ -195,6 +220,7 @@ public class Flatzinc extends RegParser {
         parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
         parser.setBuildParseTree(false);
         parser.setTrimParseTree(false);
+        parser.items = items;
         //parser.setProfile(true);
         parser.flatzinc_model(target, data);
         /*ParseInfo parseInfo = parser.getParseInfo();
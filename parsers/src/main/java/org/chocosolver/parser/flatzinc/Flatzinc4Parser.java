@@ -131,6 +131,9 @@ public class Flatzinc4Parser extends Parser {
 	// the model
 	public Model mModel;
 
+	// when not null, the items parsed are also recorded, to be replayed on other models
+	public List<FItem> items;
+
 	public Flatzinc4Parser(TokenStream input) {
 		super(input);
 		_interp = new ParserATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
@@ -1180,6 +1183,12 @@ public class Flatzinc4Parser extends Parser {
 
 			    // Parameter(Datas datas, Declaration type, String identifier, Expression expression)
 			    FParameter.make_parameter(datas, ((Param_declContext)_localctx).pt.decl, (((Param_declContext)_localctx).IDENTIFIER!=null?((Param_declContext)_localctx).IDENTIFIER.getText():null), ((Param_declContext)_localctx).e.exp);
+			    if (items != null) {
+			        // parameters are constant, their values are shared between models
+			        String id = (((Param_declContext)_localctx).IDENTIFIER!=null?((Param_declContext)_localctx).IDENTIFIER.getText():null);
+			        Object value = datas.get(id);
+			        items.add((m, d) -> d.register(id, value));
+			    }
 			    
 			}
 		}
@@ -1250,6 +1259,13 @@ public class Flatzinc4Parser extends Parser {
 			match(SC);
 
 				FVariable.make_variable(datas, ((Var_declContext)_localctx).vt.decl, (((Var_declContext)_localctx).IDENTIFIER!=null?((Var_declContext)_localctx).IDENTIFIER.getText():null), ((Var_declContext)_localctx).anns.anns, ((Var_declContext)_localctx).eq!=null?((Var_declContext)_localctx).e.exp:null, mModel);
+			    if (items != null) {
+			        Declaration type = ((Var_declContext)_localctx).vt.decl;
+			        String id = (((Var_declContext)_localctx).IDENTIFIER!=null?((Var_declContext)_localctx).IDENTIFIER.getText():null);
+			        List<EAnnotation> anns = ((Var_declContext)_localctx).anns.anns;
+			        Expression e = ((Var_declContext)_localctx).eq!=null?((Var_declContext)_localctx).e.exp:null;
+			        items.add((m, d) -> FVariable.make_variable(d, type, id, Expression.rebind(anns, d), e == null ? null : e.rebind(d), m));
+			    }
 			    
 			}
 		}
@@ -1339,6 +1355,13 @@ public class Flatzinc4Parser extends Parser {
 			    String name = (((ConstraintContext)_localctx).IDENTIFIER!=null?((ConstraintContext)_localctx).IDENTIFIER.getText():null);
 			    datas.incCstrCounter(name);
 			    FConstraint.valueOf(name).build(mModel, datas, name, exps, ((ConstraintContext)_localctx).anns.anns);
+			    if (items != null) {
+			        List<EAnnotation> anns = ((ConstraintContext)_localctx).anns.anns;
+			        items.add((m, d) -> {
+			            d.incCstrCounter(name);
+			            FConstraint.valueOf(name).build(m, d, name, Expression.rebind(exps, d), Expression.rebind(anns, d));
+			        });
+			    }
 			    
 			}
 		}
@@ -1386,6 +1409,12 @@ public class Flatzinc4Parser extends Parser {
 			match(SC);
 
 			    FGoal.define_goal(mModel, ((Solve_goalContext)_localctx).anns.anns,((Solve_goalContext)_localctx).res.rtype,((Solve_goalContext)_localctx).res.exp);
+			    if (items != null) {
+			        List<EAnnotation> anns = ((Solve_goalContext)_localctx).anns.anns;
+			        ResolutionPolicy rtype = ((Solve_goalContext)_localctx).res.rtype;
+			        Expression e = ((Solve_goalContext)_localctx).res.exp;
+			        items.add((m, d) -> FGoal.define_goal(m, Expression.rebind(anns, d), rtype, e == null ? null : e.rebind(d)));
+			    }
 			    
 			}
 		}
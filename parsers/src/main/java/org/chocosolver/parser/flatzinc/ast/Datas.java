@@ -22,6 +22,7 @@ import org.chocosolver.solver.Model;
 import org.chocosolver.solver.ResolutionPolicy;
 import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.extension.Tuples;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.SetVar;
@@ -49,6 +50,10 @@ public class Datas {
     private final List<Declaration.DType> output_arrays_types;
     private final List<Variable[]> output_arrays_vars;
     private final HashMap<String, Integer> cstrCounter;
+    /**
+     * Tuples built by parameter array, shared by the models built from the same instance
+     */
+    private final Map<int[], Tuples> tuples;
 
     private Level level = Level.COMPET;
     private boolean oss = false;
@@ -63,6 +68,11 @@ public class Datas {
     //***********************************************************************************
 
     public Datas() {
+        this(new IdentityHashMap<>());
+    }
+
+    private Datas(Map<int[], Tuples> tuples) {
+        this.tuples = tuples;
         this.map = new THashMap<>();
         output_vars = new ArrayList<>();
         output_names = new ArrayList<>();
@@ -74,7 +84,22 @@ public class Datas {
     }
 
     public Datas(Model model, Level theLevel, boolean oss) {
-        this();
+        this(model, theLevel, oss, new IdentityHashMap<>());
+    }
+
+    /**
+     * Create the data of <i>model</i>.
+     * When the data of models built from the same instance share <i>tuples</i>,
+     * the tables of these models are built on the same {@link Tuples} objects,
+     * and so, the propagators share their immutable data (see {@link Tuples#getShared}).
+     *
+     * @param model    the model
+     * @param theLevel the level of verbosity
+     * @param oss      set to true to print solutions in OSS format
+     * @param tuples   tuples built by parameter array, to share between data
+     */
+    public Datas(Model model, Level theLevel, boolean oss, Map<int[], Tuples> tuples) {
+        this(tuples);
         this.level = theLevel;
         this.model = model;
         this.oss = oss;
@@ -88,6 +113,27 @@ public class Datas {
         map.put(name, o);
     }
 
+    /**
+     * Return the tuples made of <i>values</i>, read <i>arity</i> by <i>arity</i>.
+     * The tuples are built once per array of values,
+     * that is, once per parameter as parameters are shared between replays (see {@link FItem}).
+     *
+     * @param values values of the tuples, flattened
+     * @param arity  arity of the tuples
+     * @return the tuples
+     */
+    public Tuples tuples(int[] values, int arity) {
+        Tuples t = tuples.get(values);
+        if (t == null || t.nbTuples() > 0 && t.get(0).length != arity) {
+            t = new Tuples(true);
+            for (int i = 0; i < values.length; i += arity) {
+                t.add(Arrays.copyOfRange(values, i, i + arity));
+            }
+            tuples.put(values, t);
+        }
+        return t;
+    }
+
     public Object get(String id) {
         return map.get(id);
     }
@@ -1676,10 +1676,16 @@ public enum FConstraint {
             IntVar[] x = exps.get(0).toIntVarArray(model);
             int[] f_t = exps.get(1).toIntArray();
             int d2 = x.length;
-            int[][] t = matrixfy(f_t, d2);
-            Tuples tuples = new Tuples(true);
-            for (int[] couple : t) {
-                tuples.add(couple);
+            Tuples tuples;
+            if (exps.get(1).getTypeOf() == Expression.EType.IDE) {
+                // the tables posted on the same parameter share their tuples
+                tuples = datas.tuples(f_t, d2);
+            } else {
+                int[][] t = matrixfy(f_t, d2);
+                tuples = new Tuples(true);
+                for (int[] couple : t) {
+                    tuples.add(couple);
+                }
             }
             if (x.length == 2) {
                 model.table(x[0], x[1], tuples).post();
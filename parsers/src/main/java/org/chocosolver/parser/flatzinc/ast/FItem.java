@@ -0,0 +1,33 @@
+/*
+ * This file is part of choco-parsers, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.parser.flatzinc.ast;
+
+import org.chocosolver.solver.Model;
+
+/**
+ * An item of a FlatZinc instance, that is, a parameter, a variable, a constraint or the goal, as parsed.
+ * <p>
+ * Replaying, in order, the items of an instance on a model builds this model without parsing the instance again.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+@FunctionalInterface
+public interface FItem {
+
+    /**
+     * Add this item to <i>model</i>.
+     *
+     * @param model the model to populate
+     * @param datas the data of <i>model</i>
+     */
+    void build(Model model, Datas datas);
+}
@@ -9,6 +9,7 @@
  */
 package org.chocosolver.parser.flatzinc.ast.expression;
 
+import org.chocosolver.parser.flatzinc.ast.Datas;
 
 import java.util.List;
 
@@ -31,6 +32,11 @@ public final class EAnnotation extends Expression {
         this.exps = exps;
     }
 
+    @Override
+    public EAnnotation rebind(Datas datas) {
+        return new EAnnotation(id.rebind(datas), rebind(exps, datas));
+    }
+
     @Override
     public String toString() {
         StringBuilder st = new StringBuilder(id.value);
@@ -9,6 +9,7 @@
  */
 package org.chocosolver.parser.flatzinc.ast.expression;
 
+import org.chocosolver.parser.flatzinc.ast.Datas;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
@@ -43,6 +44,14 @@ public final class EArray extends Expression {
         return what.get(i);
     }
 
+    @Override
+    public Expression rebind(Datas datas) {
+        if (what.isEmpty()) {
+            return this;
+        }
+        return new EArray(rebind(what, datas));
+    }
+
     @Override
     public String toString() {
         StringBuilder st = new StringBuilder("[");
@@ -11,12 +11,16 @@ package org.chocosolver.parser.flatzinc.ast.expression;
 
 
 import org.chocosolver.parser.Exit;
+import org.chocosolver.parser.flatzinc.ast.Datas;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.SetVar;
 import org.chocosolver.solver.variables.Variable;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /*
  * User : CPRUDHOM
  * Mail : cprudhom(a)emn.fr
@@ -48,6 +52,38 @@ public abstract class Expression {
         return typeOf;
     }
 
+    /**
+     * Get the same {@link Expression}, with its identifiers resolved in <i>datas</i>.
+     * This is used to replay a parsed instance on another model.
+     *
+     * @param datas the data of the model to replay the expression on
+     * @return this, when the expression does not contain any identifier, a new {@link Expression} otherwise
+     */
+    public Expression rebind(Datas datas) {
+        return this;
+    }
+
+    /**
+     * Rebind each expression of <i>expressions</i> in <i>datas</i>.
+     *
+     * @param expressions a list of expressions, may be null
+     * @param datas       the data of the model to replay the expressions on
+     * @param <E>         type of the expressions
+     * @return a new list of expressions, or null if <i>expressions</i> is null
+     * @see #rebind(Datas)
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Expression> List<E> rebind(List<E> expressions, Datas datas) {
+        if (expressions == null) {
+            return null;
+        }
+        List<E> rebound = new ArrayList<>(expressions.size());
+        for (E e : expressions) {
+            rebound.add((E) e.rebind(datas));
+        }
+        return rebound;
+    }
+
     /**
      * Get the int value of the {@link Expression}
      *
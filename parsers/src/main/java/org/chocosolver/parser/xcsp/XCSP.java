@@ -14,19 +14,23 @@ import org.chocosolver.parser.RegParser;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.ResolutionPolicy;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.extension.Tuples;
 import org.chocosolver.solver.search.strategy.BlackBoxConfigurator;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.search.strategy.SearchParams;
 import org.chocosolver.util.logger.Logger;
 import org.kohsuke.args4j.Option;
+import org.xcsp.parser.XParser;
 import org.xcsp.parser.callbacks.SolutionChecker;
 
 import java.io.ByteArrayInputStream;
 import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * Created by cprudhom on 01/09/15.
@@ -74,23 +78,30 @@ public class XCSP extends RegParser {
         }
         String iname = Paths.get(instance).getFileName().toString();
         parsers = new XCSPParser[nb_cores];
+        // the models share the tuples of their tables, and so the immutable data of the propagators
+        Map<Object, Tuples> tuples = new IdentityHashMap<>();
         for (int i = 0; i < nb_cores; i++) {
             Model threadModel = new Model(iname + "_" + (i + 1), defaultSettings);
             threadModel.getSolver().logWithANSI(ansi);
             portfolio.addModel(threadModel);
-            parsers[i] = new XCSPParser();
+            parsers[i] = new XCSPParser(tuples);
         }
     }
 
     @Override
     public void buildModel() {
         List<Model> models = portfolio.getModels();
+        // the instance is parsed once, then loaded in each model
+        XParser parsed = null;
         for (int i = 0; i < models.size(); i++) {
             Model m = models.get(i);
             Solver s = m.getSolver();
             try {
                 long ptime = -System.currentTimeMillis();
-                parse(m, parsers[i]);
+                if (parsed == null) {
+                    parsed = parsers[i].parse(instance);
+                }
+                parse(m, parsers[i], parsed);
                 if (logFilePath != null) {
                     s.log().remove(System.out);
                     s.log().add(new PrintStream(Files.newOutputStream(Paths.get(logFilePath)), true));
@@ -137,6 +148,19 @@ public class XCSP extends RegParser {
         freesearch(target.getSolver());
     }
 
+    /**
+     * Feed <i>target</i> with an instance already parsed by {@link XCSPParser#parse(String)}.
+     *
+     * @param target the model to feed
+     * @param parser the parser attached to <i>target</i>
+     * @param parsed the parsed instance
+     */
+    public void parse(Model target, XCSPParser parser, XParser parsed) {
+        parser.model(target, parsed);
+        // and define a search strategy
+        freesearch(target.getSolver());
+    }
+
 
     @Override
     public void freesearch(Solver solver) {
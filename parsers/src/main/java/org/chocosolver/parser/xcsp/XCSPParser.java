@@ -39,12 +39,14 @@ import org.xcsp.common.Types;
 import org.xcsp.common.predicates.XNode;
 import org.xcsp.common.predicates.XNodeParent;
 import org.xcsp.common.structures.Transition;
+import org.xcsp.parser.XParser;
 import org.xcsp.parser.callbacks.XCallbacks2;
 import org.xcsp.parser.entries.XConstraints;
 import org.xcsp.parser.entries.XVariables;
 
 import java.io.File;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -83,20 +85,78 @@ public class XCSPParser implements XCallbacks2 {
     Model model;
 
     Implem implem;
+    /**
+     * Tuples built by source array, shared by the parsers that load the same parsed instance
+     */
+    private final Map<Object, Tuples> tuples;
+
+    public XCSPParser() {
+        this(new IdentityHashMap<>());
+    }
+
+    /**
+     * Create a parser that reuses the tuples in <i>tuples</i>.
+     * When parsers that load the same parsed instance (see {@link #model(Model, XParser)}) share the map,
+     * the tables of their models are built on the same {@link Tuples} objects,
+     * and so, the propagators share their immutable data (see {@link Tuples#getShared}).
+     *
+     * @param tuples tuples built by source array, to share between parsers
+     */
+    public XCSPParser(Map<Object, Tuples> tuples) {
+        this.tuples = tuples;
+    }
 
     public void model(Model model, String instance) throws Exception {
+        model(model, parse(instance));
+    }
+
+    /**
+     * Parse <i>instance</i> once.
+     * The parsed instance can then be loaded in as many models as needed with {@link #model(Model, XParser)}.
+     *
+     * @param instance path to the instance file
+     * @return the parsed instance
+     * @throws Exception if the instance cannot be parsed
+     */
+    public XParser parse(String instance) throws Exception {
+        File file = new File(instance);
+        if (file.exists()) {
+            return new XParser(loadDocument(instance));
+        } else {
+            throw new RuntimeException("FILE DOES NOT EXIST");
+        }
+    }
+
+    /**
+     * Feed <i>model</i> with an instance already parsed.
+     * This follows the same sequence of callbacks as {@link #loadInstance(org.w3c.dom.Document, String...)},
+     * except that the document is not parsed again.
+     *
+     * @param model  the model to feed
+     * @param parser the parsed instance, as returned by {@link #parse(String)}
+     */
+    public void model(Model model, XParser parser) {
         this.model = model;
         this.mvars = new HashMap<>();
         this.symbolics = new HashSet<>();
         this.symbolToInt = new TObjectIntHashMap<>();
         this.intToSymbol = new TIntObjectHashMap<>();
         this.implem = new Implem(this);
-        File file = new File(instance);
-        if (file.exists()) {
-            loadInstance(instance);
-        } else {
-            throw new RuntimeException("FILE DOES NOT EXIST");
-        }
+        implem.resetStructures();
+        beginInstance(parser.typeFramework);
+        beginVariables(parser.vEntries);
+        loadVariables(parser);
+        endVariables();
+        beginConstraints(parser.cEntries);
+        loadConstraints(parser);
+        endConstraints();
+        beginObjectives(parser.oEntries, parser.typeCombination);
+        loadObjectives(parser);
+        endObjectives();
+        beginAnnotations(parser.aEntries);
+        loadAnnotations(parser);
+        endAnnotations();
+        endInstance();
     }
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -412,16 +472,14 @@ public class XCSPParser implements XCallbacks2 {
         if (flags.contains(Types.TypeFlag.UNCLEAN_TUPLES)) {
             // do you have to clean the tuples, so as to remove those that cannot be built from variable domains ?
         }
-        Tuples mTuples = new Tuples(Arrays.stream(tuples)
-                .map(t -> Arrays.stream(t).mapToInt(e -> symbolToInt.get(e)).toArray())
-                .toArray(int[][]::new), positive);
-        if (flags.contains(Types.TypeFlag.STARRED_TUPLES)) {
-            if (!positive) {
-                // can you manage tables with symbol * ?
-                throw new ParserException("Negative tables with symbol * are not supported");
-            }
-            mTuples.setUniversalValue(STAR_INT);
+        boolean starred = flags.contains(Types.TypeFlag.STARRED_TUPLES);
+        if (starred && !positive) {
+            // can you manage tables with symbol * ?
+            throw new ParserException("Negative tables with symbol * are not supported");
         }
+        Tuples mTuples = tuples(tuples, () -> Arrays.stream(tuples)
+                .map(t -> Arrays.stream(t).mapToInt(e -> symbolToInt.get(e)).toArray())
+                .toArray(int[][]::new), positive, starred);
         model.table(vars(list), mTuples).post();
     }
 
@@ -431,17 +489,36 @@ public class XCSPParser implements XCallbacks2 {
         if (flags.contains(Types.TypeFlag.UNCLEAN_TUPLES)) {
             // do you have to clean the tuples, so as to remove those that cannot be built from variable domains ?
         }
-        Tuples mTuples = new Tuples(tuples, positive);
-        if (flags.contains(Types.TypeFlag.STARRED_TUPLES)) {
-            if (!positive) {
-                // can you manage tables with symbol * ?
-                throw new ParserException("Negative tables with symbol * are not supported");
-            }
-            mTuples.setUniversalValue(STAR_INT);
+        boolean starred = flags.contains(Types.TypeFlag.STARRED_TUPLES);
+        if (starred && !positive) {
+            // can you manage tables with symbol * ?
+            throw new ParserException("Negative tables with symbol * are not supported");
         }
+        Tuples mTuples = tuples(tuples, () -> tuples, positive, starred);
         model.table(vars(list), mTuples).post();
     }
 
+    /**
+     * Return the tuples built from <i>source</i>, and build them from <i>values</i> if needed.
+     *
+     * @param source   the tuples, as given by the XCSP parser
+     * @param values   the tuples, as int arrays
+     * @param positive whether the tuples are allowed or forbidden
+     * @param starred  whether the tuples contain the universal value
+     * @return the tuples
+     */
+    private Tuples tuples(Object source, Supplier<int[][]> values, boolean positive, boolean starred) {
+        Tuples mTuples = tuples.get(source);
+        if (mTuples == null || mTuples.isFeasible() != positive || mTuples.allowUniversalValue() != starred) {
+            mTuples = new Tuples(values.get(), positive);
+            if (starred) {
+                mTuples.setUniversalValue(STAR_INT);
+            }
+            tuples.put(source, mTuples);
+        }
+        return mTuples;
+    }
+
     @Override
     public void buildCtrExtension(String id, XVariables.XVarInteger x, int[] values, boolean positive, Set<Types.TypeFlag> flags) {
         if (flags.contains(Types.TypeFlag.STARRED_TUPLES)) {
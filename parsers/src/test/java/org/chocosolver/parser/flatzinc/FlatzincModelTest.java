@@ -9,12 +9,20 @@
  */
 package org.chocosolver.parser.flatzinc;
 
+import org.chocosolver.parser.Level;
+import org.chocosolver.parser.flatzinc.ast.Datas;
+import org.chocosolver.parser.flatzinc.ast.FItem;
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.extension.Tuples;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 /*
  * User : CPRUDHOM
@@ -400,4 +408,74 @@ public class FlatzincModelTest {
         }
         Assert.assertEquals(model.getSolver().getSolutionCount(), 0);
     }
+
+    @Test(groups = "1s")
+    public void testReplay() {
+        InputStream in = new ByteArrayInputStream((
+                "array [1..3] of int: C = [2,3,4];\n" +
+                        "var 1..5: x:: output_var;\n" +
+                        "var 1..5: y:: output_var;\n" +
+                        "array [1..3] of var 1..5: v:: output_array([1..3]);\n" +
+                        "constraint int_lin_le(C,v,20);\n" +
+                        "constraint int_ne(x,y);\n" +
+                        "constraint fzn_all_different_int(v) :: domain;\n" +
+                        "solve satisfy;" +
+                        "\n").getBytes());
+
+        Flatzinc fzn = new Flatzinc(true, false, 1);
+        fzn.createSettings();
+        fzn.createSolver();
+        List<FItem> items = new ArrayList<>();
+        fzn.parse(fzn.getModel(), fzn.datas[0], in, items);
+        Model model0 = fzn.getModel();
+
+        Model model1 = new Model();
+        Datas datas1 = new Datas(model1, Level.SILENT, false);
+        for (FItem item : items) {
+            item.build(model1, datas1);
+        }
+        Assert.assertEquals(model1.getNbVars(), model0.getNbVars());
+        Assert.assertEquals(model1.getNbCstrs(), model0.getNbCstrs());
+        Assert.assertEquals(datas1.allOutPutVars().length, fzn.datas[0].allOutPutVars().length);
+        while (model0.getSolver().solve()) ;
+        while (model1.getSolver().solve()) ;
+        Assert.assertTrue(model0.getSolver().getSolutionCount() > 0);
+        Assert.assertEquals(model1.getSolver().getSolutionCount(), model0.getSolver().getSolutionCount());
+    }
+
+    @Test(groups = "1s")
+    public void testReplayTable() {
+        InputStream in = new ByteArrayInputStream((
+                "array [1..6] of int: T = [1,2,2,3,3,1];\n" +
+                        "var 1..3: x:: output_var;\n" +
+                        "var 1..3: y:: output_var;\n" +
+                        "var 1..3: z:: output_var;\n" +
+                        "constraint choco_fzn_table([x,y],T);\n" +
+                        "constraint choco_fzn_table([y,z],T);\n" +
+                        "solve satisfy;" +
+                        "\n").getBytes());
+
+        Flatzinc fzn = new Flatzinc(true, false, 1);
+        fzn.createSettings();
+        Map<int[], Tuples> tuples = new IdentityHashMap<>();
+        List<FItem> items = new ArrayList<>();
+        Model model0 = new Model();
+        Datas datas0 = new Datas(model0, Level.SILENT, false, tuples);
+        fzn.parse(model0, datas0, in, items);
+
+        Model model1 = new Model();
+        Datas datas1 = new Datas(model1, Level.SILENT, false, tuples);
+        for (FItem item : items) {
+            item.build(model1, datas1);
+        }
+        // parameters and tuples are shared
+        int[] t = (int[]) datas0.get("T");
+        Assert.assertSame(datas1.get("T"), t);
+        Assert.assertSame(datas1.tuples(t, 2), datas0.tuples(t, 2));
+        Assert.assertEquals(tuples.size(), 1);
+        while (model0.getSolver().solve()) ;
+        while (model1.getSolver().solve()) ;
+        Assert.assertEquals(model0.getSolver().getSolutionCount(), 3);
+        Assert.assertEquals(model1.getSolver().getSolutionCount(), 3);
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * This file is part of choco-parsers, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.xscp;
+
+import org.chocosolver.parser.xcsp.XCSPParser;
+import org.chocosolver.solver.Model;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.xcsp.parser.XParser;
+
+import java.util.Objects;
+
+/**
+ * <p> Project: choco-parsers.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class ParserTest {
+
+    private static final String ROOT = "/xcsp/basics/";
+
+    @DataProvider()
+    public Object[][] instances() {
+        return new Object[][]{
+                {"AllInterval-005.xml.lzma"},
+                {"Allergy.xml.lzma"},
+                {"testExtension1.xml.lzma"},
+        };
+    }
+
+    @Test(groups = "1s", dataProvider = "instances")
+    public void testReplay(String name) throws Exception {
+        String file = Objects.requireNonNull(this.getClass().getResource(ROOT + name)).getFile();
+        Model model0 = new Model();
+        new XCSPParser().model(model0, file);
+
+        XCSPParser parser = new XCSPParser();
+        XParser parsed = parser.parse(file);
+        Model model1 = new Model();
+        parser.model(model1, parsed);
+        Model model2 = new Model();
+        new XCSPParser().model(model2, parsed);
+
+        for (Model model : new Model[]{model1, model2}) {
+            Assert.assertEquals(model.getNbVars(), model0.getNbVars());
+            Assert.assertEquals(model.getNbCstrs(), model0.getNbCstrs());
+        }
+        model0.getSolver().findAllSolutions();
+        model1.getSolver().findAllSolutions();
+        model2.getSolver().findAllSolutions();
+        Assert.assertEquals(model1.getSolver().getSolutionCount(), model0.getSolver().getSolutionCount());
+        Assert.assertEquals(model2.getSolver().getSolutionCount(), model0.getSolver().getSolutionCount());
+    }
+}
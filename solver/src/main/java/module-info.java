@@ -20,6 +20,9 @@ module org.chocosolver.solver {
     exports org.chocosolver.memory.trailing.trail;
     exports org.chocosolver.memory.trailing.trail.flatten;
     exports org.chocosolver.memory.trailing.trail.chunck;
+    exports org.chocosolver.memory.trailing.trail.paged;
+    exports org.chocosolver.memory.copying;
+    exports org.chocosolver.memory.offheap;
     exports org.chocosolver.memory.structure;
     
     exports org.chocosolver.sat;
@@ -171,6 +174,9 @@ module org.chocosolver.solver {
     opens org.chocosolver.solver.objective to sizeof;
     opens org.chocosolver.memory.trailing to sizeof;
     opens org.chocosolver.memory.trailing.trail.flatten to sizeof;
+    opens org.chocosolver.memory.trailing.trail.paged to sizeof;
+    opens org.chocosolver.memory.copying to sizeof;
+    opens org.chocosolver.memory.offheap to sizeof;
     opens org.chocosolver.solver.search.restart to sizeof;
     opens org.chocosolver.solver.propagation to sizeof;
     opens org.chocosolver.util to sizeof;
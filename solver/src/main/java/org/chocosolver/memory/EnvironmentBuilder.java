@@ -9,10 +9,16 @@
  */
 package org.chocosolver.memory;
 
+import org.chocosolver.memory.copying.EnvironmentCopying;
+import org.chocosolver.memory.offheap.EnvironmentOffHeap;
+import org.chocosolver.memory.offheap.OffHeapMemory;
 import org.chocosolver.memory.trailing.EnvironmentTrailing;
 import org.chocosolver.memory.trailing.trail.*;
 import org.chocosolver.memory.trailing.trail.chunck.*;
 import org.chocosolver.memory.trailing.trail.flatten.*;
+import org.chocosolver.memory.trailing.trail.paged.*;
+
+import java.nio.file.Path;
 
 /**
  * <p>
@@ -40,6 +46,26 @@ public class EnvironmentBuilder {
      */
     private double loadfactor = EnvironmentTrailing.LOADFACTOR;
 
+    /**
+     * The number of updates a page of a paged trail can store.
+     */
+    private int pagesize = PagedTrail.PAGE_SIZE;
+
+    /**
+     * When positive or null, integers, longs and booleans are restored by copy (see {@link EnvironmentCopying}).
+     */
+    private double copyratio = -1;
+
+    /**
+     * Set to <i>true</i> to keep trails and arena off heap (see {@link EnvironmentOffHeap}).
+     */
+    private boolean offheap;
+
+    /**
+     * When not null, off-heap memory is mapped from a scratch file created in this directory.
+     */
+    private Path scratch;
+
     /**
      * Trail to consider to manage doubles
      */
@@ -94,6 +120,17 @@ public class EnvironmentBuilder {
     }
 
 
+    /**
+     * The number of updates a page of a paged trail can store (see {@link #fromPages()}).
+     * It is rounded up to a power of 2.
+     * @param ps number of updates per page
+     * @return {@code this}
+     */
+    public EnvironmentBuilder setPageSize(int ps){
+        pagesize = ps;
+        return this;
+    }
+
     /**
      * Set the int trail.
      * @param t the trail to use
@@ -149,7 +186,14 @@ public class EnvironmentBuilder {
      * @return the resulting environment
      */
     public EnvironmentTrailing build(){
-        EnvironmentTrailing env = new EnvironmentTrailing();
+        EnvironmentTrailing env;
+        if (offheap) {
+            env = new EnvironmentOffHeap(scratch == null ? new OffHeapMemory() : new OffHeapMemory(scratch));
+        } else if (copyratio >= 0) {
+            env = new EnvironmentCopying(copyratio);
+        } else {
+            env = new EnvironmentTrailing();
+        }
         if (bt == null) {
             bt = new StoredBoolTrail(worldsize, worldnumber, loadfactor);
         }
@@ -203,4 +247,68 @@ public class EnvironmentBuilder {
         setTrail(new OperationTrail(worldsize, worldnumber, loadfactor));
         return this;
     }
-}
\ No newline at end of file
+
+    /**
+     * Build a paged environment.
+     * Stacks are split into fixed-size pages (see {@link #setPageSize(int)}),
+     * so that growing a trail never copies the updates already stored.
+     * @return {@code this}
+     */
+    public EnvironmentBuilder fromPages(){
+        setTrail(new PagedBoolTrail(pagesize, worldnumber, loadfactor));
+        setTrail(new PagedIntTrail(pagesize, worldnumber, loadfactor));
+        setTrail(new PagedDoubleTrail(pagesize, worldnumber, loadfactor));
+        setTrail(new PagedLongTrail(pagesize, worldnumber, loadfactor));
+        setTrail(new PagedOperationTrail(pagesize, worldnumber, loadfactor));
+        return this;
+    }
+
+    /**
+     * Build an environment that restores integers, longs and booleans by copy on each world.
+     * Other data are trailed.
+     * @return {@code this}
+     * @see EnvironmentCopying
+     */
+    public EnvironmentBuilder fromCopy(){
+        return fromCopy(0.);
+    }
+
+    /**
+     * Build an hybrid environment that restores integers, longs and booleans either by copy or by trailing.
+     * A world is copied when the average number of primitives modified in the last worlds
+     * is greater than or equal to <i>ratio</i> times the number of primitives.
+     * Other data are trailed.
+     * @param ratio a positive ratio, 0 always copies
+     * @return {@code this}
+     * @see EnvironmentCopying
+     */
+    public EnvironmentBuilder fromCopy(double ratio){
+        copyratio = ratio;
+        offheap = false;
+        return this;
+    }
+
+    /**
+     * Build an environment that keeps its trails and its arena in direct buffers, off heap.
+     * The environment should be closed once the model is not used anymore.
+     * @return {@code this}
+     * @see EnvironmentOffHeap
+     */
+    public EnvironmentBuilder fromOffHeap(){
+        offheap = true;
+        copyratio = -1;
+        return this;
+    }
+
+    /**
+     * Build an environment that keeps its trails and its arena off heap,
+     * in a scratch file mapped in memory and deleted when the environment is closed.
+     * @param directory the directory in which the scratch file is created
+     * @return {@code this}
+     * @see EnvironmentOffHeap
+     */
+    public EnvironmentBuilder fromOffHeap(Path directory){
+        scratch = directory;
+        return fromOffHeap();
+    }
+}
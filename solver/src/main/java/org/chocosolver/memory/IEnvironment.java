@@ -138,6 +138,16 @@ public interface IEnvironment  {
      */
     IStateIntVector makeIntVector(int size, int initialValue);
 
+    /**
+     * Factory pattern: new IStateLongArray objects are created by the environment.
+     * Unlike an array of {@link IStateLong}, the words are stored in contiguous primitive arrays.
+     *
+     * @param size         the number of words in the array
+     * @param initialValue the common initial value for all words
+     * @return a backtrackable array of longs
+     */
+    IStateLongArray makeLongArray(int size, long initialValue);
+
 
     /**
      * Factory pattern: new IStateDoubleVector objects are created by the environment
@@ -175,4 +185,11 @@ public interface IEnvironment  {
      * @return the timestamp
      */
     int getTimeStamp();
+
+    /**
+     * Release the resources held by this environment, if any, like off-heap memory.
+     * The environment cannot be used anymore.
+     */
+    default void close() {
+    }
 }
@@ -21,11 +21,6 @@ public abstract class IStateIntVector  {
      */
     public static final int MIN_CAPACITY = 8;
 
-    /**
-     * Contains the elements of the vector.
-     */
-    protected int[] elementData;
-
     /**
      * A backtrackable search with the size of the vector.
      */
@@ -38,31 +33,8 @@ public abstract class IStateIntVector  {
     protected final IEnvironment environment;
 
 
-    public IStateIntVector(IEnvironment env, int initialSize, int initialValue) {
-        int initialCapacity = MIN_CAPACITY;
-
-        if (initialCapacity < initialSize)
-            initialCapacity = initialSize;
-
+    protected IStateIntVector(IEnvironment env, int initialSize) {
         this.environment = env;
-        this.elementData = new int[initialCapacity];
-        for (int i = 0; i < initialSize; i++) {
-            this.elementData[i] = initialValue;
-        }
-        this.size = env.makeInt(initialSize);
-    }
-
-
-    public IStateIntVector(IEnvironment env, int[] entries) {
-        int initialCapacity = MIN_CAPACITY;
-        int initialSize = entries.length;
-
-        if (initialCapacity < initialSize)
-            initialCapacity = initialSize;
-
-        this.environment = env;
-        this.elementData = new int[initialCapacity];
-        System.arraycopy(entries, 0, this.elementData, 0, initialSize);
         this.size = env.makeInt(initialSize);
     }
 
@@ -83,10 +55,7 @@ public abstract class IStateIntVector  {
      * @param index index of the element
      * @return the value
      */
-    public int quickGet(int index) {
-        assert rangeCheck(index);
-        return elementData[index];
-    }
+    public abstract int quickGet(int index);
 
     /**
      * Assigns a new value <code>val</code> to the element <code>index</code> and returns
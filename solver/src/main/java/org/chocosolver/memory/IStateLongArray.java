@@ -0,0 +1,52 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory;
+
+/**
+ * An array of backtrackable longs.
+ * <p>
+ * Each word is restored on backtrack, with its own world stamp, so that a word is saved at most once per world.
+ * The length of the array is not restored on backtrack.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @see IEnvironment#makeLongArray(int, long)
+ * @since 4.10.18
+ */
+public interface IStateLongArray {
+
+    /**
+     * @return the number of words in the array
+     */
+    int length();
+
+    /**
+     * @param index index of a word
+     * @return the current value of the word at <i>index</i>
+     */
+    long get(int index);
+
+    /**
+     * Modify the value of the word at <i>index</i>, its former value is saved if needed.
+     *
+     * @param index index of a word
+     * @param value new value
+     */
+    void set(int index, long value);
+
+    /**
+     * Ensure that the array has at least <i>minLength</i> words, the new words get the initial value of the array.
+     *
+     * @param minLength the minimum length of the array
+     */
+    void ensureCapacity(int minLength);
+}
@@ -53,5 +53,20 @@ public interface IStorage  {
 
     void worldCommit(int worldIndex);
 
-}
+    /**
+     * @return the number of updates currently stored, for statistics only
+     * @see TrailMetrics
+     */
+    default int getSize() {
+        return 0;
+    }
 
+    /**
+     * @return the number of updates that can be stored without growing, for statistics only
+     * @see TrailMetrics
+     */
+    default int getCapacity() {
+        return 0;
+    }
+
+}
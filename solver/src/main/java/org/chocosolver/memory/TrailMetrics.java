@@ -0,0 +1,329 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * Opt-in statistics on the trails of an environment, to measure how much backtracking costs.
+ * <p>
+ * The size of each trail is sampled on {@link IEnvironment#worldPush()}, {@link IEnvironment#worldPop()}
+ * and {@link IEnvironment#worldCommit()}, so that nothing is recorded when a primitive is saved.
+ * The number of entries saved in a trail is thus deduced from the growth of its size between two samples,
+ * and its resizes are the changes of its capacity observed between two samples.
+ * The bytes held by a trail are estimated from its capacity and the size of an entry.
+ * </p>
+ * <p>
+ * Writes can also be attributed to the objects that did them, like propagators,
+ * by sampling the total size of the trails before and after they run (see {@link #size()}).
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @see org.chocosolver.memory.trailing.EnvironmentTrailing#enableMetrics()
+ * @since 4.10.18
+ */
+public class TrailMetrics {
+
+    /**
+     * Number of buckets of the histogram of entries restored per backtrack
+     */
+    private static final int BUCKETS = 32;
+
+    private String[] names = new String[0];
+    private IntSupplier[] sizes = new IntSupplier[0];
+    private IntSupplier[] capacities = new IntSupplier[0];
+    private int[] entryBytes = new int[0];
+
+    private long[] saved = new long[0];
+    private long[] restored = new long[0];
+    private long[] resizes = new long[0];
+    private int[] highWaterMarks = new int[0];
+    private int[] lastSizes = new int[0];
+    private int[] lastCapacities = new int[0];
+
+    private long popCount;
+    private long restoreTime;
+    private long maxRestoreTime;
+    private long startTime;
+    private int maxDepth;
+    private final long[] histogram = new long[BUCKETS];
+
+    private final HashMap<Object, long[]> writers = new HashMap<>();
+
+    /**
+     * Declare a trail to observe.
+     *
+     * @param name       name of the trail
+     * @param size       supplies the number of entries stored in the trail
+     * @param capacity   supplies the number of entries the trail can store without growing
+     * @param entryBytes estimated size of an entry, in bytes
+     */
+    public void register(String name, IntSupplier size, IntSupplier capacity, int entryBytes) {
+        int n = names.length + 1;
+        this.names = Arrays.copyOf(names, n);
+        this.sizes = Arrays.copyOf(sizes, n);
+        this.capacities = Arrays.copyOf(capacities, n);
+        this.entryBytes = Arrays.copyOf(this.entryBytes, n);
+        this.saved = Arrays.copyOf(saved, n);
+        this.restored = Arrays.copyOf(restored, n);
+        this.resizes = Arrays.copyOf(resizes, n);
+        this.highWaterMarks = Arrays.copyOf(highWaterMarks, n);
+        this.lastSizes = Arrays.copyOf(lastSizes, n);
+        this.lastCapacities = Arrays.copyOf(lastCapacities, n);
+        names[n - 1] = name;
+        sizes[n - 1] = size;
+        capacities[n - 1] = capacity;
+        this.entryBytes[n - 1] = entryBytes;
+        lastSizes[n - 1] = highWaterMarks[n - 1] = size.getAsInt();
+        lastCapacities[n - 1] = capacity.getAsInt();
+    }
+
+    /**
+     * Sample the size and the capacity of each trail.
+     * To be called before moving up to a new world.
+     *
+     * @param worldIndex index of the new world
+     */
+    public void onPush(int worldIndex) {
+        sample();
+        maxDepth = Math.max(maxDepth, worldIndex);
+    }
+
+    /**
+     * Sample the size and the capacity of each trail and start the restore stopwatch.
+     * To be called before moving down to the previous world.
+     */
+    public void beforePop() {
+        sample();
+        startTime = System.nanoTime();
+    }
+
+    /**
+     * Stop the restore stopwatch and count the entries restored.
+     * To be called after moving down to the previous world.
+     */
+    public void afterPop() {
+        long time = System.nanoTime() - startTime;
+        restoreTime += time;
+        maxRestoreTime = Math.max(maxRestoreTime, time);
+        popCount++;
+        long total = 0;
+        for (int i = 0; i < names.length; i++) {
+            int s = sizes[i].getAsInt();
+            if (s < lastSizes[i]) {
+                restored[i] += lastSizes[i] - s;
+                total += lastSizes[i] - s;
+            }
+            lastSizes[i] = s;
+        }
+        histogram[total == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(total))]++;
+    }
+
+    /**
+     * Sample the size of each trail before a world is committed.
+     */
+    public void beforeCommit() {
+        sample();
+    }
+
+    /**
+     * Forget the entries dropped by a commit.
+     */
+    public void afterCommit() {
+        for (int i = 0; i < names.length; i++) {
+            lastSizes[i] = sizes[i].getAsInt();
+        }
+    }
+
+    /**
+     * @return the total number of entries currently stored in the trails
+     */
+    public long size() {
+        long n = 0;
+        for (IntSupplier s : sizes) {
+            n += s.getAsInt();
+        }
+        return n;
+    }
+
+    /**
+     * Attribute trailed writes to an object.
+     *
+     * @param writer the object which did the writes, like a propagator
+     * @param writes number of entries saved in the trails
+     */
+    public void attribute(Object writer, long writes) {
+        if (writes > 0) {
+            writers.computeIfAbsent(writer, k -> new long[1])[0] += writes;
+        }
+    }
+
+    /**
+     * @return the number of trails observed
+     */
+    public int getNbTrails() {
+        return names.length;
+    }
+
+    /**
+     * @param i index of a trail
+     * @return the name of the <i>i</i>-th trail
+     */
+    public String getName(int i) {
+        return names[i];
+    }
+
+    /**
+     * @param i index of a trail
+     * @return the number of entries saved in the <i>i</i>-th trail, as observed
+     */
+    public long getSavedCount(int i) {
+        return saved[i];
+    }
+
+    /**
+     * @param i index of a trail
+     * @return the number of entries restored from the <i>i</i>-th trail
+     */
+    public long getRestoredCount(int i) {
+        return restored[i];
+    }
+
+    /**
+     * @param i index of a trail
+     * @return the number of times the <i>i</i>-th trail has grown, as observed
+     */
+    public long getResizeCount(int i) {
+        return resizes[i];
+    }
+
+    /**
+     * @param i index of a trail
+     * @return the maximum number of entries stored in the <i>i</i>-th trail, as observed
+     */
+    public int getHighWaterMark(int i) {
+        return highWaterMarks[i];
+    }
+
+    /**
+     * @param i index of a trail
+     * @return the estimated number of bytes held by the <i>i</i>-th trail
+     */
+    public long getBytesHeld(int i) {
+        return (long) capacities[i].getAsInt() * entryBytes[i];
+    }
+
+    /**
+     * @return the number of worlds popped
+     */
+    public long getPopCount() {
+        return popCount;
+    }
+
+    /**
+     * @return the time spent restoring worlds, in nanoseconds
+     */
+    public long getRestoreTimeInNanoSeconds() {
+        return restoreTime;
+    }
+
+    /**
+     * @return the maximum time spent restoring a world, in nanoseconds
+     */
+    public long getMaxRestoreTimeInNanoSeconds() {
+        return maxRestoreTime;
+    }
+
+    /**
+     * @return the maximum world index reached
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Histogram of the number of entries restored per backtrack:
+     * the first bucket counts the backtracks that restored nothing,
+     * then the <i>k</i>-th bucket counts those that restored between 2<sup>k-1</sup> and 2<sup>k</sup>-1 entries.
+     *
+     * @return a copy of the histogram
+     */
+    public long[] getRestoredHistogram() {
+        return histogram.clone();
+    }
+
+    /**
+     * @param n maximum number of writers to return
+     * @return the <i>n</i> objects with the most trailed writes, in decreasing order
+     */
+    public List<Map.Entry<Object, Long>> getTopWriters(int n) {
+        List<Map.Entry<Object, Long>> top = new ArrayList<>(writers.size());
+        writers.forEach((k, v) -> top.add(new AbstractMap.SimpleImmutableEntry<>(k, v[0])));
+        top.sort((e1, e2) -> Long.compare(e2.getValue(), e1.getValue()));
+        return top.subList(0, Math.min(n, top.size()));
+    }
+
+    /**
+     * @param topN number of writers to print
+     * @return a summary of the metrics
+     */
+    public String toMultiLineString(int topN) {
+        StringBuilder st = new StringBuilder(256);
+        st.append(String.format("\tWorlds popped: %,d (max depth %,d, restore time %,.3fs, max %,.3fms)\n",
+                popCount, maxDepth, restoreTime / 1e9, maxRestoreTime / 1e6));
+        for (int i = 0; i < names.length; i++) {
+            if (saved[i] > 0 || lastSizes[i] > 0) {
+                st.append(String.format("\t%s: %,d saved, %,d restored, %,d peak, %,d resizes, %,d bytes\n",
+                        names[i], saved[i], restored[i], highWaterMarks[i], resizes[i], getBytesHeld(i)));
+            }
+        }
+        st.append("\tEntries restored per backtrack:");
+        for (int k = 0; k < BUCKETS; k++) {
+            if (histogram[k] > 0) {
+                st.append(String.format(" [%d..%d]=%,d", k == 0 ? 0 : 1L << (k - 1), k == 0 ? 0 : (1L << k) - 1, histogram[k]));
+            }
+        }
+        for (Map.Entry<Object, Long> e : getTopWriters(topN)) {
+            st.append(String.format("\n\t%,d writes by %s", e.getValue(), e.getKey()));
+        }
+        return st.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toMultiLineString(10);
+    }
+
+    private void sample() {
+        for (int i = 0; i < names.length; i++) {
+            int s = sizes[i].getAsInt();
+            if (s > lastSizes[i]) {
+                saved[i] += s - lastSizes[i];
+            }
+            if (s > highWaterMarks[i]) {
+                highWaterMarks[i] = s;
+            }
+            lastSizes[i] = s;
+            int c = capacities[i].getAsInt();
+            if (c > lastCapacities[i]) {
+                resizes[i]++;
+            }
+            lastCapacities[i] = c;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+/**
+ * A backtrackable primitive whose former values are stored by an {@link EnvironmentCopying}.
+ * Values are encoded as long when trailed.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+interface Copied {
+
+    /**
+     * Restore a former value, without storing the current one.
+     *
+     * @param value the former value, encoded as a long
+     * @param stamp the stamp of the world in which the former value had been written
+     */
+    void restore(long value, int stamp);
+
+    /**
+     * @return the stamp of the world in which the current value has been written
+     */
+    int getTimeStamp();
+
+    /**
+     * Override the stamp of the world in which the current value has been written.
+     *
+     * @param stamp the new stamp
+     */
+    void overrideTimeStamp(int stamp);
+}
@@ -0,0 +1,66 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateBool;
+
+/**
+ * A class implementing backtrackable boolean, restored either by copy or by trailing
+ * (see {@link EnvironmentCopying}).
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class CopiedBool extends IStateBool implements Copied {
+
+    private final EnvironmentCopying env;
+
+    /**
+     * Value at creation, restored when the world it has been created in is popped
+     */
+    final boolean initial;
+
+    /**
+     * Constructs a copied boolean with an initial value.
+     * Note: this constructor should not be used directly: one should instead
+     * use the IEnvironment factory
+     */
+    public CopiedBool(final EnvironmentCopying env, final boolean i) {
+        super(env, i);
+        this.env = env;
+        this.initial = i;
+        env.register(this);
+    }
+
+    /**
+     * Modifies the value and stores if needed the former value.
+     */
+    @Override
+    public final void set(final boolean y) {
+        if (y != currentValue) {
+            final int wi = environment.getWorldIndex();
+            if (this.timeStamp < wi) {
+                env.onFirstWrite(this, currentValue ? 1 : 0, timeStamp, wi);
+                timeStamp = wi;
+            }
+            currentValue = y;
+        }
+    }
+
+    @Override
+    public void restore(long value, int stamp) {
+        _set(value != 0, stamp);
+    }
+
+    @Override
+    public int getTimeStamp() {
+        return timeStamp;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateInt;
+
+/**
+ * A class implementing backtrackable int, restored either by copy or by trailing
+ * (see {@link EnvironmentCopying}).
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class CopiedInt extends IStateInt implements Copied {
+
+    private final EnvironmentCopying env;
+
+    /**
+     * Value at creation, restored when the world it has been created in is popped
+     */
+    final int initial;
+
+    /**
+     * Constructs a copied int with an initial value.
+     * Note: this constructor should not be used directly: one should instead
+     * use the IEnvironment factory
+     */
+    public CopiedInt(final EnvironmentCopying env, final int i) {
+        super(env, i);
+        this.env = env;
+        this.initial = i;
+        env.register(this);
+    }
+
+    /**
+     * Modifies the value and stores if needed the former value.
+     */
+    @Override
+    public final void set(final int y) {
+        if (y != currentValue) {
+            final int wi = environment.getWorldIndex();
+            if (this.timeStamp < wi) {
+                env.onFirstWrite(this, currentValue, timeStamp, wi);
+                timeStamp = wi;
+            }
+            currentValue = y;
+        }
+    }
+
+    @Override
+    public void restore(long value, int stamp) {
+        _set((int) value, stamp);
+    }
+
+    @Override
+    public int getTimeStamp() {
+        return timeStamp;
+    }
+}
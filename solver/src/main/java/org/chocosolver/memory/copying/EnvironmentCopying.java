@@ -0,0 +1,385 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateBool;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.memory.IStateLong;
+import org.chocosolver.memory.TrailMetrics;
+import org.chocosolver.memory.trailing.EnvironmentTrailing;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * An environment that restores backtrackable integers, longs and booleans by copy instead of trailing.
+ * <p>
+ * On {@link #worldPush()}, the values of all these primitives are copied into contiguous arrays, one per type,
+ * and on {@link #worldPop()}, they are all written back.
+ * Thus, the cost of a world depends on the number of primitives, not on the number of modifications,
+ * which pays off on models with few primitives but many modifications per node.
+ * Other data (doubles, vectors and operations) are trailed as in {@link EnvironmentTrailing}.
+ * </p>
+ * <p>
+ * The environment can also be hybrid: on {@link #worldPush()}, the world is either copied or trailed,
+ * depending on the average number of primitives modified in the last worlds popped (the trail delta).
+ * A world is copied when this average is greater than or equal to <i>ratio</i> times the number of primitives.
+ * So, a ratio of 0 always copies and a ratio greater than 1 never does.
+ * </p>
+ * <p>
+ * Committing a world merges it into the previous one: the copy of the previous world, if any, is kept,
+ * otherwise the former values of the primitives modified in the committed world are trailed in the previous one.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class EnvironmentCopying extends EnvironmentTrailing {
+
+    /**
+     * Weight of the last world popped in the average trail delta
+     */
+    private static final double ALPHA = .125;
+
+    /**
+     * A world is copied when the average trail delta is greater than or equal to this ratio of primitives
+     */
+    private final double ratio;
+
+    private CopiedInt[] ints = new CopiedInt[64];
+    private int nbInts;
+    private CopiedLong[] longs = new CopiedLong[64];
+    private int nbLongs;
+    private CopiedBool[] bools = new CopiedBool[64];
+    private int nbBools;
+
+    /**
+     * For each world, set to <i>true</i> if it is copied, <i>false</i> if it is trailed
+     */
+    private boolean[] copied = new boolean[NBWORLDS];
+    /**
+     * For each world, number of primitives modified in it
+     */
+    private int[] deltas = new int[NBWORLDS];
+    /**
+     * Average number of primitives modified in a world
+     */
+    private double delta;
+    private long nbCopied;
+    private long nbTrailed;
+
+    // copies, for each world
+    private int[][] intCopies = new int[NBWORLDS][];
+    private long[][] longCopies = new long[NBWORLDS][];
+    private boolean[][] boolCopies = new boolean[NBWORLDS][];
+    /**
+     * For each world, number of primitives of each type when it was copied
+     */
+    private int[][] sizes = new int[NBWORLDS][];
+
+    // trail, for trailed worlds
+    private Copied[] variableStack = new Copied[NBUPATES];
+    private long[] valueStack = new long[NBUPATES];
+    private int[] stampStack = new int[NBUPATES];
+    private int currentLevel;
+    private int[] worldStartLevels = new int[NBWORLDS];
+
+    /**
+     * Create an environment that always copies.
+     */
+    public EnvironmentCopying() {
+        this(0.);
+    }
+
+    /**
+     * Create an hybrid environment.
+     *
+     * @param ratio a world is copied when the average number of primitives modified in the last worlds
+     *              is greater than or equal to <i>ratio</i> times the number of primitives
+     */
+    public EnvironmentCopying(double ratio) {
+        super();
+        this.ratio = ratio;
+        // world 0 is never popped
+        this.copied[0] = true;
+    }
+
+    @Override
+    protected void doWorldPush() {
+        super.doWorldPush();
+        final int wi = currentWorld;
+        if (wi == copied.length) {
+            int n = (int) (wi * LOADFACTOR);
+            copied = Arrays.copyOf(copied, n);
+            deltas = Arrays.copyOf(deltas, n);
+            intCopies = Arrays.copyOf(intCopies, n);
+            longCopies = Arrays.copyOf(longCopies, n);
+            boolCopies = Arrays.copyOf(boolCopies, n);
+            sizes = Arrays.copyOf(sizes, n);
+            worldStartLevels = Arrays.copyOf(worldStartLevels, n);
+        }
+        deltas[wi] = 0;
+        worldStartLevels[wi] = currentLevel;
+        copied[wi] = delta >= ratio * (nbInts + nbLongs + nbBools);
+        if (copied[wi]) {
+            nbCopied++;
+            copy(wi);
+        } else {
+            nbTrailed++;
+        }
+    }
+
+    @Override
+    protected void doWorldPop() {
+        assert currentWorld > 0;
+        final int wi = currentWorld;
+        delta += ALPHA * (deltas[wi] - delta);
+        if (copied[wi]) {
+            paste(wi);
+        } else {
+            final int wsl = worldStartLevels[wi];
+            while (currentLevel > wsl) {
+                currentLevel--;
+                variableStack[currentLevel].restore(valueStack[currentLevel], stampStack[currentLevel]);
+                variableStack[currentLevel] = null;
+            }
+        }
+        super.doWorldPop();
+    }
+
+    @Override
+    protected void doWorldCommit() {
+        if (currentWorld == 0) {
+            throw new IllegalStateException("Commit in world 0?");
+        }
+        final int wi = currentWorld;
+        final int prev = wi - 1;
+        final int wsl = worldStartLevels[wi];
+        if (copied[prev]) {
+            // the copy of the previous world restores everything, the trail of this one is useless
+            while (currentLevel > wsl) {
+                variableStack[--currentLevel] = null;
+            }
+        } else if (copied[wi]) {
+            trailCopy(wi, prev);
+        } else {
+            // same principle as flat trails: updates stamped with the previous world are dropped
+            int writeIdx = wsl;
+            for (int level = wsl; level < currentLevel; level++) {
+                if (stampStack[level] != prev) {
+                    variableStack[writeIdx] = variableStack[level];
+                    valueStack[writeIdx] = valueStack[level];
+                    stampStack[writeIdx] = stampStack[level];
+                    writeIdx++;
+                }
+            }
+            for (int level = writeIdx; level < currentLevel; level++) {
+                variableStack[level] = null;
+            }
+            currentLevel = writeIdx;
+        }
+        deltas[prev] += deltas[wi];
+        // primitives modified in this world now belong to the previous one
+        for (int i = 0; i < nbInts; i++) {
+            overrideTimeStamp(ints[i], wi, prev);
+        }
+        for (int i = 0; i < nbLongs; i++) {
+            overrideTimeStamp(longs[i], wi, prev);
+        }
+        for (int i = 0; i < nbBools; i++) {
+            overrideTimeStamp(bools[i], wi, prev);
+        }
+        super.doWorldCommit();
+    }
+
+    private static void overrideTimeStamp(Copied v, int from, int to) {
+        if (v.getTimeStamp() == from) {
+            v.overrideTimeStamp(to);
+        }
+    }
+
+    @Override
+    public TrailMetrics enableMetrics() {
+        if (getMetrics() == null) {
+            super.enableMetrics().register("CopiedTrail", () -> currentLevel, () -> variableStack.length, 16);
+        }
+        return getMetrics();
+    }
+
+    @Override
+    public IStateInt makeInt(final int initialValue) {
+        return new CopiedInt(this, initialValue);
+    }
+
+    @Override
+    public IStateBool makeBool(final boolean initialValue) {
+        return new CopiedBool(this, initialValue);
+    }
+
+    @Override
+    public IStateLong makeLong(final long init) {
+        return new CopiedLong(this, init);
+    }
+
+    /**
+     * @return the number of worlds copied so far
+     */
+    public long getNbCopiedWorlds() {
+        return nbCopied;
+    }
+
+    /**
+     * @return the number of worlds trailed so far
+     */
+    public long getNbTrailedWorlds() {
+        return nbTrailed;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    void register(CopiedInt v) {
+        if (nbInts == ints.length) {
+            ints = Arrays.copyOf(ints, (int) (nbInts * LOADFACTOR));
+        }
+        ints[nbInts++] = v;
+    }
+
+    void register(CopiedLong v) {
+        if (nbLongs == longs.length) {
+            longs = Arrays.copyOf(longs, (int) (nbLongs * LOADFACTOR));
+        }
+        longs[nbLongs++] = v;
+    }
+
+    void register(CopiedBool v) {
+        if (nbBools == bools.length) {
+            bools = Arrays.copyOf(bools, (int) (nbBools * LOADFACTOR));
+        }
+        bools[nbBools++] = v;
+    }
+
+    /**
+     * Called on the first modification of <i>v</i> in world <i>wi</i>:
+     * its former value is trailed unless the world is copied.
+     */
+    void onFirstWrite(Copied v, long oldValue, int oldStamp, int wi) {
+        deltas[wi]++;
+        if (!copied[wi]) {
+            valueStack[currentLevel] = oldValue;
+            variableStack[currentLevel] = v;
+            stampStack[currentLevel] = oldStamp;
+            currentLevel++;
+            if (currentLevel == variableStack.length) {
+                int n = (int) (currentLevel * LOADFACTOR);
+                variableStack = Arrays.copyOf(variableStack, n);
+                valueStack = Arrays.copyOf(valueStack, n);
+                stampStack = Arrays.copyOf(stampStack, n);
+            }
+        }
+    }
+
+    /**
+     * Copy the values of all primitives before entering world <i>wi</i>.
+     */
+    private void copy(int wi) {
+        int[] is = intCopies[wi];
+        if (is == null || is.length < nbInts) {
+            intCopies[wi] = is = new int[ints.length];
+        }
+        for (int i = 0; i < nbInts; i++) {
+            is[i] = ints[i].get();
+        }
+        long[] ls = longCopies[wi];
+        if (ls == null || ls.length < nbLongs) {
+            longCopies[wi] = ls = new long[longs.length];
+        }
+        for (int i = 0; i < nbLongs; i++) {
+            ls[i] = longs[i].get();
+        }
+        boolean[] bs = boolCopies[wi];
+        if (bs == null || bs.length < nbBools) {
+            boolCopies[wi] = bs = new boolean[bools.length];
+        }
+        for (int i = 0; i < nbBools; i++) {
+            bs[i] = bools[i].get();
+        }
+        if (sizes[wi] == null) {
+            sizes[wi] = new int[3];
+        }
+        sizes[wi][0] = nbInts;
+        sizes[wi][1] = nbLongs;
+        sizes[wi][2] = nbBools;
+    }
+
+    /**
+     * Trail, in the trailed world <i>prev</i>, the former values of the primitives modified in the copied world
+     * <i>wi</i> and not trailed in <i>prev</i> yet: the values copied before entering <i>wi</i>,
+     * or the initial values for the primitives created since then.
+     */
+    private void trailCopy(int wi, int prev) {
+        final Set<Copied> trailed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int level = worldStartLevels[prev]; level < currentLevel; level++) {
+            trailed.add(variableStack[level]);
+        }
+        final int[] is = intCopies[wi];
+        final int ni = sizes[wi][0];
+        for (int i = 0; i < nbInts; i++) {
+            int old = i < ni ? is[i] : ints[i].initial;
+            if (ints[i].get() != old && !trailed.contains(ints[i])) {
+                onFirstWrite(ints[i], old, -1, prev);
+            }
+        }
+        final long[] ls = longCopies[wi];
+        final int nl = sizes[wi][1];
+        for (int i = 0; i < nbLongs; i++) {
+            long old = i < nl ? ls[i] : longs[i].initial;
+            if (longs[i].get() != old && !trailed.contains(longs[i])) {
+                onFirstWrite(longs[i], old, -1, prev);
+            }
+        }
+        final boolean[] bs = boolCopies[wi];
+        final int nb = sizes[wi][2];
+        for (int i = 0; i < nbBools; i++) {
+            boolean old = i < nb ? bs[i] : bools[i].initial;
+            if (bools[i].get() != old && !trailed.contains(bools[i])) {
+                onFirstWrite(bools[i], old ? 1 : 0, -1, prev);
+            }
+        }
+    }
+
+    /**
+     * Restore the values of all primitives as they were before entering world <i>wi</i>.
+     * Primitives created since then get back their initial value.
+     * Their stamp is reset, which is safe: at worst, a value will be trailed twice in the same world.
+     */
+    private void paste(int wi) {
+        final int[] is = intCopies[wi];
+        final int ni = sizes[wi][0];
+        for (int i = 0; i < nbInts; i++) {
+            ints[i]._set(i < ni ? is[i] : ints[i].initial, -1);
+        }
+        final long[] ls = longCopies[wi];
+        final int nl = sizes[wi][1];
+        for (int i = 0; i < nbLongs; i++) {
+            longs[i]._set(i < nl ? ls[i] : longs[i].initial, -1);
+        }
+        final boolean[] bs = boolCopies[wi];
+        final int nb = sizes[wi][2];
+        for (int i = 0; i < nbBools; i++) {
+            bools[i]._set(i < nb ? bs[i] : bools[i].initial, -1);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.offheap;
+
+import org.chocosolver.memory.IStateBool;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.memory.IStateLong;
+import org.chocosolver.memory.TrailMetrics;
+import org.chocosolver.memory.trailing.EnvironmentTrailing;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * An environment that keeps the trail of its integers, longs and booleans, and its arena, off heap.
+ * <p>
+ * Only the trail is moved off heap for single primitives: backtrackable integers, longs and booleans
+ * keep their current value on heap, in the objects returned by {@link #makeInt(int)} and its siblings.
+ * Their former values are trailed off heap, with the index of the primitive instead of a reference to it.
+ * To restore them, this environment keeps a registry of all the primitives it created,
+ * which holds strong references to them until {@link #close()} is called.
+ * The {@link #getArena() arena}, which stores bulk data like the words of bitsets, is entirely off heap.
+ * Other data (doubles, vectors of doubles and operations) are trailed on heap as in {@link EnvironmentTrailing}.
+ * </p>
+ * <p>
+ * Off-heap memory is either made of direct buffers or of regions of a scratch file mapped in memory
+ * (see {@link OffHeapMemory}).
+ * It should be released by calling {@link #close()}, or {@link org.chocosolver.solver.Model#close()},
+ * once the model is not used anymore.
+ * Java does not allow to free a direct buffer explicitly: closing drops the references this holds
+ * to the buffers and to the primitives, so that they are freed at the next garbage collections.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class EnvironmentOffHeap extends EnvironmentTrailing {
+
+    private final OffHeapMemory memory;
+    private final OffHeapStateArena offHeapArena;
+
+    /**
+     * Primitives, indexed by their id, referenced until this is closed
+     */
+    private Restorable[] primitives = new Restorable[64];
+    private int nbPrimitives;
+
+    // trail of primitives
+    private final OffHeapInts idStack;
+    private final OffHeapLongs valueStack;
+    private final OffHeapInts stampStack;
+    private int currentLevel;
+    private int capacity;
+    private int[] worldStartLevels = new int[NBWORLDS];
+
+    /**
+     * Create an environment which allocates direct buffers.
+     */
+    public EnvironmentOffHeap() {
+        this(new OffHeapMemory());
+    }
+
+    /**
+     * Create an environment which maps regions of a scratch file in memory.
+     *
+     * @param directory the directory in which the scratch file is created
+     */
+    public EnvironmentOffHeap(Path directory) {
+        this(new OffHeapMemory(directory));
+    }
+
+    /**
+     * Create an environment which allocates off-heap memory with <i>memory</i>.
+     *
+     * @param memory the allocator of off-heap memory, closed with this
+     */
+    public EnvironmentOffHeap(OffHeapMemory memory) {
+        super();
+        this.memory = memory;
+        this.idStack = new OffHeapInts(memory);
+        this.valueStack = new OffHeapLongs(memory);
+        this.stampStack = new OffHeapInts(memory);
+        this.offHeapArena = new OffHeapStateArena(this, memory, NBWORLDS, LOADFACTOR);
+        setArena(offHeapArena);
+    }
+
+    @Override
+    protected void doWorldPush() {
+        super.doWorldPush();
+        final int wi = currentWorld;
+        if (wi == worldStartLevels.length) {
+            worldStartLevels = Arrays.copyOf(worldStartLevels, (int) (wi * LOADFACTOR));
+        }
+        worldStartLevels[wi] = currentLevel;
+    }
+
+    @Override
+    protected void doWorldPop() {
+        final int wsl = worldStartLevels[currentWorld];
+        while (currentLevel > wsl) {
+            currentLevel--;
+            primitives[idStack.get(currentLevel)].restore(valueStack.get(currentLevel), stampStack.get(currentLevel));
+        }
+        super.doWorldPop();
+    }
+
+    @Override
+    protected void doWorldCommit() {
+        if (currentWorld > 0) {
+            // same principle as flat trails: updates stamped with the previous world are dropped
+            final int startLevel = worldStartLevels[currentWorld];
+            final int prevWorld = currentWorld - 1;
+            int writeIdx = startLevel;
+            for (int level = startLevel; level < currentLevel; level++) {
+                final int id = idStack.get(level);
+                final int stamp = stampStack.get(level);
+                primitives[id].overrideTimeStamp(prevWorld);
+                if (stamp != prevWorld) {
+                    if (writeIdx != level) {
+                        idStack.set(writeIdx, id);
+                        valueStack.set(writeIdx, valueStack.get(level));
+                        stampStack.set(writeIdx, stamp);
+                    }
+                    writeIdx++;
+                }
+            }
+            currentLevel = writeIdx;
+        }
+        super.doWorldCommit();
+    }
+
+    @Override
+    public TrailMetrics enableMetrics() {
+        if (getMetrics() == null) {
+            super.enableMetrics().register("OffHeapTrail", () -> currentLevel, () -> capacity, 16);
+        }
+        return getMetrics();
+    }
+
+    @Override
+    public IStateInt makeInt(final int initialValue) {
+        return new OffHeapInt(this, initialValue);
+    }
+
+    @Override
+    public IStateBool makeBool(final boolean initialValue) {
+        return new OffHeapBool(this, initialValue);
+    }
+
+    @Override
+    public IStateLong makeLong(final long init) {
+        return new OffHeapLong(this, init);
+    }
+
+    /**
+     * @return the allocator of off-heap memory
+     */
+    public OffHeapMemory getMemory() {
+        return memory;
+    }
+
+    /**
+     * Release the off-heap memory: this environment cannot be used anymore.
+     * <p>
+     * No more memory can be allocated and the scratch file, if any, is deleted.
+     * The direct buffers cannot be freed explicitly: the references to them, and to the registered primitives,
+     * are dropped so that they are freed once the primitives are not used anymore and garbage collected.
+     * </p>
+     */
+    @Override
+    public void close() {
+        memory.close();
+        primitives = new Restorable[0];
+        nbPrimitives = 0;
+        idStack.release();
+        valueStack.release();
+        stampStack.release();
+        currentLevel = capacity = 0;
+        offHeapArena.release();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    int register(Restorable p) {
+        if (nbPrimitives == primitives.length) {
+            primitives = Arrays.copyOf(primitives, (int) (nbPrimitives * LOADFACTOR));
+        }
+        primitives[nbPrimitives] = p;
+        return nbPrimitives++;
+    }
+
+    /**
+     * Called on the first modification of the primitive <i>id</i> in the current world.
+     */
+    void save(int id, long oldValue, int oldStamp) {
+        if (currentLevel == capacity) {
+            idStack.ensureCapacity(currentLevel + 1);
+            valueStack.ensureCapacity(currentLevel + 1);
+            stampStack.ensureCapacity(currentLevel + 1);
+            capacity = Math.min(valueStack.capacity(), Math.min(idStack.capacity(), stampStack.capacity()));
+        }
+        idStack.set(currentLevel, id);
+        valueStack.set(currentLevel, oldValue);
+        stampStack.set(currentLevel, oldStamp);
+        currentLevel++;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.offheap;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * A growable array of ints stored off heap, split into pages so that growing never copies the values.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+final class OffHeapInts {
+
+    /**
+     * 2^SHIFT ints per page, that is 1MB
+     */
+    private static final int SHIFT = 18;
+    private static final int MASK = (1 << SHIFT) - 1;
+
+    private final OffHeapMemory memory;
+    private IntBuffer[] pages = new IntBuffer[8];
+    private int nbPages;
+
+    OffHeapInts(OffHeapMemory memory) {
+        this.memory = memory;
+    }
+
+    int get(int i) {
+        return pages[i >>> SHIFT].get(i & MASK);
+    }
+
+    void set(int i, int v) {
+        pages[i >>> SHIFT].put(i & MASK, v);
+    }
+
+    /**
+     * @return the number of ints that can be stored without allocating a new page
+     */
+    int capacity() {
+        return nbPages << SHIFT;
+    }
+
+    /**
+     * Make sure that indices in [0, n) can be accessed.
+     */
+    void ensureCapacity(int n) {
+        while (((long) nbPages << SHIFT) < n) {
+            if (nbPages == pages.length) {
+                pages = Arrays.copyOf(pages, Math.max(1, nbPages * 2));
+            }
+            pages[nbPages++] = memory.allocate(Integer.BYTES << SHIFT).asIntBuffer();
+        }
+    }
+
+    void fill(int from, int to, int v) {
+        for (int i = from; i < to; i++) {
+            set(i, v);
+        }
+    }
+
+    /**
+     * Drop the references to the pages, so that they can be garbage collected: this cannot be used anymore.
+     */
+    void release() {
+        pages = new IntBuffer[0];
+        nbPages = 0;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.offheap;
+
+import org.chocosolver.memory.IStateLong;
+
+/**
+ * A class implementing backtrackable long, whose former values are trailed off heap
+ * (see {@link EnvironmentOffHeap}).
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class OffHeapLong extends IStateLong implements Restorable {
+
+    private final EnvironmentOffHeap env;
+
+    /**
+     * Index of this in the primitives of the environment
+     */
+    private final int id;
+
+    /**
+     * Constructs an off-heap trailed long with an initial value.
+     * Note: this constructor should not be used directly: one should instead
+     * use the IEnvironment factory
+     */
+    public OffHeapLong(final EnvironmentOffHeap env, final long i) {
+        super(env, i);
+        this.env = env;
+        this.id = env.register(this);
+    }
+
+    /**
+     * Modifies the value and stores if needed the former value.
+     */
+    @Override
+    public final void set(final long y) {
+        if (y != currentValue) {
+            final int wi = environment.getWorldIndex();
+            if (this.timeStamp < wi) {
+                env.save(id, currentValue, timeStamp);
+                timeStamp = wi;
+            }
+            currentValue = y;
+        }
+    }
+
+    @Override
+    public void restore(long value, int stamp) {
+        _set(value, stamp);
+    }
+}
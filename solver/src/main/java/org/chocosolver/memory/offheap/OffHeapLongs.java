@@ -0,0 +1,77 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.offheap;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * A growable array of longs stored off heap, split into pages so that growing never copies the values.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+final class OffHeapLongs {
+
+    /**
+     * 2^SHIFT longs per page, that is 1MB
+     */
+    private static final int SHIFT = 17;
+    private static final int MASK = (1 << SHIFT) - 1;
+
+    private final OffHeapMemory memory;
+    private LongBuffer[] pages = new LongBuffer[8];
+    private int nbPages;
+
+    OffHeapLongs(OffHeapMemory memory) {
+        this.memory = memory;
+    }
+
+    long get(int i) {
+        return pages[i >>> SHIFT].get(i & MASK);
+    }
+
+    void set(int i, long v) {
+        pages[i >>> SHIFT].put(i & MASK, v);
+    }
+
+    /**
+     * @return the number of longs that can be stored without allocating a new page
+     */
+    int capacity() {
+        return nbPages << SHIFT;
+    }
+
+    /**
+     * Make sure that indices in [0, n) can be accessed.
+     */
+    void ensureCapacity(int n) {
+        while (((long) nbPages << SHIFT) < n) {
+            if (nbPages == pages.length) {
+                pages = Arrays.copyOf(pages, Math.max(1, nbPages * 2));
+            }
+            pages[nbPages++] = memory.allocate(Long.BYTES << SHIFT).asLongBuffer();
+        }
+    }
+
+    void fill(int from, int to, long v) {
+        for (int i = from; i < to; i++) {
+            set(i, v);
+        }
+    }
+
+    /**
+     * Drop the references to the pages, so that they can be garbage collected: this cannot be used anymore.
+     */
+    void release() {
+        pages = new LongBuffer[0];
+        nbPages = 0;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.offheap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An allocator of off-heap memory, by blocks of bytes.
+ * <p>
+ * Blocks are either direct buffers, bounded by <code>-XX:MaxDirectMemorySize</code>,
+ * or regions of a scratch file mapped in memory, which are only bounded by the disk space
+ * and let the operating system page them out when they are not used.
+ * The scratch file is deleted when this is closed, or as soon as it is created on systems which allow it.
+ * </p>
+ * <p>
+ * Java does not allow to release a block explicitly: once this is closed,
+ * the blocks are released when they are garbage collected, together with the objects that used them.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public final class OffHeapMemory implements Closeable {
+
+    /**
+     * The scratch file, <i>null</i> when direct buffers are allocated
+     */
+    private final FileChannel channel;
+
+    /**
+     * Number of bytes allocated so far
+     */
+    private long allocated;
+
+    private boolean closed;
+
+    /**
+     * Create an allocator of direct buffers.
+     */
+    public OffHeapMemory() {
+        this.channel = null;
+    }
+
+    /**
+     * Create an allocator of regions of a scratch file, mapped in memory.
+     *
+     * @param directory the directory in which the scratch file is created
+     * @throws UncheckedIOException if the scratch file cannot be created
+     */
+    public OffHeapMemory(Path directory) {
+        try {
+            Path file = Files.createTempFile(directory, "choco-", ".mem");
+            this.channel = FileChannel.open(file,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Allocate a block of off-heap memory, filled with 0.
+     *
+     * @param bytes size of the block
+     * @return a buffer in native byte order
+     * @throws IllegalStateException if this is closed
+     * @throws UncheckedIOException  if the scratch file cannot be mapped
+     */
+    public ByteBuffer allocate(int bytes) {
+        if (closed) {
+            throw new IllegalStateException("Off-heap memory has been closed");
+        }
+        ByteBuffer buffer;
+        if (channel == null) {
+            buffer = ByteBuffer.allocateDirect(bytes);
+        } else {
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, allocated, bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        allocated += bytes;
+        return buffer.order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * @return the number of bytes allocated so far
+     */
+    public long allocated() {
+        return allocated;
+    }
+
+    /**
+     * @return <i>true</i> if blocks are mapped from a scratch file
+     */
+    public boolean isMapped() {
+        return channel != null;
+    }
+
+    /**
+     * @return <i>true</i> if this has been closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Close this allocator: no more block can be allocated and the scratch file, if any, is deleted.
+     * Blocks already allocated remain readable until they are garbage collected.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
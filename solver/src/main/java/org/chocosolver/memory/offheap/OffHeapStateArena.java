@@ -0,0 +1,271 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.offheap;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.trailing.StateArena;
+
+import java.util.Arrays;
+
+/**
+ * A {@link StateArena} whose slots and trail are stored off heap, in pages allocated by an {@link OffHeapMemory}.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public final class OffHeapStateArena extends StateArena {
+
+    private final IEnvironment environment;
+
+    private final double loadfactor;
+
+    // int slots
+    private final OffHeapInts ints;
+    private final OffHeapInts intStamps;
+    private int nbInts;
+
+    // long slots
+    private final OffHeapLongs longs;
+    private final OffHeapInts longStamps;
+    private int nbLongs;
+
+    // trail: an int slot is stored as is, a long slot s as ~s
+    private final OffHeapInts slotStack;
+    private final OffHeapLongs valueStack;
+    private final OffHeapInts stampStack;
+    private int currentLevel;
+    private int capacity;
+    private int[] worldStartLevels;
+
+    /**
+     * Create an empty arena.
+     *
+     * @param env        the environment
+     * @param memory     the allocator of off-heap memory
+     * @param nWorlds    initial number of worlds stored
+     * @param loadfactor load factor for structures
+     */
+    public OffHeapStateArena(IEnvironment env, OffHeapMemory memory, int nWorlds, double loadfactor) {
+        this.environment = env;
+        this.loadfactor = loadfactor;
+        this.ints = new OffHeapInts(memory);
+        this.intStamps = new OffHeapInts(memory);
+        this.longs = new OffHeapLongs(memory);
+        this.longStamps = new OffHeapInts(memory);
+        this.slotStack = new OffHeapInts(memory);
+        this.valueStack = new OffHeapLongs(memory);
+        this.stampStack = new OffHeapInts(memory);
+        this.worldStartLevels = new int[nWorlds];
+    }
+
+    @Override
+    public int allocateInts(int n, int initialValue) {
+        final int base = nbInts;
+        nbInts += n;
+        ints.ensureCapacity(nbInts);
+        intStamps.ensureCapacity(nbInts);
+        ints.fill(base, nbInts, initialValue);
+        intStamps.fill(base, nbInts, -1);
+        return base;
+    }
+
+    @Override
+    public int allocateLongs(int n, long initialValue) {
+        final int base = nbLongs;
+        nbLongs += n;
+        longs.ensureCapacity(nbLongs);
+        longStamps.ensureCapacity(nbLongs);
+        longs.fill(base, nbLongs, initialValue);
+        longStamps.fill(base, nbLongs, -1);
+        return base;
+    }
+
+    @Override
+    public int getInt(int slot) {
+        return ints.get(slot);
+    }
+
+    @Override
+    public void setInt(int slot, int value) {
+        final int old = ints.get(slot);
+        if (old != value) {
+            final int wi = environment.getWorldIndex();
+            final int stamp = intStamps.get(slot);
+            if (stamp < wi) {
+                save(slot, old, stamp);
+                intStamps.set(slot, wi);
+            }
+            ints.set(slot, value);
+        }
+    }
+
+    @Override
+    public long getLong(int slot) {
+        return longs.get(slot);
+    }
+
+    @Override
+    public void setLong(int slot, long value) {
+        final long old = longs.get(slot);
+        if (old != value) {
+            final int wi = environment.getWorldIndex();
+            final int stamp = longStamps.get(slot);
+            if (stamp < wi) {
+                save(~slot, old, stamp);
+                longStamps.set(slot, wi);
+            }
+            longs.set(slot, value);
+        }
+    }
+
+    @Override
+    public int getNbInts() {
+        return nbInts;
+    }
+
+    @Override
+    public int getNbLongs() {
+        return nbLongs;
+    }
+
+    @Override
+    public void worldPush(int worldIndex) {
+        worldStartLevels[worldIndex] = currentLevel;
+        if (worldIndex == worldStartLevels.length - 1) {
+            worldStartLevels = Arrays.copyOf(worldStartLevels, (int) (worldStartLevels.length * loadfactor));
+        }
+    }
+
+    @Override
+    public void worldPop(int worldIndex) {
+        final int wsl = worldStartLevels[worldIndex];
+        while (currentLevel > wsl) {
+            currentLevel--;
+            final int slot = slotStack.get(currentLevel);
+            if (slot >= 0) {
+                ints.set(slot, (int) valueStack.get(currentLevel));
+                intStamps.set(slot, stampStack.get(currentLevel));
+            } else {
+                longs.set(~slot, valueStack.get(currentLevel));
+                longStamps.set(~slot, stampStack.get(currentLevel));
+            }
+        }
+    }
+
+    @Override
+    public void worldCommit(int worldIndex) {
+        // same principle as flat trails: updates stamped with the previous world are dropped
+        final int startLevel = worldStartLevels[worldIndex];
+        final int prevWorld = worldIndex - 1;
+        int writeIdx = startLevel;
+        for (int level = startLevel; level < currentLevel; level++) {
+            final int slot = slotStack.get(level);
+            final int stamp = stampStack.get(level);
+            if (slot >= 0) {
+                intStamps.set(slot, prevWorld);
+            } else {
+                longStamps.set(~slot, prevWorld);
+            }
+            if (stamp != prevWorld) {
+                if (writeIdx != level) {
+                    slotStack.set(writeIdx, slot);
+                    valueStack.set(writeIdx, valueStack.get(level));
+                    stampStack.set(writeIdx, stamp);
+                }
+                writeIdx++;
+            }
+        }
+        currentLevel = writeIdx;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected void initInt(int slot, int value) {
+        ints.set(slot, value);
+        intStamps.set(slot, environment.getWorldIndex());
+    }
+
+    @Override
+    protected int moveInts(int base, int length, int newLength) {
+        final int newBase = allocateInts(newLength, 0);
+        for (int i = 0; i < length; i++) {
+            ints.set(newBase + i, ints.get(base + i));
+            intStamps.set(newBase + i, intStamps.get(base + i));
+        }
+        final int shift = newBase - base;
+        for (int level = 0; level < currentLevel; level++) {
+            final int slot = slotStack.get(level);
+            if (slot >= base && slot < base + length) {
+                slotStack.set(level, slot + shift);
+            }
+        }
+        return newBase;
+    }
+
+    @Override
+    protected int moveLongs(int base, int length, int newLength, long initialValue) {
+        final int newBase = allocateLongs(newLength, initialValue);
+        for (int i = 0; i < length; i++) {
+            longs.set(newBase + i, longs.get(base + i));
+            longStamps.set(newBase + i, longStamps.get(base + i));
+        }
+        final int shift = newBase - base;
+        for (int level = 0; level < currentLevel; level++) {
+            final int slot = ~slotStack.get(level);
+            if (slot >= base && slot < base + length) {
+                slotStack.set(level, ~(slot + shift));
+            }
+        }
+        return newBase;
+    }
+
+    /**
+     * Drop the references to the pages of the arena: it cannot be used anymore.
+     */
+    void release() {
+        ints.release();
+        intStamps.release();
+        longs.release();
+        longStamps.release();
+        slotStack.release();
+        valueStack.release();
+        stampStack.release();
+        nbInts = nbLongs = currentLevel = capacity = 0;
+    }
+
+    private void save(int slot, long oldValue, int oldStamp) {
+        if (currentLevel == capacity) {
+            slotStack.ensureCapacity(currentLevel + 1);
+            valueStack.ensureCapacity(currentLevel + 1);
+            stampStack.ensureCapacity(currentLevel + 1);
+            // stacks of ints and of longs do not have the same page size
+            capacity = Math.min(valueStack.capacity(), Math.min(slotStack.capacity(), stampStack.capacity()));
+        }
+        slotStack.set(currentLevel, slot);
+        valueStack.set(currentLevel, oldValue);
+        stampStack.set(currentLevel, oldStamp);
+        currentLevel++;
+    }
+
+    @Override
+    public int getSize() {
+        return currentLevel;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -48,7 +48,7 @@ public class EnvironmentTrailing extends AbstractEnvironment {
     private IStoredLongTrail longTrail;
     private IStoredDoubleTrail doubleTrail;
     private IOperationTrail operationTrail;
-    private StoredIntVectorTrail intVectorTrail;
+    private StateArena arena;
     private StoredDoubleVectorTrail doubleVectorTrail;
 
     /**
@@ -58,11 +58,78 @@ public class EnvironmentTrailing extends AbstractEnvironment {
     private IStorage[] trails = new IStorage[0];
     private int trailSize = 0;
 
+    /**
+     * Statistics on trails, <i>null</i> unless enabled
+     */
+    private TrailMetrics metrics;
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void worldPush() {
+        if (metrics != null) {
+            metrics.onPush(currentWorld + 1);
+        }
+        doWorldPush();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void worldPop() {
+        if (metrics == null) {
+            doWorldPop();
+        } else {
+            metrics.beforePop();
+            doWorldPop();
+            metrics.afterPop();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void worldCommit() {
+        if (metrics == null) {
+            doWorldCommit();
+        } else {
+            metrics.beforeCommit();
+            doWorldCommit();
+            metrics.afterCommit();
+        }
+    }
+
+    /**
+     * Enable the collection of statistics on the trails of this environment.
+     * Note that it slightly slows down backtracking.
+     *
+     * @return the statistics, updated as worlds are pushed and popped
+     */
+    public TrailMetrics enableMetrics() {
+        if (metrics == null) {
+            metrics = new TrailMetrics();
+            for (int i = 0; i < trailSize; i++) {
+                register(trails[i]);
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * @return the statistics on trails, or <i>null</i> if they are not enabled
+     * @see #enableMetrics()
+     */
+    public TrailMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Moving up to the next world.
+     */
+    protected void doWorldPush() {
         timestamp++;
         //code optim.: replace loop by enumeration
         final int wi = currentWorld + 1;
@@ -74,10 +141,9 @@ public class EnvironmentTrailing extends AbstractEnvironment {
 
 
     /**
-     * {@inheritDoc}
+     * Moving down to the previous world.
      */
-    @Override
-    public void worldPop() {
+    protected void doWorldPop() {
         timestamp++;
         //code optim.: replace loop by enumeration
         final int wi = currentWorld;
@@ -89,10 +155,9 @@ public class EnvironmentTrailing extends AbstractEnvironment {
     }
 
     /**
-     * {@inheritDoc}
+     * Committing the current world: merging it with the previous one.
      */
-    @Override
-    public void worldCommit() {
+    protected void doWorldCommit() {
         //code optim.: replace loop by enumeration;
         if (currentWorld == 0) {
             throw new IllegalStateException("Commit in world 0?");
@@ -136,6 +201,14 @@ public class EnvironmentTrailing extends AbstractEnvironment {
         return new StoredIntVector(this, size, initialValue);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateLongArray makeLongArray(final int size, final long initialValue) {
+        return new StoredLongArray(this, size, initialValue);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -177,16 +250,19 @@ public class EnvironmentTrailing extends AbstractEnvironment {
     }
 
 
-    private void increaseTrail() {// TODO check resizing
+    private void addTrail(IStorage trail) {
         IStorage[] tmp = trails;
         trails = new IStorage[tmp.length + 1];
         System.arraycopy(tmp, 0, trails, 0, tmp.length);
+        trails[trailSize++] = trail;
+        if (metrics != null) {
+            register(trail);
+        }
     }
 
     public void setIntTrail(IStoredIntTrail itrail){
         if(intTrail == null) {
-            increaseTrail();
-            trails[trailSize++] = intTrail = itrail;
+            addTrail(intTrail = itrail);
         }else{
             throw new UnsupportedOperationException("A trail has already been declared.");
         }
@@ -202,8 +278,7 @@ public class EnvironmentTrailing extends AbstractEnvironment {
 
     public void setLongTrail(IStoredLongTrail ltrail){
         if(longTrail == null) {
-            increaseTrail();
-            trails[trailSize++] = longTrail = ltrail;
+            addTrail(longTrail = ltrail);
         }else{
             throw new UnsupportedOperationException("A trail has already been declared.");
         }
@@ -218,8 +293,7 @@ public class EnvironmentTrailing extends AbstractEnvironment {
 
     public void setBoolTrail(IStoredBoolTrail btrail){
         if(boolTrail == null) {
-            increaseTrail();
-            trails[trailSize++] = boolTrail = btrail;
+            addTrail(boolTrail = btrail);
         }else{
             throw new UnsupportedOperationException("A trail has already been declared.");
         }
@@ -234,8 +308,7 @@ public class EnvironmentTrailing extends AbstractEnvironment {
 
     public void setDoubleTrail(IStoredDoubleTrail dtrail){
         if(doubleTrail == null) {
-            increaseTrail();
-            trails[trailSize++] = doubleTrail = dtrail;
+            addTrail(doubleTrail = dtrail);
         }else{
             throw new UnsupportedOperationException("A trail has already been declared.");
         }
@@ -250,8 +323,7 @@ public class EnvironmentTrailing extends AbstractEnvironment {
 
     public void setOperationTrail(IOperationTrail otrail){
         if(operationTrail == null) {
-            increaseTrail();
-            trails[trailSize++] = operationTrail = otrail;
+            addTrail(operationTrail = otrail);
         }else{
             throw new UnsupportedOperationException("A trail has already been declared.");
         }
@@ -269,18 +341,28 @@ public class EnvironmentTrailing extends AbstractEnvironment {
     // NOTE: this data structures should not be used...
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-    public StoredIntVectorTrail getIntVectorTrail() {
-        if (intVectorTrail == null) {
-            increaseTrail();
-            trails[trailSize++] = intVectorTrail = new StoredIntVectorTrail(this, NBUPATES, NBWORLDS, LOADFACTOR);
+    /**
+     * @return the arena that stores backtrackable arrays of primitives, like {@link StoredLongArray}
+     * and {@link StoredIntVector}, created on demand
+     */
+    public StateArena getArena() {
+        if (arena == null) {
+            setArena(new HeapStateArena(this, NBUPATES, NBWORLDS, LOADFACTOR));
+        }
+        return arena;
+    }
+
+    public void setArena(StateArena sarena) {
+        if (arena == null) {
+            addTrail(arena = sarena);
+        } else {
+            throw new UnsupportedOperationException("An arena has already been declared.");
         }
-        return intVectorTrail;
     }
 
     public StoredDoubleVectorTrail getDoubleVectorTrail() {
         if (doubleVectorTrail == null) {
-            increaseTrail();
-            trails[trailSize++] = doubleVectorTrail = new StoredDoubleVectorTrail(this, NBUPATES, NBWORLDS, LOADFACTOR);
+            addTrail(doubleVectorTrail = new StoredDoubleVectorTrail(this, NBUPATES, NBWORLDS, LOADFACTOR));
         }
         return doubleVectorTrail;
     }
@@ -288,6 +370,27 @@ public class EnvironmentTrailing extends AbstractEnvironment {
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
 
+    private void register(IStorage trail) {
+        metrics.register(trail.getClass().getSimpleName(), trail::getSize, trail::getCapacity, entryBytes(trail));
+    }
+
+    /**
+     * Estimate the size of an entry of a trail, assuming compressed references.
+     */
+    private static int entryBytes(IStorage trail) {
+        if (trail instanceof IStoredIntTrail) {
+            return 12; // reference, value and stamp
+        } else if (trail instanceof IStoredBoolTrail) {
+            return 9;
+        } else if (trail instanceof IStoredLongTrail || trail instanceof IStoredDoubleTrail || trail instanceof StateArena) {
+            return 16;
+        } else if (trail instanceof StoredDoubleVectorTrail) {
+            return 20;
+        } else {
+            return 4;
+        }
+    }
+
     public void save(IOperation oldValue) {
         getOperationTrail().savePreviousState(oldValue);
     }
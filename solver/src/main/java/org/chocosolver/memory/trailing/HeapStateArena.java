@@ -0,0 +1,276 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.trailing;
+
+import java.util.Arrays;
+
+/**
+ * A {@link StateArena} whose slots and trail are stored in arrays on the heap.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public final class HeapStateArena extends StateArena {
+
+    /**
+     * The environment, to get the current world index
+     */
+    private final EnvironmentTrailing environment;
+
+    /**
+     * Load factor for structures
+     */
+    private final double loadfactor;
+
+    // int slots
+    private int[] ints;
+    private int[] intStamps;
+    private int nbInts;
+
+    // long slots
+    private long[] longs;
+    private int[] longStamps;
+    private int nbLongs;
+
+    /**
+     * Stack of modified slots: an int slot is stored as is, a long slot <i>s</i> as <code>~s</code>.
+     */
+    private int[] slotStack;
+
+    /**
+     * Stack of former values, int values are widened
+     */
+    private long[] valueStack;
+
+    /**
+     * Stack of former world stamps
+     */
+    private int[] stampStack;
+
+    /**
+     * Points the level of the last entry.
+     */
+    private int currentLevel;
+
+    /**
+     * A stack of pointers (for each start of a world).
+     */
+    private int[] worldStartLevels;
+
+    /**
+     * Create an empty arena.
+     *
+     * @param env        the environment
+     * @param nUpdates   initial number of updates stored
+     * @param nWorlds    initial number of worlds stored
+     * @param loadfactor load factor for structures
+     */
+    public HeapStateArena(EnvironmentTrailing env, int nUpdates, int nWorlds, double loadfactor) {
+        this.environment = env;
+        this.loadfactor = loadfactor;
+        this.ints = new int[16];
+        this.intStamps = new int[16];
+        this.longs = new long[16];
+        this.longStamps = new int[16];
+        this.slotStack = new int[nUpdates];
+        this.valueStack = new long[nUpdates];
+        this.stampStack = new int[nUpdates];
+        this.worldStartLevels = new int[nWorlds];
+    }
+
+    @Override
+    public int allocateInts(int n, int initialValue) {
+        final int base = nbInts;
+        if (base + n > ints.length) {
+            int capacity = Math.max(base + n, (int) (ints.length * loadfactor));
+            ints = Arrays.copyOf(ints, capacity);
+            intStamps = Arrays.copyOf(intStamps, capacity);
+        }
+        nbInts += n;
+        Arrays.fill(ints, base, nbInts, initialValue);
+        Arrays.fill(intStamps, base, nbInts, -1);
+        return base;
+    }
+
+    @Override
+    public int allocateLongs(int n, long initialValue) {
+        final int base = nbLongs;
+        if (base + n > longs.length) {
+            int capacity = Math.max(base + n, (int) (longs.length * loadfactor));
+            longs = Arrays.copyOf(longs, capacity);
+            longStamps = Arrays.copyOf(longStamps, capacity);
+        }
+        nbLongs += n;
+        Arrays.fill(longs, base, nbLongs, initialValue);
+        Arrays.fill(longStamps, base, nbLongs, -1);
+        return base;
+    }
+
+    @Override
+    public int getInt(int slot) {
+        return ints[slot];
+    }
+
+    @Override
+    public void setInt(int slot, int value) {
+        final int old = ints[slot];
+        if (old != value) {
+            final int wi = environment.getWorldIndex();
+            if (intStamps[slot] < wi) {
+                save(slot, old, intStamps[slot]);
+                intStamps[slot] = wi;
+            }
+            ints[slot] = value;
+        }
+    }
+
+    @Override
+    public long getLong(int slot) {
+        return longs[slot];
+    }
+
+    @Override
+    public void setLong(int slot, long value) {
+        final long old = longs[slot];
+        if (old != value) {
+            final int wi = environment.getWorldIndex();
+            if (longStamps[slot] < wi) {
+                save(~slot, old, longStamps[slot]);
+                longStamps[slot] = wi;
+            }
+            longs[slot] = value;
+        }
+    }
+
+    @Override
+    public int getNbInts() {
+        return nbInts;
+    }
+
+    @Override
+    public int getNbLongs() {
+        return nbLongs;
+    }
+
+    @Override
+    public void worldPush(int worldIndex) {
+        worldStartLevels[worldIndex] = currentLevel;
+        if (worldIndex == worldStartLevels.length - 1) {
+            worldStartLevels = Arrays.copyOf(worldStartLevels, (int) (worldStartLevels.length * loadfactor));
+        }
+    }
+
+    @Override
+    public void worldPop(int worldIndex) {
+        final int wsl = worldStartLevels[worldIndex];
+        while (currentLevel > wsl) {
+            currentLevel--;
+            final int slot = slotStack[currentLevel];
+            if (slot >= 0) {
+                ints[slot] = (int) valueStack[currentLevel];
+                intStamps[slot] = stampStack[currentLevel];
+            } else {
+                longs[~slot] = valueStack[currentLevel];
+                longStamps[~slot] = stampStack[currentLevel];
+            }
+        }
+    }
+
+    @Override
+    public void worldCommit(int worldIndex) {
+        // same principle as flat trails: updates stamped with the previous world are dropped
+        final int startLevel = worldStartLevels[worldIndex];
+        final int prevWorld = worldIndex - 1;
+        int writeIdx = startLevel;
+        for (int level = startLevel; level < currentLevel; level++) {
+            final int slot = slotStack[level];
+            final int stamp = stampStack[level];
+            if (slot >= 0) {
+                intStamps[slot] = prevWorld;
+            } else {
+                longStamps[~slot] = prevWorld;
+            }
+            if (stamp != prevWorld) {
+                if (writeIdx != level) {
+                    slotStack[writeIdx] = slot;
+                    valueStack[writeIdx] = valueStack[level];
+                    stampStack[writeIdx] = stamp;
+                }
+                writeIdx++;
+            }
+        }
+        currentLevel = writeIdx;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected void initInt(int slot, int value) {
+        ints[slot] = value;
+        intStamps[slot] = environment.getWorldIndex();
+    }
+
+    @Override
+    protected int moveInts(int base, int length, int newLength) {
+        final int newBase = allocateInts(newLength, 0);
+        System.arraycopy(ints, base, ints, newBase, length);
+        System.arraycopy(intStamps, base, intStamps, newBase, length);
+        final int shift = newBase - base;
+        for (int level = 0; level < currentLevel; level++) {
+            final int slot = slotStack[level];
+            if (slot >= base && slot < base + length) {
+                slotStack[level] = slot + shift;
+            }
+        }
+        return newBase;
+    }
+
+    @Override
+    protected int moveLongs(int base, int length, int newLength, long initialValue) {
+        final int newBase = allocateLongs(newLength, initialValue);
+        System.arraycopy(longs, base, longs, newBase, length);
+        System.arraycopy(longStamps, base, longStamps, newBase, length);
+        final int shift = newBase - base;
+        for (int level = 0; level < currentLevel; level++) {
+            final int slot = ~slotStack[level];
+            if (slot >= base && slot < base + length) {
+                slotStack[level] = ~(slot + shift);
+            }
+        }
+        return newBase;
+    }
+
+    private void save(int slot, long oldValue, int oldStamp) {
+        slotStack[currentLevel] = slot;
+        valueStack[currentLevel] = oldValue;
+        stampStack[currentLevel] = oldStamp;
+        currentLevel++;
+        if (currentLevel == slotStack.length) {
+            final int capacity = (int) (currentLevel * loadfactor);
+            slotStack = Arrays.copyOf(slotStack, capacity);
+            valueStack = Arrays.copyOf(valueStack, capacity);
+            stampStack = Arrays.copyOf(stampStack, capacity);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return currentLevel;
+    }
+
+    @Override
+    public int getCapacity() {
+        return slotStack.length;
+    }
+}
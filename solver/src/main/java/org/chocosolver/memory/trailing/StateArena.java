@@ -0,0 +1,132 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.trailing;
+
+import org.chocosolver.memory.IStorage;
+
+/**
+ * An arena of backtrackable primitives, stored as structures of arrays.
+ * <p>
+ * Instead of one object per primitive, with its own header and world stamp,
+ * the values and the world stamps of int (resp. long) slots are stored in a few large arrays,
+ * and a slot is designated by its index, or handle, in these arrays.
+ * Slots are allocated by contiguous blocks, which makes it cheap to store arrays of primitives,
+ * like the words of a bitset.
+ * Slots are never released.
+ * Like any primitive, a slot is not stamped when allocated, so its first modification is always saved.
+ * </p>
+ * <p>
+ * The arena has its own trail, which stores, for each update, the handle of the slot, its former value and stamp.
+ * It does not refer to any object, so it is not scanned by the garbage collector.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @see EnvironmentTrailing#getArena()
+ * @see HeapStateArena
+ * @since 4.10.18
+ */
+public abstract class StateArena implements IStorage {
+
+    /**
+     * Allocate <i>n</i> contiguous int slots.
+     *
+     * @param n            number of slots
+     * @param initialValue initial value of the slots
+     * @return the handle of the first slot
+     */
+    public abstract int allocateInts(int n, int initialValue);
+
+    /**
+     * Allocate <i>n</i> contiguous long slots.
+     *
+     * @param n            number of slots
+     * @param initialValue initial value of the slots
+     * @return the handle of the first slot
+     */
+    public abstract int allocateLongs(int n, long initialValue);
+
+    /**
+     * @param slot handle of an int slot
+     * @return the current value of the slot
+     */
+    public abstract int getInt(int slot);
+
+    /**
+     * Modify the value of an int slot, its former value is saved if needed.
+     *
+     * @param slot  handle of an int slot
+     * @param value new value
+     */
+    public abstract void setInt(int slot, int value);
+
+    /**
+     * @param slot handle of a long slot
+     * @return the current value of the slot
+     */
+    public abstract long getLong(int slot);
+
+    /**
+     * Modify the value of a long slot, its former value is saved if needed.
+     *
+     * @param slot  handle of a long slot
+     * @param value new value
+     */
+    public abstract void setLong(int slot, long value);
+
+    /**
+     * @return the number of int slots allocated so far
+     */
+    public abstract int getNbInts();
+
+    /**
+     * @return the number of long slots allocated so far
+     */
+    public abstract int getNbLongs();
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Modify the value of an int slot without saving its former value, the slot is stamped with the current world.
+     * To be used only on slots which are not reachable in the previous worlds.
+     *
+     * @param slot  handle of an int slot
+     * @param value new value
+     */
+    protected abstract void initInt(int slot, int value);
+
+    /**
+     * Move the first <i>length</i> slots of a block of int slots to a new block of <i>newLength</i> slots.
+     * The updates of the moved slots that are in the trail are redirected to the new block,
+     * the old block is lost.
+     *
+     * @param base      handle of the first slot of the block
+     * @param length    number of slots to move
+     * @param newLength number of slots of the new block
+     * @return the handle of the first slot of the new block
+     */
+    protected abstract int moveInts(int base, int length, int newLength);
+
+    /**
+     * Move the first <i>length</i> slots of a block of long slots to a new block of <i>newLength</i> slots.
+     * The updates of the moved slots that are in the trail are redirected to the new block,
+     * the old block is lost.
+     *
+     * @param base         handle of the first slot of the block
+     * @param length       number of slots to move
+     * @param newLength    number of slots of the new block
+     * @param initialValue initial value of the slots that are not moved
+     * @return the handle of the first slot of the new block
+     */
+    protected abstract int moveLongs(int base, int length, int newLength, long initialValue);
+}
@@ -10,23 +10,30 @@
 package org.chocosolver.memory.trailing;
 
 import org.chocosolver.memory.IStateIntVector;
-import org.chocosolver.memory.trailing.trail.StoredIntVectorTrail;
 
 /**
  * Implements a backtrackable search vector.
  * <p/>
  * Cette classe permet de stocker facilment des entiers dans un tableau
  * backtrackable d'entiers.
+ * The entries are contiguous int slots of a {@link StateArena}.
  */
 public final class StoredIntVector extends IStateIntVector {
 
     /**
-     * Contains time stamps for all entries (the world index of the last update for each entry)
+     * The arena which stores the entries and their time stamps
      */
+    private final StateArena arena;
 
-    public int[] worldStamps;
+    /**
+     * Handle of the first entry in the arena
+     */
+    private int base;
 
-    private final StoredIntVectorTrail myTrail;
+    /**
+     * Number of slots reserved in the arena
+     */
+    private int capacity;
 
 
     /**
@@ -38,35 +45,26 @@ public final class StoredIntVector extends IStateIntVector {
      */
 
     public StoredIntVector(EnvironmentTrailing env, int initialSize, int initialValue) {
-        super(env, initialSize, initialValue);
-        int initialCapacity = Math.max(MIN_CAPACITY, initialSize);
-        int w = env.getWorldIndex();
-
-        this.worldStamps = new int[initialCapacity];
-        for (int i = 0; i < initialSize; i++) {
-            this.worldStamps[i] = w;
-        }
-        this.myTrail = env.getIntVectorTrail();
+        super(env, initialSize);
+        this.arena = env.getArena();
+        this.capacity = Math.max(MIN_CAPACITY, initialSize);
+        this.base = arena.allocateInts(capacity, initialValue);
     }
 
     /**
      * Checks if the capacity is great enough, else the capacity
-     * is extended.
+     * is extended: the entries are moved to a larger block of the arena.
      *
      * @param minCapacity the necessary capacity.
      */
     public void ensureCapacity(int minCapacity) {
-        int oldCapacity = elementData.length;
-        if (minCapacity > oldCapacity) {
-            int[] oldData = elementData;
-            int[] oldStamps = worldStamps;
-            int newCapacity = (oldCapacity * 3) / 2 + 1;
+        if (minCapacity > capacity) {
+            int newCapacity = (capacity * 3) / 2 + 1;
             if (newCapacity < minCapacity)
                 newCapacity = minCapacity;
-            elementData = new int[newCapacity];
-            worldStamps = new int[newCapacity];
-            System.arraycopy(oldData, 0, elementData, 0, size.get());
-            System.arraycopy(oldStamps, 0, worldStamps, 0, size.get());
+            // all slots are moved: entries beyond the current size may be restored upon backtrack
+            base = arena.moveInts(base, capacity, newCapacity);
+            capacity = newCapacity;
         }
     }
 
@@ -81,8 +79,7 @@ public final class StoredIntVector extends IStateIntVector {
         int newsize = size.get() + 1;
         ensureCapacity(newsize);
         size.set(newsize);
-        elementData[newsize - 1] = i;
-        worldStamps[newsize - 1] = environment.getWorldIndex();
+        arena.initInt(base + newsize - 1, i);
     }
 
     /**
@@ -91,14 +88,11 @@ public final class StoredIntVector extends IStateIntVector {
      * @param i The search to remove.
      */
     public void remove(int i) {
-        System.arraycopy(elementData, i, elementData, i + 1, size.get());
-        System.arraycopy(worldStamps, i, worldStamps, i + 1, size.get());
-
-        //        for(int j = i; j < size.get()-1; j++){
-        //            elementData[j] = elementData[j+1];
-        //            worldStamps[j] = worldStamps[j+1];
-        //        }
-        int newsize = size.get() - 1;
+        int n = size.get();
+        for (int j = i; j < n - 1; j++) {
+            quickSet(j, quickGet(j + 1));
+        }
+        int newsize = n - 1;
         if (newsize >= 0)
             size.set(newsize);
     }
@@ -113,6 +107,11 @@ public final class StoredIntVector extends IStateIntVector {
             size.set(newsize);
     }
 
+    @Override
+    public int quickGet(int index) {
+        assert (rangeCheck(index));
+        return arena.getInt(base + index);
+    }
 
     /**
      * Assigns a new value <code>val</code> to the element <code>index</code>.
@@ -120,39 +119,23 @@ public final class StoredIntVector extends IStateIntVector {
     @Override
     public int set(int index, int val) {
         if (rangeCheck(index)) {
-            //<hca> je vire cet assert en cas de postCut il n est pas vrai ok ?
-            //assert(this.worldStamps[index] <= environment.getWorldIndex());
             return quickSet(index, val);
         }
         throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size.get());
     }
 
+    /**
+     * Sets an element without any bound check
+     *
+     * @param index index of the element
+     * @param val   the new value
+     * @return the old value
+     */
     @Override
     public int quickSet(int index, int val) {
         assert (rangeCheck(index));
-        final int oldValue = elementData[index];
-        if (val != oldValue) {
-            final int oldStamp = this.worldStamps[index];
-            if (oldStamp < environment.getWorldIndex()) {
-                myTrail.savePreviousState(this, index, oldValue, oldStamp);
-                worldStamps[index] = environment.getWorldIndex();
-            }
-            elementData[index] = val;
-        }
+        final int oldValue = arena.getInt(base + index);
+        arena.setInt(base + index, val);
         return oldValue;
     }
-
-
-    /**
-     * Sets an element without storing the previous value.
-     */
-    public int _set(int index, int val, int stamp) {
-        assert (rangeCheck(index));
-        int oldval = elementData[index];
-        elementData[index] = val;
-        worldStamps[index] = stamp;
-        return oldval;
-    }
-
-
 }
@@ -0,0 +1,73 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.trailing;
+
+import org.chocosolver.memory.IStateLongArray;
+
+/**
+ * A backtrackable array of longs, whose words are contiguous long slots of a {@link StateArena}.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public final class StoredLongArray implements IStateLongArray {
+
+    private final StateArena arena;
+
+    /**
+     * Handle of the first word in the arena
+     */
+    private int base;
+
+    private int length;
+
+    private final long initialValue;
+
+    /**
+     * Create a backtrackable array of longs.
+     *
+     * @param env          the environment
+     * @param size         number of words
+     * @param initialValue initial value of the words
+     */
+    public StoredLongArray(EnvironmentTrailing env, int size, long initialValue) {
+        this.arena = env.getArena();
+        this.base = arena.allocateLongs(size, initialValue);
+        this.length = size;
+        this.initialValue = initialValue;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public long get(int index) {
+        assert index >= 0 && index < length;
+        return arena.getLong(base + index);
+    }
+
+    @Override
+    public void set(int index, long value) {
+        assert index >= 0 && index < length;
+        arena.setLong(base + index, value);
+    }
+
+    @Override
+    public void ensureCapacity(int minLength) {
+        if (minLength > length) {
+            base = arena.moveLongs(base, length, minLength, initialValue);
+            length = minLength;
+        }
+    }
+}
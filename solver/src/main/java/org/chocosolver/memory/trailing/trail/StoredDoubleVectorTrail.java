@@ -194,4 +194,14 @@ public class StoredDoubleVectorTrail implements IStorage {
         }
         currentLevel = writeIdx;
     }
+
+    @Override
+    public int getSize() {
+        return currentLevel;
+    }
+
+    @Override
+    public int getCapacity() {
+        return valueStack.length;
+    }
 }
@@ -65,4 +65,23 @@ public abstract class ChunckedTrail<W extends World> implements IStorage{
         return n;
     }
 
-}
\ No newline at end of file
+    @Override
+    public int getSize() {
+        int n = 0;
+        if (current != null) {
+            // worlds after the current one are stale
+            for (int i = 0; worlds[i] != current; i++) {
+                if (worlds[i] != null) {
+                    n += worlds[i].used();
+                }
+            }
+            n += current.used();
+        }
+        return n;
+    }
+
+    @Override
+    public int getCapacity() {
+        return allocated();
+    }
+}
@@ -116,4 +116,14 @@ public class OperationTrail implements IOperationTrail {
             worldStartLevels[t]++;
         }
     }
+
+    @Override
+    public int getSize() {
+        return currentLevel;
+    }
+
+    @Override
+    public int getCapacity() {
+        return valueStack.length;
+    }
 }
@@ -162,4 +162,14 @@ public class StoredBoolTrail implements IStoredBoolTrail {
         System.arraycopy(stampStack, 0, tmp3, 0, stampStack.length);
         stampStack = tmp3;
     }
+
+    @Override
+    public int getSize() {
+        return currentLevel;
+    }
+
+    @Override
+    public int getCapacity() {
+        return valueStack.length;
+    }
 }
@@ -0,0 +1,140 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.trailing.trail.paged;
+
+import org.chocosolver.memory.trailing.StoredDouble;
+import org.chocosolver.memory.trailing.trail.IStoredDoubleTrail;
+
+import java.util.Arrays;
+
+/**
+ * A trail for doubles whose stacks are split into fixed-size pages.
+ *
+ * @author Charles Prud'homme
+ * @see PagedTrail
+ * @since 4.10.18
+ */
+public class PagedDoubleTrail extends PagedTrail implements IStoredDoubleTrail {
+
+    /**
+     * Pages of backtrackable search variables.
+     */
+    private StoredDouble[][] variablePages;
+
+    /**
+     * Pages of values (former values that need be restored upon backtracking).
+     */
+    private double[][] valuePages;
+
+    /**
+     * Pages of timestamps indicating the world where the former value
+     * had been written.
+     */
+    private int[][] stampPages;
+
+    /**
+     * Constructs a paged trail.
+     *
+     * @param pageSize   number of updates a page can store, rounded up to a power of 2
+     * @param nWorlds    initial number of worlds that will be stored
+     * @param loadfactor load factor for structures
+     */
+    public PagedDoubleTrail(int pageSize, int nWorlds, double loadfactor) {
+        super(pageSize, nWorlds, loadfactor);
+        variablePages = new StoredDouble[16][];
+        valuePages = new double[16][];
+        stampPages = new int[16][];
+    }
+
+    /**
+     * Moving down to the previous world.
+     *
+     * @param worldIndex current world index
+     */
+    @Override
+    public void worldPop(int worldIndex) {
+        final int wsl = worldStartLevels[worldIndex];
+        while (currentLevel > wsl) {
+            final int page = (currentLevel - 1) >>> shift;
+            final StoredDouble[] variables = variablePages[page];
+            final double[] values = valuePages[page];
+            final int[] stamps = stampPages[page];
+            final int from = Math.max(wsl, page << shift);
+            for (int level = currentLevel - 1; level >= from; level--) {
+                final int o = level & mask;
+                variables[o]._set(values[o], stamps[o]);
+            }
+            currentLevel = from;
+        }
+    }
+
+    /**
+     * Comits a world: merging it with the previous one.
+     */
+    @Override
+    public void worldCommit(int worldIndex) {
+        // see StoredIntTrail#worldCommit(int), updates whose stamp is the previous world are discarded
+        final int startLevel = worldStartLevels[worldIndex];
+        final int prevWorld = worldIndex - 1;
+        int writeIdx = startLevel;
+        for (int level = startLevel; level < currentLevel; level++) {
+            final int p = level >>> shift;
+            final int o = level & mask;
+            final StoredDouble var = variablePages[p][o];
+            final int stamp = stampPages[p][o];
+            var.overrideTimeStamp(prevWorld);
+            if (stamp != prevWorld) {
+                if (writeIdx != level) {
+                    final int wp = writeIdx >>> shift;
+                    final int wo = writeIdx & mask;
+                    valuePages[wp][wo] = valuePages[p][o];
+                    variablePages[wp][wo] = var;
+                    stampPages[wp][wo] = stamp;
+                }
+                writeIdx++;
+            }
+        }
+        currentLevel = writeIdx;
+    }
+
+    /**
+     * Reacts when a StoredDouble is modified: push the former value & timestamp
+     * on the stacks.
+     */
+    @Override
+    public void savePreviousState(StoredDouble v, double oldValue, int oldStamp) {
+        ensureCapacity();
+        final int p = currentLevel >>> shift;
+        final int o = currentLevel & mask;
+        valuePages[p][o] = oldValue;
+        variablePages[p][o] = v;
+        stampPages[p][o] = oldStamp;
+        currentLevel++;
+    }
+
+    @Override
+    protected int directorySize() {
+        return variablePages.length;
+    }
+
+    @Override
+    protected void resizeDirectory(int size) {
+        variablePages = Arrays.copyOf(variablePages, size);
+        valuePages = Arrays.copyOf(valuePages, size);
+        stampPages = Arrays.copyOf(stampPages, size);
+    }
+
+    @Override
+    protected void allocatePage(int page) {
+        variablePages[page] = new StoredDouble[pageSize];
+        valuePages[page] = new double[pageSize];
+        stampPages[page] = new int[pageSize];
+    }
+}
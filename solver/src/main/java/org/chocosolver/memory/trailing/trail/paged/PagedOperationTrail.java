@@ -0,0 +1,112 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.trailing.trail.paged;
+
+import org.chocosolver.memory.structure.IOperation;
+import org.chocosolver.memory.trailing.trail.IOperationTrail;
+
+import java.util.Arrays;
+
+/**
+ * A trail for operations whose stack is split into fixed-size pages.
+ *
+ * @author Charles Prud'homme
+ * @see PagedTrail
+ * @since 4.10.18
+ */
+public class PagedOperationTrail extends PagedTrail implements IOperationTrail {
+
+    /**
+     * Pages of operations to undo upon backtracking.
+     */
+    private IOperation[][] valuePages;
+
+    /**
+     * Constructs a paged trail.
+     *
+     * @param pageSize   number of updates a page can store, rounded up to a power of 2
+     * @param nWorlds    initial number of worlds that will be stored
+     * @param loadfactor load factor for structures
+     */
+    public PagedOperationTrail(int pageSize, int nWorlds, double loadfactor) {
+        super(pageSize, nWorlds, loadfactor);
+        valuePages = new IOperation[16][];
+    }
+
+    /**
+     * Moving down to the previous world.
+     *
+     * @param worldIndex current world index
+     */
+    @Override
+    public void worldPop(int worldIndex) {
+        final int wsl = worldStartLevels[worldIndex];
+        while (currentLevel > wsl) {
+            currentLevel--;
+            final IOperation[] values = valuePages[currentLevel >>> shift];
+            final int o = currentLevel & mask;
+            values[o].undo();
+            values[o] = null; // pages are kept, do not retain undone operations
+        }
+    }
+
+    /**
+     * Comits a world: merging it with the previous one.
+     */
+    @Override
+    public void worldCommit(int worldIndex) {
+        final int wsl = worldStartLevels[worldIndex];
+        while (currentLevel > wsl) {
+            currentLevel--;
+            valuePages[currentLevel >>> shift][currentLevel & mask] = null;
+        }
+    }
+
+    /**
+     * Reacts when an operation is done: push it on the stack.
+     */
+    @Override
+    public void savePreviousState(IOperation operation) {
+        ensureCapacity();
+        valuePages[currentLevel >>> shift][currentLevel & mask] = operation;
+        currentLevel++;
+    }
+
+    @Override
+    public void savePreviousStateAt(IOperation operation, int at, int currentWorldIndex) {
+        savePreviousState(null); // make sure there is enough space
+        // keep the order: shift the operations of the worlds after 'at' by one level
+        final int first = worldStartLevels[at];
+        for (int level = currentLevel - 1; level > first; level--) {
+            final int prev = level - 1;
+            valuePages[level >>> shift][level & mask] = valuePages[prev >>> shift][prev & mask];
+        }
+        // set 'operation' as first one to be popped at world 'at'
+        valuePages[first >>> shift][first & mask] = operation;
+        for (int t = currentWorldIndex; t > at; t--) {
+            worldStartLevels[t]++;
+        }
+    }
+
+    @Override
+    protected int directorySize() {
+        return valuePages.length;
+    }
+
+    @Override
+    protected void resizeDirectory(int size) {
+        valuePages = Arrays.copyOf(valuePages, size);
+    }
+
+    @Override
+    protected void allocatePage(int page) {
+        valuePages[page] = new IOperation[pageSize];
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.trailing.trail.paged;
+
+import org.chocosolver.memory.IStorage;
+
+import java.util.Arrays;
+
+/**
+ * Base class for trails whose stacks are split into fixed-size pages.
+ * <p>
+ * Unlike flat trails, growing a paged trail never copies the stored updates:
+ * a new page is allocated and only the directory of pages, which is much smaller, may be reallocated.
+ * Pages are never released, those emptied on {@link #worldPop(int)} are reused by the next worlds.
+ * The <i>level</i> of an update is split into a page index (<code>level &gt;&gt;&gt; shift</code>)
+ * and an offset in the page (<code>level &amp; mask</code>).
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public abstract class PagedTrail implements IStorage {
+
+    /**
+     * Default number of updates a page can store
+     */
+    public static final int PAGE_SIZE = 1 << 12;
+
+    /**
+     * Load factor, to resize the stack of worlds and the directory of pages
+     */
+    protected final double loadfactor;
+
+    /**
+     * Number of updates a page can store, a power of 2
+     */
+    protected final int pageSize;
+
+    /**
+     * Shift to get the page of a level
+     */
+    protected final int shift;
+
+    /**
+     * Mask to get the offset of a level in its page
+     */
+    protected final int mask;
+
+    /**
+     * Number of pages allocated so far
+     */
+    protected int nbPages;
+
+    /**
+     * Points the level of the last entry.
+     */
+    protected int currentLevel;
+
+    /**
+     * A stack of pointers (for each start of a world).
+     */
+    protected int[] worldStartLevels;
+
+    /**
+     * Constructs a paged trail.
+     *
+     * @param pageSize   number of updates a page can store, rounded up to a power of 2
+     * @param nWorlds    initial number of worlds that will be stored
+     * @param loadfactor load factor for structures
+     */
+    protected PagedTrail(int pageSize, int nWorlds, double loadfactor) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("The size of a page must be positive");
+        }
+        this.pageSize = pageSize == 1 ? 1 : Integer.highestOneBit(pageSize - 1) << 1;
+        this.shift = Integer.numberOfTrailingZeros(this.pageSize);
+        this.mask = this.pageSize - 1;
+        this.loadfactor = loadfactor;
+        this.worldStartLevels = new int[nWorlds];
+    }
+
+    /**
+     * Moving up to the next world.
+     *
+     * @param worldIndex current world index
+     */
+    @Override
+    public void worldPush(int worldIndex) {
+        worldStartLevels[worldIndex] = currentLevel;
+        if (worldIndex == worldStartLevels.length - 1) {
+            worldStartLevels = Arrays.copyOf(worldStartLevels, (int) (worldStartLevels.length * loadfactor));
+        }
+    }
+
+    /**
+     * Returns the allocated trail size.
+     *
+     * @return a positive number
+     */
+    public int allocated() {
+        return nbPages << shift;
+    }
+
+    /**
+     * @return the number of updates a page can store
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Make sure the level <i>currentLevel</i> can be written, allocating a new page if needed.
+     */
+    protected final void ensureCapacity() {
+        if (currentLevel == nbPages << shift) {
+            int dirSize = directorySize();
+            if (nbPages == dirSize) {
+                resizeDirectory(Math.max(dirSize + 1, (int) (dirSize * loadfactor)));
+            }
+            allocatePage(nbPages++);
+        }
+    }
+
+    /**
+     * @return the current capacity of the directory of pages
+     */
+    protected abstract int directorySize();
+
+    /**
+     * Resize the directory of pages, the pages themselves are not copied.
+     *
+     * @param size new capacity of the directory
+     */
+    protected abstract void resizeDirectory(int size);
+
+    /**
+     * Allocate the <i>page</i>-th page.
+     *
+     * @param page index of the page to allocate
+     */
+    protected abstract void allocatePage(int page);
+
+    @Override
+    public int getSize() {
+        return currentLevel;
+    }
+
+    @Override
+    public int getCapacity() {
+        return allocated();
+    }
+}
@@ -0,0 +1,644 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.search.loop.move.MoveReplay;
+import org.chocosolver.solver.search.loop.move.MoveWorkStealing;
+import org.chocosolver.solver.search.loop.move.WorkPool;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.decision.DecisionPath;
+import org.chocosolver.solver.search.strategy.decision.DecisionPrefix;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * An Embarrassingly Parallel Search (EPS) helper.
+ * </p>
+ * <p>
+ * Unlike {@link ParallelPortfolio}, which races differently-configured models, EPS splits the search space
+ * into many consistent subproblems which are then solved independently by a pool of workers.
+ * The resolution is made of three steps:
+ *      <ol>
+ *          <li>the root node of the first model is decomposed into subproblems,
+ *          described by {@link DecisionPrefix}es, by a depth-bounded search,</li>
+ *          <li>each model pulls subproblems from a shared queue and explores them
+ *          with its own search strategy (see {@link MoveReplay}),</li>
+ *          <li>solutions, counts and bounds are merged.</li>
+ *      </ol>
+ *      All models are expected to be equivalent (ie, each variable has the same ID in each model).
+ *      When dealing with an optimization problem, the cut on the objective variable's value is propagated
+ *      to all models on solution, exactly as in {@link ParallelPortfolio}.
+ * </p>
+ * <p>
+ *     Example of use.
+ *
+ * <pre>
+ * <code>EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+ * int n = 4; // number of models to use
+ * for (int i = 0; i < n; i++) {
+ *      eps.addModel(modeller());
+ * }
+ * List&lt;Solution&gt; solutions = eps.findAllSolutions();
+ * </code>
+ * </pre>
+ * </p>
+ * <p>
+ * An instance is meant to be run once, that is, either {@link #solve()} or {@link #findAllSolutions()}
+ * can be called, not both.
+ * </p>
+ * <p>
+ * When the subproblems are very unbalanced, work-stealing can be enabled (see {@link #setWorkStealing(boolean)}):
+ * idle workers then request work and busy workers give away their open right branch closest to the root node
+ * (see {@link MoveWorkStealing}). In that case, the decomposition can even be skipped
+ * by setting the maximum decomposition depth to 0.
+ * </p>
+ * <p>
+ * Project: choco.
+ *
+ * @author Charles Prud'homme
+ * @see "J.-C. Régin, M. Rezgui, A. Malapert: Embarrassingly Parallel Search. CP 2013."
+ * @since 4.10.18
+ */
+public class EmbarrassinglyParallelSearch {
+
+    /**
+     * Statistics about the resolution of a subproblem.
+     */
+    public static final class SubproblemStatistics {
+        private final DecisionPrefix prefix;
+        private final int worker;
+        private final long timeInNanoSeconds;
+        private final long nodes;
+        private final long fails;
+        private final long solutions;
+        private final boolean completed;
+
+        SubproblemStatistics(DecisionPrefix prefix, int worker, long timeInNanoSeconds,
+                             long nodes, long fails, long solutions, boolean completed) {
+            this.prefix = prefix;
+            this.worker = worker;
+            this.timeInNanoSeconds = timeInNanoSeconds;
+            this.nodes = nodes;
+            this.fails = fails;
+            this.solutions = solutions;
+            this.completed = completed;
+        }
+
+        /**
+         * @return the decisions that describe the subproblem
+         */
+        public DecisionPrefix getPrefix() {
+            return prefix;
+        }
+
+        /**
+         * @return index of the model which solved the subproblem
+         */
+        public int getWorker() {
+            return worker;
+        }
+
+        /**
+         * @return wall-clock time spent in the subproblem, in nanoseconds
+         */
+        public long getTimeInNanoSeconds() {
+            return timeInNanoSeconds;
+        }
+
+        /**
+         * @return number of nodes opened in the subproblem
+         */
+        public long getNodeCount() {
+            return nodes;
+        }
+
+        /**
+         * @return number of failures in the subproblem
+         */
+        public long getFailCount() {
+            return fails;
+        }
+
+        /**
+         * @return number of solutions found in the subproblem
+         */
+        public long getSolutionCount() {
+            return solutions;
+        }
+
+        /**
+         * @return <i>true</i> if the subproblem has been entirely explored,
+         * <i>false</i> if its resolution has been interrupted
+         */
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("w%d: %.3fs, %d nodes, %d fails, %d sols%s -- %s",
+                    worker, timeInNanoSeconds / 1e9, nodes, fails, solutions,
+                    completed ? "" : " (interrupted)", prefix);
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////       VARIABLES       //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * List of {@link Model}s to be executed in parallel.
+     */
+    private final List<Model> models;
+
+    /**
+     * Expected number of subproblems per worker
+     */
+    private int subproblemsPerWorker = 30;
+
+    /**
+     * Maximum depth of the decomposition
+     */
+    private int maxDecompositionDepth = 64;
+
+    /**
+     * Set to <i>true</i> to let idle workers steal open nodes from busy ones.
+     */
+    private boolean workStealing = false;
+
+    /**
+     * Shared pool of nodes, only used with work-stealing.
+     */
+    private WorkPool pool;
+
+    /**
+     * Strategy used to decompose the root node
+     */
+    private Function<Model, AbstractStrategy<IntVar>> decompositionStrategy =
+            m -> Search.minDomLBSearch(m.retrieveIntVars(true));
+
+    /**
+     * Subproblems not yet explored
+     */
+    private final ConcurrentLinkedQueue<DecisionPrefix> subproblems = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Statistics on explored subproblems
+     */
+    private final List<SubproblemStatistics> statistics = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Solutions found so far, only filled by {@link #findAllSolutions()}
+     */
+    private final List<Solution> solutions = Collections.synchronizedList(new ArrayList<>());
+
+    private final AtomicBoolean solverTerminated = new AtomicBoolean(false);
+    private final AtomicInteger nbSubproblems = new AtomicInteger(0);
+
+    /**
+     * Stores whether or not the resolution has been run
+     */
+    private boolean hasRun = false;
+
+    /**
+     * Set to <i>true</i> to record all solutions
+     */
+    private boolean recordSolutions = false;
+
+    /**
+     * Time spent in decomposition
+     */
+    private long decompositionTime;
+
+    /**
+     * Point to (one of) the solver(s) which found a solution
+     */
+    private Model finder;
+
+    /**
+     * Best objective value found so far, only relevant when dealing with an optimization problem
+     */
+    private int bestValue;
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////      CONSTRUCTOR      //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a new EmbarrassinglyParallelSearch.
+     * This class stores the models to be executed in parallel in a {@link ArrayList} initially empty.
+     */
+    public EmbarrassinglyParallelSearch() {
+        this.models = new ArrayList<>();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////          API          //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * <p>
+     * Adds a model to the list of models to run in parallel.
+     * The first model added is also in charge of decomposing the problem.
+     * </p>
+     * <p>
+     * <b>Important:</b>
+     *  <ul>
+     *      <li>all models must be equivalent, that is, created following the very same steps.
+     *  </li>
+     *  <li>
+     *      when dealing with optimization problems, the objective variables <b>HAVE</b> to be declared eagerly with
+     *      {@link Model#setObjective(boolean, Variable)}.
+     *  </li>
+     *  </ul>
+     * </p>
+     *
+     * @param model a model to add
+     */
+    public void addModel(Model model) {
+        this.models.add(model);
+    }
+
+    /**
+     * @return the (mutable!) list of models used in this EmbarrassinglyParallelSearch
+     */
+    public List<Model> getModels() {
+        return models;
+    }
+
+    /**
+     * Set the expected number of subproblems per worker (default is 30).
+     * The decomposition stops as soon as <i>n</i> &times; <i>number of models</i> subproblems are generated.
+     *
+     * @param n expected number of subproblems per worker
+     */
+    public void setSubproblemsPerWorker(int n) {
+        if (n < 1) {
+            throw new SolverException("The number of subproblems per worker must be strictly positive");
+        }
+        this.subproblemsPerWorker = n;
+    }
+
+    /**
+     * Set the maximum depth of the decomposition (default is 64).
+     * When set to 0, the root node is not decomposed, which only makes sense with work-stealing.
+     *
+     * @param depth maximum depth of the decomposition
+     */
+    public void setMaxDecompositionDepth(int depth) {
+        if (depth < 0) {
+            throw new SolverException("The maximum decomposition depth must be positive or null");
+        }
+        this.maxDecompositionDepth = depth;
+    }
+
+    /**
+     * Enable or disable work-stealing (disabled by default).
+     * When enabled, workers which run out of subproblems wait for busy workers to give them one of their open nodes,
+     * instead of leaving the resolution.
+     *
+     * @param workStealing set to <i>true</i> to enable work-stealing
+     */
+    public void setWorkStealing(boolean workStealing) {
+        this.workStealing = workStealing;
+    }
+
+    /**
+     * Set the search strategy used to decompose the root node of the first model.
+     * It should only generate {@link org.chocosolver.solver.search.strategy.decision.IntDecision}s
+     * and should be stateless.
+     * Default is {@link Search#minDomLBSearch(IntVar...)} on all integer variables.
+     *
+     * @param strategy a function that returns a strategy for a given model
+     */
+    public void setDecompositionStrategy(Function<Model, AbstractStrategy<IntVar>> strategy) {
+        this.decompositionStrategy = strategy;
+    }
+
+    /**
+     * Run the resolution in parallel.
+     * When dealing with a satisfaction problem, the resolution stops on the first solution.
+     * When dealing with an optimization problem, the resolution stops once optimality is proven
+     * (or when a limit is reached).
+     *
+     * <p>
+     * Note that a call to {@link #getBestModel()} returns a model which has found the best solution.
+     * </p>
+     *
+     * @return <code>true</code> if and only if at least one solution has been found.
+     * @throws SolverException if no model has been added or if the resolution has already been run.
+     * @throws RuntimeException if a worker fails, the exception thrown by the worker is rethrown
+     */
+    public boolean solve() {
+        run(models.get(0).getResolutionPolicy() == ResolutionPolicy.SATISFACTION);
+        return finder != null;
+    }
+
+    /**
+     * Attempts to find all solutions of the declared problem.
+     * When dealing with an optimization problem, all improving solutions are returned.
+     * <p>
+     * Note that all variables will be recorded
+     *
+     * @return a list that contained the found solutions.
+     * @throws SolverException if no model has been added or if the resolution has already been run.
+     * @throws RuntimeException if a worker fails, the exception thrown by the worker is rethrown
+     */
+    public List<Solution> findAllSolutions() {
+        recordSolutions = true;
+        run(false);
+        return new ArrayList<>(solutions);
+    }
+
+    /**
+     * Returns the first model which either finds a solution when dealing with a satisfaction problem,
+     * or finds (and possibly proves) the best solution when dealing with an optimization problem.
+     *
+     * @return a model which finds a solution (or the best one) or <tt>null</tt> if no such model exists.
+     */
+    public Model getBestModel() {
+        return finder;
+    }
+
+    /**
+     * @return the total number of solutions found by all models
+     */
+    public long getSolutionCount() {
+        return models.stream().mapToLong(m -> m.getSolver().getSolutionCount()).sum();
+    }
+
+    /**
+     * @return the number of subproblems generated by the decomposition
+     */
+    public int getNbSubproblems() {
+        return nbSubproblems.get() + getNbSteals();
+    }
+
+    /**
+     * @return the number of nodes given by busy workers to idle ones, 0 when work-stealing is disabled
+     */
+    public int getNbSteals() {
+        return pool == null ? 0 : pool.getNbGivenNodes();
+    }
+
+    /**
+     * @return the cumulative time spent by workers waiting for a node, in nanoseconds,
+     * 0 when work-stealing is disabled
+     */
+    public long getIdleTimeInNanoSeconds() {
+        return pool == null ? 0 : pool.getIdleTimeInNanoSeconds();
+    }
+
+    /**
+     * @return time spent in decomposing the problem, in nanoseconds
+     */
+    public long getDecompositionTimeInNanoSeconds() {
+        return decompositionTime;
+    }
+
+    /**
+     * @return statistics about each subproblem started, in order of completion
+     */
+    public List<SubproblemStatistics> getSubproblemStatistics() {
+        synchronized (statistics) {
+            return new ArrayList<>(statistics);
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void run(boolean stopOnFirstSolution) {
+        check();
+        hasRun = true;
+        long t = System.nanoTime();
+        decompose(models.get(0));
+        decompositionTime = System.nanoTime() - t;
+        if (subproblems.isEmpty()) {
+            return;
+        }
+        if (workStealing) {
+            pool = new WorkPool(models.size(), subproblems);
+            subproblems.clear();
+        }
+        List<MoveReplay> moves = prepare(stopOnFirstSolution);
+        ForkJoinPool forkJoinPool = new ForkJoinPool(models.size());
+        try {
+            forkJoinPool.submit(() -> models.parallelStream().forEach(m -> {
+                MoveReplay move = moves.get(models.indexOf(m));
+                try {
+                    if (move.pull()) {
+                        //noinspection StatementWithEmptyBody
+                        while (!solverTerminated.get() && m.getSolver().solve()) ;
+                        if (move.getCurrent() != null) {
+                            // the resolution has been interrupted
+                            ((StatsRecorder) move.getListener()).record(move.getCurrent(), false);
+                        }
+                    }
+                } catch (RuntimeException | Error e) {
+                    // stop the other workers, including the ones waiting for a node
+                    solverTerminated.set(true);
+                    if (pool != null) {
+                        pool.close();
+                    }
+                    throw e;
+                } finally {
+                    if (pool != null) {
+                        pool.retire();
+                    }
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            solverTerminated.set(true);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // a subproblem has not been fully explored: the search is not complete
+            solverTerminated.set(true);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new SolverException("A worker of the EmbarrassinglyParallelSearch failed: " + e.getCause());
+        } finally {
+            forkJoinPool.shutdownNow();
+        }
+    }
+
+    private void check() {
+        if (models.size() == 0) {
+            throw new SolverException("No model found in the EmbarrassinglyParallelSearch.");
+        }
+        if (hasRun) {
+            throw new SolverException("The EmbarrassinglyParallelSearch has already been run.");
+        }
+        if (models.get(0).getResolutionPolicy() != ResolutionPolicy.SATISFACTION
+                && models.get(0).getObjective() == null) {
+            throw new UnsupportedOperationException("No objective has been defined");
+        }
+    }
+
+    /**
+     * Decompose the root node of <i>model</i> into subproblems by iteratively increasing the depth
+     * of a depth-bounded search, until enough subproblems are generated.
+     *
+     * @param model the model to decompose
+     */
+    private void decompose(Model model) {
+        Solver solver = model.getSolver();
+        AbstractStrategy<IntVar> strategy = decompositionStrategy.apply(model);
+        List<DecisionPrefix> prefixes = new ArrayList<>();
+        int target = subproblemsPerWorker * models.size();
+        if (maxDecompositionDepth == 0) {
+            prefixes.add(DecisionPrefix.ROOT);
+        } else if (strategy.init()) {
+            int depth = 0;
+            boolean open;
+            do {
+                prefixes.clear();
+                open = enumerate(solver, strategy, ++depth, prefixes);
+            } while (open && prefixes.size() < target && depth < maxDecompositionDepth);
+        }
+        strategy.remove();
+        // restore the model in its initial state, the engine will be initialized again on solving
+        solver.getDecisionPath().synchronize();
+        solver.getEngine().reset();
+        subproblems.addAll(prefixes);
+        nbSubproblems.set(prefixes.size());
+    }
+
+    /**
+     * Collect all consistent nodes at depth <i>limit</i>, or above if a leaf is reached.
+     *
+     * @return <i>true</i> if at least one collected node can be extended
+     */
+    private static boolean enumerate(Solver solver, AbstractStrategy<IntVar> strategy, int limit,
+                                     List<DecisionPrefix> prefixes) {
+        DecisionPath path = solver.getDecisionPath();
+        boolean open = false;
+        Decision<IntVar> dec = null;
+        while (true) {
+            if (solver.moveForward(dec)) {
+                dec = strategy.getDecision();
+                if (dec != null) {
+                    if (path.size() - 1 < limit) {
+                        continue;
+                    }
+                    dec.free();
+                    open = true;
+                }
+                prefixes.add(DecisionPrefix.of(path));
+            }
+            dec = null;
+            if (!solver.moveBackward()) {
+                return open;
+            }
+        }
+    }
+
+    private List<MoveReplay> prepare(boolean stopOnFirstSolution) {
+        List<MoveReplay> moves = new ArrayList<>();
+        for (int i = 0; i < models.size(); i++) {
+            Model m = models.get(i);
+            Solver s = m.getSolver();
+            MoveReplay move = pool == null ?
+                    new MoveReplay(s.getMove(), subproblems::poll) :
+                    new MoveWorkStealing(s.getMove(), pool);
+            move.setListener(new StatsRecorder(i, s));
+            s.setMove(move);
+            s.addStopCriterion(solverTerminated::get);
+            s.plugMonitor((IMonitorSolution) () -> {
+                updateFromSolution(m);
+                if (recordSolutions) {
+                    solutions.add(new Solution(m).record());
+                }
+                if (stopOnFirstSolution) {
+                    solverTerminated.set(true);
+                    if (pool != null) {
+                        pool.close();
+                    }
+                }
+            });
+            moves.add(move);
+        }
+        return moves;
+    }
+
+    private synchronized void updateFromSolution(Model m) {
+        if (m.getResolutionPolicy() == ResolutionPolicy.SATISFACTION) {
+            if (finder == null) {
+                finder = m;
+            }
+        } else {
+            int solverVal = ((IntVar) m.getObjective()).getValue();
+            if (finder == null
+                    || (m.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE ? solverVal > bestValue : solverVal < bestValue)) {
+                bestValue = solverVal;
+                finder = m;
+                models.forEach(s1 -> s1.getSolver().getObjectiveManager().updateBestSolution(solverVal));
+            }
+        }
+    }
+
+    /**
+     * Records statistics of each subproblem explored by a worker.
+     */
+    private final class StatsRecorder implements MoveReplay.Listener {
+        private final int worker;
+        private final Solver solver;
+        private long time;
+        private long nodes;
+        private long fails;
+        private long sols;
+
+        StatsRecorder(int worker, Solver solver) {
+            this.worker = worker;
+            this.solver = solver;
+        }
+
+        @Override
+        public void onStart(DecisionPrefix prefix) {
+            time = System.nanoTime();
+            nodes = solver.getNodeCount();
+            fails = solver.getFailCount();
+            sols = solver.getSolutionCount();
+        }
+
+        @Override
+        public void onEnd(DecisionPrefix prefix) {
+            record(prefix, true);
+        }
+
+        void record(DecisionPrefix prefix, boolean completed) {
+            statistics.add(new SubproblemStatistics(prefix, worker,
+                    System.nanoTime() - time,
+                    solver.getNodeCount() - nodes,
+                    solver.getFailCount() - fails,
+                    solver.getSolutionCount() - sols,
+                    completed));
+        }
+    }
+}
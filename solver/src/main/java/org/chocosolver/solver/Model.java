@@ -524,6 +524,15 @@ public class Model implements IModel {
         return environment;
     }
 
+    /**
+     * Release the resources held by the backtracking environment of <code>this</code> model,
+     * like off-heap memory (see {@link IEnvironment#close()}).
+     * The model cannot be solved anymore.
+     */
+    public void close() {
+        environment.close();
+    }
+
     /**
      * Return the (possibly null) objective variable
      *
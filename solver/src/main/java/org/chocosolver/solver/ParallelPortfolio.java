@@ -10,10 +10,13 @@
 package org.chocosolver.solver;
 
 import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.nary.clauses.ClauseExchange;
 import org.chocosolver.solver.constraints.nary.sat.NogoodStealer;
 import org.chocosolver.solver.constraints.real.RealConstraint;
 import org.chocosolver.solver.exception.InvalidSolutionException;
 import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.learn.LearnSignedClauses;
+import org.chocosolver.solver.search.loop.monitors.IMonitorDownBranch;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.search.loop.monitors.NogoodFromRestarts;
 import org.chocosolver.solver.search.strategy.BlackBoxConfigurator;
@@ -28,10 +31,14 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -64,6 +71,9 @@ import java.util.stream.StreamSupport;
  *     Moreover, when dealing with an optimization problem, cut on the objective variable's value is propagated
  *     to all models on solution.
  *     It is essential to eagerly declare the objective variable(s) with {@link Model#setObjective(boolean, Variable)}.
+ *     The exchange is lock-free: a model publishes its new best bound with a compare-and-set operation
+ *     and the other models import it, in their own thread, before going down in their search tree.
+ *     Statistics about exchanges are available, see for instance {@link #getNbImportedBounds()}.
  *
  * </p>
  * <p>
@@ -122,6 +132,16 @@ public class ParallelPortfolio {
      */
     private NogoodStealer manager = NogoodStealer.NONE;
 
+    /**
+     * This manager is used to share learnt signed clauses, can be null.
+     */
+    private ClauseExchange exchange;
+
+    /**
+     * Executor that runs the models, if null a new pool of threads is created on each resolution.
+     */
+    private ExecutorService executor;
+
     /**
      * Stores whether or not prepare() method has been called
      */
@@ -137,9 +157,18 @@ public class ParallelPortfolio {
     private final AtomicInteger solverRunning = new AtomicInteger(0);
 
     /**
-     * Point to (one of) the solver(s) which found a solution
+     * Point to (one of) the solver(s) which found a solution, and the best bound when optimizing
      */
-    private Model finder;
+    private final AtomicReference<Incumbent> incumbent = new AtomicReference<>();
+
+    /**
+     * Last incumbent imported by each model, only read and written by the thread running the model
+     */
+    private Incumbent[] imported;
+
+    private final LongAdder nbExportedBounds = new LongAdder();
+    private final LongAdder nbImportedBounds = new LongAdder();
+    private final LongAdder exchangeTime = new LongAdder();
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ///////////////////////////////////////      CONSTRUCTOR      //////////////////////////////////////////////////////
@@ -183,6 +212,33 @@ public class ParallelPortfolio {
         this.manager = new NogoodStealer();
     }
 
+    /**
+     * Calling this method will ensure that reliable workers learning signed clauses
+     * (see {@link Solver#setLearningSignedClauses()}) share short learnt clauses with each other.
+     * Clauses are imported on restarts.
+     *
+     * @implSpec It is assumed that all models in this portfolio are equivalent (ie, each variable has
+     * the same ID in each worker).
+     * @see ClauseExchange
+     */
+    public void shareLearntClauses() {
+        shareLearntClauses(new ClauseExchange());
+    }
+
+    /**
+     * Calling this method will ensure that reliable workers learning signed clauses
+     * (see {@link Solver#setLearningSignedClauses()}) share learnt clauses with each other,
+     * according to the filters of <i>exchange</i>.
+     * Clauses are imported on restarts.
+     *
+     * @param exchange a configured (and empty) clause exchange
+     * @implSpec It is assumed that all models in this portfolio are equivalent (ie, each variable has
+     * the same ID in each worker).
+     */
+    public void shareLearntClauses(ClauseExchange exchange) {
+        this.exchange = exchange;
+    }
+
     /**
      * <p>
      * Adds a model to the list of models to run in parallel.
@@ -256,6 +312,8 @@ public class ParallelPortfolio {
      *
      * @return <code>true</code> if and only if at least one new solution has been found.
      * @throws SolverException if no model or only model has been added.
+     * @throws RuntimeException if a model fails during its resolution, except for an {@link InvalidSolutionException}
+     *                          thrown by a model which is not reliable.
      */
     public boolean solve() {
         getSolverTerminated().set(false);
@@ -264,16 +322,15 @@ public class ParallelPortfolio {
         if (!isPrepared) {
             prepare();
         }
-        ForkJoinPool forkJoinPool = new ForkJoinPool(models.size());
+        ForkJoinPool forkJoinPool = executor == null ? new ForkJoinPool(models.size()) : null;
         try {
-            forkJoinPool.submit(() -> models.parallelStream().forEach(m -> {
-                if (!getSolverTerminated().get()) {
-                    boolean so = m.getSolver().solve();
-                    if (!so || finder == m) {
-                        getSolverTerminated().set(so || reliableness.get(m) || getSolverRunning().decrementAndGet() <= 0);
-                    }
-                }
-            })).get();
+            if (forkJoinPool != null) {
+                forkJoinPool.submit(() -> models.parallelStream().forEach(this::solve)).get();
+            } else {
+                CompletableFuture.allOf(models.stream()
+                        .map(m -> CompletableFuture.runAsync(() -> solve(m), executor))
+                        .toArray(CompletableFuture[]::new)).get();
+            }
         } catch (InterruptedException | ExecutionException | SolverException e) {
             getSolverRunning().decrementAndGet();
             //If a InvalidSolutionException occurs and at least one model is not reliable
@@ -283,13 +340,24 @@ public class ParallelPortfolio {
                 if (reliableness.get(ex.getModel())) {
                     throw (SolverException) e.getCause();
                 }// else ignore the error
+            } else if (e.getCause() instanceof RuntimeException) {
+                // a worker failed, the others are stopped and the failure is reported
+                getSolverTerminated().set(true);
+                throw (RuntimeException) e.getCause();
             } else {
                 e.printStackTrace();
             }
+        } finally {
+            if (forkJoinPool != null) {
+                forkJoinPool.shutdownNow();
+            }
         }
-        forkJoinPool.shutdownNow();
         getSolverTerminated().set(false);// otherwise, solver.isStopCriterionMet() always returns true
         if (getSolutionFound().get() && models.get(0).getResolutionPolicy() != ResolutionPolicy.SATISFACTION) {
+            // workers are over, the best bound can be given to the ones that did not import it yet
+            for (int i = 0; i < models.size(); i++) {
+                importBound(i);
+            }
             int bestAll = getBestModel().getSolver().getBestSolutionValue().intValue();
             for (Model m : models) {
                 int mVal = m.getSolver().getBestSolutionValue().intValue();
@@ -302,6 +370,23 @@ public class ParallelPortfolio {
         return getSolutionFound().get();
     }
 
+    /**
+     * Run the models of this portfolio in <i>executor</i> instead of creating a new pool of threads on each call
+     * to {@link #solve()}.
+     * This is useful when many portfolios are solved in a row, to avoid thread creation.
+     * <p>
+     * <b>Important:</b> the executor must be able to run all the models at the same time,
+     * that is, it must provide at least as many threads as models, besides the one calling {@link #solve()}.
+     * The executor is not shut down by this portfolio.
+     * </p>
+     *
+     * @param executor an executor, or <i>null</i> to create a new pool of threads on each call to {@link #solve()}
+     * @see SolvingService
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
     /**
      * Returns the first model from the list which, either :
      * <ul>
@@ -318,7 +403,8 @@ public class ParallelPortfolio {
      * @return the first model which finds a solution (or the best one) or <tt>null</tt> if no such model exists.
      */
     public Model getBestModel() {
-        return finder;
+        Incumbent i = incumbent.get();
+        return i == null ? null : i.model;
     }
 
     /**
@@ -380,6 +466,68 @@ public class ParallelPortfolio {
         return StreamSupport.stream(it, false);
     }
 
+    /**
+     * @return the number of times a model improved the best bound shared among models
+     */
+    public long getNbExportedBounds() {
+        return nbExportedBounds.sum();
+    }
+
+    /**
+     * @return the number of times a model imported a best bound found by another model
+     */
+    public long getNbImportedBounds() {
+        return nbImportedBounds.sum();
+    }
+
+    /**
+     * @return the number of decision paths (nogoods) sent to other models,
+     * see {@link #stealNogoodsOnRestarts()}
+     */
+    public long getNbExportedNogoods() {
+        return manager.getNbExportedPaths();
+    }
+
+    /**
+     * @return the number of decision paths (nogoods) received from other models,
+     * see {@link #stealNogoodsOnRestarts()}
+     */
+    public long getNbImportedNogoods() {
+        return manager.getNbImportedPaths();
+    }
+
+    /**
+     * @return the number of decision paths (nogoods) not sent because the receiver's mailbox was full,
+     * see {@link #stealNogoodsOnRestarts()}
+     */
+    public long getNbDroppedNogoods() {
+        return manager.getNbDroppedPaths();
+    }
+
+    /**
+     * @return the number of learnt signed clauses sent to other models,
+     * see {@link #shareLearntClauses()}
+     */
+    public long getNbExportedClauses() {
+        return exchange == null ? 0 : exchange.getNbExportedClauses();
+    }
+
+    /**
+     * @return the number of learnt signed clauses received from other models,
+     * see {@link #shareLearntClauses()}
+     */
+    public long getNbImportedClauses() {
+        return exchange == null ? 0 : exchange.getNbImportedClauses();
+    }
+
+    /**
+     * @return the cumulative time spent by models to exchange bounds and nogoods, in nanoseconds.
+     * Since exchanges are lock-free, models never wait for each other.
+     */
+    public long getExchangeTimeInNanoSeconds() {
+        return exchangeTime.sum() + manager.getTimeInNanoSeconds();
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -387,19 +535,42 @@ public class ParallelPortfolio {
     public void prepare() {
         isPrepared = true;
         check();
+        imported = new Incumbent[models.size()];
         for (int i = 0; i < models.size(); i++) {
             Solver s = models.get(i).getSolver();
             s.addStopCriterion(() -> getSolverTerminated().get());
             s.plugMonitor((IMonitorSolution) () -> updateFromSolution(s.getModel()));
+            if (s.getModel().getResolutionPolicy() != ResolutionPolicy.SATISFACTION) {
+                int w = i;
+                s.plugMonitor(new IMonitorDownBranch() {
+                    @Override
+                    public void beforeDownBranch(boolean left) {
+                        importBound(w);
+                    }
+                });
+            }
             if (searchAutoConf) {
                 configureModel(i);
             }
+            if (exchange != null && reliableness.get(models.get(i))
+                    && s.getLearner() instanceof LearnSignedClauses) {
+                exchange.add(models.get(i));
+            }
         }
     }
 
-    private synchronized void updateFromSolution(Model m) {
+    private void solve(Model m) {
+        if (!getSolverTerminated().get()) {
+            boolean so = m.getSolver().solve();
+            if (!so || getBestModel() == m) {
+                getSolverTerminated().set(so || reliableness.get(m) || getSolverRunning().decrementAndGet() <= 0);
+            }
+        }
+    }
+
+    private void updateFromSolution(Model m) {
         if (m.getResolutionPolicy() == ResolutionPolicy.SATISFACTION) {
-            finder = m;
+            incumbent.set(new Incumbent(m, 0));
             getSolutionFound().set(true);
         } else {
             int solverVal = ((IntVar) m.getObjective()).getValue();
@@ -410,13 +581,40 @@ public class ParallelPortfolio {
                 assert
                         m.getResolutionPolicy() != ResolutionPolicy.MINIMIZE || solverVal >= bestVal : solverVal + "<" + bestVal;
             if (solverVal == bestVal) {
+                // lock-free publication of the new best bound
+                Incumbent next = new Incumbent(m, bestVal);
+                Incumbent current;
+                do {
+                    current = incumbent.get();
+                    if (current != null && !next.isBetterThan(current, m.getResolutionPolicy())) {
+                        return;
+                    }
+                } while (!incumbent.compareAndSet(current, next));
+                nbExportedBounds.increment();
                 getSolutionFound().set(true);
-                finder = m;
-                models.forEach(s1 -> s1.getSolver().getObjectiveManager().updateBestSolution(bestVal));
             }
         }
     }
 
+    /**
+     * Import the best bound found so far in the <i>w</i>-th model, if not done yet.
+     * Must be called by the thread running the model.
+     *
+     * @param w index of a model
+     */
+    private void importBound(int w) {
+        Incumbent i = incumbent.get();
+        if (i != imported[w]) {
+            long t = System.nanoTime();
+            imported[w] = i;
+            if (i != null && i.model != models.get(w)
+                    && models.get(w).getSolver().getObjectiveManager().updateBestSolution(i.value)) {
+                nbImportedBounds.increment();
+            }
+            exchangeTime.add(System.nanoTime() - t);
+        }
+    }
+
     private void configureModel(int workerID) {
         Model worker = getModels().get(workerID);
         ResolutionPolicy policy = worker.getResolutionPolicy();
@@ -427,6 +625,7 @@ public class ParallelPortfolio {
         bb.setNogoodOnRestart(true);
         bb.setRestartOnSolution(true);
         bb.setExcludeViews(false);
+        boolean steal = false;
         SearchParams.ValSelConf intValConf;
         Function<Model, IntValueSelector> intValSel;
         SearchParams.VarSelConf intVarConf;
@@ -442,9 +641,7 @@ public class ParallelPortfolio {
                 bb.setIntVarStrategy((vars) -> intVarSel.apply(vars, intValSel.apply(worker)));
                 bb.setMetaStrategy(m -> Search.lastConflict(m, 2));
                 //TODO DEAL WITH SETVAR --> MINIZINC
-                if (reliableness.containsKey(worker)) {
-                    manager.add(worker);
-                }
+                steal = reliableness.get(worker);
                 break;
             case 1:
                 intValConf = new SearchParams.ValSelConf(
@@ -456,9 +653,7 @@ public class ParallelPortfolio {
                 bb.setIntVarStrategy((vars) -> intVarSel.apply(vars, intValSel.apply(worker)));
                 bb.setMetaStrategy(m -> Search.lastConflict(m, 2));
                 //TODO DEAL WITH SETVAR --> MINIZINC
-                if (reliableness.containsKey(worker)) {
-                    manager.add(worker);
-                }
+                steal = reliableness.get(worker);
                 break;
             case 2:
                 intValConf = new SearchParams.ValSelConf(
@@ -470,9 +665,7 @@ public class ParallelPortfolio {
                 bb.setIntVarStrategy((vars) -> intVarSel.apply(vars, intValSel.apply(worker)));
                 bb.setMetaStrategy(m -> Search.lastConflict(m, 2));
                 //TODO DEAL WITH SETVAR --> MINIZINC
-                if (reliableness.containsKey(worker)) {
-                    manager.add(worker);
-                }
+                steal = reliableness.get(worker);
                 break;
             case 3:
                 intValConf = new SearchParams.ValSelConf(
@@ -484,9 +677,7 @@ public class ParallelPortfolio {
                 bb.setIntVarStrategy((vars) -> intVarSel.apply(vars, intValSel.apply(worker)));
                 bb.setMetaStrategy(m -> Search.lastConflict(m, 2));
                 //TODO DEAL WITH SETVAR --> MINIZINC
-                if (reliableness.containsKey(worker)) {
-                    manager.add(worker);
-                }
+                steal = reliableness.get(worker);
                 break;
             case 4:
                 intValConf = new SearchParams.ValSelConf(
@@ -520,9 +711,7 @@ public class ParallelPortfolio {
                 bb.setIntVarStrategy((vars) -> intVarSel.apply(vars, intValSel.apply(worker)));
                 bb.setMetaStrategy(m -> Search.lastConflict(m, 2));
                 //TODO DEAL WITH SETVAR --> MINIZINC
-                if (reliableness.containsKey(worker)) {
-                    manager.add(worker);
-                }
+                steal = reliableness.get(worker);
                 break;
             case 7:
                 intValConf = new SearchParams.ValSelConf(
@@ -547,7 +736,15 @@ public class ParallelPortfolio {
                 //TODO DEAL WITH SETVAR --> MINIZINC
                 break;
         }
+        steal &= manager != NogoodStealer.NONE;
+        if (steal) {
+            // nogoods are recorded by a NogoodFromRestarts connected to the stealer
+            bb.setNogoodOnRestart(false);
+        }
         bb.make(worker);
+        if (steal) {
+            worker.getSolver().plugMonitor(new NogoodFromRestarts(worker, manager));
+        }
     }
 
     private void check() {
@@ -569,15 +766,33 @@ public class ParallelPortfolio {
         }
     }
 
-    private synchronized AtomicBoolean getSolverTerminated() {
+    private AtomicBoolean getSolverTerminated() {
         return solverTerminated;
     }
 
-    private synchronized AtomicBoolean getSolutionFound() {
+    private AtomicBoolean getSolutionFound() {
         return solutionFound;
     }
 
-    private synchronized AtomicInteger getSolverRunning() {
+    private AtomicInteger getSolverRunning() {
         return solverRunning;
     }
+
+    /**
+     * A model which found a solution and, when optimizing, the value of its objective.
+     * Instances are immutable, so they are safely shared among models.
+     */
+    private static final class Incumbent {
+        private final Model model;
+        private final int value;
+
+        private Incumbent(Model model, int value) {
+            this.model = model;
+            this.value = value;
+        }
+
+        private boolean isBetterThan(Incumbent other, ResolutionPolicy policy) {
+            return policy == ResolutionPolicy.MAXIMIZE ? value > other.value : value < other.value;
+        }
+    }
 }
@@ -0,0 +1,485 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.propagation.PropagationEngine;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.iterators.DisposableValueIterator;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Singleton Arc Consistency applied at root node, before the search starts.
+ * <p>
+ * Each (variable, value) pair is tested: the variable is instantiated to the value and the constraints are propagated.
+ * On failure, the value is removed from the domain of the variable.
+ * Tests are run by round until no value is removed or the time limit is reached.
+ * </p>
+ * <p>
+ * The pairs of a round are dispatched among workers: the model itself and, if any, copies of the model,
+ * each of them running in its own thread.
+ * A copy is a model built the same way as the model, for instance by replaying a parsed instance,
+ * so that the integer variables of both models match by index.
+ * At the end of a round, the values removed by each worker are removed from the model,
+ * then from the copies, so that all workers start the next round with the same domains.
+ * </p>
+ * <p>
+ * In incremental mode, a successful test records, for each variable whose domain was modified, its bounds after
+ * propagation. A pair is then re-tested only if a value removed during the round may belong to its support,
+ * that is, if it lies within the recorded bounds or if its variable was not modified by the test.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @see Solver#preprocessing(long, boolean, Model...)
+ * @since 4.10.18
+ */
+final class SACPreprocessing {
+
+    /**
+     * The model to preprocess
+     */
+    private final Model model;
+    /**
+     * Integer variables of the model
+     */
+    private final IntVar[] vars;
+    /**
+     * Set to <i>true</i> to only re-test values whose supports may have changed
+     */
+    private final boolean incremental;
+    /**
+     * Time, in milliseconds, at which the preprocessing stops
+     */
+    private final long deadline;
+    /**
+     * Workers, the first one works on the model itself
+     */
+    private final Worker[] workers;
+    /**
+     * Variables of the pairs to test in the current round
+     */
+    private int[] pvar;
+    /**
+     * Values of the pairs to test in the current round
+     */
+    private int[] pval;
+    /**
+     * Number of pairs to test in the current round
+     */
+    private int size;
+    /**
+     * Supports witnesses, as a sequence of (index of variable, lb, ub), of the pairs of the current round
+     */
+    private int[][] witnesses;
+    /**
+     * Index of the next pair to test
+     */
+    private final AtomicInteger next = new AtomicInteger();
+    /**
+     * Set to <i>true</i> when the time limit is reached
+     */
+    private volatile boolean timeout;
+    private long nbTests;
+    private int nbRounds;
+
+    /**
+     * Prepare the preprocessing of <i>model</i>.
+     * The copies are propagated, then their domains are reduced to the ones of <i>model</i>.
+     *
+     * @param model         a model whose initial propagation has been done
+     * @param copies        models built the same way as <i>model</i>, one per additional thread
+     * @param incremental   set to <i>true</i> to only re-test values whose supports may have changed
+     * @param timeLimitInMS time limit, in milliseconds
+     * @throws ContradictionException if a copy fails
+     */
+    SACPreprocessing(Model model, Model[] copies, boolean incremental, long timeLimitInMS)
+            throws ContradictionException {
+        this.model = model;
+        this.vars = model.retrieveIntVars(true);
+        this.incremental = incremental;
+        this.deadline = System.currentTimeMillis() + timeLimitInMS;
+        this.workers = new Worker[copies.length + 1];
+        this.workers[0] = new Worker(model, vars);
+        for (int w = 0; w < copies.length; w++) {
+            if (copies[w] == model) {
+                throw new SolverException("The model cannot be a copy of itself");
+            }
+            IntVar[] cvars = copies[w].retrieveIntVars(true);
+            if (cvars.length != vars.length) {
+                throw new SolverException("The copy " + copies[w].getName() + " declares " + cvars.length
+                        + " integer variables whereas " + vars.length + " are expected");
+            }
+            Solver solver = copies[w].getSolver();
+            if (!solver.getEngine().isInitialized()) {
+                solver.propagate();
+            }
+            this.workers[w + 1] = new Worker(copies[w], cvars);
+            this.workers[w + 1].synchronize(vars);
+        }
+    }
+
+    /**
+     * Run the preprocessing until a fix point or the time limit is reached.
+     *
+     * @return the number of values removed
+     * @throws ContradictionException if the preprocessing proves that the model has no solution
+     */
+    int run() throws ContradictionException {
+        int removed = 0;
+        pvar = new int[16];
+        pval = new int[16];
+        allPairs();
+        ExecutorService pool = workers.length > 1 ?
+                Executors.newFixedThreadPool(workers.length - 1, r -> {
+                    Thread t = new Thread(r, "preprocessing");
+                    t.setDaemon(true);
+                    return t;
+                }) : null;
+        try {
+            while (size > 0 && !timeout) {
+                IntIterableRangeSet[] before = domains();
+                round(pool);
+                if (!merge()) {
+                    break;
+                }
+                TIntArrayList[] lost = lost(before);
+                for (int i = 0; i < lost.length; i++) {
+                    removed += lost[i] == null ? 0 : lost[i].size();
+                }
+                synchronize();
+                if (incremental) {
+                    affectedPairs(lost);
+                } else {
+                    allPairs();
+                }
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
+        if (model.getSettings().warnUser()) {
+            model.getSolver().log().white().printf("Preprocessing removed %d values (%d rounds, %d tests)\n",
+                    removed, nbRounds, nbTests);
+        }
+        return removed;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Test the pairs of the current round, the model's worker runs in the calling thread.
+     */
+    private void round(ExecutorService pool) throws ContradictionException {
+        nbRounds++;
+        next.set(0);
+        witnesses = incremental ? new int[size][] : null;
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[workers.length - 1];
+        for (int w = 1; w < workers.length; w++) {
+            futures[w - 1] = CompletableFuture.runAsync(workers[w], pool);
+        }
+        workers[0].run();
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        for (Worker w : workers) {
+            nbTests += w.nbTests;
+            w.nbTests = 0;
+            if (w.failed) {
+                model.getSolver().throwsException(Cause.Null, null, "Preprocessing proved unsatisfiability");
+            }
+        }
+    }
+
+    /**
+     * Remove from the model the values found by the workers, then propagate.
+     *
+     * @return <i>true</i> if at least one value was found by the workers
+     */
+    private boolean merge() throws ContradictionException {
+        boolean any = false;
+        try {
+            for (Worker w : workers) {
+                for (int k = 0; k < w.removed.size(); k += 2) {
+                    // the model's worker removed its values already
+                    vars[w.removed.getQuick(k)].removeValue(w.removed.getQuick(k + 1), Cause.Null);
+                    any = true;
+                }
+                w.removed.resetQuick();
+            }
+            model.getSolver().getEngine().propagate();
+        } catch (ContradictionException e) {
+            model.getSolver().getEngine().flush();
+            throw e;
+        }
+        return any;
+    }
+
+    /**
+     * @return the current domains of the variables
+     */
+    private IntIterableRangeSet[] domains() {
+        IntIterableRangeSet[] domains = new IntIterableRangeSet[vars.length];
+        for (int i = 0; i < vars.length; i++) {
+            domains[i] = new IntIterableRangeSet(vars[i]);
+        }
+        return domains;
+    }
+
+    /**
+     * @return for each variable, the values removed since <i>before</i> (or <i>null</i> if none),
+     * either by the workers or by propagation
+     */
+    private TIntArrayList[] lost(IntIterableRangeSet[] before) {
+        TIntArrayList[] lost = new TIntArrayList[vars.length];
+        for (int i = 0; i < vars.length; i++) {
+            if (before[i].size() != vars[i].getDomainSize()) {
+                lost[i] = new TIntArrayList();
+                int ub = before[i].max();
+                for (int a = before[i].min(); a <= ub; a = before[i].nextValue(a)) {
+                    if (!vars[i].contains(a)) {
+                        lost[i].add(a);
+                    }
+                }
+            }
+        }
+        return lost;
+    }
+
+    /**
+     * Reduce the domains of the copies to the ones of the model.
+     */
+    private void synchronize() throws ContradictionException {
+        for (int w = 1; w < workers.length; w++) {
+            workers[w].synchronize(vars);
+        }
+        workers[0].snapshot();
+    }
+
+    /**
+     * Set all pairs of uninstantiated variables as pairs to test.
+     */
+    private void allPairs() {
+        size = 0;
+        for (int i = 0; i < vars.length; i++) {
+            IntVar v = vars[i];
+            if (!v.isInstantiated()) {
+                DisposableValueIterator it = v.getValueIterator(true);
+                while (it.hasNext()) {
+                    add(i, it.next());
+                }
+                it.dispose();
+            }
+        }
+    }
+
+    /**
+     * Set as pairs to test the ones whose support may contain a value removed during the last round.
+     */
+    private void affectedPairs(TIntArrayList[] lost) {
+        TIntArrayList ys = new TIntArrayList();
+        for (int i = 0; i < lost.length; i++) {
+            if (lost[i] != null) {
+                ys.add(i);
+            }
+        }
+        int[] ovar = pvar;
+        int[] oval = pval;
+        int[][] owit = witnesses;
+        int osize = size;
+        pvar = new int[16];
+        pval = new int[16];
+        size = 0;
+        for (int p = 0; p < osize; p++) {
+            IntVar v = vars[ovar[p]];
+            if (owit[p] != null && !v.isInstantiated() && v.contains(oval[p]) && hit(owit[p], ys, lost)) {
+                add(ovar[p], oval[p]);
+            }
+        }
+    }
+
+    /**
+     * @return <i>true</i> if a value removed may belong to the support described by <i>witness</i>
+     */
+    private static boolean hit(int[] witness, TIntArrayList ys, TIntArrayList[] lost) {
+        int k = 0;
+        for (int j = 0; j < ys.size(); j++) {
+            int y = ys.getQuick(j);
+            while (k < witness.length && witness[k] < y) {
+                k += 3;
+            }
+            if (k < witness.length && witness[k] == y) {
+                int l = witness[k + 1];
+                int u = witness[k + 2];
+                for (int r = 0; r < lost[y].size(); r++) {
+                    int b = lost[y].getQuick(r);
+                    if (l <= b && b <= u) {
+                        return true;
+                    }
+                }
+            } else {
+                // the domain of y was not modified by the test
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(int i, int a) {
+        if (size == pvar.length) {
+            pvar = Arrays.copyOf(pvar, size * 2);
+            pval = Arrays.copyOf(pval, size * 2);
+        }
+        pvar[size] = i;
+        pval[size] = a;
+        size++;
+    }
+
+    /**
+     * Tests pairs, taken from the shared list of pairs, on a model.
+     */
+    private final class Worker implements Runnable {
+        private final Model model;
+        private final IntVar[] vars;
+        private final IEnvironment environment;
+        private final PropagationEngine engine;
+        /**
+         * Domain sizes before any test, only maintained in incremental mode
+         */
+        private final int[] sizes;
+        /**
+         * Values removed during the current round, as a sequence of (index of variable, value)
+         */
+        private final TIntArrayList removed = new TIntArrayList();
+        private final TIntArrayList witness = new TIntArrayList();
+        private boolean failed;
+        private long nbTests;
+
+        private Worker(Model model, IntVar[] vars) {
+            this.model = model;
+            this.vars = vars;
+            this.environment = model.getEnvironment();
+            this.engine = model.getSolver().getEngine();
+            this.sizes = new int[vars.length];
+            snapshot();
+        }
+
+        @Override
+        public void run() {
+            int p;
+            while (!failed && !timeout && (p = next.getAndIncrement()) < size) {
+                if (System.currentTimeMillis() > deadline) {
+                    timeout = true;
+                    break;
+                }
+                IntVar v = vars[pvar[p]];
+                int a = pval[p];
+                if (v.isInstantiated() || !v.contains(a)) {
+                    continue;
+                }
+                nbTests++;
+                if (!hasSupport(v, a, p)) {
+                    removed.add(pvar[p]);
+                    removed.add(a);
+                    try {
+                        v.removeValue(a, Cause.Null);
+                        engine.propagate();
+                    } catch (ContradictionException e) {
+                        engine.flush();
+                        failed = true;
+                    }
+                    snapshot();
+                }
+            }
+        }
+
+        private boolean hasSupport(IntVar var, int val, int p) {
+            environment.worldPush();
+            try {
+                var.instantiateTo(val, Cause.Null);
+                engine.propagate();
+                if (incremental) {
+                    witnesses[p] = witness();
+                }
+                return true;
+            } catch (ContradictionException e) {
+                engine.flush();
+                return false;
+            } finally {
+                environment.worldPop();
+            }
+        }
+
+        /**
+         * @return the bounds of the variables modified by the current test
+         */
+        private int[] witness() {
+            witness.resetQuick();
+            for (int i = 0; i < vars.length; i++) {
+                if (vars[i].getDomainSize() != sizes[i]) {
+                    witness.add(i);
+                    witness.add(vars[i].getLB());
+                    witness.add(vars[i].getUB());
+                }
+            }
+            return witness.toArray();
+        }
+
+        private void snapshot() {
+            if (incremental) {
+                for (int i = 0; i < vars.length; i++) {
+                    sizes[i] = vars[i].getDomainSize();
+                }
+            }
+        }
+
+        /**
+         * Remove the values that do not belong to <i>origin</i> anymore, then propagate.
+         */
+        private void synchronize(IntVar[] origin) throws ContradictionException {
+            try {
+                for (int i = 0; i < vars.length; i++) {
+                    if (vars[i].getDomainSize() != origin[i].getDomainSize()) {
+                        int ub = vars[i].getUB();
+                        for (int a = vars[i].getLB(); a <= ub; a = vars[i].nextValue(a)) {
+                            if (!origin[i].contains(a)) {
+                                vars[i].removeValue(a, Cause.Null);
+                            }
+                        }
+                    }
+                }
+                engine.propagate();
+            } catch (ContradictionException e) {
+                engine.flush();
+                throw e;
+            }
+            snapshot();
+        }
+    }
+}
@@ -44,14 +44,24 @@ public class Settings {
 
     private int maxDomSizeForEnumerated = 1 << 16;
 
+    private int maxDomSizeForSparseSet = 0;
+
+    private int minDomSizeForRangeList = Integer.MAX_VALUE;
+
+    private double maxRangeDensityForRangeList = 1. / 64;
+
     private int minCardForSumDecomposition = 50;
 
+    private int minCardForIncrementalSum = 1 << 10;
+
     private boolean enableTableSubstitution = true;
 
     private int maxTupleSizeForSubstitution = 10_000;
 
     private int timeLimitForPreprocessing = -1;
 
+    private boolean incrementalPreprocessing = false;
+
     private boolean sortPropagatorActivationWRTPriority = true;
 
     private int maxPropagatorPriority = PropagatorPriority.VERY_SLOW.getValue();
@@ -78,6 +88,10 @@ public class Settings {
 
     private byte hybridEngine = 0b00;
 
+    private boolean adaptivePropagatorPriority = false;
+
+    private int minArityForSparseEventMasks = 1 << 12;
+
     private int nbMaxLearnt = 100_000;
 
     private int maxLearntCardinlity = Integer.MAX_VALUE / 100;
@@ -231,6 +245,72 @@ public class Settings {
         return this;
     }
 
+    /**
+     * @return maximum span of an enumerated domain to be stored in a sparse set (default is 0, that is never)
+     */
+    public int getMaxDomSizeForSparseSet() {
+        return maxDomSizeForSparseSet;
+    }
+
+    /**
+     * Define the maximum span (upper bound - lower bound + 1) of an enumerated domain
+     * to be stored in a backtrackable sparse set instead of a bitset.
+     *
+     * @param maxDomSizeForSparseSet span threshold, 0 to never use sparse sets
+     * @return the current instance
+     * @see org.chocosolver.solver.variables.impl.SparseSetIntVarImpl
+     */
+    public Settings setMaxDomSizeForSparseSet(int maxDomSizeForSparseSet) {
+        this.maxDomSizeForSparseSet = maxDomSizeForSparseSet;
+        return this;
+    }
+
+    /**
+     * @return minimum span of an enumerated domain to be stored as a list of ranges
+     * (default is {@link Integer#MAX_VALUE}, that is, never)
+     * @see #getMaxRangeDensityForRangeList()
+     */
+    public int getMinDomSizeForRangeList() {
+        return minDomSizeForRangeList;
+    }
+
+    /**
+     * Define the minimum span (upper bound - lower bound + 1) of an enumerated domain
+     * to be stored as a sorted list of ranges instead of a bitset.
+     * Range lists are disabled by default, {@link Integer#MAX_VALUE} disables them.
+     *
+     * @param minDomSizeForRangeList span threshold
+     * @return the current instance
+     * @see org.chocosolver.solver.variables.impl.RangeListIntVarImpl
+     */
+    public Settings setMinDomSizeForRangeList(int minDomSizeForRangeList) {
+        this.minDomSizeForRangeList = minDomSizeForRangeList;
+        return this;
+    }
+
+    /**
+     * @return maximum ratio of the number of ranges to the span of an enumerated domain
+     * to be stored as a list of ranges
+     * @see #getMinDomSizeForRangeList()
+     */
+    public double getMaxRangeDensityForRangeList() {
+        return maxRangeDensityForRangeList;
+    }
+
+    /**
+     * Define the maximum ratio of the number of ranges to the span of an enumerated domain
+     * to be stored as a sorted list of ranges instead of a bitset.
+     * A range costs 64 bits where a bitset costs 1 bit per value of the span, hence the default value of 1/64.
+     *
+     * @param maxRangeDensityForRangeList density threshold
+     * @return the current instance
+     * @see org.chocosolver.solver.variables.impl.RangeListIntVarImpl
+     */
+    public Settings setMaxRangeDensityForRangeList(double maxRangeDensityForRangeList) {
+        this.maxRangeDensityForRangeList = maxRangeDensityForRangeList;
+        return this;
+    }
+
     /**
      * @return minimum number of cardinality threshold to a sum constraint to be decomposed
      */
@@ -242,6 +322,7 @@ public class Settings {
     /**
      * Define the default minimum number of cardinality threshold to a sum/scalar constraint to be
      * decomposed into intermediate sub-sums.
+     * Sums maintained incrementally are not decomposed (see {@link #setMinCardinalityForIncrementalSum(int)}).
      *
      * @param defaultMinCardinalityForSumDecomposition cardinality threshold
      * @return the current instance
@@ -251,6 +332,31 @@ public class Settings {
         return this;
     }
 
+    /**
+     * @return minimum number of variables in a sum or a scalar product
+     * for it to be maintained incrementally (default is 1024).
+     * @see #setMinCardinalityForIncrementalSum(int)
+     */
+    public int getMinCardForIncrementalSum() {
+        return minCardForIncrementalSum;
+    }
+
+    /**
+     * Define the minimum number of variables in a sum or a scalar product, which is not a boolean sum,
+     * for it to be maintained incrementally.
+     * An incremental sum updates the sums of bounds on each bound modification,
+     * instead of computing them from scratch on each propagation,
+     * and only visits the variables that may be tightened.
+     * Such sums are not decomposed, whatever {@link #getMinCardForSumDecomposition()} is.
+     *
+     * @param minCardForIncrementalSum cardinality threshold
+     * @return the current instance
+     */
+    public Settings setMinCardinalityForIncrementalSum(int minCardForIncrementalSum) {
+        this.minCardForIncrementalSum = minCardForIncrementalSum;
+        return this;
+    }
+
 
     /**
      * @return <tt>true</tt> if some intension constraints can be replaced by extension constraints
@@ -312,6 +418,27 @@ public class Settings {
         return this;
     }
 
+    /**
+     * @return {@code true} if the preprocessing step only re-tests values whose supports may have changed
+     * (default is {@code false})
+     */
+    public boolean incrementalPreprocessing() {
+        return incrementalPreprocessing;
+    }
+
+    /**
+     * Set whether the preprocessing step, when iterating to a fix point,
+     * only re-tests values whose supports may have changed.
+     *
+     * @param incrementalPreprocessing {@code true} to enable incremental preprocessing
+     * @return the current instance
+     * @see org.chocosolver.solver.Solver#preprocessing(long, boolean, Model...)
+     */
+    public Settings setIncrementalPreprocessing(boolean incrementalPreprocessing) {
+        this.incrementalPreprocessing = incrementalPreprocessing;
+        return this;
+    }
+
 
     /**
      * @return {@code true} if propagators are sorted wrt their priority on initial activation.
@@ -592,6 +719,54 @@ public class Settings {
         return this;
     }
 
+    /**
+     * @return {@code true} if the propagation engine adapts the priority of propagators
+     * wrt their observed cost and filtering yield.
+     */
+    public boolean adaptivePropagatorPriority() {
+        return adaptivePropagatorPriority;
+    }
+
+    /**
+     * Set whether the propagation engine adapts the priority of propagators (default is {@code false}).
+     * When enabled, the engine measures the time spent in each propagator and how often it filters,
+     * then defers expensive propagators that rarely filter to the lowest priority queue,
+     * until they filter again often enough.
+     * The fix point reached is the same, only the order of the propagators differs.
+     *
+     * @param adaptivePropagatorPriority {@code true} to adapt the priority of propagators
+     * @return the current instance
+     * @see org.chocosolver.solver.propagation.PropagationEngine#getNbDeferrals()
+     */
+    public Settings setAdaptivePropagatorPriority(boolean adaptivePropagatorPriority) {
+        this.adaptivePropagatorPriority = adaptivePropagatorPriority;
+        return this;
+    }
+
+    /**
+     * @return the minimum number of variables of a propagator reacting on fine events
+     * for its pending events to be stored in a sparse structure (default is 4096).
+     */
+    public int getMinArityForSparseEventMasks() {
+        return minArityForSparseEventMasks;
+    }
+
+    /**
+     * Set the minimum number of variables of a propagator reacting on fine events
+     * for its pending events to be stored in a sparse structure.
+     * Below this arity, a propagator stores the event mask of each of its variables in an array,
+     * and its queue of modified variables is sized to its arity.
+     * Above, event masks are stored in a hash map and the queue grows on demand,
+     * so that the memory used is proportional to the number of pending events.
+     *
+     * @param minArityForSparseEventMasks minimum arity of a propagator to store its events sparsely
+     * @return the current instance
+     */
+    public Settings setMinArityForSparseEventMasks(int minArityForSparseEventMasks) {
+        this.minArityForSparseEventMasks = minArityForSparseEventMasks;
+        return this;
+    }
+
 
     /**
      * @return maximum number of learnt clauses to store. When reached, a reduction is applied.
@@ -10,6 +10,7 @@
 package org.chocosolver.solver;
 
 import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.TrailMetrics;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.exception.InvalidSolutionException;
@@ -440,7 +441,12 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
             defaultSearch = true;
             mModel.getSettings().makeDefaultSearch(mModel);
         }
-        preprocessing(getModel().getSettings().getTimeLimitForPreprocessing());
+        Settings settings = getModel().getSettings();
+        if (settings.incrementalPreprocessing()) {
+            preprocessing(settings.getTimeLimitForPreprocessing(), true);
+        } else {
+            preprocessing(settings.getTimeLimitForPreprocessing());
+        }
         if (completeSearch && !defaultSearch) {
             BlackBoxConfigurator bb = BlackBoxConfigurator.init();
             bb.complete(mModel, M.getStrategy());
@@ -504,6 +510,44 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
         }
     }
 
+    /**
+     * This method is called after the initial propagation and before the search loop starts.
+     * It applies Singleton Arc Consistency on every combination of (variable, value), by rounds,
+     * until no value is removed or the time limit is reached.
+     * <p>
+     * The combinations of a round are dispatched among this model and <i>copies</i>, each of them in its own thread.
+     * A copy is a model built the same way as this one, for instance by replaying a parsed instance,
+     * so that their integer variables, as returned by {@link Model#retrieveIntVars(boolean)}, match by index.
+     * At the end of a round, the values removed by all workers are removed from this model, then from the copies.
+     * In incremental mode, a combination is re-tested in the next round only if a value removed during the round
+     * may belong to its support, that is, to the domains obtained after instantiating the variable to the value.
+     * Otherwise, all combinations are re-tested.
+     * </p>
+     *
+     * @param timeLimitInMS time limit, in milliseconds
+     * @param incremental   set to <i>true</i> to only re-test combinations whose supports may have changed
+     * @param copies        models built the same way as this one, one per additional thread (may be empty)
+     * @implSpec A first propagation must have been done before calling this method.
+     * The copies are propagated if needed and must not be solved concurrently.
+     * @see Settings#setIncrementalPreprocessing(boolean)
+     */
+    public void preprocessing(long timeLimitInMS, boolean incremental, Model... copies) {
+        if (!getEngine().isInitialized()) {
+            throw new SolverException("A call to solver.propagate() must be done before calling solver.preprocessing()");
+        }
+        if (timeLimitInMS <= 0) {
+            return;
+        }
+        if (getModel().getSettings().warnUser()) {
+            logger.white().printf("Running preprocessing step (%dms, %d workers).\n", timeLimitInMS, copies.length + 1);
+        }
+        try {
+            new SACPreprocessing(mModel, copies, incremental, timeLimitInMS).run();
+        } catch (ContradictionException e) {
+            throw new SolverException("Preprocessing failed");
+        }
+    }
+
     private boolean hasSupport(IntVar var, int val) {
         mModel.getEnvironment().worldPush();
         try {
@@ -1593,6 +1637,11 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
         return getMeasures().isObjectiveOptimal();
     }
 
+    @Override
+    public TrailMetrics getTrailMetrics() {
+        return getMeasures().getTrailMetrics();
+    }
+
     @Override
     public Number getBestSolutionValue() {
         return getMeasures().getBestSolutionValue();
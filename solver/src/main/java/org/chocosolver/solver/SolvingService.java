@@ -0,0 +1,206 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.util.criteria.Criterion;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A long-lived service to solve many models concurrently.
+ * <p>
+ * Models are submitted to the service which solves them in a shared executor
+ * and returns a {@link CompletableFuture} of the result.
+ * So, submitting a model neither creates a thread nor a pool of threads.
+ * By default, the executor is a pool of as many (daemon) threads as available processors.
+ * Any other executor can be given, for instance, with Java 21+, one that starts a virtual thread per task.
+ * </p>
+ * <p>
+ * Each job can declare its own limits, as stop criteria.
+ * Cancelling the future of a job, with {@link CompletableFuture#cancel(boolean)}, stops the resolution
+ * of the model at the next node: the cancellation is checked as a stop criterion of the solver.
+ * </p>
+ * <p>
+ * <b>Important:</b> a model must not be submitted again, or solved by another mean, before its job completes.
+ * </p>
+ * <p>
+ *     Example of use.
+ *
+ * <pre>
+ * <code>try (SolvingService service = new SolvingService()) {
+ *     List&lt;CompletableFuture&lt;Solution&gt;&gt; futures = new ArrayList&lt;&gt;();
+ *     for (Model model : models) {
+ *         futures.add(service.submit(model, new TimeCounter(model, 1_000_000_000L)));
+ *     }
+ *     for (CompletableFuture&lt;Solution&gt; f : futures) {
+ *         Solution s = f.join(); // null if no solution is found
+ *     }
+ * }
+ * </code>
+ * </pre>
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class SolvingService implements AutoCloseable {
+
+    /**
+     * The shared executor
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Create a service backed by a pool of as many threads as available processors.
+     */
+    public SolvingService() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a service backed by a pool of <i>nbThreads</i> threads.
+     * Threads are daemon ones and are created once.
+     *
+     * @param nbThreads number of threads, that is, maximum number of models solved at the same time
+     */
+    public SolvingService(int nbThreads) {
+        this(Executors.newFixedThreadPool(nbThreads, new ThreadFactory()));
+    }
+
+    /**
+     * Create a service backed by <i>executor</i>.
+     * The executor is shut down when this service is closed.
+     *
+     * @param executor the executor that runs jobs
+     */
+    public SolvingService(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Submit a model to find a solution.
+     * When the model declares an objective, the job keeps on looking for better solutions
+     * until the optimum is proven or a stop criterion is met, and the best solution found is returned.
+     *
+     * @param model  a model, not being solved
+     * @param limits optional criteria to stop the resolution of this model
+     * @return the future of the (best) solution, which is completed with <i>null</i> if no solution is found
+     */
+    public CompletableFuture<Solution> submit(Model model, Criterion... limits) {
+        return run(model, limits, solver -> {
+            Solution solution = new Solution(model);
+            boolean found = false;
+            while (solver.solve()) {
+                solution.record();
+                found = true;
+                if (model.getResolutionPolicy() == ResolutionPolicy.SATISFACTION) {
+                    break;
+                }
+            }
+            return found ? solution : null;
+        });
+    }
+
+    /**
+     * Submit a model to enumerate its solutions.
+     * Each solution is given to <i>consumer</i>, in the thread solving the model.
+     * When the model declares an objective, only improving solutions are given.
+     *
+     * @param model    a model, not being solved
+     * @param consumer what to do on each solution
+     * @param limits   optional criteria to stop the resolution of this model
+     * @return the future of the number of solutions found
+     */
+    public CompletableFuture<Long> submit(Model model, Consumer<Solution> consumer, Criterion... limits) {
+        return run(model, limits, solver -> {
+            long n = 0;
+            while (solver.solve()) {
+                consumer.accept(new Solution(model).record());
+                n++;
+            }
+            return n;
+        });
+    }
+
+    /**
+     * Shut the executor down. Jobs already submitted are completed but new ones are rejected.
+     * Cancel their future to stop them eagerly.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Wait until all jobs are completed, after the service is closed.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @return <i>true</i> if all jobs completed, <i>false</i> if the timeout elapsed before
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private <T> CompletableFuture<T> run(Model model, Criterion[] limits, Function<Solver, T> job) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        future.whenComplete((r, t) -> cancelled.set(future.isCancelled()));
+        Criterion cancel = cancelled::get;
+        executor.execute(() -> {
+            if (future.isDone()) {
+                // cancelled before being started
+                return;
+            }
+            Solver solver = model.getSolver();
+            solver.addStopCriterion(cancel);
+            solver.addStopCriterion(limits);
+            try {
+                future.complete(job.apply(solver));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                solver.removeStopCriterion(limits);
+                solver.removeStopCriterion(cancel);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Creates daemon threads, so that an unclosed service does not prevent the JVM from exiting.
+     */
+    private static final class ThreadFactory implements java.util.concurrent.ThreadFactory {
+        private static final AtomicInteger POOL = new AtomicInteger();
+        private final int pool = POOL.incrementAndGet();
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "solving-service-" + pool + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
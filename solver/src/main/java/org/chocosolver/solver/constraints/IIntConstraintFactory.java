@@ -23,6 +23,7 @@ import org.chocosolver.solver.constraints.extension.hybrid.HybridTuples;
 import org.chocosolver.solver.constraints.extension.hybrid.PropHybridTable;
 import org.chocosolver.solver.constraints.extension.nary.*;
 import org.chocosolver.solver.constraints.nary.PropDiffN;
+import org.chocosolver.solver.constraints.nary.PropDiffNSweep;
 import org.chocosolver.solver.constraints.nary.PropIntValuePrecedeChain;
 import org.chocosolver.solver.constraints.nary.PropKLoops;
 import org.chocosolver.solver.constraints.nary.alldifferent.AllDifferent;
@@ -45,6 +46,7 @@ import org.chocosolver.solver.constraints.nary.count.PropCountVar;
 import org.chocosolver.solver.constraints.nary.count.PropCount_AC;
 import org.chocosolver.solver.constraints.nary.cumulative.CumulFilter;
 import org.chocosolver.solver.constraints.nary.cumulative.Cumulative;
+import org.chocosolver.solver.constraints.nary.cumulative.PropDisjunctive;
 import org.chocosolver.solver.constraints.nary.element.PropElementV_fast;
 import org.chocosolver.solver.constraints.nary.globalcardinality.GlobalCardinality;
 import org.chocosolver.solver.constraints.nary.knapsack.PropKnapsack;
@@ -1470,6 +1472,76 @@ public interface IIntConstraintFactory extends ISelf<Model> {
         }
     }
 
+    /**
+     * Creates a diffN constraint in k dimensions. Constrains each box<sub>i</sub>, given by its origin
+     * <i>origins[i]</i> and its lengths <i>lengths[i]</i> in each dimension, to be non-overlapping.
+     * <p>
+     * The filtering is based on a sweep over the forbidden regions defined by the compulsory parts of the boxes,
+     * and only the boxes close to a modified one are filtered again.
+     * Compared to {@link #diffN(IntVar[], IntVar[], IntVar[], IntVar[], boolean)}, it scales better
+     * with the number of boxes and it is not restricted to two dimensions.
+     *
+     * @param origins origin of each box in each dimension, as <i>origins[box][dim]</i>
+     * @param lengths length of each box in each dimension, as <i>lengths[box][dim]</i> (each length should be >= 0)
+     * @return a non-overlapping constraint
+     */
+    default Constraint diffN(IntVar[][] origins, IntVar[][] lengths) {
+        return new Constraint(ConstraintsName.DIFFN, new PropDiffNSweep(origins, lengths));
+    }
+
+    /**
+     * Creates a disjunctive constraint: Enforces that tasks do not overlap each other,
+     * that is, they are processed one at a time on a unary resource.
+     * <p>
+     * Task duration should be >= 0, tasks whose duration is equal to zero are discarded.
+     * Overload checking, detectable precedences, not-first/not-last and edge-finding are applied,
+     * each of them in O(n log n).
+     *
+     * @param tasks Task objects containing start, duration and end variables
+     * @return a disjunctive constraint
+     */
+    default Constraint disjunctive(Task[] tasks) {
+        // one constant per task, since boolVar(true) returns the same cached constant
+        BoolVar[] performed = new BoolVar[tasks.length];
+        for (int i = 0; i < tasks.length; i++) {
+            performed[i] = ref().boolVar(ref().generateName("performed_"), true);
+        }
+        return disjunctive(tasks, performed);
+    }
+
+    /**
+     * Creates a disjunctive constraint over optional tasks: Enforces that performed tasks do not overlap each other,
+     * that is, they are processed one at a time on a unary resource.
+     * A task <i>i</i> is performed iff <i>performed[i]</i> is true,
+     * a task which is not performed does not restrict the other ones.
+     * <p>
+     * Task duration should be >= 0, tasks whose duration is equal to zero are discarded.
+     * Overload checking, detectable precedences, not-first/not-last and edge-finding are applied,
+     * each of them in O(n log n).
+     * Tasks which are not known to be performed yet are only checked:
+     * they are set to not performed when they cannot be scheduled anymore.
+     *
+     * @param tasks     Task objects containing start, duration and end variables
+     * @param performed boolean variables indicating whether each task is performed
+     * @return a disjunctive constraint
+     */
+    default Constraint disjunctive(Task[] tasks, BoolVar[] performed) {
+        if (tasks.length != performed.length) {
+            throw new SolverException("Tasks and performed arrays should have same size");
+        }
+        int n = tasks.length;
+        if (n <= 1) return ref().trueConstraint();
+        IntVar[] s = new IntVar[n];
+        IntVar[] d = new IntVar[n];
+        IntVar[] e = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            s[i] = tasks[i].getStart();
+            d[i] = tasks[i].getDuration();
+            e[i] = tasks[i].getEnd();
+        }
+        return new Constraint(ConstraintsName.DISJUNCTIVE, new PropDisjunctive(s, d, e, performed));
+    }
+
     /**
      * Creates a element constraint: value = table[index-offset]
      * where table is an array of variables.
@@ -2483,9 +2555,12 @@ public interface IIntConstraintFactory extends ISelf<Model> {
                 }
             }
             break;
-            case "MDD+":
-                p = new PropLargeMDDC(new MultivaluedDecisionDiagram(vars, tuples), vars);
-                break;
+            case "MDD+": {
+                IntVar[] scope = vars;
+                p = new PropLargeMDDC(tuples.getShared(Tuples.key(MultivaluedDecisionDiagram.class, scope),
+                        t -> new MultivaluedDecisionDiagram(scope, t)), scope);
+            }
+            break;
             case "FC":
                 p = new PropLargeFC(vars, tuples);
                 break;
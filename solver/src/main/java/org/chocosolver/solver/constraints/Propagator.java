@@ -10,6 +10,8 @@
 package org.chocosolver.solver.constraints;
 
 
+import gnu.trove.map.hash.TIntIntHashMap;
+import org.chocosolver.memory.IStateBitSet;
 import org.chocosolver.memory.structure.IOperation;
 import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.Identity;
@@ -186,13 +188,25 @@ public abstract class Propagator<V extends Variable> implements ICause, Identity
      */
     private IntCircularQueue eventsets;
     /**
-     * This set of events' mask to propagate next time
+     * This set of events' mask to propagate next time,
+     * <i>null</i> unless this reacts on fine events and its arity is small enough
      */
     private int[] eventmasks;
+    /**
+     * This set of events' mask to propagate next time, for high arity propagators,
+     * <i>null</i> unless this reacts on fine events and its arity is large
+     * (see {@link org.chocosolver.solver.Settings#getMinArityForSparseEventMasks()})
+     */
+    private TIntIntHashMap sparsemasks;
     /**
      * Position of this in the propgation engine
      */
     private int position = -1;
+    /**
+     * Backtrackable bitset of the indices of the variables this does not watch,
+     * <i>null</i> until a variable is unwatched
+     */
+    private IStateBitSet unwatched;
 
     /**
      * A bi-int-consumer
@@ -250,16 +264,28 @@ public abstract class Propagator<V extends Variable> implements ICause, Identity
         operations[2] = () -> state = ACTIVE;
 
         // for propagation purpose
-        eventmasks = new int[vars.length];
         if (reactToFineEvent()) {
-            eventsets = new IntCircularQueue(vars.length);
-            eventmasks = new int[vars.length];
-            fineevt = (i, m) -> {
-                if (eventmasks[i] == 0) {
-                    eventsets.addLast(i);
-                }
-                eventmasks[i] |= m;
-            };
+            if (vars.length < model.getSettings().getMinArityForSparseEventMasks()) {
+                eventsets = new IntCircularQueue(vars.length);
+                eventmasks = new int[vars.length];
+                fineevt = (i, m) -> {
+                    if (eventmasks[i] == 0) {
+                        eventsets.addLast(i);
+                    }
+                    eventmasks[i] |= m;
+                };
+            } else {
+                // the queue grows on demand
+                eventsets = new IntCircularQueue(16);
+                sparsemasks = new TIntIntHashMap(16, .5f, -1, 0);
+                fineevt = (i, m) -> {
+                    int o = sparsemasks.get(i);
+                    if (o == 0) {
+                        eventsets.addLast(i);
+                    }
+                    sparsemasks.put(i, o | m);
+                };
+            }
         }
     }
 
@@ -314,7 +340,7 @@ public abstract class Propagator<V extends Variable> implements ICause, Identity
         for (int v = tmp.length; v < vars.length; v++) {
             vars[v].link(this, v);
         }
-        if(reactToFineEvt) {
+        if(eventmasks != null) {
             itmp = this.eventmasks;
             eventmasks = new int[vars.length];
             arraycopy(itmp, 0, eventmasks, 0, itmp.length);
@@ -408,6 +434,74 @@ public abstract class Propagator<V extends Variable> implements ICause, Identity
         return ALL_EVENTS;
     }
 
+    /**
+     * A propagator is idempotent when, once executed, it has reached its own fix point.
+     * The propagation engine does not schedule an idempotent propagator on the events it caused itself.
+     * <p>
+     * A propagator which may need to run again on its own modifications should return <i>false</i>:
+     * it is then scheduled on the events it caused, like on any other event.
+     * <p>
+     * Idempotent by default.
+     *
+     * @return <i>true</i> if this propagator is idempotent
+     */
+    public boolean isIdempotent() {
+        return true;
+    }
+
+    /**
+     * Stop scheduling this propagator on events of the variable in position <i>vIdx</i>, until {@link #watch(int)}
+     * is called or until the current world is backtracked.
+     * <p>
+     * Unlike {@link #getPropagationConditions(int)}, which is fixed once the propagator is posted,
+     * watches can be moved at any time during propagation.
+     * Watches are restored on backtrack, so a propagator should stop watching a variable
+     * when its modifications cannot trigger any filtering in the current world and in its descendants,
+     * for instance once the variable belongs to a part of the problem this propagator does not consider anymore.
+     *
+     * @param vIdx index of the variable within the propagator
+     */
+    protected final void unwatch(int vIdx) {
+        if (unwatched == null) {
+            // a multi-word bitset, which grows if variables are added later
+            unwatched = model.getEnvironment().makeBitSet(Math.max(vars.length, 64));
+        }
+        unwatched.set(vIdx);
+    }
+
+    /**
+     * Schedule again this propagator on events of the variable in position <i>vIdx</i>.
+     *
+     * @param vIdx index of the variable within the propagator
+     * @see #unwatch(int)
+     */
+    protected final void watch(int vIdx) {
+        if (unwatched != null) {
+            unwatched.clear(vIdx);
+        }
+    }
+
+    /**
+     * Schedule again this propagator on events of all its variables.
+     *
+     * @see #unwatch(int)
+     */
+    protected final void watchAll() {
+        if (unwatched != null) {
+            unwatched.clear();
+        }
+    }
+
+    /**
+     * @param vIdx index of the variable within the propagator
+     * @return <i>true</i> if this propagator is scheduled on events of the variable in position <i>vIdx</i>
+     * (assuming they match its propagation conditions)
+     * @see #unwatch(int)
+     */
+    public final boolean isWatching(int vIdx) {
+        return unwatched == null || !unwatched.get(vIdx);
+    }
+
     /**
      * Call the main filtering algorithm to apply to the <code>Domain</code> of the <code>Variable</code> objects.
      * It considers the current state of this objects to remove some values from domains and/or instantiate some variables.
@@ -895,7 +989,16 @@ public abstract class Propagator<V extends Variable> implements ICause, Identity
      * @return propagator priority
      */
     public int doSchedule(CircularQueue<Propagator<?>>[] queues){
-        int prio = priority.getValue();
+        return doSchedule(queues, priority.getValue());
+    }
+
+    /**
+     * Apply scheduling instruction, in a queue which may differ from the one of its priority
+     * @param queues array of queues in which this can be scheduled
+     * @param prio index of the queue to schedule this in
+     * @return <i>prio</i>
+     */
+    public int doSchedule(CircularQueue<Propagator<?>>[] queues, int prio){
         if(!scheduled) {
             queues[prio].addLast(this);
             schedule();
@@ -917,8 +1020,13 @@ public abstract class Propagator<V extends Variable> implements ICause, Identity
             int v = eventsets.pollFirst();
             assert isActive() : "propagator is not active:" + this.getClass();
             // clear event
-            int mask = eventmasks[v];
-            eventmasks[v] = 0;
+            int mask;
+            if (eventmasks != null) {
+                mask = eventmasks[v];
+                eventmasks[v] = 0;
+            } else {
+                mask = sparsemasks.remove(v);
+            }
             // run propagation on the specific event
             propagate(v, mask);
         }
@@ -931,7 +1039,11 @@ public abstract class Propagator<V extends Variable> implements ICause, Identity
         if (reactToFineEvent()) {
             while (eventsets.size() > 0) {
                 int v = eventsets.pollLast();
-                eventmasks[v] = 0;
+                if (eventmasks != null) {
+                    eventmasks[v] = 0;
+                } else {
+                    sparsemasks.remove(v);
+                }
             }
         }
         unschedule();
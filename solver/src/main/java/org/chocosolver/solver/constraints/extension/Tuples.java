@@ -9,6 +9,7 @@
  */
 package org.chocosolver.solver.constraints.extension;
 
+import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ESat;
@@ -16,7 +17,10 @@ import org.chocosolver.util.ESat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * A unique interface to declare tuples for table constraints.
@@ -38,6 +42,11 @@ public class Tuples {
 	private int[] ranges;
 	private boolean allowStar;
 	private int star;
+	/**
+	 * Immutable data computed from the tuples by propagators, shared by all the propagators posted on them.
+	 * Guarded by <i>this</i>, like the methods modifying the tuples, which drop it.
+	 */
+	private final Map<Object, Object> shared = new HashMap<>();
 
 	//***********************************************************************************
 	// CONSTRUCTOR
@@ -87,9 +96,10 @@ public class Tuples {
 	 * meaning that some variables can take any values from their domain.
 	 * @param star the universal value that can appear in any tuple.
 	 */
-	public void setUniversalValue(int star){
+	public synchronized void setUniversalValue(int star){
 		this.star = star;
 		this.allowStar = true;
+		invalidate();
 	}
 
 	/**
@@ -147,7 +157,7 @@ public class Tuples {
 	 * @param tuple a tuple.
 	 * @throws org.chocosolver.solver.exception.SolverException if the size of the tuple added does not correspond to a the previous ones (if any).
 	 */
-	public void add(int... tuple) {
+	public synchronized void add(int... tuple) {
 		if (tuples.size() == 0) {
 			arity = tuple.length;
 			ranges = new int[2 * arity];
@@ -157,6 +167,7 @@ public class Tuples {
 			throw new SolverException("The given tuple does not match the arity: " + arity);
 		}
 		tuples.add(tuple.clone());
+		invalidate();
 		for (int i = 0; i < arity; i++) {
 			ranges[i] = Math.min(ranges[i], tuple[i]);
 			ranges[i + arity] = Math.max(ranges[i + arity], tuple[i]);
@@ -243,8 +254,94 @@ public class Tuples {
 		return matrix;
 	}
 
-	public void sort() {
+	public synchronized void sort() {
 		tuples.sort(new TupleComparator());
+		invalidate();
+	}
+
+	/**
+	 * Return the data identified by <i>key</i> and computed from these tuples.
+	 * The data is computed by <i>builder</i> on the first call only, then it is shared by all callers
+	 * until these tuples are modified.
+	 * This way, propagators posted on the same tuples, in the same model or in different models
+	 * (like the models of a portfolio), hold one instance of their immutable data structures.
+	 * <p>
+	 * When the data does not only depend on the tuples, the key must also identify what else it depends on,
+	 * like the domains of the variables (see {@link #key(Object, IntVar...)}).
+	 * </p>
+	 *
+	 * @param key     identifies the data
+	 * @param builder computes the data from these tuples, the data must not be modified afterward
+	 * @param <T>     type of the data
+	 * @return the data computed by <i>builder</i> on these tuples
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T> T getShared(Object key, Function<Tuples, T> builder) {
+		Object data = shared.get(key);
+		if (data == null) {
+			data = builder.apply(this);
+			shared.put(key, data);
+		}
+		return (T) data;
+	}
+
+	/**
+	 * Make a key for {@link #getShared(Object, Function)} that identifies data of type <i>type</i>
+	 * computed from the tuples and the current domains of <i>vars</i>.
+	 * Two keys are equal if their types are equal and the domains of their variables are equal, index by index.
+	 *
+	 * @param type type of the data
+	 * @param vars the variables the data depends on
+	 * @return a key
+	 */
+	public static Object key(Object type, IntVar... vars) {
+		return new DomainKey(type, vars);
+	}
+
+	private synchronized void invalidate() {
+		shared.clear();
+	}
+
+	/**
+	 * A key made of a type and of domains, each domain is stored as a sequence of ranges.
+	 */
+	private static final class DomainKey {
+
+		private final Object type;
+		private final int[][] domains;
+		private final int hash;
+
+		DomainKey(Object type, IntVar[] vars) {
+			this.type = type;
+			this.domains = new int[vars.length][];
+			TIntArrayList ranges = new TIntArrayList();
+			for (int i = 0; i < vars.length; i++) {
+				ranges.resetQuick();
+				int lb = vars[i].getLB();
+				int ub = vars[i].getUB();
+				while (lb <= ub) {
+					int end = vars[i].nextValueOut(lb) - 1;
+					ranges.add(lb);
+					ranges.add(end);
+					lb = vars[i].nextValue(end);
+				}
+				domains[i] = ranges.toArray();
+			}
+			this.hash = 31 * type.hashCode() + Arrays.deepHashCode(domains);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof DomainKey)) return false;
+			DomainKey key = (DomainKey) o;
+			return hash == key.hash && type.equals(key.type) && Arrays.deepEquals(domains, key.domains);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
 	}
 
 	private static class TupleComparator implements Comparator<int[]> {
@@ -71,6 +71,19 @@ class CouplesBitSetTable extends BinRelation {
         }
     }
 
+    /**
+     * Make the relation over <i>var1</i> and <i>var2</i> from <i>tuples</i>.
+     * The relation is immutable, and shared by the propagators posted on the same tuples and the same domains.
+     *
+     * @param tuples list of tuples
+     * @param var1   first variable
+     * @param var2   second variable
+     * @return a relation
+     */
+    static CouplesBitSetTable make(Tuples tuples, IntVar var1, IntVar var2) {
+        return tuples.getShared(Tuples.key(CouplesBitSetTable.class, var1, var2), t -> new CouplesBitSetTable(t, var1, var2));
+    }
+
     public boolean isConsistent(int x, int y) {
         return table[0][x - offsets[0]].get(y - offsets[1]);
     }
@@ -46,6 +46,19 @@ class CouplesTable extends BinRelation {
         }
     }
 
+    /**
+     * Make the relation over <i>var1</i> and <i>var2</i> from <i>tuples</i>.
+     * The relation is immutable, and shared by the propagators posted on the same tuples and the same domains.
+     *
+     * @param tuples list of tuples
+     * @param var1   first variable
+     * @param var2   second variable
+     * @return a relation
+     */
+    static CouplesTable make(Tuples tuples, IntVar var1, IntVar var2) {
+        return tuples.getShared(Tuples.key(CouplesTable.class, var1, var2), t -> new CouplesTable(t, var1, var2));
+    }
+
     public boolean isConsistent(int x, int y) {
         return table.get((x - offset1) * range2 + y - offset2) == feasible;
     }
@@ -36,7 +36,7 @@ public class PropBinAC2001 extends PropBinCSP {
 
 
     public PropBinAC2001(IntVar x, IntVar y, Tuples tuples) {
-        this(x, y, new CouplesTable(tuples, x, y));
+        this(x, y, CouplesTable.make(tuples, x, y));
     }
 
     private PropBinAC2001(IntVar x, IntVar y, CouplesTable table) {
@@ -26,7 +26,7 @@ public class PropBinAC3 extends PropBinCSP {
     private final IntIterableBitSet vrms;
 
     public PropBinAC3(IntVar x, IntVar y, Tuples tuples) {
-        this(x, y, new CouplesBitSetTable(tuples, x, y));
+        this(x, y, CouplesBitSetTable.make(tuples, x, y));
     }
 
     private PropBinAC3(IntVar x, IntVar y, CouplesBitSetTable table) {
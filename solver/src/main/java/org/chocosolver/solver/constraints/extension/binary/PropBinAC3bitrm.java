@@ -36,7 +36,7 @@ public class PropBinAC3bitrm extends PropBinCSP {
     private int initDomSize1;
 
     public PropBinAC3bitrm(IntVar x, IntVar y, Tuples tuples) {
-        this(x, y, new CouplesBitSetTable(tuples, x, y));
+        this(x, y, CouplesBitSetTable.make(tuples, x, y));
         if(!x.hasEnumeratedDomain() || !y.hasEnumeratedDomain()) {
             throw new SolverException("PropBinAC3bitrm (\"AC3bit+rm\")may produce incorrect filtering with bounded variables");
         }
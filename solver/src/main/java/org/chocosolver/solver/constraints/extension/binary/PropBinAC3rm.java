@@ -44,7 +44,7 @@ public class PropBinAC3rm extends PropBinCSP {
     private final IntIterableBitSet vrms;
 
     public PropBinAC3rm(IntVar x, IntVar y, Tuples tuples) {
-        this(x, y, new CouplesBitSetTable(tuples, x, y));
+        this(x, y, CouplesBitSetTable.make(tuples, x, y));
     }
 
     private PropBinAC3rm(IntVar x, IntVar y, CouplesBitSetTable table) {
@@ -28,7 +28,7 @@ public class PropBinFC extends PropBinCSP {
     private final IntIterableBitSet vrms;
 
     public PropBinFC(IntVar x, IntVar y, Tuples tuples) {
-        this(x, y, new CouplesTable(tuples, x, y));
+        this(x, y, CouplesTable.make(tuples, x, y));
     }
 
     private PropBinFC(IntVar x, IntVar y, CouplesTable table) {
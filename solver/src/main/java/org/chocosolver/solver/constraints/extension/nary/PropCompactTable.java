@@ -9,9 +9,10 @@
  */
 package org.chocosolver.solver.constraints.extension.nary;
 
+import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.memory.IEnvironment;
 import org.chocosolver.memory.IStateInt;
-import org.chocosolver.memory.IStateLong;
+import org.chocosolver.memory.IStateLongArray;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.constraints.extension.Tuples;
@@ -20,11 +21,23 @@ import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.util.ESat;
-import org.chocosolver.util.procedure.UnaryIntProcedure;
+
+import java.util.Arrays;
 
 /**
  * Propagator for table constraint based on "Compact-Table: Efficiently Filtering Table Constraints
  * with Reversible Sparse Bit-Sets" Only for feasible Tuples
+ * <p>
+ * When the domain of a variable is modified, the current table is updated either from the removed values
+ * (delta-based) or from the remaining ones (reset-based), whichever are the fewer.
+ * The last word found to support each value is stored as a residue.
+ * </p>
+ * <p>
+ * The supports are computed from the tuples only, once per {@link Tuples} object, and shared by all
+ * the propagators posted on it.
+ * The supports of a column whose words would mostly be null, which is the case for wide domains,
+ * are stored sparsely: only non-null words are kept, with their index.
+ * </p>
  *
  * @author Jean-Guillaume FAGES
  * @author Charles Prud'homme
@@ -39,10 +52,21 @@ public class PropCompactTable extends Propagator<IntVar> {
     RSparseBitSet currTable;
     protected Tuples tuples; // only for checker
     protected long[][][] supports;
+    /**
+     * For each variable whose supports are stored sparsely, the index of each word of its supports,
+     * <i>null</i> otherwise
+     */
+    protected int[][][] indices;
+    /**
+     * Index of the last word found to support each value, position of this word for sparse supports
+     */
     int[][] residues;
     protected int[] offset;
     protected IIntDeltaMonitor[] monitors;
-    private final UnaryIntProcedure<Integer> onValRem;
+    /**
+     * Buffer of the values removed from a variable since the last call
+     */
+    private final TIntArrayList removed;
 
     //***********************************************************************************
     // CONSTRUCTOR
@@ -63,63 +87,29 @@ public class PropCompactTable extends Propagator<IntVar> {
         for (int i = 0; i < vars.length; i++) {
             monitors[i] = vars[i].monitorDelta(this);
         }
-        onValRem = makeProcedure();
+        removed = new TIntArrayList();
     }
 
     //***********************************************************************************
     // INITIALIZATION
     //***********************************************************************************
 
-    protected UnaryIntProcedure<Integer> makeProcedure() {
-        //noinspection Convert2Diamond
-        return new UnaryIntProcedure<Integer>() {
-            int var, off;
-
-            @Override
-            public UnaryIntProcedure<Integer> set(Integer o) {
-                var = o;
-                off = offset[var];
-                return this;
-            }
-
-            @Override
-            public void execute(int i) {
-                currTable.addToMask((supports[var][i - off]));
-            }
-        };
+    /**
+     * @param vIdx index of a variable
+     * @return the supports to collect when values are removed from the <i>vIdx</i>-th variable
+     */
+    protected long[][] deltaSupports(int vIdx) {
+        return supports[vIdx];
     }
 
     protected void computeSupports(Tuples tuples) {
-        int n = vars.length;
-        offset = new int[n];
-        supports = new long[n][][];
-        residues = new int[n][];
-        long[] tmp;
-        for (int i = 0; i < n; i++) {
-            int lb = vars[i].getLB();
-            int ub = vars[i].getUB();
-            offset[i] = lb;
-            supports[i] = new long[ub - lb + 1][currTable.words.length];
-            residues[i] = new int[ub - lb + 1];
-        }
-        int wI = 0;
-        byte bI = 63;
-        top:
-        for (int ti = 0; ti < tuples.nbTuples(); ti++) {
-            int[] tuple = tuples.get(ti);
-            for (int i = 0; i < tuple.length; i++) {
-                if (!vars[i].contains(tuple[i])) {
-                    continue top;
-                }
-            }
-            for (int i = 0; i < tuple.length; i++) {
-                tmp = supports[i][tuple[i] - offset[i]];
-                tmp[wI] |= 1L << (bI);
-            }
-            if (--bI < 0) {
-                bI = 63;
-                wI++;
-            }
+        Supports shared = tuples.getShared(Supports.class, t -> new Supports(t, vars.length));
+        offset = shared.offset;
+        supports = shared.words;
+        indices = shared.indices;
+        residues = new int[vars.length][];
+        for (int i = 0; i < vars.length; i++) {
+            residues[i] = new int[supports[i].length];
         }
     }
 
@@ -134,7 +124,7 @@ public class PropCompactTable extends Propagator<IntVar> {
                 currTable.clearMask();
                 int ub = vars[i].getUB();
                 for (int v = vars[i].getLB(); v <= ub; v = vars[i].nextValue(v)) {
-                    currTable.addToMask(supports[i][v - offset[i]]);
+                    addToMask(supports[i], i, v);
                 }
                 currTable.intersectWithMask();
             }
@@ -149,12 +139,17 @@ public class PropCompactTable extends Propagator<IntVar> {
     public void propagate(int vIdx, int mask) throws ContradictionException {
         currTable.clearMask();
         if (vars[vIdx].getDomainSize() > monitors[vIdx].sizeApproximation()) {
-            monitors[vIdx].forEachRemVal(onValRem.set(vIdx));
+            removed.resetQuick();
+            monitors[vIdx].fillRemVals(removed);
+            long[][] sups = deltaSupports(vIdx);
+            for (int k = 0; k < removed.size(); k++) {
+                addToMask(sups, vIdx, removed.getQuick(k));
+            }
             currTable.reverseMask();
         } else {
             int ub = vars[vIdx].getUB();
             for (int v = vars[vIdx].getLB(); v <= ub; v = vars[vIdx].nextValue(v)) {
-                currTable.addToMask(supports[vIdx][v - offset[vIdx]]);
+                addToMask(supports[vIdx], vIdx, v);
             }
         }
         currTable.intersectWithMask();
@@ -177,37 +172,60 @@ public class PropCompactTable extends Propagator<IntVar> {
         }
     }
 
+    private void addToMask(long[][] sups, int i, int v) {
+        int j = v - offset[i];
+        if (j < 0 || j >= sups.length) {
+            // out of the range of the tuples
+            return;
+        }
+        if (indices[i] == null) {
+            currTable.addToMask(sups[j]);
+        } else {
+            currTable.addToMask(sups[j], indices[i][j]);
+        }
+    }
+
+    /**
+     * @return <i>true</i> if the value <i>v</i> of the <i>i</i>-th variable is supported by a tuple of the current table
+     */
+    private boolean isSupported(int i, int v) {
+        int j = v - offset[i];
+        if (j < 0 || j >= supports[i].length) {
+            return false;
+        }
+        long[] sup = supports[i][j];
+        int r = residues[i][j];
+        if (indices[i] == null) {
+            if ((currTable.words.get(r) & sup[r]) != 0L) {
+                return true;
+            }
+            r = currTable.intersectIndex(sup);
+        } else {
+            int[] idx = indices[i][j];
+            if (idx.length == 0) {
+                return false;
+            }
+            if ((currTable.words.get(idx[r]) & sup[r]) != 0L) {
+                return true;
+            }
+            r = currTable.intersectIndex(sup, idx);
+        }
+        if (r == -1) {
+            return false;
+        }
+        residues[i][j] = r;
+        return true;
+    }
+
     private void boundFilter(int i) throws ContradictionException {
         int lb = vars[i].getLB();
         int ub = vars[i].getUB();
-        for (int v = lb; v <= ub; v++) {
-            int index = residues[i][v - offset[i]];
-            if ((currTable.words[index].get() & supports[i][v - offset[i]][index]) == 0L) {
-                index = currTable.intersectIndex(supports[i][v - offset[i]]);
-                if (index == -1) {
-                    lb++;
-                } else {
-                    residues[i][v - offset[i]] = index;
-                    break;
-                }
-            } else {
-                break;
-            }
+        while (lb <= ub && !isSupported(i, lb)) {
+            lb++;
         }
         vars[i].updateLowerBound(lb, this);
-        for (int v = ub; v >= lb; v--) {
-            int index = residues[i][v - offset[i]];
-            if ((currTable.words[index].get() & supports[i][v - offset[i]][index]) == 0L) {
-                index = currTable.intersectIndex(supports[i][v - offset[i]]);
-                if (index == -1) {
-                    ub--;
-                } else {
-                    residues[i][v - offset[i]] = index;
-                    break;
-                }
-            } else {
-                break;
-            }
+        while (ub >= lb && !isSupported(i, ub)) {
+            ub--;
         }
         vars[i].updateUpperBound(ub, this);
     }
@@ -215,14 +233,8 @@ public class PropCompactTable extends Propagator<IntVar> {
     private void enumFilter(int i) throws ContradictionException {
         int ub = vars[i].getUB();
         for (int v = vars[i].getLB(); v <= ub; v = vars[i].nextValue(v)) {
-            int index = residues[i][v - offset[i]];
-            if ((currTable.words[index].get() & supports[i][v - offset[i]][index]) == 0L) {
-                index = currTable.intersectIndex(supports[i][v - offset[i]]);
-                if (index == -1) {
-                    vars[i].removeValue(v, this);
-                } else {
-                    residues[i][v - offset[i]] = index;
-                }
+            if (!isSupported(i, v)) {
+                vars[i].removeValue(v, this);
             }
         }
     }
@@ -238,7 +250,7 @@ public class PropCompactTable extends Propagator<IntVar> {
 //***********************************************************************************
 
     protected static class RSparseBitSet {
-        protected IStateLong[] words;
+        protected IStateLongArray words;
         private final int[] index;
         private final IStateInt limit;
         private final long[] mask;
@@ -249,10 +261,9 @@ public class PropCompactTable extends Propagator<IntVar> {
             index = new int[nw];
             mask = new long[nw];
             limit = environment.makeInt(nw - 1);
-            words = new IStateLong[nw];
+            words = environment.makeLongArray(nw, -1L);
             for (int i = 0; i < nw; i++) {
                 index[i] = i;
-                words[i] = environment.makeLong(-1L);
             }
         }
 
@@ -281,12 +292,22 @@ public class PropCompactTable extends Propagator<IntVar> {
             }
         }
 
+        /**
+         * Sparse version: the <i>k</i>-th word of <i>wordsToAdd</i> is the <i>offsets[k]</i>-th word of the mask.
+         * Only active words of the mask are used afterwards, so the other ones can be modified.
+         */
+        protected void addToMask(long[] wordsToAdd, int[] offsets) {
+            for (int k = 0; k < offsets.length; k++) {
+                mask[offsets[k]] |= wordsToAdd[k];
+            }
+        }
+
         private void intersectWithMask() {
             for (int i = limit.get(); i >= 0; i--) {
                 int offset = index[i];
-                long w = words[offset].get() & mask[offset];
-                if (words[offset].get() != w) {
-                    words[offset].set(w);
+                long w = words.get(offset) & mask[offset];
+                if (words.get(offset) != w) {
+                    words.set(offset, w);
                     if (w == 0L) {
                         index[i] = index[limit.get()];
                         index[limit.get()] = offset;
@@ -299,11 +320,91 @@ public class PropCompactTable extends Propagator<IntVar> {
         private int intersectIndex(long[] m) {
             for (int i = limit.get(); i >= 0; i--) {
                 int offset = index[i];
-                if ((words[offset].get() & m[offset]) != 0L) {
+                if ((words.get(offset) & m[offset]) != 0L) {
                     return offset;
                 }
             }
             return -1;
         }
+
+        /**
+         * Sparse version of {@link #intersectIndex(long[])}, inactive words being null.
+         *
+         * @return the position in <i>m</i> of a word intersecting the bit-set, -1 if none
+         */
+        private int intersectIndex(long[] m, int[] offsets) {
+            for (int k = 0; k < offsets.length; k++) {
+                if ((words.get(offsets[k]) & m[k]) != 0L) {
+                    return k;
+                }
+            }
+            return -1;
+        }
+    }
+
+//***********************************************************************************
+// Supports
+//***********************************************************************************
+
+    /**
+     * Supports of each value of each column, computed from the tuples only, hence shareable.
+     * The <i>t</i>-th tuple is the bit <i>63 - t % 64</i> of the word <i>t / 64</i>.
+     */
+    private static final class Supports {
+        private final int[] offset;
+        private final long[][][] words;
+        private final int[][][] indices;
+
+        private Supports(Tuples tuples, int n) {
+            int nbWords = (tuples.nbTuples() + 63) / 64;
+            offset = new int[n];
+            words = new long[n][][];
+            indices = new int[n][][];
+            for (int i = 0; i < n; i++) {
+                if (tuples.nbTuples() == 0) {
+                    words[i] = new long[0][];
+                    continue;
+                }
+                offset[i] = tuples.min(i);
+                int size = tuples.max(i) - offset[i] + 1;
+                // number of non-null words
+                int[] last = new int[size];
+                int[] count = new int[size];
+                Arrays.fill(last, -1);
+                long nonNull = 0;
+                for (int ti = 0; ti < tuples.nbTuples(); ti++) {
+                    int j = tuples.get(ti)[i] - offset[i];
+                    if (last[j] != ti / 64) {
+                        last[j] = ti / 64;
+                        count[j]++;
+                        nonNull++;
+                    }
+                }
+                if (2 * nonNull < (long) size * nbWords) {
+                    words[i] = new long[size][];
+                    indices[i] = new int[size][];
+                    for (int j = 0; j < size; j++) {
+                        words[i][j] = new long[count[j]];
+                        indices[i][j] = new int[count[j]];
+                        count[j] = 0;
+                    }
+                    for (int ti = 0; ti < tuples.nbTuples(); ti++) {
+                        int j = tuples.get(ti)[i] - offset[i];
+                        int w = ti / 64;
+                        int k = count[j];
+                        if (k == 0 || indices[i][j][k - 1] != w) {
+                            indices[i][j][k] = w;
+                            count[j] = ++k;
+                        }
+                        words[i][j][k - 1] |= 1L << (63 - ti % 64);
+                    }
+                } else {
+                    words[i] = new long[size][nbWords];
+                    for (int ti = 0; ti < tuples.nbTuples(); ti++) {
+                        words[i][tuples.get(ti)[i] - offset[i]][ti / 64] |= 1L << (63 - ti % 64);
+                    }
+                }
+            }
+        }
     }
-}
\ No newline at end of file
+}
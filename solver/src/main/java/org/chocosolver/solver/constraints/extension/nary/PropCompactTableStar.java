@@ -10,9 +10,7 @@
 package org.chocosolver.solver.constraints.extension.nary;
 
 import org.chocosolver.solver.constraints.extension.Tuples;
-import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
-import org.chocosolver.util.procedure.UnaryIntProcedure;
 
 /**
  * Propagator for table constraint based on
@@ -51,38 +49,39 @@ public class PropCompactTableStar extends PropCompactTable {
     // INITIALIZATION
     //***********************************************************************************
 
-    protected UnaryIntProcedure<Integer> makeProcedure() {
-        return new UnaryIntProcedure<Integer>() {
-            int var, off;
-
-            @Override
-            public UnaryIntProcedure set(Integer o) {
-                var = o;
-                off = offset[var];
-                return this;
-            }
-
-            @Override
-            public void execute(int i) throws ContradictionException {
-                // main reason we re-wrote the class
-                currTable.addToMask((inc_supports[var][i - off]));
-            }
-        };
+    @Override
+    protected long[][] deltaSupports(int vIdx) {
+        // main reason we re-wrote the class
+        return inc_supports[vIdx];
     }
 
+    @Override
     protected void computeSupports(Tuples tuples) {
+        // supports depend on the domains, through universal values, they are stored densely
         int n = vars.length;
         offset = new int[n];
-        supports = new long[n][][];
-        inc_supports = new long[n][][];
+        indices = new int[n][][];
         residues = new int[n][];
+        for (int i = 0; i < n; i++) {
+            offset[i] = vars[i].getLB();
+            residues[i] = new int[vars[i].getUB() - offset[i] + 1];
+        }
+        // supports only depend on the tuples and on the initial domains,
+        // they are shared with the propagators posted on the same tuples and the same domains
+        long[][][][] both = tuples.getShared(Tuples.key(PropCompactTableStar.class, vars), this::buildSupports);
+        supports = both[0];
+        inc_supports = both[1];
+    }
+
+    private long[][][][] buildSupports(Tuples tuples) {
+        int n = vars.length;
+        long[][][] supports = new long[n][][];
+        long[][][] inc_supports = new long[n][][];
         for (int i = 0; i < n; i++) {
             int lb = vars[i].getLB();
             int ub = vars[i].getUB();
-            offset[i] = lb;
-            supports[i] = new long[ub - lb + 1][currTable.words.length];
-            inc_supports[i] = new long[ub - lb + 1][currTable.words.length];
-            residues[i] = new int[ub - lb + 1];
+            supports[i] = new long[ub - lb + 1][currTable.words.length()];
+            inc_supports[i] = new long[ub - lb + 1][currTable.words.length()];
         }
         int wI = 0;
         byte bI = 63;
@@ -113,5 +112,6 @@ public class PropCompactTableStar extends PropCompactTable {
                 wI++;
             }
         }
+        return new long[][][][]{supports, inc_supports};
     }
 }
\ No newline at end of file
@@ -29,17 +29,19 @@ class RelationFactory {
      * @return a large relation
      */
     public static LargeRelation makeLargeRelation(Tuples tuples, IntVar[] vars) {
-        long totalSize = 1;
-        for (int i = 0; i < vars.length && (int)totalSize == totalSize; i++) { // to prevent from long overflow
-            totalSize *= vars[i].getRange();
-        }
-        if ((int)totalSize != totalSize) {
-            return new TuplesVeryLargeTable(tuples, vars);
-        }
-        if (totalSize / 8 > 50 * 1024 * 1024) {
-            return new TuplesLargeTable(tuples, vars);
-        }
-        return new TuplesTable(tuples, vars);
+        return tuples.getShared(Tuples.key(LargeRelation.class, vars), t -> {
+            long totalSize = 1;
+            for (int i = 0; i < vars.length && (int) totalSize == totalSize; i++) { // to prevent from long overflow
+                totalSize *= vars[i].getRange();
+            }
+            if ((int) totalSize != totalSize) {
+                return new TuplesVeryLargeTable(t, vars);
+            }
+            if (totalSize / 8 > 50 * 1024 * 1024) {
+                return new TuplesLargeTable(t, vars);
+            }
+            return new TuplesTable(t, vars);
+        });
     }
 
 
@@ -50,7 +52,7 @@ class RelationFactory {
      * @return an iterable relation
      */
     public static IterTuplesTable makeIterableRelation(Tuples tuples, IntVar[] vars) {
-        return new IterTuplesTable(tuples, vars);
+        return tuples.getShared(Tuples.key(IterTuplesTable.class, vars), t -> new IterTuplesTable(t, vars));
     }
 
     /**
@@ -60,7 +62,7 @@ class RelationFactory {
      * @return a lsit-based relation
      */
     public static TuplesList makeListBasedRelation(Tuples tuples, IntVar[] vars) {
-        return new TuplesList(tuples, vars);
+        return tuples.getShared(Tuples.key(TuplesList.class, vars), t -> new TuplesList(t, vars));
     }
 
 }
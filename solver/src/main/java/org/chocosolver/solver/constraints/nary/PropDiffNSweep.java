@@ -0,0 +1,419 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.sort.ArraySort;
+
+import java.util.BitSet;
+
+/**
+ * Non-overlapping constraint of boxes in k dimensions, based on a sweep.
+ * <p>
+ * The compulsory part of a box, which is the intersection of all its possible placements,
+ * defines a forbidden region for the origin of any other box.
+ * For each box and each dimension <i>d</i>, the minimal (resp. maximal) value of its origin in <i>d</i>
+ * is the first (resp. last) point of its domain, in the lexicographic order where <i>d</i> is the most significant
+ * dimension, which does not belong to any forbidden region.
+ * Such a point is found by a sweep which jumps over the forbidden regions met.
+ * </p>
+ * <p>
+ * Only the forbidden regions which intersect the domain of a box are visited:
+ * compulsory parts are sorted by their start in the first dimension so that the ones close to a box are
+ * found by a binary search.
+ * Boxes are filtered again only when their domain, or a compulsory part close to them, has changed.
+ * Lengths are not filtered, their lower bounds are used.
+ * </p>
+ * <br/>
+ * Based on "A Generic Geometrical Constraint Kernel in Space and Time for Handling Polymorphic k-Dimensional Objects",
+ * N. Beldiceanu, M. Carlsson, E. Poder, R. Sadek and C. Truchet, CP 2007.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class PropDiffNSweep extends Propagator<IntVar> {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    /**
+     * Number of boxes and number of dimensions
+     */
+    private final int n, k;
+    /**
+     * Bounds of the origin and minimal length of each box in each dimension, as <i>[box * k + dim]</i>
+     */
+    private final int[] lo, hi, len;
+    /**
+     * Boxes with a compulsory part, by non-decreasing start of their compulsory part in the first dimension
+     */
+    private final int[] byStart;
+    private int nbCP;
+    /**
+     * Largest compulsory part in the first dimension
+     */
+    private int maxCP;
+    /**
+     * Boxes by non-decreasing lower bound of their origin in the first dimension
+     */
+    private final int[] byLow;
+    /**
+     * Largest span (origin domain plus length) of a box in the first dimension
+     */
+    private int maxSpan;
+    /**
+     * Boxes whose domain has been modified and boxes to filter
+     */
+    private final BitSet dirty, toFilter;
+    /**
+     * Forbidden regions to consider while filtering a box
+     */
+    private final int[] candidates;
+    private int nbCandidates;
+    private final int[] corner, jump;
+    private final ArraySort<?> sort;
+
+    //***********************************************************************************
+    // CONSTRUCTOR
+    //***********************************************************************************
+
+    /**
+     * Non-overlapping constraint of boxes in k dimensions.
+     *
+     * @param origins origin of each box in each dimension, as <i>origins[box][dim]</i>
+     * @param lengths length of each box in each dimension, as <i>lengths[box][dim]</i>
+     */
+    public PropDiffNSweep(IntVar[][] origins, IntVar[][] lengths) {
+        super(flatten(origins, lengths), PropagatorPriority.QUADRATIC, true);
+        n = origins.length;
+        k = origins[0].length;
+        lo = new int[n * k];
+        hi = new int[n * k];
+        len = new int[n * k];
+        byStart = new int[n];
+        byLow = new int[n];
+        dirty = new BitSet(n);
+        toFilter = new BitSet(n);
+        candidates = new int[n];
+        corner = new int[k];
+        jump = new int[k];
+        sort = new ArraySort<>(n, false, true);
+    }
+
+    private static IntVar[] flatten(IntVar[][] origins, IntVar[][] lengths) {
+        int n = origins.length;
+        if (n == 0 || n != lengths.length) {
+            throw new SolverException("PropDiffNSweep variable arrays do not have same size");
+        }
+        int k = origins[0].length;
+        IntVar[] vars = new IntVar[2 * n * k];
+        for (int i = 0; i < n; i++) {
+            if (origins[i].length != k || lengths[i].length != k) {
+                throw new SolverException("PropDiffNSweep boxes do not have the same number of dimensions");
+            }
+            for (int d = 0; d < k; d++) {
+                vars[d * n + i] = origins[i][d];
+                vars[(k + d) * n + i] = lengths[i][d];
+            }
+        }
+        return vars;
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    @Override
+    public int getPropagationConditions(int idx) {
+        if (idx >= k * n) {
+            return IntEventType.lowerBoundAndInst();
+        }
+        return IntEventType.boundAndInst();
+    }
+
+    @Override
+    public void propagate(int idx, int mask) throws ContradictionException {
+        dirty.set(idx % n);
+        forcePropagate(PropagatorEventType.CUSTOM_PROPAGATION);
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if (PropagatorEventType.isFullPropagation(evtmask)) {
+            dirty.set(0, n);
+        }
+        while (!dirty.isEmpty()) {
+            snapshot();
+            toFilter.clear();
+            for (int j = dirty.nextSetBit(0); j >= 0; j = dirty.nextSetBit(j + 1)) {
+                toFilter.set(j);
+                if (hasCompulsoryPart(j)) {
+                    markNeighbors(j);
+                }
+            }
+            dirty.clear();
+            for (int o = toFilter.nextSetBit(0); o >= 0; o = toFilter.nextSetBit(o + 1)) {
+                if (filter(o)) {
+                    dirty.set(o);
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the bounds of all boxes and sort them.
+     */
+    private void snapshot() {
+        nbCP = 0;
+        maxCP = 0;
+        maxSpan = 0;
+        for (int i = 0; i < n; i++) {
+            read(i);
+            byLow[i] = i;
+            maxSpan = Math.max(maxSpan, hi[i * k] + len[i * k] - lo[i * k]);
+            if (hasCompulsoryPart(i)) {
+                byStart[nbCP++] = i;
+                maxCP = Math.max(maxCP, lo[i * k] + len[i * k] - hi[i * k]);
+            }
+        }
+        sort.sort(byStart, nbCP, (i1, i2) -> Integer.compare(hi[i1 * k], hi[i2 * k]));
+        sort.sort(byLow, n, (i1, i2) -> Integer.compare(lo[i1 * k], lo[i2 * k]));
+    }
+
+    private void read(int i) {
+        for (int d = 0; d < k; d++) {
+            lo[i * k + d] = vars[d * n + i].getLB();
+            hi[i * k + d] = vars[d * n + i].getUB();
+            len[i * k + d] = vars[(k + d) * n + i].getLB();
+        }
+    }
+
+    /**
+     * A compulsory part may be empty in some dimension, as long as it is located at a point:
+     * it still forbids any other box to strictly contain this point.
+     */
+    private boolean hasCompulsoryPart(int i) {
+        for (int d = 0; d < k; d++) {
+            if (hi[i * k + d] > lo[i * k + d] + len[i * k + d]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Mark the boxes whose domain may intersect the forbidden region defined by the compulsory part of <i>j</i>.
+     */
+    private void markNeighbors(int j) {
+        int start = hi[j * k];
+        int end = lo[j * k] + len[j * k];
+        // boxes such that start - maxSpan < lo < end
+        for (int q = lowerBound(byLow, n, start - maxSpan + 1, lo); q < n && lo[byLow[q] * k] < end; q++) {
+            int o = byLow[q];
+            if (o != j && intersects(j, o)) {
+                toFilter.set(o);
+            }
+        }
+    }
+
+    /**
+     * @return <i>true</i> if the forbidden region of <i>o</i> defined by <i>j</i> intersects the domain of <i>o</i>
+     */
+    private boolean intersects(int j, int o) {
+        for (int d = 0; d < k; d++) {
+            if (hi[j * k + d] - len[o * k + d] + 1 > hi[o * k + d]
+                    || lo[j * k + d] + len[j * k + d] - 1 < lo[o * k + d]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the first position <i>q</i> in <i>order</i> such that <i>values[order[q] * k]</i> is not less than <i>v</i>
+     */
+    private int lowerBound(int[] order, int size, int v, int[] values) {
+        int a = 0, b = size;
+        while (a < b) {
+            int c = (a + b) >>> 1;
+            if (values[order[c] * k] < v) {
+                a = c + 1;
+            } else {
+                b = c;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Filter the origin of the box <i>o</i> in each dimension.
+     *
+     * @return <i>true</i> if the domain of <i>o</i> has been modified
+     */
+    private boolean filter(int o) throws ContradictionException {
+        read(o);
+        collectCandidates(o);
+        if (nbCandidates == 0) {
+            return false;
+        }
+        boolean change = false;
+        for (int d = 0; d < k; d++) {
+            if (sweep(o, d, true) && vars[d * n + o].updateLowerBound(corner[d], this)) {
+                lo[o * k + d] = corner[d];
+                change = true;
+            }
+            if (sweep(o, d, false) && vars[d * n + o].updateUpperBound(corner[d], this)) {
+                hi[o * k + d] = corner[d];
+                change = true;
+            }
+        }
+        return change;
+    }
+
+    /**
+     * Collect the boxes whose compulsory part defines a forbidden region intersecting the domain of <i>o</i>.
+     */
+    private void collectCandidates(int o) {
+        nbCandidates = 0;
+        int last = hi[o * k] + len[o * k] - 1;
+        // compulsory parts such that lo - maxCP < start <= last
+        for (int q = lowerBound(byStart, nbCP, lo[o * k] - maxCP + 1, hi); q < nbCP && hi[byStart[q] * k] <= last; q++) {
+            int j = byStart[q];
+            if (j != o && hasCompulsoryPart(j) && intersects(j, o)) {
+                candidates[nbCandidates++] = j;
+            }
+        }
+    }
+
+    /**
+     * Sweep the domain of <i>o</i>, <i>d</i> being the most significant dimension,
+     * from its lower corner if <i>min</i> is set to <i>true</i>, from its upper corner otherwise.
+     * On success, the first point found is stored in {@link #corner}.
+     *
+     * @return <i>true</i> if the bound of <i>o</i> in <i>d</i> has to be updated
+     * @throws ContradictionException if every point of the domain of <i>o</i> belongs to a forbidden region
+     */
+    private boolean sweep(int o, int d, boolean min) throws ContradictionException {
+        int sign = min ? 1 : -1;
+        for (int t = 0; t < k; t++) {
+            corner[t] = min ? lo[o * k + t] : hi[o * k + t];
+            jump[t] = min ? hi[o * k + t] + 1 : lo[o * k + t] - 1;
+        }
+        int f = forbiddenRegion(o);
+        if (f < 0) {
+            return false;
+        }
+        while (f >= 0) {
+            for (int t = 0; t < k; t++) {
+                int bound = min ? lo[f * k + t] + len[f * k + t] : hi[f * k + t] - len[o * k + t];
+                if (sign * bound < sign * jump[t]) {
+                    jump[t] = bound;
+                }
+            }
+            boolean inside = false;
+            for (int q = k - 1; q >= 0 && !inside; q--) {
+                int t = (q + d) % k;
+                corner[t] = jump[t];
+                jump[t] = min ? hi[o * k + t] + 1 : lo[o * k + t] - 1;
+                if (lo[o * k + t] <= corner[t] && corner[t] <= hi[o * k + t]) {
+                    inside = true;
+                } else {
+                    corner[t] = min ? lo[o * k + t] : hi[o * k + t];
+                }
+            }
+            if (!inside) {
+                fails();
+            }
+            f = forbiddenRegion(o);
+        }
+        return true;
+    }
+
+    /**
+     * @return a box among {@link #candidates} whose forbidden region for <i>o</i> contains {@link #corner}, -1 if none
+     */
+    private int forbiddenRegion(int o) {
+        for (int c = 0; c < nbCandidates; c++) {
+            int j = candidates[c];
+            boolean contains = true;
+            for (int t = 0; t < k && contains; t++) {
+                contains = hi[j * k + t] - len[o * k + t] < corner[t]
+                        && corner[t] < lo[j * k + t] + len[j * k + t];
+            }
+            if (contains) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public ESat isEntailed() {
+        for (int i = 0; i < n; i++) {
+            for (int d = 0; d < 2 * k; d++) {
+                if (!vars[d * n + i].isInstantiated()) {
+                    return ESat.UNDEFINED;
+                }
+            }
+        }
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        new ArraySort<>(n, false, true).sort(order, n, (i1, i2) -> Integer.compare(vars[i1].getValue(), vars[i2].getValue()));
+        for (int a = 0; a < n; a++) {
+            int i = order[a];
+            int end = vars[i].getValue() + vars[k * n + i].getValue();
+            for (int b = a + 1; b < n && vars[order[b]].getValue() < end; b++) {
+                if (overlap(i, order[b])) {
+                    return ESat.FALSE;
+                }
+            }
+        }
+        return ESat.TRUE;
+    }
+
+    private boolean overlap(int i, int j) {
+        for (int d = 0; d < k; d++) {
+            int si = vars[d * n + i].getValue();
+            int sj = vars[d * n + j].getValue();
+            if (si >= sj + vars[(k + d) * n + j].getValue() || sj >= si + vars[(k + d) * n + i].getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("DIFFN(");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(",");
+            sb.append("[");
+            for (int d = 0; d < 2 * k; d++) {
+                if (d > 0) sb.append(",");
+                sb.append(vars[d * n + i].toString());
+            }
+            sb.append("]");
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+}
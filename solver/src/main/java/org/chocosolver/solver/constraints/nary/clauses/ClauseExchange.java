@@ -0,0 +1,331 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.clauses;
+
+import gnu.trove.map.hash.TIntIntHashMap;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.learn.LearnSignedClauses;
+import org.chocosolver.solver.search.loop.monitors.IMonitorRestart;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.util.objects.queues.SpscQueue;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class manages signed clauses sharing among models involved in a {@link
+ * org.chocosolver.solver.ParallelPortfolio}.
+ * Each model has to learn signed clauses (see {@link org.chocosolver.solver.Solver#setLearningSignedClauses()}).
+ * <p>
+ * A signed clause learnt on failure by a model is exported when it is short enough
+ * (see {@link #setMaxCardinality(int)}) and when its literals involve few decision levels
+ * (see {@link #setMaxLBD(int)}, LBD stands for Literal Block Distance).
+ * Other models import it on their next restart, so that it is propagated at root node.
+ * As for {@link org.chocosolver.solver.constraints.nary.sat.NogoodStealer}, it is assumed that all models
+ * were created following the very same steps so that a variable has the same ID in all models.
+ * </p>
+ * <p>
+ * The exchange is lock-free: there is one bounded {@link SpscQueue} per pair of models,
+ * a clause is dropped when the mailbox is full.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class ClauseExchange {
+
+    /**
+     * Default number of clauses a mailbox can hold
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * List of models sharing clauses
+     */
+    private final List<Model> models;
+
+    /**
+     * Mailboxes, <code>mailboxes.get(i).get(j)</code> stores clauses sent by the j-th model to the i-th one.
+     * The ones on the diagonal are not used.
+     */
+    private final List<List<SpscQueue<int[]>>> mailboxes;
+
+    /**
+     * Number of clauses a mailbox can hold
+     */
+    private final int capacity;
+
+    /**
+     * Maintain relation between id of a variable and its position in a model.
+     * It is filled when the first model is added and only read afterward.
+     */
+    private final TIntIntHashMap id2pos;
+
+    /**
+     * Maximum number of literals of an exported clause
+     */
+    private int maxCardinality = 8;
+
+    /**
+     * Maximum LBD of an exported clause
+     */
+    private int maxLBD = 4;
+
+    private final LongAdder exported = new LongAdder();
+    private final LongAdder imported = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder filtered = new LongAdder();
+
+    /**
+     * Create an object that shares signed clauses among models.
+     */
+    public ClauseExchange() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an object that shares signed clauses among models.
+     *
+     * @param capacity maximum number of clauses waiting to be read by a model, from another model
+     */
+    public ClauseExchange(int capacity) {
+        this.models = new ArrayList<>();
+        this.mailboxes = new ArrayList<>();
+        this.capacity = capacity;
+        this.id2pos = new TIntIntHashMap(10, .5f, -1, -1);
+    }
+
+    /**
+     * Set the maximum number of literals of a clause to be exported.
+     *
+     * @param maxCardinality maximum number of literals (default is 8)
+     * @return this
+     */
+    public ClauseExchange setMaxCardinality(int maxCardinality) {
+        this.maxCardinality = maxCardinality;
+        return this;
+    }
+
+    /**
+     * Set the maximum LBD of a clause to be exported,
+     * that is the number of distinct decision levels its literals were set at.
+     *
+     * @param maxLBD maximum LBD (default is 4)
+     * @return this
+     */
+    public ClauseExchange setMaxLBD(int maxLBD) {
+        this.maxLBD = maxLBD;
+        return this;
+    }
+
+    /**
+     * Add a model to share clauses with.
+     * The model must learn signed clauses and all models have to be added before the resolution starts.
+     *
+     * @param model a model
+     * @throws SolverException if the model does not learn signed clauses
+     */
+    @SuppressWarnings("rawtypes")
+    public void add(Model model) {
+        if (!(model.getSolver().getLearner() instanceof LearnSignedClauses)) {
+            throw new SolverException("Sharing clauses requires signed clauses learning, " +
+                    "see Solver.setLearningSignedClauses()");
+        }
+        if (models.isEmpty()) {
+            Variable[] vars = model.getVars();
+            for (int i = 0; i < vars.length; i++) {
+                id2pos.put(vars[i].getId(), i);
+            }
+        }
+        for (List<SpscQueue<int[]>> boxes : mailboxes) {
+            boxes.add(new SpscQueue<>(capacity));
+        }
+        List<SpscQueue<int[]>> boxes = new ArrayList<>();
+        for (int j = 0; j <= models.size(); j++) {
+            boxes.add(j == models.size() ? null : new SpscQueue<>(capacity));
+        }
+        this.mailboxes.add(boxes);
+        this.models.add(model);
+        ((LearnSignedClauses) model.getSolver().getLearner()).setClauseExchange(this);
+        model.getSolver().plugMonitor(new IMonitorRestart() {
+            private boolean any;
+
+            @Override
+            public void beforeRestart() {
+                // the restart propagates the imported clauses at root node, and stops on failure
+                any = importClauses(model) > 0;
+            }
+
+            @Override
+            public void afterRestart() {
+                if (any) {
+                    // as for learnt clauses, the store is maintained at root node
+                    model.getClauseConstraint().getClauseStore().forget();
+                    any = false;
+                }
+            }
+        });
+    }
+
+    /**
+     * @param cardinality number of literals of a learnt clause
+     * @param lbd         number of distinct decision levels of the literals
+     * @return <i>true</i> if a clause with such features should be exported
+     */
+    public boolean accept(int cardinality, int lbd) {
+        if (cardinality <= maxCardinality && lbd <= maxLBD) {
+            return true;
+        }
+        filtered.increment();
+        return false;
+    }
+
+    /**
+     * Send a clause learnt by <i>model</i> to all other models.
+     * Must be called by the thread running <i>model</i>.
+     *
+     * @param model  the model that learnt the clause
+     * @param vars   variables of the clause
+     * @param ranges allowed values for each variable
+     */
+    public void export(Model model, IntVar[] vars, IntIterableRangeSet[] ranges) {
+        int me = models.indexOf(model);
+        if (me < 0) {
+            return;
+        }
+        int[] clause = encode(vars, ranges);
+        for (int i = 0; i < models.size(); i++) {
+            if (i != me) {
+                if (mailboxes.get(i).get(me).offer(clause)) {
+                    exported.increment();
+                } else {
+                    dropped.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the clauses received from other models to <i>model</i>, as learnt clauses.
+     * Must be called by the thread running <i>model</i>, right before a restart,
+     * for the clauses to be propagated at root node.
+     *
+     * @param model a model
+     * @return the number of clauses imported
+     */
+    public int importClauses(Model model) {
+        int me = models.indexOf(model);
+        if (me < 0) {
+            return 0;
+        }
+        int nb = 0;
+        ClauseBuilder ngb = model.getClauseBuilder();
+        List<SpscQueue<int[]>> boxes = mailboxes.get(me);
+        for (int j = 0; j < boxes.size(); j++) {
+            if (j != me) {
+                int[] clause;
+                while ((clause = boxes.get(j).poll()) != null) {
+                    decode(clause, model, ngb);
+                    ngb.buildNogood(model);
+                    imported.increment();
+                    nb++;
+                }
+            }
+        }
+        return nb;
+    }
+
+    /**
+     * @return the number of clauses sent to other models
+     */
+    public long getNbExportedClauses() {
+        return exported.sum();
+    }
+
+    /**
+     * @return the number of clauses received from other models
+     */
+    public long getNbImportedClauses() {
+        return imported.sum();
+    }
+
+    /**
+     * @return the number of clauses not sent because a mailbox was full
+     */
+    public long getNbDroppedClauses() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return the number of learnt clauses not exported because of their cardinality or their LBD
+     */
+    public long getNbFilteredClauses() {
+        return filtered.sum();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Encode a clause with variables' ID, as a sequence of (ID, number of ranges, lb_1, ub_1, ..., lb_k, ub_k).
+     */
+    private static int[] encode(IntVar[] vars, IntIterableRangeSet[] ranges) {
+        int size = 0;
+        for (int i = 0; i < vars.length; i++) {
+            size += 2 + 2 * ranges[i].getNbRanges();
+        }
+        int[] clause = new int[size];
+        int k = 0;
+        for (int i = 0; i < vars.length; i++) {
+            clause[k++] = vars[i].getId();
+            clause[k++] = ranges[i].getNbRanges();
+            for (int r = 0; r < ranges[i].getNbRanges(); r++) {
+                clause[k++] = ranges[i].minOfRange(r);
+                clause[k++] = ranges[i].maxOfRange(r);
+            }
+        }
+        return clause;
+    }
+
+    private void decode(int[] clause, Model model, ClauseBuilder ngb) {
+        int k = 0;
+        while (k < clause.length) {
+            IntVar var = (IntVar) getById(clause[k++], model);
+            int nbr = clause[k++];
+            IntIterableRangeSet set = new IntIterableRangeSet();
+            for (int r = 0; r < nbr; r++) {
+                set.addBetween(clause[k], clause[k + 1]);
+                k += 2;
+            }
+            ngb.put(var, set);
+        }
+    }
+
+    private Variable getById(int id, Model model) {
+        int p = id2pos.get(id);
+        int n = model.getNbVars();
+        if (p == -1 || p >= n || model.getVar(p).getId() != id) {
+            for (p = 0; p < n && model.getVar(p).getId() != id; p++) {
+                // look for the variable
+            }
+            if (p == n) {
+                throw new SolverException("Unknown variable with ID " + id + " in " + model.getName());
+            }
+        }
+        return model.getVar(p);
+    }
+}
@@ -185,6 +185,26 @@ public class Cumulative extends Constraint {
 				return new DisjunctiveTaskIntervalFilter(n);
 			}
 		},
+		/**
+		 * edge-finding algorithm based on a Theta-Lambda-tree, in O(kn log n)
+		 * not idempotent
+		 * not enough to ensure correctness (only an additional filtering)
+		 */
+		EDGE_FINDING {
+			public CumulFilter make(int n){
+				return new EdgeFindingCumulFilter(n);
+			}
+		},
+		/**
+		 * timetable edge-finding algorithm based on a Theta-Lambda-tree, in O(n log n)
+		 * not idempotent
+		 * not enough to ensure correctness (only an additional filtering)
+		 */
+		TIMETABLE_EDGE_FINDING {
+			public CumulFilter make(int n){
+				return new TimetableEdgeFindingCumulFilter(n);
+			}
+		},
 		/**
 		 * Combines above filters as a black-box
 		 * not idempotent
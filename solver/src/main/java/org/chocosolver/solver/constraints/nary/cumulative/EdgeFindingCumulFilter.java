@@ -0,0 +1,160 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.sort.ArraySort;
+
+/**
+ * Edge-finding filtering, based on a Θ-Λ-tree.
+ * <p>
+ * First, tasks are browsed by non-increasing latest completion time <i>lct_j</i>, Θ being the set of tasks
+ * whose latest completion time is not greater than <i>lct_j</i>.
+ * The resource is overloaded if the energy envelope of Θ exceeds <i>C * lct_j</i>.
+ * Otherwise, a task <i>i</i> of Λ (not in Θ) whose addition to Θ makes the envelope exceed <i>C * lct_j</i>
+ * has to end after all tasks of Θ.
+ * Then, for each distinct height <i>c</i> of such tasks, the earliest starting times are adjusted
+ * with the help of a second tree whose envelopes are based on <i>C - c</i>.
+ * The overall complexity is O(kn log n), where <i>k</i> is the number of distinct heights.
+ * </p>
+ * <p>
+ * Not idempotent.
+ * Not enough to ensure correctness (only an additional filtering), use it in addition to either SWEEP or TIME.
+ * </p>
+ * <br/>
+ * Based on "Edge Finding Filtering Algorithm for Discrete Cumulative Resources in O(kn log n)" </br>
+ * P. Vilím, CP 2009.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class EdgeFindingCumulFilter extends ThetaLambdaCumulFilter {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    /**
+     * Second tree, whose envelopes are based on <i>C - c</i>
+     */
+    private final ThetaLambdaTree treeC;
+    /**
+     * For each task detected to end after a set of tasks Θ, the position in {@link #byLct} of the last task of Θ,
+     * -1 otherwise
+     */
+    private final int[] prec;
+    /**
+     * Detected tasks, by non-decreasing height
+     */
+    private final int[] detected;
+    /**
+     * For a given height, best adjustment for each prefix of {@link #byLct}
+     */
+    private final long[] updates;
+    private final ArraySort<?> sort;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    public EdgeFindingCumulFilter(int nbMaxTasks) {
+        super(nbMaxTasks);
+        treeC = new ThetaLambdaTree();
+        prec = new int[nbMaxTasks];
+        detected = new int[nbMaxTasks];
+        updates = new long[nbMaxTasks];
+        sort = new ArraySort<>(nbMaxTasks, false, true);
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    @Override
+    protected void adjust(Propagator<IntVar> aCause) throws ContradictionException {
+        int nd = detect(aCause);
+        if (nd == 0) {
+            return;
+        }
+        sort.sort(detected, nd, (i1, i2) -> Integer.compare(c[i1], c[i2]));
+        int from = 0;
+        while (from < nd) {
+            int height = c[detected[from]];
+            int to = from;
+            int last = 0;
+            while (to < nd && c[detected[to]] == height) {
+                last = Math.max(last, prec[detected[to]]);
+                to++;
+            }
+            computeUpdates(height, last);
+            for (int k = from; k < to; k++) {
+                int i = detected[k];
+                bound[i] = Math.max(bound[i], updates[prec[i]]);
+            }
+            from = to;
+        }
+    }
+
+    /**
+     * Detection phase.
+     *
+     * @return the number of tasks detected to end after a set of tasks
+     */
+    private int detect(Propagator<IntVar> aCause) throws ContradictionException {
+        tree.reset(n);
+        for (int k = 0; k < n; k++) {
+            prec[k] = -1;
+            tree.set(leaf[k], energy(k), C * est[k] + energy(k));
+        }
+        tree.build();
+        int nd = 0;
+        for (int q = n - 1; q >= 0; q--) {
+            int j = byLct[q];
+            long bnd = C * lct[j];
+            if (tree.getEnv() > bnd) {
+                aCause.fails();
+            }
+            while (tree.getEnvLambda() > bnd) {
+                int l = tree.responsibleGray();
+                int i = byEst[l];
+                prec[i] = q;
+                detected[nd++] = i;
+                tree.remove(l);
+            }
+            tree.lambda(leaf[j], energy(j), C * est[j] + energy(j));
+        }
+        return nd;
+    }
+
+    /**
+     * Adjustment phase: compute, for each prefix of {@link #byLct} up to <i>last</i>, the best earliest starting time
+     * of a task of height <i>height</i> which ends after all the tasks of this prefix.
+     */
+    private void computeUpdates(int height, int last) {
+        tree.reset(n);
+        treeC.reset(n);
+        long upd = ThetaLambdaTree.NEG;
+        for (int q = 0; q <= last; q++) {
+            int j = byLct[q];
+            tree.add(leaf[j], energy(j), C * est[j] + energy(j));
+            treeC.add(leaf[j], energy(j), (C - height) * est[j] + energy(j));
+            long thr = (C - height) * lct[j];
+            if (treeC.getEnv() > thr) {
+                int m = treeC.rightmostAbove(thr);
+                upd = Math.max(upd, ceilDiv(tree.envUpTo(m) - thr, height));
+            }
+            updates[q] = upd;
+        }
+    }
+}
@@ -143,6 +143,7 @@ public class PropCumulative extends Propagator<IntVar> {
             int t = tIter.nextInt();
             if(h[t].getUB()==0 || d[t].getUB()==0){
                 tasks.remove(t);
+                unwatchTask(t);
             }
         }
         for (CumulFilter cf : filters) {
@@ -150,6 +151,23 @@ public class PropCumulative extends Propagator<IntVar> {
         }
     }
 
+    /**
+     * Stop scheduling this propagator on events of the variables of task <i>t</i>.
+     * A task whose height or duration is 0 does not consume the resource anymore in the current branch,
+     * so the modifications of its variables cannot trigger any filtering.
+     * Watches are restored on backtrack.
+     *
+     * @param t index of the task
+     */
+    protected void unwatchTask(int t) {
+        if (isWatching(t)) {
+            unwatch(t);
+            unwatch(t + n);
+            unwatch(t + 2 * n);
+            unwatch(t + 3 * n);
+        }
+    }
+
     @Override
     public ESat isEntailed() {
         int min = s[0].getUB();
@@ -0,0 +1,359 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.sort.ArraySort;
+import org.chocosolver.util.tools.ArrayUtils;
+
+import java.util.Arrays;
+
+/**
+ * Disjunctive (unary resource) propagator: performed tasks do not overlap each other.
+ * <p>
+ * Each task <i>i</i> is performed iff <i>b<sub>i</sub></i> is true.
+ * A task whose <i>b</i> variable is not instantiated yet is optional:
+ * it is never taken into account to filter the other tasks,
+ * but it is set to not performed as soon as it cannot be scheduled anymore.
+ * Only tasks with a positive minimal duration are considered.
+ * </p>
+ * <p>
+ * The following rules are applied until a fixpoint is reached, on earliest starting times and,
+ * by symmetry, on latest completion times, each of them runs in O(n log n) thanks to a {@link ThetaLambdaTree}:
+ * <ul>
+ *     <li>overload checking,</li>
+ *     <li>detectable precedences,</li>
+ *     <li>not-first/not-last,</li>
+ *     <li>edge-finding.</li>
+ * </ul>
+ * </p>
+ * <br/>
+ * Based on "Global Constraints in Scheduling", P. Vilím, PhD thesis, 2007.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class PropDisjunctive extends Propagator<IntVar> {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    private final int n;
+    private final IntVar[] s, d, e;
+    private final BoolVar[] b;
+    /**
+     * Number of tasks considered, and number of them which are performed
+     */
+    private int m, mm;
+    /**
+     * Index of each task considered in the propagator
+     */
+    private final int[] id;
+    /**
+     * Earliest starting time, latest completion time and duration of each task considered
+     */
+    private final int[] est, lct, p;
+    private final boolean[] performed;
+    /**
+     * New earliest starting time and latest completion time of each task considered
+     */
+    private final long[] lower, upper;
+    private final int[] byEst, byLct, byEct, byLst, leaf;
+    private final ThetaLambdaTree tree;
+    private final ArraySort<?> sort;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    /**
+     * Disjunctive propagator
+     *
+     * @param s start variables
+     * @param d duration variables
+     * @param e end variables
+     * @param b performed variables
+     */
+    public PropDisjunctive(IntVar[] s, IntVar[] d, IntVar[] e, BoolVar[] b) {
+        super(ArrayUtils.append(s, d, e, b), PropagatorPriority.QUADRATIC, false);
+        this.n = s.length;
+        if (!(n == d.length && n == e.length && n == b.length)) {
+            throw new SolverException("PropDisjunctive: start, duration, end and performed arrays should have same size");
+        }
+        this.s = Arrays.copyOfRange(vars, 0, n);
+        this.d = Arrays.copyOfRange(vars, n, n * 2);
+        this.e = Arrays.copyOfRange(vars, n * 2, n * 3);
+        this.b = new BoolVar[n];
+        for (int i = 0; i < n; i++) {
+            this.b[i] = (BoolVar) vars[3 * n + i];
+        }
+        id = new int[n];
+        est = new int[n];
+        lct = new int[n];
+        p = new int[n];
+        performed = new boolean[n];
+        lower = new long[n];
+        upper = new long[n];
+        byEst = new int[n];
+        byLct = new int[n];
+        byEct = new int[n];
+        byLst = new int[n];
+        leaf = new int[n];
+        tree = new ThetaLambdaTree();
+        sort = new ArraySort<>(n, false, true);
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    @Override
+    public int getPropagationConditions(int vIdx) {
+        if (vIdx >= 3 * n) {
+            return IntEventType.instantiation();
+        }
+        return IntEventType.boundAndInst();
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        boolean change;
+        do {
+            change = filter(false);
+            change |= filter(true);
+        } while (change);
+    }
+
+    /**
+     * Apply each rule once, on earliest starting times and latest completion times.
+     *
+     * @param mirror set to <i>true</i> to work on the mirrored problem, where times are negated
+     * @return <i>true</i> if a variable has been modified
+     * @throws ContradictionException if a failure occurs
+     */
+    private boolean filter(boolean mirror) throws ContradictionException {
+        m = mm = 0;
+        for (int t = 0; t < n; t++) {
+            if (!b[t].isInstantiatedTo(0) && d[t].getLB() > 0) {
+                id[m] = t;
+                p[m] = d[t].getLB();
+                performed[m] = b[t].isInstantiatedTo(1);
+                if (mirror) {
+                    est[m] = -e[t].getUB();
+                    lct[m] = -s[t].getLB();
+                } else {
+                    est[m] = s[t].getLB();
+                    lct[m] = e[t].getUB();
+                }
+                if (performed[m]) {
+                    byLst[mm++] = m;
+                }
+                m++;
+            }
+        }
+        if (mm == 0) {
+            return false;
+        }
+        prepare();
+        overloadChecking();
+        detectablePrecedences();
+        notLast();
+        edgeFinding();
+        return apply(mirror);
+    }
+
+    private void prepare() {
+        for (int k = 0; k < m; k++) {
+            byEst[k] = byLct[k] = byEct[k] = k;
+            lower[k] = est[k];
+            upper[k] = lct[k];
+        }
+        sort.sort(byEst, m, (i1, i2) -> Integer.compare(est[i1], est[i2]));
+        sort.sort(byLct, m, (i1, i2) -> Integer.compare(lct[i1], lct[i2]));
+        sort.sort(byEct, m, (i1, i2) -> Integer.compare(est[i1] + p[i1], est[i2] + p[i2]));
+        sort.sort(byLst, mm, (i1, i2) -> Integer.compare(lct[i1] - p[i1], lct[i2] - p[i2]));
+        for (int l = 0; l < m; l++) {
+            leaf[byEst[l]] = l;
+        }
+    }
+
+    /**
+     * The earliest completion time of performed tasks whose latest completion time is not greater than <i>lct_j</i>
+     * cannot exceed <i>lct_j</i>.
+     * An optional task which would make it exceed <i>lct_j</i> is not performed.
+     */
+    private void overloadChecking() throws ContradictionException {
+        tree.reset(m);
+        for (int q = 0; q < m; q++) {
+            int j = byLct[q];
+            if (performed[j]) {
+                tree.theta(leaf[j], p[j], est[j] + p[j]);
+            } else {
+                tree.lambda(leaf[j], p[j], est[j] + p[j]);
+            }
+            if (tree.getEnv() > lct[j]) {
+                fails();
+            }
+            while (tree.getEnvLambda() > lct[j]) {
+                int l = tree.responsibleGray();
+                int i = byEst[l];
+                // cannot be scheduled
+                lower[i] = lct[i] - p[i] + 1;
+                tree.remove(l);
+            }
+        }
+    }
+
+    /**
+     * A task <i>i</i> starts after the tasks which have to start before its earliest completion time.
+     */
+    private void detectablePrecedences() {
+        tree.reset(m);
+        int q = 0;
+        for (int k = 0; k < m; k++) {
+            int i = byEct[k];
+            int ect = est[i] + p[i];
+            while (q < mm && lct[byLst[q]] - p[byLst[q]] < ect) {
+                int j = byLst[q++];
+                tree.theta(leaf[j], p[j], est[j] + p[j]);
+            }
+            boolean in = performed[i] && lct[i] - p[i] < ect;
+            if (in) {
+                tree.remove(leaf[i]);
+            }
+            lower[i] = Math.max(lower[i], tree.getEnv());
+            if (in) {
+                tree.theta(leaf[i], p[i], est[i] + p[i]);
+            }
+        }
+    }
+
+    /**
+     * If the tasks which have to start before the latest completion time of a task <i>i</i>
+     * cannot be completed before the latest starting time of <i>i</i>, then <i>i</i> is not the last one
+     * and ends before the latest starting time of one of them.
+     */
+    private void notLast() {
+        tree.reset(m);
+        int q = 0;
+        int last = -1, prev = -1;
+        for (int k = 0; k < m; k++) {
+            int i = byLct[k];
+            while (q < mm && lct[byLst[q]] - p[byLst[q]] < lct[i]) {
+                int j = byLst[q++];
+                tree.theta(leaf[j], p[j], est[j] + p[j]);
+                prev = last;
+                last = j;
+            }
+            int j = last == i ? prev : last;
+            if (j == -1) {
+                continue;
+            }
+            if (performed[i]) {
+                tree.remove(leaf[i]);
+            }
+            if (tree.getEnv() > lct[i] - p[i]) {
+                upper[i] = Math.min(upper[i], lct[j] - p[j]);
+            }
+            if (performed[i]) {
+                tree.theta(leaf[i], p[i], est[i] + p[i]);
+            }
+        }
+    }
+
+    /**
+     * If a task <i>i</i> cannot be completed before the latest completion time of a set of tasks Θ,
+     * then it starts after all of them.
+     * Performed tasks are browsed by non-increasing latest completion time, Θ being made of the ones not browsed yet.
+     */
+    private void edgeFinding() throws ContradictionException {
+        tree.reset(m);
+        for (int k = 0; k < m; k++) {
+            if (performed[k]) {
+                tree.set(leaf[k], p[k], est[k] + p[k]);
+            }
+        }
+        tree.build();
+        for (int k = 0; k < m; k++) {
+            if (!performed[k]) {
+                tree.lambda(leaf[k], p[k], est[k] + p[k]);
+            }
+        }
+        for (int q = m - 1; q >= 0; q--) {
+            int j = byLct[q];
+            if (!performed[j]) {
+                continue;
+            }
+            if (tree.getEnv() > lct[j]) {
+                fails();
+            }
+            while (tree.getEnvLambda() > lct[j]) {
+                int l = tree.responsibleGray();
+                int i = byEst[l];
+                lower[i] = Math.max(lower[i], tree.getEnv());
+                tree.remove(l);
+            }
+            tree.lambda(leaf[j], p[j], est[j] + p[j]);
+        }
+    }
+
+    /**
+     * Update the variables wrt {@link #lower} and {@link #upper}.
+     */
+    private boolean apply(boolean mirror) throws ContradictionException {
+        boolean change = false;
+        for (int k = 0; k < m; k++) {
+            int t = id[k];
+            if (performed[k]) {
+                if (lower[k] > est[k]) {
+                    change |= mirror ? e[t].updateUpperBound(-lower[k], this) : s[t].updateLowerBound(lower[k], this);
+                }
+                if (upper[k] < lct[k]) {
+                    change |= mirror ? s[t].updateLowerBound(-upper[k], this) : e[t].updateUpperBound(upper[k], this);
+                }
+            } else if (lower[k] + p[k] > lct[k] || upper[k] - p[k] < est[k]) {
+                b[t].setToFalse(this);
+                change = true;
+            }
+        }
+        return change;
+    }
+
+    @Override
+    public ESat isEntailed() {
+        int[] order = new int[n];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            if (!b[i].isInstantiated() || !s[i].isInstantiated() || !d[i].isInstantiated() || !e[i].isInstantiated()) {
+                return ESat.UNDEFINED;
+            }
+            if (b[i].getValue() == 1 && d[i].getValue() > 0) {
+                order[k++] = i;
+            }
+        }
+        new ArraySort<>(n, false, true).sort(order, k, (i1, i2) -> Integer.compare(s[i1].getValue(), s[i2].getValue()));
+        for (int i = 1; i < k; i++) {
+            if (e[order[i - 1]].getValue() > s[order[i]].getValue()) {
+                return ESat.FALSE;
+            }
+        }
+        return ESat.TRUE;
+    }
+}
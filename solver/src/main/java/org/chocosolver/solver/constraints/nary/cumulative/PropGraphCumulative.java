@@ -121,6 +121,7 @@ public class PropGraphCumulative extends PropCumulative {
             int v = varIdx % n;
             if (h[v].getUB() == 0 || d[v].getUB() == 0) {
                 allTasks.remove(v);
+                unwatchTask(v);
                 ISetIterator gIt = g.getNeighborsOf(v).iterator();
                 while (gIt.hasNext()) {
                     g.removeEdge(v, gIt.nextInt());
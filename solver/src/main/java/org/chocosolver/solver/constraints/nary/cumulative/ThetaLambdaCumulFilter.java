@@ -0,0 +1,177 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+import org.chocosolver.util.sort.ArraySort;
+
+/**
+ * Base class of the cumulative filters relying on a {@link ThetaLambdaTree}.
+ * <p>
+ * Only tasks with a positive minimal duration and a positive minimal height are considered,
+ * with their minimal duration and height.
+ * Earliest starting times are adjusted first, then latest completion times, by symmetry:
+ * times are negated and the same algorithm is run again.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+abstract class ThetaLambdaCumulFilter extends CumulFilter {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    /**
+     * Number of tasks considered
+     */
+    protected int n;
+    /**
+     * Capacity of the resource
+     */
+    protected long C;
+    /**
+     * Index of each task considered in the constraint
+     */
+    private final int[] id;
+    /**
+     * Earliest starting time, latest completion time, duration and height of each task considered
+     */
+    protected final int[] est, lct, p, c;
+    /**
+     * New earliest starting time of each task considered, to be set by {@link #adjust(Propagator)}
+     */
+    protected final long[] bound;
+    /**
+     * Tasks by non-decreasing earliest starting time, that is, the task of each leaf
+     */
+    protected final int[] byEst;
+    /**
+     * Tasks by non-decreasing latest completion time
+     */
+    protected final int[] byLct;
+    /**
+     * Leaf of each task
+     */
+    protected final int[] leaf;
+    protected final ThetaLambdaTree tree;
+    private final ArraySort<?> sort;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    ThetaLambdaCumulFilter(int nbMaxTasks) {
+        super(nbMaxTasks);
+        id = new int[nbMaxTasks];
+        est = new int[nbMaxTasks];
+        lct = new int[nbMaxTasks];
+        p = new int[nbMaxTasks];
+        c = new int[nbMaxTasks];
+        bound = new long[nbMaxTasks];
+        byEst = new int[nbMaxTasks];
+        byLct = new int[nbMaxTasks];
+        leaf = new int[nbMaxTasks];
+        tree = new ThetaLambdaTree();
+        sort = new ArraySort<>(nbMaxTasks, false, true);
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    @Override
+    public void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, ISet tasks, Propagator<IntVar> aCause) throws ContradictionException {
+        n = 0;
+        ISetIterator tIter = tasks.iterator();
+        while (tIter.hasNext()) {
+            int t = tIter.nextInt();
+            if (d[t].getLB() > 0 && h[t].getLB() > 0) {
+                id[n] = t;
+                p[n] = d[t].getLB();
+                c[n] = h[t].getLB();
+                n++;
+            }
+        }
+        if (n == 0) {
+            return;
+        }
+        C = capa.getUB();
+        // earliest starting times
+        for (int k = 0; k < n; k++) {
+            est[k] = s[id[k]].getLB();
+            lct[k] = e[id[k]].getUB();
+        }
+        prepare();
+        adjust(aCause);
+        for (int k = 0; k < n; k++) {
+            if (bound[k] > est[k]) {
+                s[id[k]].updateLowerBound(bound[k], aCause);
+            }
+        }
+        // latest completion times, by symmetry
+        for (int k = 0; k < n; k++) {
+            est[k] = -e[id[k]].getUB();
+            lct[k] = -s[id[k]].getLB();
+        }
+        prepare();
+        adjust(aCause);
+        for (int k = 0; k < n; k++) {
+            if (bound[k] > est[k]) {
+                e[id[k]].updateUpperBound(-bound[k], aCause);
+            }
+        }
+    }
+
+    /**
+     * Detect overloads and compute the new earliest starting time of each task in {@link #bound}.
+     *
+     * @param aCause a cumulative propagator
+     * @throws ContradictionException if the resource is overloaded
+     */
+    protected abstract void adjust(Propagator<IntVar> aCause) throws ContradictionException;
+
+    /**
+     * @param k a task
+     * @return the energy of the task
+     */
+    protected final long energy(int k) {
+        return (long) p[k] * c[k];
+    }
+
+    /**
+     * @param a a value
+     * @param b a positive value
+     * @return the smallest integer greater than or equal to <i>a</i> / <i>b</i>
+     */
+    protected static long ceilDiv(long a, long b) {
+        return -Math.floorDiv(-a, b);
+    }
+
+    private void prepare() {
+        for (int k = 0; k < n; k++) {
+            byEst[k] = k;
+            byLct[k] = k;
+            bound[k] = est[k];
+        }
+        sort.sort(byEst, n, (i1, i2) -> Integer.compare(est[i1], est[i2]));
+        sort.sort(byLct, n, (i1, i2) -> Integer.compare(lct[i1], lct[i2]));
+        for (int l = 0; l < n; l++) {
+            leaf[byEst[l]] = l;
+        }
+    }
+}
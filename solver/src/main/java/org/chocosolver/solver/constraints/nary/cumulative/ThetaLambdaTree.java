@@ -0,0 +1,301 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import java.util.Arrays;
+
+/**
+ * A cumulative Θ-Λ-tree: a balanced binary tree whose leaves are tasks sorted by earliest starting time.
+ * <p>
+ * A leaf is either empty, in Θ (white) or in Λ (gray).
+ * Each node stores, for the leaves of its subtree:
+ * <ul>
+ *     <li><i>e</i>: the energy of the white leaves,</li>
+ *     <li><i>env</i>: the energy envelope of the white leaves, that is the maximum over the white leaves <i>a</i>
+ *     of the envelope of <i>a</i> plus the energy of the white leaves after <i>a</i>,</li>
+ *     <li><i>eL</i> and <i>envL</i>: the same values, when at most one gray leaf is considered as white.</li>
+ * </ul>
+ * The envelope of a leaf is given when it is inserted, typically <i>C * est + e</i>.
+ * Each insertion or removal runs in O(log n).
+ * </p>
+ * <br/>
+ * Based on "Edge Finding Filtering Algorithm for Discrete Cumulative Resources in O(kn log n)" </br>
+ * P. Vilím, CP 2009.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+final class ThetaLambdaTree {
+
+    /**
+     * Envelope of an empty subtree
+     */
+    static final long NEG = Long.MIN_VALUE / 4;
+
+    private int size;
+    private long[] e = new long[0];
+    private long[] env = new long[0];
+    private long[] eL = new long[0];
+    private long[] envL = new long[0];
+    /**
+     * Leaf where the envelope found by the last call to {@link #responsibleGray()} starts
+     */
+    private int start;
+
+    /**
+     * Empty the tree and make room for <i>n</i> leaves.
+     *
+     * @param n number of leaves
+     */
+    void reset(int n) {
+        int s = 1;
+        while (s < n) {
+            s <<= 1;
+        }
+        if (2 * s - 1 > e.length) {
+            e = new long[2 * s - 1];
+            env = new long[2 * s - 1];
+            eL = new long[2 * s - 1];
+            envL = new long[2 * s - 1];
+        }
+        size = s;
+        Arrays.fill(e, 0, 2 * s - 1, 0L);
+        Arrays.fill(env, 0, 2 * s - 1, NEG);
+        Arrays.fill(eL, 0, 2 * s - 1, 0L);
+        Arrays.fill(envL, 0, 2 * s - 1, NEG);
+    }
+
+    /**
+     * Put the leaf <i>l</i> in Θ.
+     *
+     * @param l        index of the leaf
+     * @param energy   energy of the leaf
+     * @param envelope envelope of the leaf
+     */
+    void theta(int l, long energy, long envelope) {
+        set(l, energy, envelope);
+        update(size - 1 + l);
+    }
+
+    /**
+     * Put the leaf <i>l</i> in Θ, without updating the values of its ancestors.
+     * Once all the leaves are set, {@link #build()} has to be called.
+     *
+     * @param l        index of the leaf
+     * @param energy   energy of the leaf
+     * @param envelope envelope of the leaf
+     */
+    void set(int l, long energy, long envelope) {
+        int k = size - 1 + l;
+        e[k] = eL[k] = energy;
+        env[k] = envL[k] = envelope;
+    }
+
+    /**
+     * Compute the values of the inner nodes from the leaves, in O(n).
+     */
+    void build() {
+        for (int k = size - 2; k >= 0; k--) {
+            merge(k);
+        }
+    }
+
+    /**
+     * Put the leaf <i>l</i> in Θ, ignoring Λ: only the energies and the envelopes of Θ are maintained.
+     * To be used on a tree without any gray leaf, when {@link #getEnvLambda()} is not needed.
+     *
+     * @param l        index of the leaf
+     * @param energy   energy of the leaf
+     * @param envelope envelope of the leaf
+     */
+    void add(int l, long energy, long envelope) {
+        int k = size - 1 + l;
+        e[k] = energy;
+        env[k] = envelope;
+        while (k > 0) {
+            k = (k - 1) / 2;
+            int r = 2 * k + 2;
+            e[k] = e[r - 1] + e[r];
+            env[k] = Math.max(env[r], env[r - 1] + e[r]);
+        }
+    }
+
+    /**
+     * Put the leaf <i>l</i> in Λ.
+     *
+     * @param l        index of the leaf
+     * @param energy   energy of the leaf
+     * @param envelope envelope of the leaf
+     */
+    void lambda(int l, long energy, long envelope) {
+        int k = size - 1 + l;
+        e[k] = 0L;
+        env[k] = NEG;
+        eL[k] = energy;
+        envL[k] = envelope;
+        update(k);
+    }
+
+    /**
+     * Remove the leaf <i>l</i> from the tree.
+     *
+     * @param l index of the leaf
+     */
+    void remove(int l) {
+        int k = size - 1 + l;
+        e[k] = eL[k] = 0L;
+        env[k] = envL[k] = NEG;
+        update(k);
+    }
+
+    /**
+     * @return the energy envelope of Θ
+     */
+    long getEnv() {
+        return env[0];
+    }
+
+    /**
+     * @return the energy envelope of Θ, with at most one leaf of Λ
+     */
+    long getEnvLambda() {
+        return envL[0];
+    }
+
+    /**
+     * Requires {@link #getEnvLambda()} to be greater than {@link #getEnv()}.
+     *
+     * @return the gray leaf responsible for {@link #getEnvLambda()}
+     * @see #getStart()
+     */
+    int responsibleGray() {
+        int k = 0;
+        while (k < size - 1) {
+            int l = 2 * k + 1, r = l + 1;
+            if (envL[k] == envL[r]) {
+                k = r;
+            } else if (envL[k] == env[l] + eL[r]) {
+                start = startOfEnv(l);
+                return grayOfEnergy(r);
+            } else {
+                k = l;
+            }
+        }
+        start = k - size + 1;
+        return start;
+    }
+
+    /**
+     * @return the leaf where the envelope found by the last call to {@link #responsibleGray()} starts
+     */
+    int getStart() {
+        return start;
+    }
+
+    /**
+     * Requires {@link #getEnv()} to be greater than <i>threshold</i>.
+     *
+     * @param threshold a value
+     * @return the rightmost white leaf <i>a</i> whose envelope plus the energy of the white leaves after it
+     * is greater than <i>threshold</i>
+     */
+    int rightmostAbove(long threshold) {
+        int k = 0;
+        while (k < size - 1) {
+            int l = 2 * k + 1, r = l + 1;
+            if (env[r] > threshold) {
+                k = r;
+            } else {
+                threshold -= e[r];
+                k = l;
+            }
+        }
+        return k - size + 1;
+    }
+
+    /**
+     * @param m index of a leaf
+     * @return the envelope of the white leaves up to <i>m</i> (included)
+     * plus the energy of the white leaves after <i>m</i>
+     */
+    long envUpTo(int m) {
+        int k = size - 1 + m;
+        long envA = env[k];
+        long eA = e[k];
+        long eB = 0L;
+        while (k > 0) {
+            int p = (k - 1) / 2;
+            if (k == 2 * p + 2) {
+                // right child: the left sibling is in α
+                envA = Math.max(envA, env[k - 1] + eA);
+                eA += e[k - 1];
+            } else {
+                // left child: the right sibling is in β
+                eB += e[k + 1];
+            }
+            k = p;
+        }
+        return envA + eB;
+    }
+
+    /**
+     * @param a index of a leaf
+     * @return the energy of the white leaves from <i>a</i> (included)
+     */
+    long energyFrom(int a) {
+        int k = size - 1 + a;
+        long sum = e[k];
+        while (k > 0) {
+            int p = (k - 1) / 2;
+            if (k == 2 * p + 1) {
+                sum += e[k + 1];
+            }
+            k = p;
+        }
+        return sum;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void update(int k) {
+        while (k > 0) {
+            k = (k - 1) / 2;
+            merge(k);
+        }
+    }
+
+    private void merge(int k) {
+        int l = 2 * k + 1, r = l + 1;
+        e[k] = e[l] + e[r];
+        env[k] = Math.max(env[r], env[l] + e[r]);
+        eL[k] = Math.max(eL[l] + e[r], e[l] + eL[r]);
+        envL[k] = Math.max(envL[r], Math.max(env[l] + eL[r], envL[l] + e[r]));
+    }
+
+    private int startOfEnv(int k) {
+        while (k < size - 1) {
+            int l = 2 * k + 1, r = l + 1;
+            k = env[k] == env[r] ? r : l;
+        }
+        return k - size + 1;
+    }
+
+    private int grayOfEnergy(int k) {
+        while (k < size - 1) {
+            int l = 2 * k + 1, r = l + 1;
+            k = eL[k] == eL[l] + e[r] ? l : r;
+        }
+        return k - size + 1;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.sort.ArraySort;
+
+import java.util.Arrays;
+
+/**
+ * Timetable edge-finding filtering, based on a Θ-Λ-tree.
+ * <p>
+ * Each task is split into its compulsory part, which makes the timetable, and its free part.
+ * The energy of the timetable in a window [a, b) is added to the energy of the free parts
+ * of the tasks inside the window: each leaf of the tree stores the free part of a task and its envelope
+ * includes the energy of the timetable after its earliest starting time.
+ * Tasks are browsed by non-increasing latest completion time <i>b</i>:
+ * the resource is overloaded if some window ending at <i>b</i> is.
+ * Otherwise, for each task <i>i</i> of Λ whose free part makes a window [a, b) overloaded,
+ * the reserve of the window is computed and, if <i>i</i> cannot start at its earliest starting time
+ * without exceeding it, its earliest starting time is pushed so that it only overlaps the window
+ * by what the reserve allows.
+ * The complexity is O(n log n).
+ * </p>
+ * <p>
+ * Not idempotent.
+ * Not enough to ensure correctness (only an additional filtering), use it in addition to either SWEEP or TIME.
+ * </p>
+ * <br/>
+ * Based on "Timetable Edge Finding Filtering Algorithm for Discrete Cumulative Resources" </br>
+ * P. Vilím, CPAIOR 2011, and "Explaining the cumulative propagator", A. Schutt and al., Constraints 2011.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class TimetableEdgeFindingCumulFilter extends ThetaLambdaCumulFilter {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    /**
+     * Energy of the free part of each task
+     */
+    private final long[] freeEnergy;
+    /**
+     * Energy of the timetable after the earliest starting time and after the latest completion time of each task
+     */
+    private final long[] ttAfterEst, ttAfterLct;
+    /**
+     * Start or end events of compulsory parts: a task <i>k</i> for the start, <i>k + n</i> for the end
+     */
+    private final int[] events;
+    /**
+     * Timetable: height <i>heights[i]</i> from <i>times[i]</i> to <i>times[i + 1]</i>,
+     * and energy after <i>times[i]</i>
+     */
+    private final int[] times, heights;
+    private final long[] after;
+    private int nbTimes;
+    private final ArraySort<?> sort;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    public TimetableEdgeFindingCumulFilter(int nbMaxTasks) {
+        super(nbMaxTasks);
+        freeEnergy = new long[nbMaxTasks];
+        ttAfterEst = new long[nbMaxTasks];
+        ttAfterLct = new long[nbMaxTasks];
+        events = new int[2 * nbMaxTasks];
+        times = new int[2 * nbMaxTasks];
+        heights = new int[2 * nbMaxTasks];
+        after = new long[2 * nbMaxTasks];
+        sort = new ArraySort<>(2 * nbMaxTasks, false, true);
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    @Override
+    protected void adjust(Propagator<IntVar> aCause) throws ContradictionException {
+        buildTimetable();
+        tree.reset(n);
+        for (int k = 0; k < n; k++) {
+            int cp = Math.max(0, est[k] + p[k] - (lct[k] - p[k]));
+            freeEnergy[k] = (long) (p[k] - cp) * c[k];
+            ttAfterEst[k] = ttAfter(est[k]);
+            ttAfterLct[k] = ttAfter(lct[k]);
+            tree.set(leaf[k], freeEnergy[k], envelope(k));
+        }
+        tree.build();
+        for (int q = n - 1; q >= 0; q--) {
+            int j = byLct[q];
+            long bnd = C * lct[j] + ttAfterLct[j];
+            if (tree.getEnv() > bnd) {
+                aCause.fails();
+            }
+            while (tree.getEnvLambda() > bnd) {
+                int l = tree.responsibleGray();
+                tighten(byEst[l], tree.getStart(), j, aCause);
+                tree.remove(l);
+            }
+            tree.lambda(leaf[j], freeEnergy[j], envelope(j));
+        }
+    }
+
+    private long envelope(int k) {
+        return C * est[k] + ttAfterEst[k] + freeEnergy[k];
+    }
+
+    /**
+     * Adjust the earliest starting time of task <i>i</i> wrt the window starting at the earliest starting time
+     * of the task of leaf <i>a</i> and ending at the latest completion time of task <i>j</i>.
+     * The tasks inside the window are the white leaves from <i>a</i>.
+     */
+    private void tighten(int i, int a, int j, Propagator<IntVar> aCause) throws ContradictionException {
+        int ta = est[byEst[a]];
+        int tb = lct[j];
+        if (ta >= tb) {
+            // i starts after the window
+            return;
+        }
+        long reserve = C * (tb - ta) - tree.energyFrom(a) - (ttAfterEst[byEst[a]] - ttAfterLct[j]);
+        if (reserve < 0) {
+            aCause.fails();
+        }
+        // compulsory part of i in the window, already in the timetable
+        int cp = Math.max(0, Math.min(est[i] + p[i], tb) - Math.max(lct[i] - p[i], ta));
+        // maximal overlap of i with the window
+        long max = reserve / c[i] + cp;
+        int overlap = Math.max(0, Math.min(est[i] + p[i], tb) - Math.max(est[i], ta));
+        if (overlap > max) {
+            bound[i] = Math.max(bound[i], tb - max);
+        }
+    }
+
+    /**
+     * Build the timetable from the compulsory parts of the tasks.
+     */
+    private void buildTimetable() {
+        int m = 0;
+        for (int k = 0; k < n; k++) {
+            if (lct[k] - p[k] < est[k] + p[k]) {
+                events[m++] = k;
+                events[m++] = k + n;
+            }
+        }
+        sort.sort(events, m, (e1, e2) -> Integer.compare(time(e1), time(e2)));
+        nbTimes = 0;
+        int h = 0;
+        for (int k = 0; k < m; k++) {
+            int t = time(events[k]);
+            if (nbTimes == 0 || times[nbTimes - 1] != t) {
+                times[nbTimes++] = t;
+            }
+            h += events[k] < n ? c[events[k]] : -c[events[k] - n];
+            heights[nbTimes - 1] = h;
+        }
+        if (nbTimes > 0) {
+            after[nbTimes - 1] = 0L;
+            for (int k = nbTimes - 2; k >= 0; k--) {
+                after[k] = after[k + 1] + (long) heights[k] * (times[k + 1] - times[k]);
+            }
+        }
+    }
+
+    private int time(int event) {
+        return event < n ? lct[event] - p[event] : est[event - n] + p[event - n];
+    }
+
+    /**
+     * @param t a time
+     * @return the energy of the timetable after <i>t</i>
+     */
+    private long ttAfter(int t) {
+        if (nbTimes == 0) {
+            return 0L;
+        }
+        int q = Arrays.binarySearch(times, 0, nbTimes, t);
+        if (q < 0) {
+            q = -q - 2;
+        }
+        if (q < 0) {
+            return after[0];
+        }
+        return after[q] - (long) heights[q] * (t - times[q]);
+    }
+}
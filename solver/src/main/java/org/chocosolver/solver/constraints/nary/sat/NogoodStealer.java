@@ -13,9 +13,11 @@ import gnu.trove.map.hash.TIntIntHashMap;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.search.loop.monitors.NogoodFromRestarts;
 import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.util.objects.queues.SpscQueue;
 
 /**
  * This class manages no-goods sharing among models involved in a {@link
@@ -23,6 +25,13 @@ import org.chocosolver.solver.variables.Variable;
  * were created following the very same steps. The consequence is that a variable has the same ID in
  * all models.
  * <p>
+ * The exchange is lock-free: on restart, a model encodes its own decision path
+ * (see {@link NogoodFromRestarts#encode}) and posts it in the mailbox of each other model.
+ * Then, it decodes the paths posted in its own mailboxes.
+ * There is one bounded {@link SpscQueue} per pair of models, a path is dropped when the mailbox is full.
+ * Thus, a model never reads another model's data structures and never waits for another model.
+ * </p>
+ * <p>
  * Project: choco.
  *
  * @author Charles Prud'homme
@@ -30,6 +39,11 @@ import org.chocosolver.solver.variables.Variable;
  */
 public class NogoodStealer {
 
+    /**
+     * Default number of encoded paths a mailbox can hold
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
     /**
      * A singleton that steals nothing
      */
@@ -40,7 +54,7 @@ public class NogoodStealer {
         }
 
         @Override
-        public synchronized void nogoodStealing(Model model, NogoodFromRestarts caller) {
+        public void nogoodStealing(Model model, NogoodFromRestarts caller) {
             // void
         }
 
@@ -55,28 +69,71 @@ public class NogoodStealer {
      */
     private final List<Model> models;
 
+    /**
+     * Mailboxes, <code>mailboxes.get(i).get(j)</code> stores paths sent by the j-th model to the i-th one.
+     * The ones on the diagonal are not used.
+     */
+    private final List<List<SpscQueue<int[]>>> mailboxes;
+
+    /**
+     * Number of encoded paths a mailbox can hold
+     */
+    private final int capacity;
+
     /**
      * Maintain relation between id of a variable and its position in a model.
      * @implSpec This is a strong assumption that all models are equivalent (ie, each variable
      * has the same ID among models).
+     * It is filled when the first model is added and only read afterward.
      */
     private final TIntIntHashMap id2pos;
 
+    private final LongAdder exported = new LongAdder();
+    private final LongAdder imported = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder time = new LongAdder();
+
     /**
      * Create a class that steal nogoods (based on decision path) from models and store them in
      * another one.
      */
     public NogoodStealer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a class that steal nogoods (based on decision path) from models and store them in
+     * another one.
+     * @param capacity maximum number of paths waiting to be read by a model, from another model
+     */
+    public NogoodStealer(int capacity) {
         this.models = new ArrayList<>();
+        this.mailboxes = new ArrayList<>();
+        this.capacity = capacity;
         this.id2pos = new TIntIntHashMap(10,.5f,-1,-1);
     }
 
     /**
-     * Add a model to steal nogood from (based on decision path)
+     * Add a model to steal nogood from (based on decision path).
+     * All models have to be added before the resolution starts.
      * @param model
      */
     public void add(Model model) {
         assert valid(model): "Cannot share nogoods between non equivalent models";
+        if (models.isEmpty()) {
+            Variable[] vars = model.getVars();
+            for (int i = 0; i < vars.length; i++) {
+                id2pos.put(vars[i].getId(), i);
+            }
+        }
+        for (List<SpscQueue<int[]>> boxes : mailboxes) {
+            boxes.add(new SpscQueue<>(capacity));
+        }
+        List<SpscQueue<int[]>> boxes = new ArrayList<>();
+        for (int j = 0; j <= models.size(); j++) {
+            boxes.add(j == models.size() ? null : new SpscQueue<>(capacity));
+        }
+        this.mailboxes.add(boxes);
         this.models.add(model);
     }
 
@@ -101,16 +158,41 @@ public class NogoodStealer {
     }
 
     /**
-     * Extract nogoods from decision paths of all models but <i>model</i>.
-     * @param model the model to skip
-     * @param caller nogoods extractor
+     * Send the decision path of <i>model</i> to all other models,
+     * then extract nogoods from decision paths received from them.
+     * Must be called by the thread running <i>model</i>.
+     * @param model the model calling this method
+     * @param caller nogoods extractor of <i>model</i>
      */
-    public synchronized void nogoodStealing(Model model, NogoodFromRestarts caller) {
-        for (Model m : models) {
-            if (m != model) {
-                caller.extractNogoodFromPath(m.getSolver().getDecisionPath());
+    public void nogoodStealing(Model model, NogoodFromRestarts caller) {
+        int me = models.indexOf(model);
+        if (me < 0) {
+            return;
+        }
+        long t = System.nanoTime();
+        int[] path = caller.encode(model.getSolver().getDecisionPath());
+        if (path.length > 0) {
+            for (int i = 0; i < models.size(); i++) {
+                if (i != me) {
+                    if (mailboxes.get(i).get(me).offer(path)) {
+                        exported.increment();
+                    } else {
+                        dropped.increment();
+                    }
+                }
             }
         }
+        List<SpscQueue<int[]>> boxes = mailboxes.get(me);
+        for (int j = 0; j < boxes.size(); j++) {
+            if (j != me) {
+                int[] received;
+                while ((received = boxes.get(j).poll()) != null) {
+                    caller.extractNogood(received);
+                    imported.increment();
+                }
+            }
+        }
+        time.add(System.nanoTime() - t);
     }
 
     /**
@@ -121,12 +203,49 @@ public class NogoodStealer {
      * (ie, from another model)
      */
     public <V extends Variable> V getById(V var, Model model) {
-        int p = id2pos.get(var.getId());
+        //noinspection unchecked
+        return (V) getById(var.getId(), model);
+    }
+
+    /**
+     * @param id ID of the variable to look for
+     * @param model a model
+     * @return the variable of <i>model</i> whose ID is <i>id</i>
+     */
+    public Variable getById(int id, Model model) {
+        int p = id2pos.get(id);
         if(p == -1){
-            p = binarySearch(model, var.getId());
+            p = binarySearch(model, id);
         }
-        //noinspection unchecked
-        return (V) model.getVar(p);
+        return model.getVar(p);
+    }
+
+    /**
+     * @return the number of decision paths sent to other models
+     */
+    public long getNbExportedPaths() {
+        return exported.sum();
+    }
+
+    /**
+     * @return the number of decision paths received from other models
+     */
+    public long getNbImportedPaths() {
+        return imported.sum();
+    }
+
+    /**
+     * @return the number of decision paths not sent because a mailbox was full
+     */
+    public long getNbDroppedPaths() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return the cumulative time spent by models to exchange decision paths, in nanoseconds
+     */
+    public long getTimeInNanoSeconds() {
+        return time.sum();
     }
 
     /**
@@ -134,7 +253,7 @@ public class NogoodStealer {
      */
     private static <T> int binarySearch(Model model, int key) {
         int low = 0;
-        int high = model.getNbVars();
+        int high = model.getNbVars() - 1;
 
         while (low <= high) {
             int mid = (low + high) >>> 1;
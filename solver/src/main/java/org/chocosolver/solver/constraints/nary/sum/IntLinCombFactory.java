@@ -69,24 +69,6 @@ public class IntLinCombFactory {
                                     int minCardForDecomposition) {
         // 0. normalize data
         Model model = SCALAR.getModel();
-        if (VARS.length > minCardForDecomposition) {
-            int k = VARS.length;
-            int d1 = (int) Math.sqrt(k);
-            int d2 = k / d1 + (k % d1 == 0?0:1);
-            IntVar[] intermVar = new IntVar[d1];
-            IntVar[] copyV;
-            int[] copyC;
-            int[] bounds;
-            for (int i = 0, z = 0; i < k; i += d2, z++) {
-                int size = Math.min(i + d2, k);
-                copyV = Arrays.copyOfRange(VARS, i, size);
-                copyC = Arrays.copyOfRange(COEFFS, i, size);
-                bounds = VariableUtils.boundsForScalar(copyV, copyC);
-                intermVar[z] = model.intVar(bounds[0], bounds[1]);
-                model.scalar(copyV, copyC, "=", intermVar[z]).post();
-            }
-            return model.sum(intermVar, OPERATOR.toString(), SCALAR);
-        }
         IntVar[] NVARS;
         int[] NCOEFFS;
         long RESULT = 0;
@@ -195,6 +177,27 @@ public class IntLinCombFactory {
             NCOEFFS[k - 1] = NCOEFFS[lidx];
             NCOEFFS[lidx] = i;
         }
+        // 3. decompose large sums, unless they are maintained incrementally (see select* methods),
+        // the arity is the one of the normalized sum (at least 5, so that each sub-sum is smaller)
+        if (k > Math.max(minCardForDecomposition, 4)
+                && (OPERATOR == Operator.NQ || k < model.getSettings().getMinCardForIncrementalSum())) {
+            int n = VARS.length;
+            int d1 = (int) Math.sqrt(n);
+            int d2 = n / d1 + (n % d1 == 0?0:1);
+            IntVar[] intermVar = new IntVar[d1];
+            IntVar[] copyV;
+            int[] copyC;
+            int[] bounds;
+            for (int i = 0, z = 0; i < n; i += d2, z++) {
+                int size = Math.min(i + d2, n);
+                copyV = Arrays.copyOfRange(VARS, i, size);
+                copyC = Arrays.copyOfRange(COEFFS, i, size);
+                bounds = VariableUtils.boundsForScalar(copyV, copyC);
+                intermVar[z] = model.intVar(bounds[0], bounds[1]);
+                model.scalar(copyV, copyC, "=", intermVar[z]).post();
+            }
+            return model.sum(intermVar, OPERATOR.toString(), SCALAR);
+        }
         boolean isLong = slb < Integer.MIN_VALUE || slb > Integer.MAX_VALUE;
         isLong |= sub < Integer.MIN_VALUE || sub > Integer.MAX_VALUE;
         isLong |= RESULT < Integer.MIN_VALUE || RESULT > Integer.MAX_VALUE;
@@ -309,6 +312,9 @@ public class IntLinCombFactory {
 
                     }
                 }
+                if (OPERATOR != Operator.NQ && tmpV.length >= model.getSettings().getMinCardForIncrementalSum()) {
+                    return new SumConstraint(new PropSumIncr(tmpV, b, OPERATOR, RESULT));
+                }
                 return new SumConstraint( new PropSum(tmpV, b, OPERATOR, RESULT));
         }
     }
@@ -341,6 +347,9 @@ public class IntLinCombFactory {
             OPERATOR = Operator.LE;
             RESULT--;
         }
+        if (OPERATOR != Operator.NQ && tmpV.length >= VARS[0].getModel().getSettings().getMinCardForIncrementalSum()) {
+            return new SumWithLongConstraint(new PropSumWithLongIncr(tmpV, b, OPERATOR, RESULT));
+        }
         return new SumWithLongConstraint(new PropSumWithLong(tmpV, b, OPERATOR, RESULT));
     }
 
@@ -396,6 +405,9 @@ public class IntLinCombFactory {
             OPERATOR = Operator.LE;
             RESULT--;
         }
+        if (OPERATOR != Operator.NQ && tmpV.length >= s.getSettings().getMinCardForIncrementalSum()) {
+            return new SumConstraint(new PropScalarIncr(tmpV, tmpC, b, OPERATOR, RESULT));
+        }
         return new SumConstraint(new PropScalar(tmpV, tmpC, b, OPERATOR, RESULT));
     }
 
@@ -429,6 +441,9 @@ public class IntLinCombFactory {
             OPERATOR = Operator.LE;
             RESULT--;
         }
+        if (OPERATOR != Operator.NQ && tmpV.length >= VARS[0].getModel().getSettings().getMinCardForIncrementalSum()) {
+            return new SumConstraint(new PropScalarWithLongIncr(tmpV, tmpC, b, OPERATOR, RESULT));
+        }
         return new SumConstraint(new PropScalarWithLong(tmpV, tmpC, b, OPERATOR, RESULT));
     }
 
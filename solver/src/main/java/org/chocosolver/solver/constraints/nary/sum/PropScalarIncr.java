@@ -0,0 +1,73 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.sum;
+
+import org.chocosolver.solver.constraints.Operator;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.learn.ExplanationForSignedClause;
+import org.chocosolver.solver.variables.IntVar;
+
+/**
+ * A propagator for SUM(x_i*c_i) o b, maintained incrementally, dedicated to very large scalar products.
+ * <p>
+ * See {@link PropSumIncr} for details.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class PropScalarIncr extends PropSumIncr {
+
+    /**
+     * Create a scalar product: SUM(x_i*c_i) o b, maintained incrementally.
+     * Variables and coefficients are excepted to be ordered wrt to coefficients: first positive ones then negative ones.
+     *
+     * @param variables list of integer variables
+     * @param coeffs    list of coefficients
+     * @param pos       position of the last positive coefficient
+     * @param o         operator
+     * @param b         bound to respect.
+     */
+    public PropScalarIncr(IntVar[] variables, int[] coeffs, int pos, Operator o, int b) {
+        super(variables, coeffs, pos, o, b);
+    }
+
+    @Override
+    public void explain(int p, ExplanationForSignedClause explanation) {
+        Propagator.defaultExplain(this, p, explanation);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder linComb = new StringBuilder(20);
+        linComb.append(c[0]).append('.').append(vars[0].getName());
+        int i = 1;
+        for (; i < pos; i++) {
+            linComb.append(" + ").append(c[i]).append('.').append(vars[i].getName());
+        }
+        for (; i < l; i++) {
+            linComb.append(" - ").append(-c[i]).append('.').append(vars[i].getName());
+        }
+        linComb.append(" ").append(o).append(" ");
+        linComb.append(b);
+        return linComb.toString();
+    }
+
+    @Override
+    protected PropSum opposite() {
+        Operator no = nop(o);
+        if (no == Operator.NQ) {
+            return new PropScalar(vars, c, pos, no, b + nb(o));
+        }
+        return new PropScalarIncr(vars, c, pos, no, b + nb(o));
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.sum;
+
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.memory.IStateLongArray;
+import org.chocosolver.solver.constraints.Operator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.sort.ArraySort;
+
+import java.util.Arrays;
+
+/**
+ * A propagator for SUM(x_i) o b, maintained incrementally, dedicated to very large sums.
+ * <p>
+ * The sums of lower and upper bounds are backtrackable and updated on each bound modification,
+ * from the bounds of the modified variable last seen by the propagator,
+ * which are stored in a backtrackable array.
+ * Variables are sorted by decreasing initial span (|c_i| * (ub_i - lb_i)),
+ * so that a filtering sweep stops at the first variable whose initial span is not greater than the slack:
+ * no variable after it can be tightened.
+ * As a result, an event that cannot lead to any filtering is handled in constant time.
+ * </p>
+ * <br/>
+ * Based on "Bounds Consistency Techniques for Long Linear Constraint" </br>
+ * W. Harvey and J. Schimpf
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @see IntLinCombFactory
+ * @since 4.10.18
+ */
+public class PropSumIncr extends PropSum {
+
+    /**
+     * The coefficients, 1 for the positive ones and -1 for the negative ones in a sum
+     */
+    protected final int[] c;
+    /**
+     * Sum of lower bounds maintained incrementally
+     */
+    private final IStateInt bLB;
+    /**
+     * Sum of upper bounds maintained incrementally
+     */
+    private final IStateInt bUB;
+    /**
+     * Bounds of each variable last seen by this propagator, the lower bound in the upper half of the word
+     */
+    private final IStateLongArray bounds;
+    /**
+     * Indices of the variables, by decreasing initial span
+     */
+    private final int[] order;
+    /**
+     * Initial span of the variables, in the same order as {@link #order}
+     */
+    private final long[] spans;
+
+    /**
+     * Creates a sum propagator: SUM(x_i) o b, maintained incrementally.
+     * Coefficients are induced by <code>pos</code>:
+     * those before <code>pos</code> (included) are equal to 1,
+     * the other ones are equal to -1.
+     *
+     * @param variables list of integer variables
+     * @param pos       position of the last positive coefficient
+     * @param o         operator among EQ, LE, GE and NE
+     * @param b         bound to respect
+     */
+    public PropSumIncr(IntVar[] variables, int pos, Operator o, int b) {
+        this(variables, unitCoefficients(variables.length, pos), pos, o, b);
+    }
+
+    PropSumIncr(IntVar[] variables, int[] coeffs, int pos, Operator o, int b) {
+        super(variables, pos, o, b, computePriority(variables.length), true);
+        this.c = coeffs;
+        this.bLB = model.getEnvironment().makeInt();
+        this.bUB = model.getEnvironment().makeInt();
+        this.bounds = model.getEnvironment().makeLongArray(l, 0L);
+        long[] s = new long[l];
+        for (int i = 0; i < l; i++) {
+            s[i] = Math.abs((long) c[i]) * ((long) vars[i].getUB() - vars[i].getLB());
+        }
+        this.order = sortBySpan(s);
+        this.spans = new long[l];
+        for (int k = 0; k < l; k++) {
+            spans[k] = s[order[k]];
+        }
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if (PropagatorEventType.isFullPropagation(evtmask)) {
+            int lb = 0, ub = 0;
+            for (int i = 0; i < l; i++) {
+                int xl = vars[i].getLB();
+                int xu = vars[i].getUB();
+                bounds.set(i, pack(xl, xu));
+                if (c[i] > 0) {
+                    lb += c[i] * xl;
+                    ub += c[i] * xu;
+                } else {
+                    lb += c[i] * xu;
+                    ub += c[i] * xl;
+                }
+            }
+            bLB.set(lb);
+            bUB.set(ub);
+        }
+        filter();
+    }
+
+    @Override
+    public void propagate(int idxVarInProp, int mask) throws ContradictionException {
+        refresh(idxVarInProp);
+        int F = b - bLB.get();
+        int E = bUB.get() - b;
+        boolean doFilter;
+        switch (o) {
+            case LE:
+                doFilter = spans[0] > F;
+                break;
+            case GE:
+                doFilter = spans[0] > E;
+                break;
+            case NQ:
+                doFilter = true;
+                break;
+            default:
+                doFilter = spans[0] > Math.min(F, E);
+                break;
+        }
+        if (doFilter) {
+            forcePropagate(PropagatorEventType.CUSTOM_PROPAGATION);
+        }
+    }
+
+    @Override
+    protected void prepare() {
+        sumLB = bLB.get();
+        sumUB = bUB.get();
+    }
+
+    @Override
+    protected void filterOnEq() throws ContradictionException {
+        boolean anychange;
+        do {
+            anychange = false;
+            int F = b - bLB.get();
+            int E = bUB.get() - b;
+            // When explanations are on, no global failure allowed
+            if (model.getSolver().isLearnOff() && (F < 0 || E < 0)) {
+                fails();
+            }
+            for (int k = 0; k < l && spans[k] > Math.min(F, E); k++) {
+                int i = order[k];
+                if (tightenUpper(i, F)) {
+                    E = bUB.get() - b;
+                    anychange = true;
+                }
+                if (tightenLower(i, E)) {
+                    F = b - bLB.get();
+                    anychange = true;
+                }
+            }
+            if (F <= 0 && E <= 0) {
+                this.setPassive();
+                return;
+            }
+        } while (anychange);
+    }
+
+    @Override
+    protected void filterOnLeq() throws ContradictionException {
+        int F = b - bLB.get();
+        // When explanations are on, no global failure allowed
+        if (model.getSolver().isLearnOff() && F < 0) {
+            fails();
+        }
+        // tightening upper contributions does not modify F
+        for (int k = 0; k < l && spans[k] > F; k++) {
+            tightenUpper(order[k], F);
+        }
+        if (bUB.get() - b <= 0) {
+            this.setPassive();
+        }
+    }
+
+    @Override
+    protected void filterOnGeq() throws ContradictionException {
+        int E = bUB.get() - b;
+        // When explanations are on, no global failure allowed
+        if (model.getSolver().isLearnOff() && E < 0) {
+            fails();
+        }
+        // tightening lower contributions does not modify E
+        for (int k = 0; k < l && spans[k] > E; k++) {
+            tightenLower(order[k], E);
+        }
+        if (b - bLB.get() <= 0) {
+            this.setPassive();
+        }
+    }
+
+    @Override
+    protected void filterOnNeq() throws ContradictionException {
+        int F = b - sumLB;
+        int E = sumUB - b;
+        if (F < 0 || E < 0) {
+            setPassive();
+            return;
+        }
+        int w = -1;
+        int sum = 0;
+        for (int i = 0; i < l; i++) {
+            if (vars[i].isInstantiated()) {
+                sum += c[i] * vars[i].getValue();
+            } else if (w == -1) {
+                w = i;
+            } else return;
+        }
+        if (w == -1) {
+            if (sum == b) {
+                this.fails();
+            }
+        } else if ((b - sum) % c[w] == 0) {
+            vars[w].removeValue((b - sum) / c[w], this);
+        }
+    }
+
+    @Override
+    public ESat isEntailed() {
+        int sumUB = 0, sumLB = 0;
+        for (int i = 0; i < l; i++) {
+            if (c[i] > 0) {
+                sumLB += c[i] * vars[i].getLB();
+                sumUB += c[i] * vars[i].getUB();
+            } else {
+                sumLB += c[i] * vars[i].getUB();
+                sumUB += c[i] * vars[i].getLB();
+            }
+        }
+        return check(sumLB, sumUB);
+    }
+
+    @Override
+    protected PropSum opposite() {
+        Operator no = nop(o);
+        if (no == Operator.NQ) {
+            return new PropSum(vars, pos, no, b + nb(o));
+        }
+        return new PropSumIncr(vars, c, pos, no, b + nb(o));
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Tighten the variable at <i>i</i> so that its upper contribution respects the slack <i>F</i>.
+     *
+     * @return <i>true</i> if the variable was modified
+     */
+    private boolean tightenUpper(int i, int F) throws ContradictionException {
+        long w = bounds.get(i);
+        int ci = c[i];
+        boolean change;
+        if (ci > 0) {
+            int lo = ci * lower(w);
+            if (ci * upper(w) - lo <= F) {
+                return false;
+            }
+            change = vars[i].updateUpperBound(divFloor(F + lo, ci), this);
+        } else {
+            int lo = ci * upper(w);
+            if (ci * lower(w) - lo <= F) {
+                return false;
+            }
+            change = vars[i].updateLowerBound(divCeil(-F - lo, -ci), this);
+        }
+        if (change) {
+            refresh(i);
+        }
+        return change;
+    }
+
+    /**
+     * Tighten the variable at <i>i</i> so that its lower contribution respects the slack <i>E</i>.
+     *
+     * @return <i>true</i> if the variable was modified
+     */
+    private boolean tightenLower(int i, int E) throws ContradictionException {
+        long w = bounds.get(i);
+        int ci = c[i];
+        boolean change;
+        if (ci > 0) {
+            int hi = ci * upper(w);
+            if (hi - ci * lower(w) <= E) {
+                return false;
+            }
+            change = vars[i].updateLowerBound(divCeil(hi - E, ci), this);
+        } else {
+            int hi = ci * lower(w);
+            if (hi - ci * upper(w) <= E) {
+                return false;
+            }
+            change = vars[i].updateUpperBound(divFloor(-hi + E, -ci), this);
+        }
+        if (change) {
+            refresh(i);
+        }
+        return change;
+    }
+
+    /**
+     * Update the sums of bounds wrt the current bounds of the variable at <i>i</i>.
+     */
+    private void refresh(int i) {
+        long w = bounds.get(i);
+        int olb = lower(w), oub = upper(w);
+        int nlb = vars[i].getLB(), nub = vars[i].getUB();
+        if (olb != nlb || oub != nub) {
+            bounds.set(i, pack(nlb, nub));
+            if (c[i] > 0) {
+                bLB.add(c[i] * (nlb - olb));
+                bUB.add(c[i] * (nub - oub));
+            } else {
+                bLB.add(c[i] * (nub - oub));
+                bUB.add(c[i] * (nlb - olb));
+            }
+        }
+    }
+
+    static long pack(int lb, int ub) {
+        return ((long) lb << 32) | (ub & 0xFFFFFFFFL);
+    }
+
+    static int lower(long w) {
+        return (int) (w >> 32);
+    }
+
+    static int upper(long w) {
+        return (int) w;
+    }
+
+    /**
+     * @param spans span of each variable
+     * @return the indices of the variables, by decreasing span
+     */
+    static int[] sortBySpan(long[] spans) {
+        int[] order = new int[spans.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        new ArraySort<>(order.length, false, true).sort(order, order.length, (i, j) -> Long.compare(spans[j], spans[i]));
+        return order;
+    }
+
+    private static int[] unitCoefficients(int n, int pos) {
+        int[] c = new int[n];
+        Arrays.fill(c, 0, pos, 1);
+        Arrays.fill(c, pos, n, -1);
+        return c;
+    }
+
+    private static int divFloor(int a, int b) {
+        // <!> we assume b > 0
+        if (a >= 0) {
+            return (a / b);
+        } else {
+            return (a - b + 1) / b;
+        }
+    }
+
+    private static int divCeil(int a, int b) {
+        // <!> we assume b > 0
+        if (a >= 0) {
+            return ((a + b - 1) / b);
+        } else {
+            return a / b;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.sum;
+
+import org.chocosolver.memory.IStateLong;
+import org.chocosolver.memory.IStateLongArray;
+import org.chocosolver.solver.constraints.Operator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+import org.chocosolver.util.ESat;
+
+import java.util.Arrays;
+
+/**
+ * A propagator for SUM(x_i) o b, maintained incrementally with longs, dedicated to very large sums.
+ * <p>
+ * Same as {@link PropSumIncr}, except that the sums of bounds are stored in longs,
+ * for sums which may overflow integers.
+ * </p>
+ * <br/>
+ * Based on "Bounds Consistency Techniques for Long Linear Constraint" </br>
+ * W. Harvey and J. Schimpf
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class PropSumWithLongIncr extends PropSumWithLong {
+
+    /**
+     * The coefficients, 1 for the positive ones and -1 for the negative ones in a sum
+     */
+    protected final long[] c;
+    /**
+     * Sum of lower bounds maintained incrementally
+     */
+    private final IStateLong bLB;
+    /**
+     * Sum of upper bounds maintained incrementally
+     */
+    private final IStateLong bUB;
+    /**
+     * Bounds of each variable last seen by this propagator, the lower bound in the upper half of the word
+     */
+    private final IStateLongArray bounds;
+    /**
+     * Indices of the variables, by decreasing initial span
+     */
+    private final int[] order;
+    /**
+     * Initial span of the variables, in the same order as {@link #order}
+     */
+    private final long[] spans;
+
+    /**
+     * Creates a sum propagator: SUM(x_i) o b, maintained incrementally.
+     * Coefficients are induced by <code>pos</code>:
+     * those before <code>pos</code> (included) are equal to 1,
+     * the other ones are equal to -1.
+     *
+     * @param variables list of integer variables
+     * @param pos       position of the last positive coefficient
+     * @param o         operator among EQ, LE, GE and NE
+     * @param b         bound to respect
+     */
+    public PropSumWithLongIncr(IntVar[] variables, int pos, Operator o, long b) {
+        this(variables, unitCoefficients(variables.length, pos), pos, o, b);
+    }
+
+    PropSumWithLongIncr(IntVar[] variables, long[] coeffs, int pos, Operator o, long b) {
+        super(variables, pos, o, b, computePriority(variables.length), true);
+        this.c = coeffs;
+        this.bLB = model.getEnvironment().makeLong();
+        this.bUB = model.getEnvironment().makeLong();
+        this.bounds = model.getEnvironment().makeLongArray(l, 0L);
+        long[] s = new long[l];
+        for (int i = 0; i < l; i++) {
+            s[i] = Math.abs(c[i]) * ((long) vars[i].getUB() - vars[i].getLB());
+        }
+        this.order = PropSumIncr.sortBySpan(s);
+        this.spans = new long[l];
+        for (int k = 0; k < l; k++) {
+            spans[k] = s[order[k]];
+        }
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if (PropagatorEventType.isFullPropagation(evtmask)) {
+            long lb = 0, ub = 0;
+            for (int i = 0; i < l; i++) {
+                int xl = vars[i].getLB();
+                int xu = vars[i].getUB();
+                bounds.set(i, PropSumIncr.pack(xl, xu));
+                if (c[i] > 0) {
+                    lb += c[i] * xl;
+                    ub += c[i] * xu;
+                } else {
+                    lb += c[i] * xu;
+                    ub += c[i] * xl;
+                }
+            }
+            bLB.set(lb);
+            bUB.set(ub);
+        }
+        filter();
+    }
+
+    @Override
+    public void propagate(int idxVarInProp, int mask) throws ContradictionException {
+        refresh(idxVarInProp);
+        long F = b - bLB.get();
+        long E = bUB.get() - b;
+        boolean doFilter;
+        switch (o) {
+            case LE:
+                doFilter = spans[0] > F;
+                break;
+            case GE:
+                doFilter = spans[0] > E;
+                break;
+            case NQ:
+                doFilter = true;
+                break;
+            default:
+                doFilter = spans[0] > Math.min(F, E);
+                break;
+        }
+        if (doFilter) {
+            forcePropagate(PropagatorEventType.CUSTOM_PROPAGATION);
+        }
+    }
+
+    @Override
+    protected void prepare() {
+        sumLB = bLB.get();
+        sumUB = bUB.get();
+    }
+
+    @Override
+    protected void filterOnEq() throws ContradictionException {
+        boolean anychange;
+        do {
+            anychange = false;
+            long F = b - bLB.get();
+            long E = bUB.get() - b;
+            // When explanations are on, no global failure allowed
+            if (model.getSolver().isLearnOff() && (F < 0 || E < 0)) {
+                fails();
+            }
+            for (int k = 0; k < l && spans[k] > Math.min(F, E); k++) {
+                int i = order[k];
+                if (tightenUpper(i, F)) {
+                    E = bUB.get() - b;
+                    anychange = true;
+                }
+                if (tightenLower(i, E)) {
+                    F = b - bLB.get();
+                    anychange = true;
+                }
+            }
+            if (F <= 0 && E <= 0) {
+                this.setPassive();
+                return;
+            }
+        } while (anychange);
+    }
+
+    @Override
+    protected void filterOnLeq() throws ContradictionException {
+        long F = b - bLB.get();
+        // When explanations are on, no global failure allowed
+        if (model.getSolver().isLearnOff() && F < 0) {
+            fails();
+        }
+        // tightening upper contributions does not modify F
+        for (int k = 0; k < l && spans[k] > F; k++) {
+            tightenUpper(order[k], F);
+        }
+        if (bUB.get() - b <= 0) {
+            this.setPassive();
+        }
+    }
+
+    @Override
+    protected void filterOnGeq() throws ContradictionException {
+        long E = bUB.get() - b;
+        // When explanations are on, no global failure allowed
+        if (model.getSolver().isLearnOff() && E < 0) {
+            fails();
+        }
+        // tightening lower contributions does not modify E
+        for (int k = 0; k < l && spans[k] > E; k++) {
+            tightenLower(order[k], E);
+        }
+        if (b - bLB.get() <= 0) {
+            this.setPassive();
+        }
+    }
+
+    @Override
+    protected void filterOnNeq() throws ContradictionException {
+        long F = b - sumLB;
+        long E = sumUB - b;
+        if (F < 0 || E < 0) {
+            setPassive();
+            return;
+        }
+        int w = -1;
+        long sum = 0;
+        for (int i = 0; i < l; i++) {
+            if (vars[i].isInstantiated()) {
+                sum += c[i] * vars[i].getValue();
+            } else if (w == -1) {
+                w = i;
+            } else return;
+        }
+        if (w == -1) {
+            if (sum == b) {
+                this.fails();
+            }
+        } else if ((b - sum) % c[w] == 0) {
+            vars[w].removeValue((b - sum) / c[w], this);
+        }
+    }
+
+    @Override
+    public ESat isEntailed() {
+        long sumUB = 0, sumLB = 0;
+        for (int i = 0; i < l; i++) {
+            if (c[i] > 0) {
+                sumLB += c[i] * vars[i].getLB();
+                sumUB += c[i] * vars[i].getUB();
+            } else {
+                sumLB += c[i] * vars[i].getUB();
+                sumUB += c[i] * vars[i].getLB();
+            }
+        }
+        return check(sumLB, sumUB);
+    }
+
+    @Override
+    protected PropSumWithLong opposite() {
+        Operator no = nop(o);
+        if (no == Operator.NQ) {
+            return new PropSumWithLong(vars, pos, no, b + nb(o));
+        }
+        return new PropSumWithLongIncr(vars, c, pos, no, b + nb(o));
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Tighten the variable at <i>i</i> so that its upper contribution respects the slack <i>F</i>.
+     *
+     * @return <i>true</i> if the variable was modified
+     */
+    private boolean tightenUpper(int i, long F) throws ContradictionException {
+        long w = bounds.get(i);
+        long ci = c[i];
+        boolean change;
+        if (ci > 0) {
+            long lo = ci * PropSumIncr.lower(w);
+            if (ci * PropSumIncr.upper(w) - lo <= F) {
+                return false;
+            }
+            change = vars[i].updateUpperBound(divFloor(F + lo, ci), this);
+        } else {
+            long lo = ci * PropSumIncr.upper(w);
+            if (ci * PropSumIncr.lower(w) - lo <= F) {
+                return false;
+            }
+            change = vars[i].updateLowerBound(divCeil(-F - lo, -ci), this);
+        }
+        if (change) {
+            refresh(i);
+        }
+        return change;
+    }
+
+    /**
+     * Tighten the variable at <i>i</i> so that its lower contribution respects the slack <i>E</i>.
+     *
+     * @return <i>true</i> if the variable was modified
+     */
+    private boolean tightenLower(int i, long E) throws ContradictionException {
+        long w = bounds.get(i);
+        long ci = c[i];
+        boolean change;
+        if (ci > 0) {
+            long hi = ci * PropSumIncr.upper(w);
+            if (hi - ci * PropSumIncr.lower(w) <= E) {
+                return false;
+            }
+            change = vars[i].updateLowerBound(divCeil(hi - E, ci), this);
+        } else {
+            long hi = ci * PropSumIncr.lower(w);
+            if (hi - ci * PropSumIncr.upper(w) <= E) {
+                return false;
+            }
+            change = vars[i].updateUpperBound(divFloor(-hi + E, -ci), this);
+        }
+        if (change) {
+            refresh(i);
+        }
+        return change;
+    }
+
+    /**
+     * Update the sums of bounds wrt the current bounds of the variable at <i>i</i>.
+     */
+    private void refresh(int i) {
+        long w = bounds.get(i);
+        int olb = PropSumIncr.lower(w), oub = PropSumIncr.upper(w);
+        int nlb = vars[i].getLB(), nub = vars[i].getUB();
+        if (olb != nlb || oub != nub) {
+            bounds.set(i, PropSumIncr.pack(nlb, nub));
+            if (c[i] > 0) {
+                bLB.set(bLB.get() + c[i] * (nlb - olb));
+                bUB.set(bUB.get() + c[i] * (nub - oub));
+            } else {
+                bLB.set(bLB.get() + c[i] * (nub - oub));
+                bUB.set(bUB.get() + c[i] * (nlb - olb));
+            }
+        }
+    }
+
+    private static long[] unitCoefficients(int n, int pos) {
+        long[] c = new long[n];
+        Arrays.fill(c, 0, pos, 1);
+        Arrays.fill(c, pos, n, -1);
+        return c;
+    }
+
+    private static long divFloor(long a, long b) {
+        // <!> we assume b > 0
+        if (a >= 0) {
+            return (a / b);
+        } else {
+            return (a - b + 1) / b;
+        }
+    }
+
+    private static long divCeil(long a, long b) {
+        // <!> we assume b > 0
+        if (a >= 0) {
+            return ((a + b - 1) / b);
+        } else {
+            return a / b;
+        }
+    }
+}
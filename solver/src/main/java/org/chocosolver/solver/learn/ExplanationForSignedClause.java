@@ -9,6 +9,7 @@
  */
 package org.chocosolver.solver.learn;
 
+import gnu.trove.set.hash.TIntHashSet;
 import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Propagator;
@@ -337,6 +338,21 @@ public class ExplanationForSignedClause extends IExplanation {
         return literals.size();
     }
 
+    /**
+     * @return the number of distinct decision levels, root node excluded, the literals of this explanation
+     * were set at (Literal Block Distance).
+     */
+    public int getLBD() {
+        TIntHashSet levels = new TIntHashSet();
+        for (IntVar var : literals) {
+            int p = front.getValueOrDefault(var, -1);
+            if (p > -1 && mIG.getDecisionLevelAt(p) > 1) {
+                levels.add(mIG.getDecisionLevelAt(p));
+            }
+        }
+        return levels.size();
+    }
+
     /**
      * @return the decision to refute (ie, point to jump to wrt the current decision path).
      */
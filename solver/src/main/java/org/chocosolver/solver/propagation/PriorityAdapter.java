@@ -0,0 +1,171 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.propagation;
+
+import org.chocosolver.solver.constraints.Propagator;
+
+import java.util.Arrays;
+
+/**
+ * Adapts the queue in which a propagator is scheduled wrt its observed cost and filtering yield.
+ * <p>
+ * For each propagator, the engine reports the time spent in each execution and whether it filtered
+ * (modified a variable or failed).
+ * Every {@link #WINDOW} executions of a propagator, its yield (ratio of executions that filtered)
+ * and its mean cost are reviewed:
+ * <ul>
+ *     <li>a propagator whose yield is below {@link #LOW_YIELD} and whose mean cost is greater than
+ *     the mean cost of all propagators is <i>deferred</i>: it is then scheduled in the lowest priority queue,
+ *     and is thus only executed once the cheaper ones have reached their fix point,</li>
+ *     <li>a deferred propagator whose yield is at least {@link #HIGH_YIELD} is <i>restored</i> to the queue of its
+ *     priority.</li>
+ * </ul>
+ * The queue of a propagator is only changed when it is not scheduled.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+final class PriorityAdapter {
+
+    /**
+     * Number of executions of a propagator between two reviews
+     */
+    static final int WINDOW = 64;
+    /**
+     * A propagator which filters less often than this is deferred, if expensive
+     */
+    static final double LOW_YIELD = 1. / 16;
+    /**
+     * A deferred propagator which filters at least this often is restored
+     */
+    static final double HIGH_YIELD = 1. / 4;
+    /**
+     * Weight of the last review in the mean cost of all propagators
+     */
+    private static final double ALPHA = .05;
+
+    /**
+     * Index of the lowest priority queue
+     */
+    private final int lowest;
+    // per propagator, indexed by their id
+    private int[] runs = new int[64];
+    private int[] hits = new int[64];
+    private long[] times = new long[64];
+    private boolean[] deferred = new boolean[64];
+    /**
+     * Mean cost of an execution, over all propagators, in nanoseconds
+     */
+    private double meanCost;
+    private long nbDeferrals;
+    private long nbRestorations;
+
+    // current execution
+    private Propagator<?> current;
+    private long start;
+    private long updates;
+
+    /**
+     * @param lowest index of the lowest priority queue
+     */
+    PriorityAdapter(int lowest) {
+        this.lowest = lowest;
+    }
+
+    /**
+     * @param p a propagator
+     * @return the index of the queue to schedule <i>p</i> in
+     */
+    int queueOf(Propagator<?> p) {
+        int id = p.getId();
+        return id < deferred.length && deferred[id] ? lowest : p.getPriority().getValue();
+    }
+
+    /**
+     * To call before executing <i>p</i>.
+     *
+     * @param p       the propagator to execute
+     * @param updates number of variable modifications so far
+     */
+    void start(Propagator<?> p, long updates) {
+        this.current = p;
+        this.updates = updates;
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * To call after the execution started on {@link #start(Propagator, long)}.
+     *
+     * @param updates number of variable modifications so far
+     * @param failed  set to <i>true</i> if the execution failed
+     */
+    void stop(long updates, boolean failed) {
+        long time = System.nanoTime() - start;
+        int id = current.getId();
+        ensureCapacity(id);
+        runs[id]++;
+        times[id] += time;
+        if (failed || updates > this.updates) {
+            hits[id]++;
+        }
+        if (runs[id] >= WINDOW && !current.isScheduled()) {
+            review(current, id);
+        }
+        current = null;
+    }
+
+    /**
+     * @return the number of times a propagator was deferred to the lowest priority queue
+     */
+    long getNbDeferrals() {
+        return nbDeferrals;
+    }
+
+    /**
+     * @return the number of times a deferred propagator was restored to the queue of its priority
+     */
+    long getNbRestorations() {
+        return nbRestorations;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void review(Propagator<?> p, int id) {
+        double yield = hits[id] / (double) runs[id];
+        double cost = times[id] / (double) runs[id];
+        if (deferred[id]) {
+            if (yield >= HIGH_YIELD) {
+                deferred[id] = false;
+                nbRestorations++;
+            }
+        } else if (yield < LOW_YIELD && cost > meanCost && p.getPriority().getValue() < lowest) {
+            deferred[id] = true;
+            nbDeferrals++;
+        }
+        meanCost = meanCost == 0. ? cost : meanCost + ALPHA * (cost - meanCost);
+        runs[id] = hits[id] = 0;
+        times[id] = 0L;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id >= runs.length) {
+            int n = Math.max(id + 1, runs.length * 3 / 2);
+            runs = Arrays.copyOf(runs, n);
+            hits = Arrays.copyOf(hits, n);
+            times = Arrays.copyOf(times, n);
+            deferred = Arrays.copyOf(deferred, n);
+        }
+    }
+}
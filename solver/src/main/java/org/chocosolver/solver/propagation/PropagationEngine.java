@@ -19,7 +19,6 @@ import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.solver.variables.events.IEventType;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.util.objects.queues.CircularQueue;
-import org.chocosolver.util.tools.ArrayUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -105,6 +104,14 @@ public class PropagationEngine {
      * A propagation insight to collect information about the propagation
      */
     private PropagationInsight insight = PropagationInsight.VOID;
+    /**
+     * Adapts the priority of propagators, <i>null</i> unless enabled in settings
+     */
+    private final PriorityAdapter adapter;
+    /**
+     * Number of variable modifications so far
+     */
+    private long nbUpdates;
 
     /**
      * A seven-queue propagation engine.
@@ -129,6 +136,7 @@ public class PropagationEngine {
         //0b00: cstr-ori
         //0b10: var-ori
         this.hybrid = model.getSettings().enableHybridizationOfPropagationEngine();
+        this.adapter = model.getSettings().adaptivePropagatorPriority() ? new PriorityAdapter(nbQueues - 1) : null;
     }
 
     /**
@@ -209,13 +217,22 @@ public class PropagationEngine {
                 // revision of the variable
                 lastProp.unschedule();
                 delayedPropagationType = 0;
+                if (adapter != null) {
+                    adapter.start(lastProp, nbUpdates);
+                }
                 try {
                     propagateEvents();
                     insight.update(lastProp, lastVar, false);
                 } catch (ContradictionException cex) {
                     insight.update(lastProp, lastVar, true);
+                    if (adapter != null) {
+                        adapter.stop(nbUpdates, true);
+                    }
                     throw cex;
                 }
+                if (adapter != null) {
+                    adapter.stop(nbUpdates, false);
+                }
                 if (hybrid < 0b01) {
                     manageModifications();
                 }
@@ -319,6 +336,7 @@ public class PropagationEngine {
             assert found : variable + " not in scope of " + cause;
         }
         insight.modifiy(variable);
+        nbUpdates++;
         if (!variable.isScheduled()) {
             var_queue.addLast(variable);
             variable.schedule();
@@ -328,7 +346,11 @@ public class PropagationEngine {
 
     public void schedule(Propagator<?> prop, int pindice, int mask) {
         prop.doScheduleEvent(pindice, mask);
-        notEmpty |= (1 << prop.doSchedule(pro_queue));
+        if (adapter == null) {
+            notEmpty |= (1 << prop.doSchedule(pro_queue));
+        } else {
+            notEmpty |= (1 << prop.doSchedule(pro_queue, adapter.queueOf(prop)));
+        }
     }
 
     /**
@@ -378,6 +400,22 @@ public class PropagationEngine {
         this.hybrid = hybrid;
     }
 
+    /**
+     * @return the number of times a propagator was deferred to the lowest priority queue,
+     * always 0 unless {@link org.chocosolver.solver.Settings#setAdaptivePropagatorPriority(boolean)} is enabled
+     */
+    public long getNbDeferrals() {
+        return adapter == null ? 0L : adapter.getNbDeferrals();
+    }
+
+    /**
+     * @return the number of times a deferred propagator was restored to the queue of its priority,
+     * always 0 unless {@link org.chocosolver.solver.Settings#setAdaptivePropagatorPriority(boolean)} is enabled
+     */
+    public long getNbRestorations() {
+        return adapter == null ? 0L : adapter.getNbRestorations();
+    }
+
     /**
      * Reset the propagation engine.
      */
@@ -439,11 +477,7 @@ public class PropagationEngine {
      * @param propagator a propagator
      */
     public void propagateOnBacktrack(Propagator<?> propagator) {
-        int idx = propagator.getPosition();
-        assert propagators.get(idx) == propagator : "Try to remove the wrong propagator";
-        shift(idx);
-        propagators.set(propagators.size() - 1, propagator);
-        propagator.setPosition(propagators.size() - 1);
+        assert propagators.get(propagator.getPosition()) == propagator : "Try to remove the wrong propagator";
         dynPropagators.addOrUpdate(propagator);
     }
 
@@ -464,49 +498,81 @@ public class PropagationEngine {
         }
     }
 
+    /**
+     * Remove a propagator in O(1): the last propagator of the list takes its position.
+     * The order of {@link #propagators} only matters on initial activation.
+     *
+     * @param propagator propagator to remove
+     */
     private void remove(Propagator<?> propagator) {
         int idx = propagator.getPosition();
         if (idx > -1) {
             assert propagators.get(idx) == propagator : "Try to remove the wrong propagator";
-            // todo: improve
-            shift(idx);
+            Propagator<?> last = propagators.remove(propagators.size() - 1);
+            if (last != propagator) {
+                propagators.set(idx, last);
+                last.setPosition(idx);
+            }
             propagator.setPosition(-1);
-            propagators.remove(propagators.size() - 1);
-        }
-    }
-
-    private void shift(int from) {
-        for (int i = from; i < propagators.size() - 1; i++) {
-            propagators.set(i, propagators.get(i + 1));
-            propagators.get(i).setPosition(i);
         }
     }
 
+    /**
+     * The propagators added dynamically, or to propagate on backtrack, with the world index of their last activation.
+     * <p>
+     * Elements are stored in a stack, the world indices of which are non-decreasing.
+     * Removing an element replaces it by a tombstone (<i>null</i>), its index is found in O(1) thanks to
+     * {@link #indices}, indexed by the id of the propagators.
+     * Tombstones are swept out when they outnumber the elements, so that a removal is amortized O(1).
+     * </p>
+     */
     private static class DynPropagators {
 
         private Propagator<?>[] elements;
         private int[] keys;
         private int size;
+        /**
+         * Number of tombstones
+         */
+        private int holes;
+        /**
+         * For each propagator id, 1 + the index of the propagator in {@link #elements}, 0 if absent
+         */
+        private int[] indices;
 
         DynPropagators() {
             elements = new Propagator[16];
             keys = new int[16];
+            indices = new int[16];
             size = 0;
         }
 
         public void clear() {
+            for (int i = 0; i < size; i++) {
+                if (elements[i] != null) {
+                    indices[elements[i].getId()] = 0;
+                    elements[i] = null;
+                }
+            }
             size = 0;
+            holes = 0;
         }
 
         public void add(Propagator<?> e) {
             ensureCapacity();
+            int id = e.getId();
+            if (id >= indices.length) {
+                indices = Arrays.copyOf(indices, Math.max(id + 1, indices.length * 3 / 2));
+            }
             elements[size] = e;
+            indices[id] = size + 1;
             keys[size++] = Integer.MAX_VALUE;
         }
 
         private void ensureCapacity() {
             if (size >= elements.length - 1) {
-                int nsize = ArrayUtils.newBoundedSize(elements.length, 8);
+                // grow geometrically, for the addition to be amortized O(1)
+                int nsize = elements.length + (elements.length >> 1);
                 elements = Arrays.copyOf(elements, nsize);
                 keys = Arrays.copyOf(keys, nsize);
             }
@@ -525,27 +591,52 @@ public class PropagationEngine {
         }
 
         private void removeAt(int p) {
-            if (p < size - 1) {
-                System.arraycopy(elements, p + 1, elements, p, size - p);
-                System.arraycopy(keys, p + 1, keys, p, size - p);
+            indices[elements[p].getId()] = 0;
+            elements[p] = null;
+            if (p == size - 1) {
+                keys[--size] = 0;
+                // drop trailing tombstones too
+                while (size > 0 && elements[size - 1] == null) {
+                    keys[--size] = 0;
+                    holes--;
+                }
+            } else if (++holes > size / 2) {
+                sweep();
             }
-            elements[--size] = null;
-            keys[size] = 0;
         }
 
-        private int indexOf(Propagator<?> e) {
+        /**
+         * Remove tombstones, preserving the order of the elements.
+         */
+        private void sweep() {
+            int j = 0;
             for (int i = 0; i < size; i++) {
-                if (e.equals(elements[i])) {
-                    return i;
+                if (elements[i] != null) {
+                    elements[j] = elements[i];
+                    keys[j] = keys[i];
+                    indices[elements[j].getId()] = j + 1;
+                    j++;
                 }
             }
-            return -1;
+            for (int i = j; i < size; i++) {
+                elements[i] = null;
+                keys[i] = 0;
+            }
+            size = j;
+            holes = 0;
+        }
+
+        private int indexOf(Propagator<?> e) {
+            int id = e.getId();
+            return id < indices.length ? indices[id] - 1 : -1;
         }
 
         void descending(int w, Consumer<Propagator<?>> cons) {
             int i = size - 1;
             while (i >= 0 && keys[i] >= w) {
-                cons.accept(elements[i]);
+                if (elements[i] != null) {
+                    cons.accept(elements[i]);
+                }
                 keys[i] = w;
                 i--;
             }
@@ -0,0 +1,68 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.propagation;
+
+import org.chocosolver.memory.TrailMetrics;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+
+/**
+ * This class extends {@link PropagationEngine} in order to attribute trailed writes to propagators.
+ * <p>
+ * The total size of the trails is sampled before and after each propagator runs,
+ * the difference is the number of entries it saved, even when it fails.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @see TrailMetrics#getTopWriters(int)
+ * @since 4.10.18
+ */
+public class PropagationEngineTrailRecorder extends PropagationEngine {
+
+    /**
+     * The trail statistics to feed
+     */
+    private final TrailMetrics metrics;
+
+    /**
+     * A propagation engine that attributes trailed writes to propagators.
+     *
+     * @param model   the declaring model
+     * @param metrics the trail statistics to feed
+     */
+    public PropagationEngineTrailRecorder(Model model, TrailMetrics metrics) {
+        super(model);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void execute(Propagator<?> propagator) throws ContradictionException {
+        long before = metrics.size();
+        try {
+            super.execute(propagator);
+        } finally {
+            metrics.attribute(propagator, metrics.size() - before);
+        }
+    }
+
+    @Override
+    protected void propagateEvents() throws ContradictionException {
+        Propagator<?> propagator = lastProp;
+        long before = metrics.size();
+        try {
+            super.propagateEvents();
+        } finally {
+            metrics.attribute(propagator, metrics.size() - before);
+        }
+    }
+}
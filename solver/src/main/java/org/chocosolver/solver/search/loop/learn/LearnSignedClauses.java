@@ -10,11 +10,14 @@
 package org.chocosolver.solver.search.loop.learn;
 
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.nary.clauses.ClauseExchange;
 import org.chocosolver.solver.constraints.nary.clauses.ClauseStore;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.learn.ExplanationForSignedClause;
 import org.chocosolver.solver.search.strategy.decision.DecisionPath;
 import org.chocosolver.solver.search.strategy.decision.IntDecision;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 
 /**
  * A learn implementation that is able to learn signed clause on failure. The implication graph is
@@ -53,6 +56,15 @@ public class LearnSignedClauses<E extends ExplanationForSignedClause> implements
      * Maximum cardinality to add nogoods to the store
      */
     private final int max_card;
+    /**
+     * To share learnt signed clauses with other models, can be null
+     */
+    private ClauseExchange exchange;
+    /**
+     * Set to <i>true</i> when the last explanation can be shared with other models,
+     * that is, when it was not computed from a solution of a satisfaction problem.
+     */
+    private boolean shareable;
 
     /**
      * Build a learned able to learn signed clauses on conflicts and solutions.
@@ -74,6 +86,16 @@ public class LearnSignedClauses<E extends ExplanationForSignedClause> implements
         return lastExplanation;
     }
 
+    /**
+     * Set the object to share learnt signed clauses with other models.
+     *
+     * @param exchange a clause exchange, or <i>null</i> to stop sharing
+     * @see ClauseExchange#add(org.chocosolver.solver.Model)
+     */
+    public void setClauseExchange(ClauseExchange exchange) {
+        this.exchange = exchange;
+    }
+
     @Override
     public boolean record(Solver solver) {
         if (nbsol == solver.getSolutionCount()) {
@@ -93,6 +115,7 @@ public class LearnSignedClauses<E extends ExplanationForSignedClause> implements
     }
 
     private void onFailure() {
+        shareable = true;
         ContradictionException cex = mSolver.getContradictionException();
         assert
             (cex.v != null) || (cex.c != null) :
@@ -137,12 +160,23 @@ public class LearnSignedClauses<E extends ExplanationForSignedClause> implements
             // extract the decision path to build the nogood
             lastExplanation.learnSolution(mSolver.getDecisionPath());
             mSolver.setJumpTo(-1);
+            // such a nogood only forbids a solution, it is not shared
+            shareable = false;
         }
     }
 
     private void addLearntConstraint() {
         if (lastExplanation != null && lastExplanation.getCardinality() > 0
             && lastExplanation.getCardinality() <= max_card) {
+            if (exchange != null && shareable
+                    && exchange.accept(lastExplanation.getCardinality(), lastExplanation.getLBD())) {
+                IntVar[] vars = lastExplanation.getLiterals().toArray(new IntVar[0]);
+                IntIterableRangeSet[] ranges = new IntIterableRangeSet[vars.length];
+                for (int i = 0; i < vars.length; i++) {
+                    ranges[i] = vars[i].getLit().export();
+                }
+                exchange.export(mSolver.getModel(), vars, ranges);
+            }
             lastExplanation.extractConstraint(mSolver.getModel(), ngstore);
         }
     }
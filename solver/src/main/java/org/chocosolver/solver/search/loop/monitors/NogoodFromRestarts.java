@@ -42,6 +42,14 @@ import java.util.Arrays;
  */
 public class NogoodFromRestarts implements IMonitorRestart {
 
+    // codes of decision operators, used to encode decision paths
+    private static final int INT_EQ = 0;
+    private static final int INT_NEQ = 1;
+    private static final int INT_LE = 2;
+    private static final int INT_GT = 3;
+    private static final int SET_IN = 4;
+    private static final int SET_OUT = 5;
+
     /**
      * Stores the decision path before
      */
@@ -98,17 +106,65 @@ public class NogoodFromRestarts implements IMonitorRestart {
             if (decision.hasNext() || decision.getArity() == 1) {
                 lits[i++] = lit;
             } else {
-                if (i == 0) {
-                    // value can be removed permanently from var!
-                    png.addLearnt(lit);
-                } else {
-                    lits[i] = lit;
-                    png.addLearnt(Arrays.copyOf(lits, i + 1));
-                }
+                i = learn(lits, i, lit);
             }
         }
     }
 
+    /**
+     * Encode a decision path in a model-independent way, that is, with variables' ID.
+     * The path can then be transferred to an equivalent model and decoded with {@link #extractNogood(int[])}.
+     *
+     * @param decisionPath a decision path
+     * @return the encoded path, as a sequence of (variable ID, operator, value, refutable) quadruplets
+     */
+    @SuppressWarnings("unchecked")
+    public int[] encode(DecisionPath decisionPath) {
+        assert decisions.isEmpty();
+        decisionPath.transferInto(decisions, false);
+        int[] path = new int[decisions.size() * 4];
+        int i = 0;
+        Decision<Variable> decision;
+        while (!decisions.isEmpty()) {
+            decision = decisions.pollFirst();
+            path[i++] = decision.getDecisionVariable().getId();
+            path[i++] = asCode(decision);
+            path[i++] = (Integer) decision.getDecisionValue();
+            path[i++] = decision.hasNext() || decision.getArity() == 1 ? 1 : 0;
+        }
+        return path;
+    }
+
+    /**
+     * Extract nogoods from a decision path encoded with {@link #encode(DecisionPath)}, possibly by another model.
+     *
+     * @param path an encoded path
+     */
+    public void extractNogood(int[] path) {
+        Model model = png.getModel();
+        int[] lits = new int[path.length / 4];
+        int i = 0;
+        for (int k = 0; k < path.length; k += 4) {
+            int lit = asLit(nogoodStealer.getById(path[k], model), path[k + 1], path[k + 2]);
+            if (path[k + 3] == 1) {
+                lits[i++] = lit;
+            } else {
+                i = learn(lits, i, lit);
+            }
+        }
+    }
+
+    private int learn(int[] lits, int i, int lit) {
+        if (i == 0) {
+            // value can be removed permanently from var!
+            png.addLearnt(lit);
+        } else {
+            lits[i] = lit;
+            png.addLearnt(Arrays.copyOf(lits, i + 1));
+        }
+        return i;
+    }
+
     /**
      * Transform this decision into a literal to be used in {@link PropSat}.
      *
@@ -116,52 +172,63 @@ public class NogoodFromRestarts implements IMonitorRestart {
      * @return the literal corresponding to this decision
      */
     private <V extends Variable> int asLit(Decision<V> decision) {
+        return asLit(
+                nogoodStealer.getById(decision.getDecisionVariable(), png.getModel()),
+                asCode(decision),
+                (Integer) decision.getDecisionValue()
+        );
+    }
+
+    private int asLit(Variable var, int code, int val) {
+        switch (code) {
+            case INT_EQ:
+                return MiniSat.makeLiteral(png.makeIntEq((IntVar) var, val), false);
+            case INT_NEQ:
+                return MiniSat.makeLiteral(png.makeIntEq((IntVar) var, val), true);
+            case INT_LE:
+                return MiniSat.makeLiteral(png.makeIntLe((IntVar) var, val), false);
+            case INT_GT:
+                return MiniSat.makeLiteral(png.makeIntLe((IntVar) var, val), true);
+            case SET_IN:
+                return MiniSat.makeLiteral(png.makeSetIn((SetVar) var, val), false);
+            case SET_OUT:
+                return MiniSat.makeLiteral(png.makeSetIn((SetVar) var, val), true);
+            default:
+                throw new UnsupportedOperationException("Cannot deal with such operator: " + code);
+        }
+    }
+
+    /**
+     * @param decision a decision
+     * @return the code of the operator of this decision
+     */
+    private static int asCode(Decision<?> decision) {
         if (decision instanceof IntDecision) {
-            IntDecision id = (IntDecision) decision;
-            return asLit(
-                nogoodStealer.getById(id.getDecisionVariable(), png.getModel()), 
-                id.getDecOp(),
-                id.getDecisionValue()
-            );
+            return asCode(((IntDecision) decision).getDecOp());
         } else if (decision instanceof SetDecision) {
-            SetDecision id = (SetDecision) decision;
-            return asLit(
-                nogoodStealer.getById(id.getDecisionVariable(), png.getModel()), 
-                id.getDecOp(),
-                id.getDecisionValue()
-            );
+            return asCode(((SetDecision) decision).getDecOp());
         } else {
             throw new UnsupportedOperationException("Cannot deal with such decision: " + decision);
         }
     }
 
-    private int asLit(IntVar var, DecisionOperator<IntVar> op, int val) {
-        int l;
+    private static int asCode(DecisionOperator<?> op) {
         if (DecisionOperatorFactory.makeIntEq().equals(op)) {
-            l = MiniSat.makeLiteral(png.makeIntEq(var, val), false);
+            return INT_EQ;
         } else if (DecisionOperatorFactory.makeIntNeq().equals(op)) {
-            l = MiniSat.makeLiteral(png.makeIntEq(var, val), true);
+            return INT_NEQ;
         } else if (DecisionOperatorFactory.makeIntSplit().equals(op)
                 || op instanceof ObjectiveStrategy.BottomUpDecisionOperator) {
-            l = MiniSat.makeLiteral(png.makeIntLe(var, val), false);
+            return INT_LE;
         } else if (DecisionOperatorFactory.makeIntReverseSplit().equals(op)
                 || op instanceof ObjectiveStrategy.TopDownDecisionOperator) {
-            l = MiniSat.makeLiteral(png.makeIntLe(var, val), true);
-        } else {
-            throw new UnsupportedOperationException("Cannot deal with such operator: " + op);
-        }
-        return l;
-    }
-
-    private int asLit(SetVar var, DecisionOperator<SetVar> op, int val) {
-        int l;
-        if (DecisionOperatorFactory.makeSetForce().equals(op)) {
-            l = MiniSat.makeLiteral(png.makeSetIn(var, val), false);
+            return INT_GT;
+        } else if (DecisionOperatorFactory.makeSetForce().equals(op)) {
+            return SET_IN;
         } else if (DecisionOperatorFactory.makeSetRemove().equals(op)) {
-            l = MiniSat.makeLiteral(png.makeSetIn(var, val), true);
+            return SET_OUT;
         } else {
             throw new UnsupportedOperationException("Cannot deal with such operator: " + op);
         }
-        return l;
     }
 }
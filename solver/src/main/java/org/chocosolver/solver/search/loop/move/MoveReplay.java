@@ -0,0 +1,257 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.move;
+
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.strategy.decision.DecisionPath;
+import org.chocosolver.solver.search.strategy.decision.DecisionPrefix;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A move which explores a sequence of subproblems, each of them being described by a {@link DecisionPrefix}.
+ * <p>
+ * The decisions of the current prefix are first replayed, as non-refutable decisions
+ * (those already satisfied are skipped), then the
+ * sub-tree rooted in the last decision of the prefix is explored by the child move.
+ * Once this sub-tree is entirely explored (or once the prefix is proven to be inconsistent),
+ * a new subproblem is pulled from the source and the search restarts from the root node
+ * (see {@link Solver#restart()}), so each subproblem increases the restart count.
+ * The search ends when the source returns <i>null</i>.
+ * </p>
+ * <p>
+ * Variables are retrieved by ID, so prefixes can be extracted from any equivalent model
+ * (ie, each variable has the same ID in each model).
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class MoveReplay implements Move {
+
+    /**
+     * Listener notified when a subproblem is started or closed.
+     */
+    public interface Listener {
+        /**
+         * Called when <i>prefix</i> is pulled from the source.
+         *
+         * @param prefix the subproblem to be explored
+         */
+        default void onStart(DecisionPrefix prefix) {
+        }
+
+        /**
+         * Called when <i>prefix</i> has been entirely explored.
+         *
+         * @param prefix the subproblem explored
+         */
+        default void onEnd(DecisionPrefix prefix) {
+        }
+    }
+
+    /**
+     * The move that explores the sub-tree of a subproblem
+     */
+    protected Move move;
+    /**
+     * Source of subproblems
+     */
+    private final Supplier<DecisionPrefix> source;
+    /**
+     * Subproblem being explored, <i>null</i> when the source is exhausted
+     */
+    private DecisionPrefix current;
+    /**
+     * Number of decisions of {@link #current} replayed so far
+     */
+    private int replayed;
+    /**
+     * Position of the last decision of the replayed prefix in the decision path,
+     * or -1 when the prefix is not entirely replayed yet
+     */
+    private int top = -1;
+    /**
+     * Number of restarts when the prefix was replayed, to detect restarts
+     */
+    private long restarts;
+    /**
+     * Maps variable ID to variable, built lazily
+     */
+    private TIntObjectHashMap<IntVar> id2var;
+    /**
+     * Listener of subproblems start and end
+     */
+    private Listener listener = new Listener() {
+    };
+
+    /**
+     * Create a move which replays subproblems provided by <i>source</i>.
+     *
+     * @param move   how the sub-tree of each subproblem is explored
+     * @param source supplier of subproblems, returns <i>null</i> when no more subproblem is available.
+     *               It may be called concurrently by multiple moves.
+     */
+    public MoveReplay(Move move, Supplier<DecisionPrefix> source) {
+        this.move = move;
+        this.source = source;
+    }
+
+    /**
+     * Set the listener to notify when a subproblem is started or closed.
+     *
+     * @param listener a listener
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return the listener of subproblems start and end
+     */
+    public Listener getListener() {
+        return listener;
+    }
+
+    /**
+     * Pull the first subproblem from the source, if not already done.
+     * Should be called before the search starts, to detect that no subproblem is available.
+     *
+     * @return <i>true</i> if a subproblem is available
+     */
+    public boolean pull() {
+        if (current == null) {
+            current = source.get();
+            replayed = 0;
+            top = -1;
+            if (current != null) {
+                listener.onStart(current);
+            }
+        }
+        return current != null;
+    }
+
+    /**
+     * @return the position of the last decision of the replayed prefix in the decision path,
+     * or -1 when the prefix is not entirely replayed yet
+     */
+    protected int getPrefixPosition() {
+        return top;
+    }
+
+    /**
+     * @return the subproblem being explored, or <i>null</i>
+     */
+    public DecisionPrefix getCurrent() {
+        return current;
+    }
+
+    @Override
+    public boolean init() {
+        return move.init();
+    }
+
+    @Override
+    public boolean extend(Solver solver) {
+        if (restarts != solver.getRestartCount()) {
+            // the search restarted from the root node, the prefix has to be replayed
+            restarts = solver.getRestartCount();
+            replayed = 0;
+            top = -1;
+        }
+        DecisionPath path = solver.getDecisionPath();
+        while (pull() && replayed < current.size()) {
+            int i = replayed++;
+            IntVar var = getVar(solver.getModel(), current.getVarId(i));
+            // a decision may already be satisfied, due to a better bound for instance
+            if (!current.isEntailed(i, var)) {
+                path.pushDecision(current.makeDecision(i, var, path));
+                solver.getEnvironment().worldPush();
+                return true;
+            }
+        }
+        if (top < 0) {
+            top = path.getLastDecision().getPosition();
+            move.setTopDecisionPosition(top);
+        }
+        return move.extend(solver);
+    }
+
+    @Override
+    public boolean repair(Solver solver) {
+        int depth = solver.getDecisionPath().getLastDecision().getPosition();
+        if (top >= 0 && depth > top && move.repair(solver)) {
+            return true;
+        }
+        // either the prefix is inconsistent or the sub-tree is entirely explored
+        listener.onEnd(current);
+        current = null;
+        if (pull()) {
+            solver.restart();
+            return true;
+        }
+        return false;
+    }
+
+    private IntVar getVar(Model model, int id) {
+        if (id2var == null) {
+            id2var = new TIntObjectHashMap<>();
+            for (Variable v : model.getVars()) {
+                if ((v.getTypeAndKind() & Variable.INT) != 0) {
+                    id2var.put(v.getId(), (IntVar) v);
+                }
+            }
+        }
+        return id2var.get(id);
+    }
+
+    @Override
+    public void setTopDecisionPosition(int position) {
+        // the position is set on the child move once the prefix is replayed
+    }
+
+    @Override
+    public <V extends Variable> AbstractStrategy<V> getStrategy() {
+        return move.getStrategy();
+    }
+
+    @Override
+    public <V extends Variable> void setStrategy(AbstractStrategy<V> aStrategy) {
+        move.setStrategy(aStrategy);
+    }
+
+    @Override
+    public void removeStrategy() {
+        move.removeStrategy();
+    }
+
+    @Override
+    public List<Move> getChildMoves() {
+        return Collections.singletonList(move);
+    }
+
+    @Override
+    public void setChildMoves(List<Move> someMoves) {
+        if (someMoves.size() == 1) {
+            this.move = someMoves.get(0);
+        } else {
+            throw new UnsupportedOperationException("Only one child move can be attached to it.");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.move;
+
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.decision.DecisionPath;
+import org.chocosolver.solver.search.strategy.decision.DecisionPrefix;
+import org.chocosolver.solver.search.strategy.decision.IntDecision;
+
+/**
+ * A {@link MoveReplay} which takes its nodes from a {@link WorkPool} and gives away
+ * some of its open nodes when other workers are idle.
+ * <p>
+ * Before each extension, if the pool is hungry, the unexplored right branch closest to the root node
+ * (that is, the refutation of the shallowest refutable {@link IntDecision} below the replayed prefix)
+ * is exported as a {@link DecisionPrefix} and given to the pool.
+ * The decision is then made non-refutable so that the right branch is not explored twice.
+ * </p>
+ * <p>
+ * Since the decision path is only read by the thread that runs the search, giving nodes
+ * is thread-safe: idle workers <i>request</i> work and busy workers serve requests at their next node.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class MoveWorkStealing extends MoveReplay {
+
+    /**
+     * The shared pool of nodes
+     */
+    private final WorkPool pool;
+
+    /**
+     * Number of nodes given by this move
+     */
+    private long given;
+
+    /**
+     * Create a move which takes and gives nodes from and to <i>pool</i>.
+     *
+     * @param move how the sub-tree of each node is explored
+     * @param pool the shared pool of nodes
+     */
+    public MoveWorkStealing(Move move, WorkPool pool) {
+        super(move, pool::take);
+        this.pool = pool;
+    }
+
+    @Override
+    public boolean extend(Solver solver) {
+        if (pool.isHungry() && getPrefixPosition() >= 0) {
+            give(solver);
+        }
+        return super.extend(solver);
+    }
+
+    /**
+     * Give the shallowest unexplored right branch, if any, to the pool.
+     *
+     * @param solver the solver
+     */
+    private void give(Solver solver) {
+        DecisionPath path = solver.getDecisionPath();
+        int from = getPrefixPosition() + 1;
+        for (int p = from; p < path.size(); p++) {
+            Decision<?> d = path.getDecision(p);
+            if (!(d instanceof IntDecision)) {
+                return;
+            }
+            if (d.hasNext() && d.getArity() == 2) {
+                pool.give(getCurrent().append(path, from, p - from + 1, true));
+                d.setRefutable(false);
+                given++;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the number of nodes given by this move
+     */
+    public long getNbGivenNodes() {
+        return given;
+    }
+}
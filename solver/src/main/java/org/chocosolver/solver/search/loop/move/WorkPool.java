@@ -0,0 +1,162 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.move;
+
+import org.chocosolver.solver.search.strategy.decision.DecisionPrefix;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of open nodes shared by workers of a parallel tree search.
+ * <p>
+ * Idle workers wait in {@link #take()} until a busy worker gives one of its open nodes
+ * (see {@link MoveWorkStealing}). The search is over when all workers are idle and no node remains,
+ * or when the pool is explicitly closed.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class WorkPool {
+
+    /**
+     * Nodes not yet explored, guarded by this
+     */
+    private final ArrayDeque<DecisionPrefix> nodes;
+    /**
+     * Number of workers still involved, guarded by this
+     */
+    private int workers;
+    /**
+     * Number of workers waiting for a node, can be read without locking
+     */
+    private final AtomicInteger waiting = new AtomicInteger();
+    /**
+     * Number of nodes in {@link #nodes}, can be read without locking
+     */
+    private final AtomicInteger available = new AtomicInteger();
+    /**
+     * Number of nodes given by busy workers
+     */
+    private final AtomicInteger given = new AtomicInteger();
+    /**
+     * Cumulative time spent by workers waiting for a node
+     */
+    private final AtomicLong idleTime = new AtomicLong();
+    /**
+     * Set to <i>true</i> when no more node will be provided, guarded by this
+     */
+    private boolean closed;
+
+    /**
+     * Create a pool of nodes.
+     *
+     * @param workers number of workers sharing this pool
+     * @param initial nodes to start with, usually {@link DecisionPrefix#ROOT}
+     */
+    public WorkPool(int workers, Collection<DecisionPrefix> initial) {
+        this.workers = workers;
+        this.nodes = new ArrayDeque<>(initial);
+        this.available.set(nodes.size());
+    }
+
+    /**
+     * Retrieve and remove a node from this pool, waiting if necessary until a node is given.
+     *
+     * @return a node, or <i>null</i> if the search is over
+     */
+    public synchronized DecisionPrefix take() {
+        long t = System.nanoTime();
+        try {
+            while (true) {
+                DecisionPrefix node = nodes.pollFirst();
+                if (node != null) {
+                    available.decrementAndGet();
+                    return node;
+                }
+                if (closed || waiting.get() + 1 >= workers) {
+                    // all other workers are idle too: no more node will be given
+                    close();
+                    return null;
+                }
+                waiting.incrementAndGet();
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    close();
+                } finally {
+                    waiting.decrementAndGet();
+                }
+            }
+        } finally {
+            idleTime.addAndGet(System.nanoTime() - t);
+        }
+    }
+
+    /**
+     * Add a node to this pool and wake up one waiting worker.
+     *
+     * @param node an open node
+     */
+    public synchronized void give(DecisionPrefix node) {
+        nodes.addLast(node);
+        available.incrementAndGet();
+        given.incrementAndGet();
+        notify();
+    }
+
+    /**
+     * Cheap test, without locking, to know if a busy worker should give one of its open nodes.
+     *
+     * @return <i>true</i> if more workers are waiting than nodes are available
+     */
+    public boolean isHungry() {
+        return waiting.get() > available.get();
+    }
+
+    /**
+     * Notify that a worker leaves the search, for instance because a limit is reached.
+     * Waiting workers are woken up if they were waiting for it.
+     */
+    public synchronized void retire() {
+        workers--;
+        if (waiting.get() >= workers) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Stop providing nodes, waiting workers are woken up.
+     */
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    /**
+     * @return the number of nodes given by busy workers so far
+     */
+    public int getNbGivenNodes() {
+        return given.get();
+    }
+
+    /**
+     * @return the cumulative time spent by workers waiting for a node, in nanoseconds
+     */
+    public long getIdleTimeInNanoSeconds() {
+        return idleTime.get();
+    }
+}
@@ -10,6 +10,7 @@
 package org.chocosolver.solver.search.measure;
 
 
+import org.chocosolver.memory.TrailMetrics;
 import org.chocosolver.solver.objective.IBoundsManager;
 import org.chocosolver.solver.search.SearchState;
 
@@ -99,6 +100,14 @@ public interface IMeasures extends Serializable {
      */
     long getBackjumpCount();
 
+    /**
+     * @return the statistics on trails, or <i>null</i> if they are not recorded
+     * @see org.chocosolver.solver.trace.IOutputFactory#recordTrailMetrics()
+     */
+    default TrailMetrics getTrailMetrics() {
+        return null;
+    }
+
     /**
      * @return the restart count
      */
@@ -173,6 +182,11 @@ public interface IMeasures extends Serializable {
                 getRestartCount()
             )
         );
+        TrailMetrics metrics = getTrailMetrics();
+        if (metrics != null) {
+            st.append(String.format(", %d Worlds popped, %d Max world depth, %.3fs Restore time",
+                    metrics.getPopCount(), metrics.getMaxDepth(), metrics.getRestoreTimeInNanoSeconds() / 1e9));
+        }
         return st.toString();
     }
 
@@ -246,6 +260,10 @@ public interface IMeasures extends Serializable {
                 getRestartCount()
             )
         );
+        TrailMetrics metrics = getTrailMetrics();
+        if (metrics != null) {
+            st.append("\n- Trail statistics\n").append(metrics);
+        }
         return st.toString();
     }
 
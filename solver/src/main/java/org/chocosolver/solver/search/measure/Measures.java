@@ -9,6 +9,7 @@
  */
 package org.chocosolver.solver.search.measure;
 
+import org.chocosolver.memory.TrailMetrics;
 
 import org.chocosolver.solver.objective.IBoundsManager;
 import org.chocosolver.solver.objective.ObjectiveFactory;
@@ -107,6 +108,11 @@ public class Measures implements IMeasures, Cloneable {
      */
     protected long backjumpCount;
 
+    /**
+     * Statistics on trails, if recorded
+     */
+    protected transient TrailMetrics trailMetrics;
+
     //***********************************************************************************
     // CONSTRUCTOR
     //***********************************************************************************
@@ -142,6 +148,7 @@ public class Measures implements IMeasures, Cloneable {
         failCount = measures.getFailCount();
         depth = measures.getCurrentDepth();
         maxDepth = measures.getMaxDepth();
+        trailMetrics = measures.getTrailMetrics();
     }
 
     //****************************************************************************************************************//
@@ -169,6 +176,11 @@ public class Measures implements IMeasures, Cloneable {
         return backjumpCount;
     }
 
+    @Override
+    public TrailMetrics getTrailMetrics() {
+        return trailMetrics;
+    }
+
     @Override
     public final long getNodeCount() {
         return nodeCount;
@@ -9,6 +9,7 @@
  */
 package org.chocosolver.solver.search.measure;
 
+import org.chocosolver.memory.TrailMetrics;
 import org.chocosolver.solver.objective.IBoundsManager;
 import org.chocosolver.solver.search.SearchState;
 
@@ -102,6 +103,14 @@ public final class MeasuresRecorder extends Measures {
         this.objectiveOptimal = objectiveOptimal;
     }
 
+    /**
+     * Set the statistics on trails to report
+     * @param trailMetrics statistics on trails
+     */
+    public void setTrailMetrics(TrailMetrics trailMetrics) {
+        this.trailMetrics = trailMetrics;
+    }
+
     /**
      * Reset every measure to its default value (mostly 0)
      */
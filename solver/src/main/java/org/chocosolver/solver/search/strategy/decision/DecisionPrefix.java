@@ -0,0 +1,250 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.strategy.decision;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperator;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * An immutable and model-independent copy of (a prefix of) a {@link DecisionPath}.
+ * <p>
+ * Each decision is stored as it has been applied in the original search tree,
+ * that is, a refuted decision is stored as its opposite (see {@link IntDecision#flip()}).
+ * Variables are referred to by their ID, so a prefix extracted from a model can be replayed in any
+ * equivalent model (ie, each variable has the same ID in each model).
+ * </p>
+ * <p>
+ * Only {@link IntDecision}s are supported.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public final class DecisionPrefix implements Serializable {
+
+    private static final long serialVersionUID = 2815427136589064213L;
+
+    /**
+     * The empty prefix, that is, the root node
+     */
+    public static final DecisionPrefix ROOT = new DecisionPrefix(new int[0], noOperators(), new int[0]);
+
+    /**
+     * IDs of the decision variables
+     */
+    private final int[] varIds;
+    /**
+     * Decision operators, as applied
+     */
+    private final DecisionOperator<IntVar>[] operators;
+    /**
+     * Decision values, as applied
+     */
+    private final int[] values;
+
+    @SuppressWarnings("unchecked")
+    private static DecisionOperator<IntVar>[] noOperators() {
+        return (DecisionOperator<IntVar>[]) new DecisionOperator<?>[0];
+    }
+
+    private DecisionPrefix(int[] varIds, DecisionOperator<IntVar>[] operators, int[] values) {
+        this.varIds = varIds;
+        this.operators = operators;
+        this.values = values;
+    }
+
+    /**
+     * Extract the decisions currently stored in <i>path</i>, except {@link RootDecision#ROOT}.
+     *
+     * @param path a decision path
+     * @return a copy of the decisions of <i>path</i>
+     * @throws SolverException if a decision is not an {@link IntDecision}
+     */
+    public static DecisionPrefix of(DecisionPath path) {
+        return of(path, path.size() - 1, false);
+    }
+
+    /**
+     * Extract the <i>n</i> first decisions stored in <i>path</i>, except {@link RootDecision#ROOT}.
+     * When <i>refuteLast</i> is set to <i>true</i>, the <i>n</i>-th decision is stored refuted,
+     * whatever its current state is.
+     *
+     * @param path       a decision path
+     * @param n          number of decisions to extract
+     * @param refuteLast set to <i>true</i> to store the last extracted decision refuted
+     * @return a copy of the <i>n</i> first decisions of <i>path</i>
+     * @throws SolverException if a decision is not an {@link IntDecision}
+     */
+    public static DecisionPrefix of(DecisionPath path, int n, boolean refuteLast) {
+        return ROOT.append(path, 1, n, refuteLast);
+    }
+
+    /**
+     * Create a new prefix made of the decisions of this followed by the <i>n</i> decisions
+     * stored in <i>path</i> from position <i>from</i>.
+     * When <i>refuteLast</i> is set to <i>true</i>, the last decision appended is stored refuted,
+     * whatever its current state is.
+     * <p>
+     * This method reads <i>path</i> and the domains of the decision variables, so it should only be
+     * called by the thread that runs the search.
+     * </p>
+     *
+     * @param path       a decision path
+     * @param from       position of the first decision to append
+     * @param n          number of decisions to append
+     * @param refuteLast set to <i>true</i> to store the last appended decision refuted
+     * @return a new prefix
+     * @throws SolverException if a decision is not an {@link IntDecision}
+     */
+    @SuppressWarnings("unchecked")
+    public DecisionPrefix append(DecisionPath path, int from, int n, boolean refuteLast) {
+        int k = varIds.length;
+        int[] ids = Arrays.copyOf(varIds, k + n);
+        DecisionOperator<IntVar>[] ops = Arrays.copyOf(operators, k + n);
+        int[] vals = Arrays.copyOf(values, k + n);
+        for (int i = 0; i < n; i++) {
+            Decision<?> d = path.getDecision(from + i);
+            if (!(d instanceof IntDecision)) {
+                throw new SolverException("Only IntDecision can be extracted from a decision path, found: " + d);
+            }
+            IntDecision id = (IntDecision) d;
+            IntVar var = id.getDecisionVariable();
+            boolean refuted = (refuteLast && i == n - 1) || !(id.hasNext() || id.getArity() == 1);
+            DecisionOperator<IntVar> op = id.getDecOp();
+            int val = id.getDecisionValue();
+            if (refuted) {
+                if (op == DecisionOperatorFactory.makeIntSplit()) {
+                    val++;
+                } else if (op == DecisionOperatorFactory.makeIntReverseSplit()) {
+                    val--;
+                }
+                op = op.opposite();
+            }
+            if (op == DecisionOperatorFactory.makeIntNeq() && !var.hasEnumeratedDomain()) {
+                // the value was a bound of the domain when the decision was applied,
+                // but may not be anymore when it is replayed in another model
+                if (val < var.getLB()) {
+                    op = DecisionOperatorFactory.makeIntReverseSplit();
+                    val++;
+                } else if (val > var.getUB()) {
+                    op = DecisionOperatorFactory.makeIntSplit();
+                    val--;
+                }
+            }
+            ids[k + i] = var.getId();
+            ops[k + i] = op;
+            vals[k + i] = val;
+        }
+        return new DecisionPrefix(ids, ops, vals);
+    }
+
+    /**
+     * @return the number of decisions in this prefix
+     */
+    public int size() {
+        return varIds.length;
+    }
+
+    /**
+     * @param i index of a decision
+     * @return the ID of the variable of the <i>i</i>-th decision
+     */
+    public int getVarId(int i) {
+        return varIds[i];
+    }
+
+    /**
+     * @param i index of a decision
+     * @return the operator of the <i>i</i>-th decision
+     */
+    public DecisionOperator<IntVar> getOperator(int i) {
+        return operators[i];
+    }
+
+    /**
+     * @param i index of a decision
+     * @return the value of the <i>i</i>-th decision
+     */
+    public int getValue(int i) {
+        return values[i];
+    }
+
+    /**
+     * Check whether the <i>i</i>-th decision of this prefix is already satisfied by the domain of <i>var</i>.
+     *
+     * @param i   index of a decision
+     * @param var the variable, in the target model, whose ID is {@link #getVarId(int)}
+     * @return <i>true</i> if applying the <i>i</i>-th decision would not modify the domain of <i>var</i>
+     */
+    public boolean isEntailed(int i, IntVar var) {
+        DecisionOperator<IntVar> op = operators[i];
+        int val = values[i];
+        if (op == DecisionOperatorFactory.makeIntEq()) {
+            return var.isInstantiatedTo(val);
+        } else if (op == DecisionOperatorFactory.makeIntNeq()) {
+            return !var.contains(val);
+        } else if (op == DecisionOperatorFactory.makeIntSplit()) {
+            return var.getUB() <= val;
+        } else if (op == DecisionOperatorFactory.makeIntReverseSplit()) {
+            return var.getLB() >= val;
+        }
+        return false;
+    }
+
+    /**
+     * Build the <i>i</i>-th decision of this prefix, as a non-refutable decision.
+     *
+     * @param i     index of a decision
+     * @param var   the variable, in the target model, whose ID is {@link #getVarId(int)}
+     * @param maker decision factory of the target model
+     * @return a non-refutable decision equivalent to the <i>i</i>-th one of this prefix
+     */
+    public IntDecision makeDecision(int i, IntVar var, DecisionMaker maker) {
+        assert var.getId() == varIds[i];
+        IntDecision d = maker.makeIntDecision(var, operators[i], values[i]);
+        d.setRefutable(false);
+        return d;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DecisionPrefix that = (DecisionPrefix) o;
+        return Arrays.equals(varIds, that.varIds)
+                && Arrays.equals(operators, that.operators)
+                && Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(varIds);
+        result = 31 * result + Arrays.hashCode(operators);
+        result = 31 * result + Arrays.hashCode(values);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format("Prefix[%d]: ", varIds.length));
+        for (int i = 0; i < varIds.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append('#').append(varIds[i]).append(operators[i].toString().trim()).append(values[i]);
+        }
+        return sb.toString();
+    }
+}
@@ -9,10 +9,14 @@
  */
 package org.chocosolver.solver.trace;
 
+import org.chocosolver.memory.TrailMetrics;
+import org.chocosolver.memory.trailing.EnvironmentTrailing;
 import org.chocosolver.solver.ISelf;
 import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.propagation.PropagationEngineObserver;
+import org.chocosolver.solver.propagation.PropagationEngineTrailRecorder;
 import org.chocosolver.solver.propagation.PropagationObserver;
 import org.chocosolver.solver.propagation.PropagationProfiler;
 import org.chocosolver.solver.search.loop.monitors.*;
@@ -349,6 +353,34 @@ public interface IOutputFactory extends ISelf<Solver> {
         return po;
     }
 
+    /**
+     * <p>
+     * Record statistics on the trails of the environment:
+     * entries saved and restored per trail, their peak size and the bytes they hold,
+     * a histogram of the number of entries restored per backtrack and the propagators which save the most entries.
+     * These statistics are then reported by {@link Solver#getMeasures()}.
+     * Note, that this may impact the resolution statistics, since each propagation is observed.
+     * </p>
+     * <pre> {@code
+     * Solver s = m.getSolver();
+     * TrailMetrics metrics = s.recordTrailMetrics();
+     * s.findSolution();
+     * System.out.println(metrics);
+     * }</pre>
+     *
+     * @return the trail statistics
+     * @throws SolverException if the environment does not trail
+     */
+    default TrailMetrics recordTrailMetrics() {
+        if (!(ref().getModel().getEnvironment() instanceof EnvironmentTrailing)) {
+            throw new SolverException("Trail statistics can only be recorded on a trailing environment");
+        }
+        TrailMetrics metrics = ((EnvironmentTrailing) ref().getModel().getEnvironment()).enableMetrics();
+        ref().setEngine(new PropagationEngineTrailRecorder(ref().getModel(), metrics));
+        ref().getMeasures().setTrailMetrics(metrics);
+        return metrics;
+    }
+
     /**
      * Create and return a {@link SolvingStatisticsFlow} object to observe solving statistics.
      * <p>
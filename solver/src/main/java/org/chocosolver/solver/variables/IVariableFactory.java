@@ -230,6 +230,11 @@ public interface IVariableFactory extends ISelf<Model> {
             return boolVar(name);
         } else if (boundedDomain) {
             return new IntervalIntVarImpl(name, lb, ub, ref());
+        } else if ((long) ub - lb + 1 <= ref().getSettings().getMaxDomSizeForSparseSet()) {
+            return new SparseSetIntVarImpl(name, lb, ub, ref());
+        } else if (ref().getSettings().getMinDomSizeForRangeList() < Integer.MAX_VALUE
+                && (long) ub - lb + 1 >= ref().getSettings().getMinDomSizeForRangeList()) {
+            return new RangeListIntVarImpl(name, lb, ub, ref());
         } else {
             return new BitsetIntVarImpl(name, lb, ub, ref());
         }
@@ -264,6 +269,10 @@ public interface IVariableFactory extends ISelf<Model> {
             return intVar(name, values[0]);
         } else if (values.length == 2 && values[0] == 0 && values[1] == 1) {
             return boolVar(name);
+        } else if ((long) values[values.length - 1] - values[0] + 1 <= ref().getSettings().getMaxDomSizeForSparseSet()) {
+            return new SparseSetIntVarImpl(name, values, ref());
+        } else if (preferRangeList(values)) {
+            return new RangeListIntVarImpl(name, values, ref());
         } else {
             return new BitsetIntVarImpl(name, values, ref());
         }
@@ -992,4 +1001,24 @@ public interface IVariableFactory extends ISelf<Model> {
         return prefix + ref().nextNameId();
     }
 
-}
\ No newline at end of file
+    /**
+     * @param values sorted values, without duplicates
+     * @return <i>true</i> if these values should be stored as a list of ranges rather than in a bitset
+     * @see org.chocosolver.solver.Settings#getMinDomSizeForRangeList()
+     * @see org.chocosolver.solver.Settings#getMaxRangeDensityForRangeList()
+     */
+    default boolean preferRangeList(int[] values) {
+        int min = ref().getSettings().getMinDomSizeForRangeList();
+        long span = (long) values[values.length - 1] - values[0] + 1;
+        if (min == Integer.MAX_VALUE || span < min) {
+            return false;
+        }
+        int nbRanges = 1;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] != values[i - 1] + 1) {
+                nbRanges++;
+            }
+        }
+        return nbRanges <= span * ref().getSettings().getMaxRangeDensityForRangeList();
+    }
+}
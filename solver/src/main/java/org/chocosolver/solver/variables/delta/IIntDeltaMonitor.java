@@ -9,6 +9,7 @@
  */
 package org.chocosolver.solver.variables.delta;
 
+import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.util.procedure.IntProcedure;
 import org.chocosolver.util.procedure.SafeIntProcedure;
@@ -39,6 +40,22 @@ public interface IIntDeltaMonitor extends IDeltaMonitor{
 
     void forEachRemVal(IntProcedure proc) throws ContradictionException;
 
+    /**
+     * Append each value removed to 'values', in bulk. No filtering allowed.
+     * A call to this method <b>consumes</b> the elements stored, like {@link #forEachRemVal(SafeIntProcedure)}.
+     * <p>
+     * This is the allocation-free counterpart of {@link #forEachRemVal(SafeIntProcedure)}:
+     * the values are copied in a buffer owned by the caller,
+     * which can then process them in a plain loop instead of one procedure call per value.
+     * The buffer is not cleared beforehand.
+     * </p>
+     *
+     * @param values a buffer, values removed are appended to it
+     */
+    default void fillRemVals(TIntArrayList values) {
+        forEachRemVal((SafeIntProcedure) values::add);
+    }
+
     /**
      * @return a rough estimation of the number of removed values
      */
@@ -65,6 +82,11 @@ public interface IIntDeltaMonitor extends IDeltaMonitor{
             public void forEachRemVal(IntProcedure proc) throws ContradictionException {
                 // nothing to do by default
             }
+
+            @Override
+            public void fillRemVals(TIntArrayList values) {
+                // nothing to do by default
+            }
         }
     }
 }
@@ -9,6 +9,7 @@
  */
 package org.chocosolver.solver.variables.delta.monitor;
 
+import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -89,6 +90,18 @@ public class EnumDeltaMonitor extends TimeStampedObject implements IIntDeltaMoni
         }
     }
 
+    @Override
+    public void fillRemVals(TIntArrayList values) {
+        freeze();
+        values.ensureCapacity(values.size() + last - first);
+        while (first < last) {
+            if (propagator == Cause.Null || propagator != delta.getCause(first)) {
+                values.add(delta.get(first));
+            }
+            first++;
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("(%d,%d) :: %d", first, last, delta.size());
@@ -9,6 +9,7 @@
  */
 package org.chocosolver.solver.variables.delta.monitor;
 
+import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -96,6 +97,22 @@ public class IntervalDeltaMonitor extends TimeStampedObject implements IIntDelta
         }
     }
 
+    @Override
+    public void fillRemVals(TIntArrayList values) {
+        freeze();
+        while (first < last) {
+            if (propagator == Cause.Null || propagator != delta.getCause(first)) {
+                int lb = delta.getLB(first);
+                int ub = delta.getUB(first);
+                values.ensureCapacity(values.size() + ub - lb + 1);
+                for (; lb <= ub; lb++) {
+                    values.add(lb);
+                }
+            }
+            first++;
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("(%d,%d) :: %d", first, last, delta.size());
@@ -9,6 +9,7 @@
  */
 package org.chocosolver.solver.variables.delta.monitor;
 
+import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.exception.SolverException;
@@ -82,6 +83,15 @@ public class OneValueDeltaMonitor extends TimeStampedObject implements IIntDelta
         used = false;
     }
 
+    @Override
+    public void fillRemVals(TIntArrayList values) {
+        freeze();
+        if (used && propagator != delta.getCause(0)) {
+            values.add(delta.get(0));
+        }
+        used = false;
+    }
+
     @Override
     public int sizeApproximation() {
         return used && propagator != delta.getCause(0) ? 1 : 0;
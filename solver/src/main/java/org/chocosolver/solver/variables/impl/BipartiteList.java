@@ -178,7 +178,7 @@ final class BipartiteList implements IBipartiteList {
         }
         for (int p = s; p < last; p++) {
             Propagator<?> prop = propagators[p];
-            if (prop.isActive() && cause != prop) {
+            if (prop.isActive() && (cause != prop || !prop.isIdempotent()) && prop.isWatching(pindices[p])) {
                 engine.schedule(prop, pindices[p], mask);
             }
         }
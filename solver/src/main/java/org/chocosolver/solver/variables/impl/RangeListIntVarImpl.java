@@ -0,0 +1,907 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.impl;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.delta.EnumDelta;
+import org.chocosolver.solver.variables.delta.IEnumDelta;
+import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
+import org.chocosolver.solver.variables.delta.NoDelta;
+import org.chocosolver.solver.variables.delta.monitor.EnumDeltaMonitor;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.impl.scheduler.IntEvtScheduler;
+import org.chocosolver.solver.variables.impl.siglit.SignedLiteral;
+import org.chocosolver.util.iterators.DisposableRangeIterator;
+import org.chocosolver.util.iterators.DisposableValueIterator;
+import org.chocosolver.util.iterators.EvtScheduler;
+import org.chocosolver.util.iterators.IntVarValueIterator;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSet;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * An enumerated IntVar whose domain is stored as a sorted list of disjoint ranges,
+ * suited to huge domains with few holes, where a bitset would be too large.
+ * <p>
+ * The domain is made of the values of the ranges which lie between the two backtrackable bounds.
+ * Thus, updating a bound only finds the new bound by dichotomy and the list is modified only when a hole is made:
+ * the ranges concerned are replaced and the operation to undo it is saved in the environment.
+ * Ranges outside the bounds are never modified and may remain in the list.
+ * Checking that a value belongs to the domain, or looking for the next or the previous one, is done in O(log k),
+ * where k is the number of ranges.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @see org.chocosolver.solver.Settings#getMinDomSizeForRangeList()
+ * @since 4.10.18
+ */
+public final class RangeListIntVarImpl extends AbstractVariable implements IntVar {
+
+    /**
+     * Set to <tt>true</tt> if this variable reacts is associated with at least one propagator which reacts
+     * on value removal
+     */
+    private boolean reactOnRemoval = false;
+    /**
+     * Sorted ranges, as pairs of bounds: [RANGES[2i], RANGES[2i+1]].
+     * Two consecutive ranges are separated by at least one value.
+     */
+    private int[] RANGES;
+    /**
+     * Used size in {@link #RANGES}, that is, twice the number of ranges
+     */
+    private int NB;
+    /**
+     * Lower bound of the current domain
+     */
+    private final IStateInt LB;
+    /**
+     * Upper bound of the current domain
+     */
+    private final IStateInt UB;
+    /**
+     * Current size of domain
+     */
+    private final IStateInt SIZE;
+    /**
+     * To iterate over removed values
+     */
+    private IEnumDelta delta = NoDelta.singleton;
+    /**
+     * To iterate over values in the domain
+     */
+    private DisposableValueIterator _viterator;
+    /**
+     * To iterate over ranges
+     */
+    private DisposableRangeIterator _riterator;
+
+    /**
+     * Value iterator allowing for(int i:this) loops
+     */
+    private IntVarValueIterator _javaIterator;
+
+    /**
+     * Signed Literal
+     */
+    private SignedLiteral.Set literal;
+
+    /**
+     * Create an enumerated IntVar based on a list of ranges
+     *
+     * @param name         name of the variable
+     * @param sortedValues original domain values, sorted and without duplicates
+     * @param model        declaring model
+     */
+    public RangeListIntVarImpl(String name, int[] sortedValues, Model model) {
+        super(name, model);
+        IEnvironment env = model.getEnvironment();
+        RANGES = new int[8];
+        int i = 0;
+        while (i < sortedValues.length) {
+            int j = i;
+            while (j + 1 < sortedValues.length && sortedValues[j + 1] == sortedValues[j] + 1) {
+                j++;
+            }
+            if (NB == RANGES.length) {
+                RANGES = Arrays.copyOf(RANGES, NB * 2);
+            }
+            RANGES[NB++] = sortedValues[i];
+            RANGES[NB++] = sortedValues[j];
+            i = j + 1;
+        }
+        this.LB = env.makeInt(sortedValues[0]);
+        this.UB = env.makeInt(sortedValues[sortedValues.length - 1]);
+        this.SIZE = env.makeInt(sortedValues.length);
+    }
+
+    /**
+     * Create an enumerated IntVar based on a list of ranges
+     *
+     * @param name  name of the variable
+     * @param min   lower bound
+     * @param max   upper bound
+     * @param model declaring model
+     */
+    public RangeListIntVarImpl(String name, int min, int max, Model model) {
+        super(name, model);
+        IEnvironment env = model.getEnvironment();
+        RANGES = new int[8];
+        RANGES[NB++] = min;
+        RANGES[NB++] = max;
+        this.LB = env.makeInt(min);
+        this.UB = env.makeInt(max);
+        this.SIZE = env.makeInt(max - min + 1);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Removes {@code value}from the domain of {@code this}. The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is out of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if removing {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if removing {@code value} from the domain can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value value to remove from the domain (int)
+     * @param cause removal releaser
+     * @return true if the value has been removed, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean removeValue(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        boolean change = contains(value);
+        if (change) {
+            IntEventType e = IntEventType.REMOVE;
+            if (value == getLB() || value == getUB()) {
+                model.getSolver().getEventObserver().removeValue(this, value, cause);
+                if (SIZE.get() == 1) {
+                    this.contradiction(cause, MSG_REMOVE);
+                }
+                if (reactOnRemoval) {
+                    delta.add(value, cause);
+                }
+                if (value == getLB()) {
+                    LB.set(nextValue(value));
+                    e = IntEventType.INCLOW;
+                } else {
+                    UB.set(previousValue(value));
+                    e = IntEventType.DECUPP;
+                }
+            } else {
+                removeHole(value, value, cause);
+            }
+            this.SIZE.add(-1);
+            if (this.isInstantiated()) {
+                e = IntEventType.INSTANTIATE;
+            }
+            this.notifyPropagators(e, cause);
+        }
+        return change;
+    }
+
+    @Override
+    public boolean removeValues(IntIterableSet values, ICause cause) throws ContradictionException {
+        assert cause != null;
+        boolean hasChanged = false, fixpoint;
+        int vlb, vub;
+        do {
+            int nlb = getLB();
+            int nub = getUB();
+            vlb = values.nextValue(nlb - 1);
+            vub = values.previousValue(nub + 1);
+            if (!hasChanged && (vlb > nub || vub < nlb)) {
+                return false;
+            }
+            // look for the new lb
+            while (vlb == nlb && nlb < Integer.MAX_VALUE) {
+                nlb = nextValue(vlb);
+                vlb = values.nextValue(nlb - 1);
+            }
+            if (vlb <= vub) {
+                // look for the new ub
+                while (vub == nub && nub > Integer.MIN_VALUE) {
+                    nub = previousValue(vub);
+                    vub = values.previousValue(nub + 1);
+                }
+            }
+            // the new bounds are now known, delegate to the right method
+            fixpoint = updateBounds(nlb, nub, cause);
+            hasChanged |= fixpoint;
+        } while (fixpoint);
+        // now deal with holes, the bounds are not in 'values'
+        int count = 0;
+        int value = vlb;
+        while (value <= vub) {
+            int last = Math.min(values.nextValueOut(value) - 1, vub);
+            count += removeHole(value, last, cause);
+            value = values.nextValue(last);
+        }
+        if (count > 0) {
+            SIZE.add(-count);
+            this.notifyPropagators(IntEventType.REMOVE, cause);
+        }
+        return count > 0 || hasChanged;
+    }
+
+    @Override
+    public boolean removeAllValuesBut(IntIterableSet values, ICause cause) throws ContradictionException {
+        assert cause != null;
+        boolean hasChanged = false, fixpoint;
+        int nlb, nub;
+        do {
+            int clb = getLB();
+            int cub = getUB();
+            nlb = values.nextValue(clb - 1);
+            nub = values.previousValue(cub + 1);
+            // look for the new lb
+            while (nlb != clb && clb < Integer.MAX_VALUE && nlb < Integer.MAX_VALUE) {
+                clb = nextValue(nlb - 1);
+                nlb = values.nextValue(clb - 1);
+            }
+            // look for the new ub
+            if (nlb <= nub) {
+                while (nub != cub && cub > Integer.MIN_VALUE && nub > Integer.MIN_VALUE) {
+                    cub = previousValue(nub + 1);
+                    nub = values.previousValue(cub + 1);
+                }
+            }
+            // the new bounds are now known, delegate to the right method
+            fixpoint = updateBounds(nlb, nub, cause);
+            hasChanged |= fixpoint;
+        } while (fixpoint);
+        // now deal with holes, the bounds are in 'values'
+        int count = 0;
+        int m0 = values.nextValueOut(nlb);
+        while (m0 < nub) {
+            int m1 = values.nextValue(m0);
+            count += removeHole(m0, m1 - 1, cause);
+            m0 = values.nextValueOut(m1);
+        }
+        if (count > 0) {
+            SIZE.add(-count);
+            this.notifyPropagators(IntEventType.REMOVE, cause);
+        }
+        return count > 0 || hasChanged;
+    }
+
+    @Override
+    public boolean removeInterval(int from, int to, ICause cause) throws ContradictionException {
+        assert cause != null;
+        if (from <= getLB())
+            return updateLowerBound(to + 1, cause);
+        else if (getUB() <= to)
+            return updateUpperBound(from - 1, cause);
+        else {
+            int count = removeHole(from, to, cause);
+            if (count > 0) {
+                SIZE.add(-count);
+                this.notifyPropagators(IntEventType.REMOVE, cause);
+            }
+            return count > 0;
+        }
+    }
+
+    /**
+     * Instantiates the domain of {@code this} to {@code value}. The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If the domain of {@code this} is already instantiated to {@code value},
+     * nothing is done and the return value is {@code false},</li>
+     * <li>If the domain of {@code this} is already instantiated to another value,
+     * then a {@code ContradictionException} is thrown,</li>
+     * <li>Otherwise, the domain of {@code this} is restricted to {@code value} and the observers are notified
+     * and the return value is {@code true}.</li>
+     * </ul>
+     *
+     * @param value instantiation value (int)
+     * @param cause instantiation releaser
+     * @return true if the instantiation is done, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean instantiateTo(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        if (!contains(value)) {
+            model.getSolver().getEventObserver().instantiateTo(this, value, cause, getLB(), getUB());
+            this.contradiction(cause, MSG_INST);
+        } else if (!isInstantiated()) {
+            model.getSolver().getEventObserver().instantiateTo(this, value, cause, getLB(), getUB());
+            if (reactOnRemoval) {
+                count(getLB(), value - 1, cause, false);
+                count(value + 1, getUB(), cause, false);
+            }
+            this.LB.set(value);
+            this.UB.set(value);
+            this.SIZE.set(1);
+            this.notifyPropagators(IntEventType.INSTANTIATE, cause);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Updates the lower bound of the domain of {@code this} to {@code value}.
+     * The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is smaller than the lower bound of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if updating the lower bound to {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if updating the lower bound to {@code value} can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value new lower bound (included)
+     * @param cause updating releaser
+     * @return true if the lower bound has been updated, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean updateLowerBound(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int old = this.getLB();
+        if (old < value) {
+            int oub = this.getUB();
+            model.getSolver().getEventObserver().updateLowerBound(this, value, old, cause);
+            if (oub < value) {
+                this.contradiction(cause, MSG_LOW);
+            } else {
+                IntEventType e = IntEventType.INCLOW;
+                int nlb = nextValue(value - 1);
+                SIZE.add(-count(old, nlb - 1, cause, false));
+                LB.set(nlb);
+                if (isInstantiated()) {
+                    e = IntEventType.INSTANTIATE;
+                }
+                this.notifyPropagators(e, cause);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Updates the upper bound of the domain of {@code this} to {@code value}.
+     * The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is greater than the upper bound of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if updating the upper bound to {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if updating the upper bound to {@code value} can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value new upper bound (included)
+     * @param cause update releaser
+     * @return true if the upper bound has been updated, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean updateUpperBound(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int oub = this.getUB();
+        if (oub > value) {
+            int olb = this.getLB();
+            model.getSolver().getEventObserver().updateUpperBound(this, value, oub, cause);
+            if (olb > value) {
+                this.contradiction(cause, MSG_UPP);
+            } else {
+                IntEventType e = IntEventType.DECUPP;
+                int nub = previousValue(value + 1);
+                SIZE.add(-count(nub + 1, oub, cause, false));
+                UB.set(nub);
+                if (isInstantiated()) {
+                    e = IntEventType.INSTANTIATE;
+                }
+                this.notifyPropagators(e, cause);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean updateBounds(int lb, int ub, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int olb = this.getLB();
+        int oub = this.getUB();
+        boolean update = false;
+        if (olb < lb || oub > ub) {
+            IntEventType e = null;
+            if (oub < lb) {
+                model.getSolver().getEventObserver().updateLowerBound(this, lb, olb, cause);
+                this.contradiction(cause, MSG_LOW);
+            } else if (olb < lb) {
+                model.getSolver().getEventObserver().updateLowerBound(this, lb, olb, cause);
+                e = IntEventType.INCLOW;
+                int nlb = nextValue(lb - 1);
+                SIZE.add(-count(olb, nlb - 1, cause, false));
+                LB.set(nlb);
+                olb = nlb; // required because we will treat upper bound just after
+            }
+            if (olb > ub) {
+                model.getSolver().getEventObserver().updateUpperBound(this, ub, oub, cause);
+                this.contradiction(cause, MSG_UPP);
+            } else if (oub > ub) {
+                model.getSolver().getEventObserver().updateUpperBound(this, ub, oub, cause);
+                e = e == null ? IntEventType.DECUPP : IntEventType.BOUND;
+                int nub = previousValue(ub + 1);
+                SIZE.add(-count(nub + 1, oub, cause, false));
+                UB.set(nub);
+            }
+            if (isInstantiated()) {
+                e = IntEventType.INSTANTIATE;
+            }
+            this.notifyPropagators(e, cause);
+            update = true;
+        }
+        return update;
+    }
+
+    @Override
+    public boolean isInstantiated() {
+        return SIZE.get() == 1;
+    }
+
+    @Override
+    public boolean isInstantiatedTo(int value) {
+        return isInstantiated() && getLB() == value;
+    }
+
+    @Override
+    public boolean contains(int aValue) {
+        if (LB.get() <= aValue && aValue <= UB.get()) {
+            int r = floorRange(aValue);
+            return r >= 0 && aValue <= RANGES[(r << 1) + 1];
+        }
+        return false;
+    }
+
+    @Override
+    public int getValue() throws IllegalStateException {
+        if (!isInstantiated()) {
+            throw new IllegalStateException("getValue() can be only called on instantiated variable. " +
+                    name + " is not instantiated");
+        }
+        return getLB();
+    }
+
+    /**
+     * Retrieves the lower bound of the variable
+     *
+     * @return the lower bound
+     */
+    @Override
+    public int getLB() {
+        return this.LB.get();
+    }
+
+    /**
+     * Retrieves the upper bound of the variable
+     *
+     * @return the upper bound
+     */
+    @Override
+    public int getUB() {
+        return this.UB.get();
+    }
+
+    @Override
+    public int getDomainSize() {
+        return SIZE.get();
+    }
+
+    @Override
+    public int getRange() {
+        return getUB() - getLB() + 1;
+    }
+
+    @Override
+    public int nextValue(int aValue) {
+        int lb = LB.get();
+        if (aValue < lb) return lb;
+        if (aValue >= UB.get()) return Integer.MAX_VALUE;
+        // the upper bound belongs to a range, so does the next value
+        int r = ceilRange(aValue + 1);
+        return Math.max(RANGES[r << 1], aValue + 1);
+    }
+
+    @Override
+    public int nextValueOut(int aValue) {
+        int lb = getLB();
+        int ub = getUB();
+        if (lb - 1 <= aValue && aValue < ub) {
+            int r = floorRange(aValue + 1);
+            if (r >= 0 && aValue + 1 <= RANGES[(r << 1) + 1]) {
+                return Math.min(RANGES[(r << 1) + 1], ub) + 1;
+            }
+        }
+        return aValue + 1;
+    }
+
+    @Override
+    public int previousValue(int aValue) {
+        int ub = UB.get();
+        if (aValue > ub) return ub;
+        if (aValue <= LB.get()) return Integer.MIN_VALUE;
+        // the lower bound belongs to a range, so does the previous value
+        int r = floorRange(aValue - 1);
+        return Math.min(RANGES[(r << 1) + 1], aValue - 1);
+    }
+
+    @Override
+    public int previousValueOut(int aValue) {
+        int lb = getLB();
+        int ub = getUB();
+        if (lb < aValue && aValue <= ub + 1) {
+            int r = floorRange(aValue - 1);
+            if (r >= 0 && aValue - 1 <= RANGES[(r << 1) + 1]) {
+                return Math.max(RANGES[r << 1], lb) - 1;
+            }
+        }
+        return aValue - 1;
+    }
+
+    @Override
+    public boolean hasEnumeratedDomain() {
+        return true;
+    }
+
+    @Override
+    public IEnumDelta getDelta() {
+        return delta;
+    }
+
+    /**
+     * @return the number of ranges currently stored, including those out of the bounds
+     */
+    public int getNbStoredRanges() {
+        return NB >> 1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder(20);
+        s.append(name).append(" = ");
+        if (SIZE.get() == 1) {
+            s.append(this.getLB());
+        } else {
+            int v = getLB(), w;
+            s.append('{').append(v);
+            w = nextValueOut(v);
+            if (v < w - 1) s.append("..").append(w - 1);
+            v = nextValue(w);
+            while (v < Integer.MAX_VALUE) {
+                s.append(",").append(v);
+                w = nextValueOut(v);
+                if (v < w - 1) s.append("..").append(w - 1);
+                v = nextValue(w);
+            }
+            s.append('}');
+        }
+        return s.toString();
+    }
+
+    ////////////////////////////////////////////////////////////////
+    ///// methode liees au fait qu'une variable est observable /////
+    ////////////////////////////////////////////////////////////////
+
+
+    @Override
+    public void createDelta() {
+        if (!reactOnRemoval) {
+            delta = new EnumDelta(model.getEnvironment());
+            reactOnRemoval = true;
+        }
+    }
+
+    @Override
+    public IIntDeltaMonitor monitorDelta(ICause propagator) {
+        createDelta();
+        return new EnumDeltaMonitor(delta, propagator);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public int getTypeAndKind() {
+        return VAR | INT;
+    }
+
+    @Override
+    protected EvtScheduler<IntEventType> createScheduler() {
+        return new IntEvtScheduler();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public DisposableValueIterator getValueIterator(boolean bottomUp) {
+        if (_viterator == null || _viterator.isNotReusable()) {
+            _viterator = new DisposableValueIterator() {
+
+                /**
+                 * Current value
+                 */
+                int value;
+
+                @Override
+                public void bottomUpInit() {
+                    super.bottomUpInit();
+                    this.value = getLB();
+                }
+
+                @Override
+                public void topDownInit() {
+                    super.topDownInit();
+                    this.value = getUB();
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return this.value != Integer.MAX_VALUE;
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return this.value != Integer.MIN_VALUE;
+                }
+
+                @Override
+                public int next() {
+                    int old = this.value;
+                    this.value = nextValue(old);
+                    return old;
+                }
+
+                @Override
+                public int previous() {
+                    int old = this.value;
+                    this.value = previousValue(old);
+                    return old;
+                }
+            };
+        }
+        if (bottomUp) {
+            _viterator.bottomUpInit();
+        } else {
+            _viterator.topDownInit();
+        }
+        return _viterator;
+    }
+
+    @Override
+    public DisposableRangeIterator getRangeIterator(boolean bottomUp) {
+        if (_riterator == null || _riterator.isNotReusable()) {
+            _riterator = new DisposableRangeIterator() {
+
+                /**
+                 * Lower bound of the current range
+                 */
+                int from;
+                /**
+                 * Upper bound of the current range
+                 */
+                int to;
+
+                @Override
+                public void bottomUpInit() {
+                    super.bottomUpInit();
+                    this.from = getLB();
+                    this.to = nextValueOut(from) - 1;
+                }
+
+                @Override
+                public void topDownInit() {
+                    super.topDownInit();
+                    this.to = getUB();
+                    this.from = previousValueOut(to) + 1;
+                }
+
+                public boolean hasNext() {
+                    return this.from != Integer.MAX_VALUE;
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return this.to != Integer.MIN_VALUE;
+                }
+
+                public void next() {
+                    this.from = nextValue(this.to);
+                    if (from != Integer.MAX_VALUE) {
+                        this.to = nextValueOut(this.from) - 1;
+                    }
+                }
+
+                @Override
+                public void previous() {
+                    this.to = previousValue(this.from);
+                    if (to != Integer.MIN_VALUE) {
+                        this.from = previousValueOut(this.to) + 1;
+                    }
+                }
+
+                @Override
+                public int min() {
+                    return from;
+                }
+
+                @Override
+                public int max() {
+                    return to;
+                }
+            };
+        }
+        if (bottomUp) {
+            _riterator.bottomUpInit();
+        } else {
+            _riterator.topDownInit();
+        }
+        return _riterator;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        if (_javaIterator == null) {
+            _javaIterator = new IntVarValueIterator(this);
+        }
+        _javaIterator.reset();
+        return _javaIterator;
+    }
+
+    @Override
+    public void createLit(IntIterableRangeSet rootDomain) {
+        if (this.literal != null) {
+            throw new IllegalStateException("createLit(Implications) called twice");
+        }
+        this.literal = new SignedLiteral.Set(rootDomain);
+    }
+
+    @Override
+    public SignedLiteral getLit() {
+        if (this.literal == null) {
+            throw new NullPointerException("getLit() called on null, a call to createLit(Implications) is required");
+        }
+        return this.literal;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the index of the first range which ends at or after <i>value</i>, or the number of ranges
+     */
+    private int ceilRange(int value) {
+        int lo = 0, hi = (NB >> 1) - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (RANGES[(mid << 1) + 1] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * @return the index of the last range which starts at or before <i>value</i>, or -1
+     */
+    private int floorRange(int value) {
+        int lo = 0, hi = (NB >> 1) - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (RANGES[mid << 1] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return hi;
+    }
+
+    /**
+     * Count the values of the domain in [<i>from</i>, <i>to</i>], which are about to be removed,
+     * and store them in the delta.
+     *
+     * @param observe set to <i>true</i> to notify the event observer of each removal
+     * @return the number of values of the domain in [<i>from</i>, <i>to</i>]
+     */
+    private int count(int from, int to, ICause cause, boolean observe) {
+        int n = 0;
+        for (int r = ceilRange(from), k = NB >> 1; r < k && RANGES[r << 1] <= to; r++) {
+            int f = Math.max(RANGES[r << 1], from);
+            int t = Math.min(RANGES[(r << 1) + 1], to);
+            if (f <= t) {
+                n += t - f + 1;
+                if (observe || reactOnRemoval) {
+                    for (int v = f; v <= t; v++) {
+                        if (observe) {
+                            model.getSolver().getEventObserver().removeValue(this, v, cause);
+                        }
+                        if (reactOnRemoval) {
+                            delta.add(v, cause);
+                        }
+                    }
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Remove the values in [<i>from</i>, <i>to</i>] from the ranges, where <i>LB</i> &lt; <i>from</i>
+     * and <i>to</i> &lt; <i>UB</i>, so that the domain cannot become empty.
+     * Neither the size nor the propagators are updated.
+     *
+     * @return the number of values removed
+     */
+    private int removeHole(int from, int to, ICause cause) {
+        assert getLB() < from && to < getUB();
+        int i = ceilRange(from);
+        int j = floorRange(to);
+        if (from > to || i > j) {
+            return 0;
+        }
+        int n = count(from, to, cause, true);
+        // ranges i to j are replaced by what remains on their left and on their right
+        final int fi = RANGES[i << 1];
+        final int tj = RANGES[(j << 1) + 1];
+        final int start = i << 1;
+        final int[] old = Arrays.copyOfRange(RANGES, start, (j << 1) + 2);
+        final int len = (fi < from ? 2 : 0) + (tj > to ? 2 : 0);
+        resize(start, old.length, len);
+        int k = start;
+        if (fi < from) {
+            RANGES[k++] = fi;
+            RANGES[k++] = from - 1;
+        }
+        if (tj > to) {
+            RANGES[k++] = to + 1;
+            RANGES[k] = tj;
+        }
+        model.getEnvironment().save(() -> {
+            resize(start, len, old.length);
+            System.arraycopy(old, 0, RANGES, start, old.length);
+        });
+        return n;
+    }
+
+    /**
+     * Replace the <i>oldLen</i> cells of {@link #RANGES} from <i>start</i> by <i>newLen</i> cells,
+     * whose values are undefined, and shift the next ones.
+     */
+    private void resize(int start, int oldLen, int newLen) {
+        int nb = NB - oldLen + newLen;
+        if (nb > RANGES.length) {
+            RANGES = Arrays.copyOf(RANGES, Math.max(nb, RANGES.length * 3 / 2));
+        }
+        System.arraycopy(RANGES, start + oldLen, RANGES, start + newLen, NB - start - oldLen);
+        NB = nb;
+    }
+}
@@ -0,0 +1,889 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.impl;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.delta.EnumDelta;
+import org.chocosolver.solver.variables.delta.IEnumDelta;
+import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
+import org.chocosolver.solver.variables.delta.NoDelta;
+import org.chocosolver.solver.variables.delta.monitor.EnumDeltaMonitor;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.impl.scheduler.IntEvtScheduler;
+import org.chocosolver.solver.variables.impl.siglit.SignedLiteral;
+import org.chocosolver.util.iterators.DisposableRangeIterator;
+import org.chocosolver.util.iterators.DisposableValueIterator;
+import org.chocosolver.util.iterators.EvtScheduler;
+import org.chocosolver.util.iterators.IntVarValueIterator;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSet;
+import org.chocosolver.util.tools.ArrayUtils;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.IntConsumer;
+
+/**
+ * An enumerated IntVar whose domain is stored in a backtrackable sparse set,
+ * suited to small domains which are often modified.
+ * <p>
+ * The values of the domain are the first <i>SIZE</i> ones of a dense array, where removing a value
+ * swaps it with the last one and decrements <i>SIZE</i>, the only backtrackable data with the bounds.
+ * Thus, a world is restored in O(1), whatever the number of values removed in it,
+ * and the current values can be iterated, in no particular order, without scanning removed ones.
+ * Ordered iterations scan the span of the domain instead, which is why this implementation is restricted to small domains.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @see org.chocosolver.solver.Settings#getMaxDomSizeForSparseSet()
+ * @see org.chocosolver.util.objects.StoredSparseSet
+ * @since 4.10.18
+ */
+public final class SparseSetIntVarImpl extends AbstractVariable implements IntVar {
+
+    /**
+     * Set to <tt>true</tt> if this variable reacts is associated with at least one propagator which reacts
+     * on value removal
+     */
+    private boolean reactOnRemoval = false;
+    /**
+     * Values of the sparse set, the first {@link #SIZE} ones are in the domain -- includes offset
+     */
+    private final int[] DENSE;
+    /**
+     * Position of each value in {@link #DENSE} -- includes offset
+     */
+    private final int[] SPARSE;
+    /**
+     * Lower bound of the current domain -- includes offset
+     */
+    private final IStateInt LB;
+    /**
+     * Upper bound of the current domain -- includes offset
+     */
+    private final IStateInt UB;
+    /**
+     * Current size of domain
+     */
+    private final IStateInt SIZE;
+    /**
+     * offset of the lower bound and the first value in the domain
+     */
+    private final int OFFSET;
+    /**
+     * To iterate over removed values
+     */
+    private IEnumDelta delta = NoDelta.singleton;
+    /**
+     * To iterate over values in the domain
+     */
+    private DisposableValueIterator _viterator;
+    /**
+     * To iterate over ranges
+     */
+    private DisposableRangeIterator _riterator;
+
+    /**
+     * Value iterator allowing for(int i:this) loops
+     */
+    private IntVarValueIterator _javaIterator;
+
+    /**
+     * Signed Literal
+     */
+    private SignedLiteral.Set literal;
+
+    /**
+     * Create an enumerated IntVar based on a sparse set
+     *
+     * @param name         name of the variable
+     * @param sortedValues original domain values, sorted and without duplicates
+     * @param model        declaring model
+     */
+    public SparseSetIntVarImpl(String name, int[] sortedValues, Model model) {
+        super(name, model);
+        IEnvironment env = model.getEnvironment();
+        OFFSET = sortedValues[0];
+        int capacity = sortedValues[sortedValues.length - 1] - OFFSET + 1;
+        DENSE = new int[sortedValues.length];
+        SPARSE = new int[capacity];
+        // values out of the initial domain are placed after the dense array
+        Arrays.fill(SPARSE, sortedValues.length);
+        for (int i = 0; i < sortedValues.length; i++) {
+            DENSE[i] = sortedValues[i] - OFFSET;
+            SPARSE[DENSE[i]] = i;
+        }
+        this.LB = env.makeInt(0);
+        this.UB = env.makeInt(capacity - 1);
+        this.SIZE = env.makeInt(sortedValues.length);
+    }
+
+    /**
+     * Create an enumerated IntVar based on a sparse set
+     *
+     * @param name  name of the variable
+     * @param min   lower bound
+     * @param max   upper bound
+     * @param model declaring model
+     */
+    public SparseSetIntVarImpl(String name, int min, int max, Model model) {
+        this(name, ArrayUtils.array(min, max), model);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Removes {@code value}from the domain of {@code this}. The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is out of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if removing {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if removing {@code value} from the domain can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value value to remove from the domain (int)
+     * @param cause removal releaser
+     * @return true if the value has been removed, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean removeValue(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        boolean change = contains(value);
+        if (change) {
+            model.getSolver().getEventObserver().removeValue(this, value, cause);
+            int size = SIZE.get();
+            if (size == 1) {
+                this.contradiction(cause, MSG_REMOVE);
+            }
+            IntEventType e = IntEventType.REMOVE;
+            int aValue = value - OFFSET;
+            swap(aValue, --size);
+            SIZE.set(size);
+            if (reactOnRemoval) {
+                delta.add(value, cause);
+            }
+            if (aValue == LB.get()) {
+                LB.set(nextIn(aValue + 1));
+                e = IntEventType.INCLOW;
+            } else if (aValue == UB.get()) {
+                UB.set(previousIn(aValue - 1));
+                e = IntEventType.DECUPP;
+            }
+            if (this.isInstantiated()) {
+                e = IntEventType.INSTANTIATE;
+            }
+            this.notifyPropagators(e, cause);
+        }
+        return change;
+    }
+
+    @Override
+    public boolean removeValues(IntIterableSet values, ICause cause) throws ContradictionException {
+        assert cause != null;
+        boolean hasChanged = false, fixpoint;
+        int vlb, vub;
+        do {
+            int nlb = getLB();
+            int nub = getUB();
+            vlb = values.nextValue(nlb - 1);
+            vub = values.previousValue(nub + 1);
+            if (!hasChanged && (vlb > nub || vub < nlb)) {
+                return false;
+            }
+            // look for the new lb
+            while (vlb == nlb && nlb < Integer.MAX_VALUE) {
+                nlb = nextValue(vlb);
+                vlb = values.nextValue(nlb - 1);
+            }
+            if (vlb <= vub) {
+                // look for the new ub
+                while (vub == nub && nub > Integer.MIN_VALUE) {
+                    nub = previousValue(vub);
+                    vub = values.previousValue(nub + 1);
+                }
+            }
+            // the new bounds are now known, delegate to the right method
+            fixpoint = updateBounds(nlb, nub, cause);
+            hasChanged |= fixpoint;
+        } while (fixpoint);
+        // now deal with holes, the bounds are not in 'values'
+        int size = SIZE.get();
+        int count = size;
+        for (int value = vlb; value <= vub; value = values.nextValue(value)) {
+            int aValue = value - OFFSET;
+            if (SPARSE[aValue] < size) {
+                model.getSolver().getEventObserver().removeValue(this, value, cause);
+                swap(aValue, --size);
+                if (reactOnRemoval) {
+                    delta.add(value, cause);
+                }
+            }
+        }
+        if (size < count) {
+            SIZE.set(size);
+            this.notifyPropagators(IntEventType.REMOVE, cause);
+        }
+        return size < count || hasChanged;
+    }
+
+    @Override
+    public boolean removeAllValuesBut(IntIterableSet values, ICause cause) throws ContradictionException {
+        assert cause != null;
+        boolean hasChanged = false, fixpoint;
+        int nlb, nub;
+        do {
+            int clb = getLB();
+            int cub = getUB();
+            nlb = values.nextValue(clb - 1);
+            nub = values.previousValue(cub + 1);
+            // look for the new lb
+            while (nlb != clb && clb < Integer.MAX_VALUE && nlb < Integer.MAX_VALUE) {
+                clb = nextValue(nlb - 1);
+                nlb = values.nextValue(clb - 1);
+            }
+            // look for the new ub
+            if (nlb <= nub) {
+                while (nub != cub && cub > Integer.MIN_VALUE && nub > Integer.MIN_VALUE) {
+                    cub = previousValue(nub + 1);
+                    nub = values.previousValue(cub + 1);
+                }
+            }
+            // the new bounds are now known, delegate to the right method
+            fixpoint = updateBounds(nlb, nub, cause);
+            hasChanged |= fixpoint;
+        } while (fixpoint);
+        // now deal with holes, the bounds are in 'values':
+        // iterate over the current values only, from the last one so that swapped values are already checked
+        int size = SIZE.get();
+        int count = size;
+        for (int i = size - 1; i >= 0; i--) {
+            int value = DENSE[i] + OFFSET;
+            if (!values.contains(value)) {
+                model.getSolver().getEventObserver().removeValue(this, value, cause);
+                swap(DENSE[i], --size);
+                if (reactOnRemoval) {
+                    delta.add(value, cause);
+                }
+            }
+        }
+        if (size < count) {
+            SIZE.set(size);
+            this.notifyPropagators(IntEventType.REMOVE, cause);
+        }
+        return size < count || hasChanged;
+    }
+
+    @Override
+    public boolean removeInterval(int from, int to, ICause cause) throws ContradictionException {
+        assert cause != null;
+        if (from <= getLB())
+            return updateLowerBound(to + 1, cause);
+        else if (getUB() <= to)
+            return updateUpperBound(from - 1, cause);
+        else {
+            int count = remove(from - OFFSET, to - OFFSET, cause, true);
+            if (count > 0) {
+                this.notifyPropagators(IntEventType.REMOVE, cause);
+            }
+            return count > 0;
+        }
+    }
+
+    /**
+     * Instantiates the domain of {@code this} to {@code value}. The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If the domain of {@code this} is already instantiated to {@code value},
+     * nothing is done and the return value is {@code false},</li>
+     * <li>If the domain of {@code this} is already instantiated to another value,
+     * then a {@code ContradictionException} is thrown,</li>
+     * <li>Otherwise, the domain of {@code this} is restricted to {@code value} and the observers are notified
+     * and the return value is {@code true}.</li>
+     * </ul>
+     *
+     * @param value instantiation value (int)
+     * @param cause instantiation releaser
+     * @return true if the instantiation is done, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean instantiateTo(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        if (!contains(value)) {
+            model.getSolver().getEventObserver().instantiateTo(this, value, cause, getLB(), getUB());
+            this.contradiction(cause, MSG_INST);
+        } else if (!isInstantiated()) {
+            model.getSolver().getEventObserver().instantiateTo(this, value, cause, getLB(), getUB());
+            int aValue = value - OFFSET;
+            if (reactOnRemoval) {
+                for (int i = SIZE.get() - 1; i >= 0; i--) {
+                    if (DENSE[i] != aValue) {
+                        delta.add(DENSE[i] + OFFSET, cause);
+                    }
+                }
+            }
+            swap(aValue, 0);
+            this.LB.set(aValue);
+            this.UB.set(aValue);
+            this.SIZE.set(1);
+            this.notifyPropagators(IntEventType.INSTANTIATE, cause);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Updates the lower bound of the domain of {@code this} to {@code value}.
+     * The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is smaller than the lower bound of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if updating the lower bound to {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if updating the lower bound to {@code value} can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value new lower bound (included)
+     * @param cause updating releaser
+     * @return true if the lower bound has been updated, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean updateLowerBound(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int old = this.getLB();
+        if (old < value) {
+            int oub = this.getUB();
+            model.getSolver().getEventObserver().updateLowerBound(this, value, old, cause);
+            if (oub < value) {
+                this.contradiction(cause, MSG_LOW);
+            } else {
+                IntEventType e = IntEventType.INCLOW;
+                int aValue = value - OFFSET;
+                remove(old - OFFSET, aValue - 1, cause, false);
+                LB.set(nextIn(aValue));
+                if (isInstantiated()) {
+                    e = IntEventType.INSTANTIATE;
+                }
+                this.notifyPropagators(e, cause);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Updates the upper bound of the domain of {@code this} to {@code value}.
+     * The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is greater than the upper bound of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if updating the upper bound to {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if updating the upper bound to {@code value} can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value new upper bound (included)
+     * @param cause update releaser
+     * @return true if the upper bound has been updated, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean updateUpperBound(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int oub = this.getUB();
+        if (oub > value) {
+            int olb = this.getLB();
+            model.getSolver().getEventObserver().updateUpperBound(this, value, oub, cause);
+            if (olb > value) {
+                this.contradiction(cause, MSG_UPP);
+            } else {
+                IntEventType e = IntEventType.DECUPP;
+                int aValue = value - OFFSET;
+                remove(aValue + 1, oub - OFFSET, cause, false);
+                UB.set(previousIn(aValue));
+                if (isInstantiated()) {
+                    e = IntEventType.INSTANTIATE;
+                }
+                this.notifyPropagators(e, cause);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean updateBounds(int lb, int ub, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int olb = this.getLB();
+        int oub = this.getUB();
+        boolean update = false;
+        if (olb < lb || oub > ub) {
+            IntEventType e = null;
+            if (oub < lb) {
+                model.getSolver().getEventObserver().updateLowerBound(this, lb, olb, cause);
+                this.contradiction(cause, MSG_LOW);
+            } else if (olb < lb) {
+                model.getSolver().getEventObserver().updateLowerBound(this, lb, olb, cause);
+                e = IntEventType.INCLOW;
+                int aLB = lb - OFFSET;
+                remove(olb - OFFSET, aLB - 1, cause, false);
+                olb = nextIn(aLB); // olb is used as a temporary variable
+                LB.set(olb);
+                olb += OFFSET; // required because we will treat upper bound just after
+            }
+            if (olb > ub) {
+                model.getSolver().getEventObserver().updateUpperBound(this, ub, oub, cause);
+                this.contradiction(cause, MSG_UPP);
+            } else if (oub > ub) {
+                model.getSolver().getEventObserver().updateUpperBound(this, ub, oub, cause);
+                e = e == null ? IntEventType.DECUPP : IntEventType.BOUND;
+                int aUB = ub - OFFSET;
+                remove(aUB + 1, oub - OFFSET, cause, false);
+                UB.set(previousIn(aUB));
+            }
+            if (isInstantiated()) {
+                e = IntEventType.INSTANTIATE;
+            }
+            this.notifyPropagators(e, cause);
+            update = true;
+        }
+        return update;
+    }
+
+    @Override
+    public boolean isInstantiated() {
+        return SIZE.get() == 1;
+    }
+
+    @Override
+    public boolean isInstantiatedTo(int value) {
+        return isInstantiated() && getLB() == value;
+    }
+
+    @Override
+    public boolean contains(int aValue) {
+        aValue -= OFFSET;
+        return 0 <= aValue && aValue < SPARSE.length && SPARSE[aValue] < SIZE.get();
+    }
+
+    @Override
+    public int getValue() throws IllegalStateException {
+        if (!isInstantiated()) {
+            throw new IllegalStateException("getValue() can be only called on instantiated variable. " +
+                    name + " is not instantiated");
+        }
+        return getLB();
+    }
+
+    /**
+     * Retrieves the lower bound of the variable
+     *
+     * @return the lower bound
+     */
+    @Override
+    public int getLB() {
+        return this.LB.get() + OFFSET;
+    }
+
+    /**
+     * Retrieves the upper bound of the variable
+     *
+     * @return the upper bound
+     */
+    @Override
+    public int getUB() {
+        return this.UB.get() + OFFSET;
+    }
+
+    @Override
+    public int getDomainSize() {
+        return SIZE.get();
+    }
+
+    @Override
+    public int getRange() {
+        return getUB() - getLB() + 1;
+    }
+
+    @Override
+    public int nextValue(int aValue) {
+        aValue -= OFFSET;
+        int lb = LB.get();
+        if (aValue < lb) return lb + OFFSET;
+        if (aValue >= UB.get()) return Integer.MAX_VALUE;
+        return nextIn(aValue + 1) + OFFSET;
+    }
+
+    @Override
+    public int nextValueOut(int aValue) {
+        int lb = getLB();
+        int ub = getUB();
+        if (lb - 1 <= aValue && aValue <= ub) {
+            int size = SIZE.get();
+            aValue -= OFFSET - 1;
+            while (aValue < SPARSE.length && SPARSE[aValue] < size) {
+                aValue++;
+            }
+            return aValue + OFFSET;
+        }
+        return aValue + 1;
+    }
+
+    @Override
+    public int previousValue(int aValue) {
+        aValue -= OFFSET;
+        int ub = UB.get();
+        if (aValue > ub) return ub + OFFSET;
+        if (aValue <= LB.get()) return Integer.MIN_VALUE;
+        return previousIn(aValue - 1) + OFFSET;
+    }
+
+    @Override
+    public int previousValueOut(int aValue) {
+        int lb = getLB();
+        int ub = getUB();
+        if (lb <= aValue && aValue <= ub + 1) {
+            int size = SIZE.get();
+            aValue -= OFFSET + 1;
+            while (aValue >= 0 && SPARSE[aValue] < size) {
+                aValue--;
+            }
+            return aValue + OFFSET;
+        }
+        return aValue - 1;
+    }
+
+    /**
+     * Apply <i>consumer</i> on each value of the domain, in no particular order.
+     * This is faster than an ordered iteration when the domain has many holes.
+     *
+     * @param consumer the operation to apply on each value
+     */
+    public void forEachValue(IntConsumer consumer) {
+        for (int i = SIZE.get() - 1; i >= 0; i--) {
+            consumer.accept(DENSE[i] + OFFSET);
+        }
+    }
+
+    @Override
+    public boolean hasEnumeratedDomain() {
+        return true;
+    }
+
+    @Override
+    public IEnumDelta getDelta() {
+        return delta;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder(20);
+        s.append(name).append(" = ");
+        if (SIZE.get() == 1) {
+            s.append(this.getLB());
+        } else {
+            int v = getLB(), w;
+            s.append('{').append(v);
+            w = nextValueOut(v);
+            if (v < w - 1) s.append("..").append(w - 1);
+            v = nextValue(w);
+            while (v < Integer.MAX_VALUE) {
+                s.append(",").append(v);
+                w = nextValueOut(v);
+                if (v < w - 1) s.append("..").append(w - 1);
+                v = nextValue(w);
+            }
+            s.append('}');
+        }
+        return s.toString();
+    }
+
+    ////////////////////////////////////////////////////////////////
+    ///// methode liees au fait qu'une variable est observable /////
+    ////////////////////////////////////////////////////////////////
+
+
+    @Override
+    public void createDelta() {
+        if (!reactOnRemoval) {
+            delta = new EnumDelta(model.getEnvironment());
+            reactOnRemoval = true;
+        }
+    }
+
+    @Override
+    public IIntDeltaMonitor monitorDelta(ICause propagator) {
+        createDelta();
+        return new EnumDeltaMonitor(delta, propagator);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public int getTypeAndKind() {
+        return VAR | INT;
+    }
+
+    @Override
+    protected EvtScheduler<IntEventType> createScheduler() {
+        return new IntEvtScheduler();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public DisposableValueIterator getValueIterator(boolean bottomUp) {
+        if (_viterator == null || _viterator.isNotReusable()) {
+            _viterator = new DisposableValueIterator() {
+
+                /**
+                 * Current value
+                 */
+                int value;
+
+                @Override
+                public void bottomUpInit() {
+                    super.bottomUpInit();
+                    this.value = getLB();
+                }
+
+                @Override
+                public void topDownInit() {
+                    super.topDownInit();
+                    this.value = getUB();
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return this.value != Integer.MAX_VALUE;
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return this.value != Integer.MIN_VALUE;
+                }
+
+                @Override
+                public int next() {
+                    int old = this.value;
+                    this.value = nextValue(old);
+                    return old;
+                }
+
+                @Override
+                public int previous() {
+                    int old = this.value;
+                    this.value = previousValue(old);
+                    return old;
+                }
+            };
+        }
+        if (bottomUp) {
+            _viterator.bottomUpInit();
+        } else {
+            _viterator.topDownInit();
+        }
+        return _viterator;
+    }
+
+    @Override
+    public DisposableRangeIterator getRangeIterator(boolean bottomUp) {
+        if (_riterator == null || _riterator.isNotReusable()) {
+            _riterator = new DisposableRangeIterator() {
+
+                /**
+                 * Lower bound of the current range
+                 */
+                int from;
+                /**
+                 * Upper bound of the current range
+                 */
+                int to;
+
+                @Override
+                public void bottomUpInit() {
+                    super.bottomUpInit();
+                    this.from = getLB();
+                    this.to = nextValueOut(from) - 1;
+                }
+
+                @Override
+                public void topDownInit() {
+                    super.topDownInit();
+                    this.to = getUB();
+                    this.from = previousValueOut(to) + 1;
+                }
+
+                public boolean hasNext() {
+                    return this.from != Integer.MAX_VALUE;
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return this.to != Integer.MIN_VALUE;
+                }
+
+                public void next() {
+                    this.from = nextValue(this.to);
+                    if (from != Integer.MAX_VALUE) {
+                        this.to = nextValueOut(this.from) - 1;
+                    }
+                }
+
+                @Override
+                public void previous() {
+                    this.to = previousValue(this.from);
+                    if (to != Integer.MIN_VALUE) {
+                        this.from = previousValueOut(this.to) + 1;
+                    }
+                }
+
+                @Override
+                public int min() {
+                    return from;
+                }
+
+                @Override
+                public int max() {
+                    return to;
+                }
+            };
+        }
+        if (bottomUp) {
+            _riterator.bottomUpInit();
+        } else {
+            _riterator.topDownInit();
+        }
+        return _riterator;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        if (_javaIterator == null) {
+            _javaIterator = new IntVarValueIterator(this);
+        }
+        _javaIterator.reset();
+        return _javaIterator;
+    }
+
+    @Override
+    public void createLit(IntIterableRangeSet rootDomain) {
+        if (this.literal != null) {
+            throw new IllegalStateException("createLit(Implications) called twice");
+        }
+        this.literal = new SignedLiteral.Set(rootDomain);
+    }
+
+    @Override
+    public SignedLiteral getLit() {
+        if (this.literal == null) {
+            throw new NullPointerException("getLit() called on null, a call to createLit(Implications) is required");
+        }
+        return this.literal;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Swap the value <i>a</i> -- includes offset -- with the value at position <i>i</i> in {@link #DENSE}.
+     */
+    private void swap(int a, int i) {
+        int j = SPARSE[a];
+        int b = DENSE[i];
+        DENSE[j] = b;
+        SPARSE[b] = j;
+        DENSE[i] = a;
+        SPARSE[a] = i;
+    }
+
+    /**
+     * @return the smallest value of the domain greater than or equal to <i>a</i>, which must exist -- includes offset
+     */
+    private int nextIn(int a) {
+        int size = SIZE.get();
+        while (SPARSE[a] >= size) {
+            a++;
+        }
+        return a;
+    }
+
+    /**
+     * @return the greatest value of the domain smaller than or equal to <i>a</i>, which must exist -- includes offset
+     */
+    private int previousIn(int a) {
+        int size = SIZE.get();
+        while (SPARSE[a] >= size) {
+            a--;
+        }
+        return a;
+    }
+
+    /**
+     * Remove the values of the domain in [<i>from</i>, <i>to</i>] -- includes offset --,
+     * which cannot be all the values of the domain, and store them in the delta.
+     * Depending on the number of values in the domain,
+     * either the interval or the current values are iterated over.
+     * The propagators are not notified.
+     *
+     * @param observe set to <i>true</i> to notify the event observer of each removal
+     * @return the number of values removed
+     */
+    private int remove(int from, int to, ICause cause, boolean observe) {
+        int size = SIZE.get();
+        int count = size;
+        if (to - from < size) {
+            for (int a = from; a <= to; a++) {
+                if (SPARSE[a] < size) {
+                    size = removeOne(a, size, cause, observe);
+                }
+            }
+        } else {
+            for (int i = size - 1; i >= 0; i--) {
+                int a = DENSE[i];
+                if (from <= a && a <= to) {
+                    size = removeOne(a, size, cause, observe);
+                }
+            }
+        }
+        SIZE.set(size);
+        return count - size;
+    }
+
+    /**
+     * Remove the value <i>a</i> -- includes offset -- from the <i>size</i> first values of {@link #DENSE}.
+     *
+     * @return the new size
+     */
+    private int removeOne(int a, int size, ICause cause, boolean observe) {
+        if (observe) {
+            model.getSolver().getEventObserver().removeValue(this, a + OFFSET, cause);
+        }
+        if (reactOnRemoval) {
+            delta.add(a + OFFSET, cause);
+        }
+        swap(a, --size);
+        return size;
+    }
+}
@@ -24,22 +24,12 @@ import org.chocosolver.util.procedure.SafeIntProcedure;
  */
 public abstract class ViewDeltaMonitor implements IIntDeltaMonitor {
 
-    private class Filler implements SafeIntProcedure {
-
-        @Override
-        public void execute(int i) {
-            values.add(i);
-        }
-    }
-
     private final IIntDeltaMonitor deltamonitor;
     private final TIntArrayList values;
-    private final Filler filler;
 
     public ViewDeltaMonitor(IIntDeltaMonitor deltamonitor) {
         this.deltamonitor = deltamonitor;
         values = new TIntArrayList(8);
-        filler = new Filler();
     }
 
     @Override
@@ -50,7 +40,7 @@ public abstract class ViewDeltaMonitor implements IIntDeltaMonitor {
     @Override
     public void forEachRemVal(SafeIntProcedure proc) {
         values.resetQuick();
-        deltamonitor.forEachRemVal(filler);
+        deltamonitor.fillRemVals(values);
         for (int i = 0; i < values.size(); i++) {
             proc.execute(transform(values.getQuick(i)));
         }
@@ -59,12 +49,21 @@ public abstract class ViewDeltaMonitor implements IIntDeltaMonitor {
     @Override
     public void forEachRemVal(IntProcedure proc) throws ContradictionException {
         values.resetQuick();
-        deltamonitor.forEachRemVal(filler);
+        deltamonitor.fillRemVals(values);
         for (int i = 0; i < values.size(); i++) {
             proc.execute(transform(values.getQuick(i)));
         }
     }
 
+    @Override
+    public void fillRemVals(TIntArrayList values) {
+        int from = values.size();
+        deltamonitor.fillRemVals(values);
+        for (int i = from; i < values.size(); i++) {
+            values.setQuick(i, transform(values.getQuick(i)));
+        }
+    }
+
     @Override
     public int sizeApproximation() {
         return deltamonitor.sizeApproximation();
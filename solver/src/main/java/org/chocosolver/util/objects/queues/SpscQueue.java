@@ -0,0 +1,116 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.util.objects.queues;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, lock-free, single-producer single-consumer queue.
+ * <p>
+ * Exactly one thread may call {@link #offer(Object)} and exactly one (other) thread may call {@link #poll()}.
+ * When the queue is full, new elements are rejected rather than waiting for free room,
+ * so neither the producer nor the consumer is ever blocked.
+ * <br/>
+ * Like in {@link CircularQueue}, the capacity is set to the closest greater power of 2.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class SpscQueue<E> {
+
+    /**
+     * Slots of the ring buffer
+     */
+    private final E[] elements;
+    /**
+     * Mask to compute a slot index from a position
+     */
+    private final int mask;
+    /**
+     * Position of the next element to read, only written by the consumer
+     */
+    private final AtomicLong head = new AtomicLong();
+    /**
+     * Position of the next element to write, only written by the producer
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Create a queue that holds at least <i>capacity</i> elements.
+     *
+     * @param capacity minimum capacity of the queue, must be positive
+     */
+    @SuppressWarnings("unchecked")
+    public SpscQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity of a queue must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.elements = (E[]) new Object[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Add an element at the end of this queue, if there is room for it.
+     * Must only be called by the producer thread.
+     *
+     * @param e an element, not <i>null</i>
+     * @return <i>true</i> if the element was added, <i>false</i> if the queue is full
+     */
+    public boolean offer(E e) {
+        long t = tail.get();
+        if (t - head.get() >= elements.length) {
+            return false;
+        }
+        elements[(int) t & mask] = e;
+        // publishes the element to the consumer
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Retrieve and remove the first element of this queue.
+     * Must only be called by the consumer thread.
+     *
+     * @return the first element, or <i>null</i> if the queue is empty
+     */
+    public E poll() {
+        long h = head.get();
+        if (h >= tail.get()) {
+            return null;
+        }
+        int i = (int) h & mask;
+        E e = elements[i];
+        elements[i] = null;
+        // releases the slot to the producer
+        head.lazySet(h + 1);
+        return e;
+    }
+
+    /**
+     * @return the number of elements in this queue, may be outdated as soon as it is returned
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * @return the maximum number of elements this queue can hold
+     */
+    public int capacity() {
+        return elements.length;
+    }
+}
@@ -26,7 +26,12 @@ public class DynamicAdditionTest {
     public Object[][] getEnvs(){
         return new EnvironmentTrailing[][]{
                 {new EnvironmentBuilder().fromFlat().build()},
-                {new EnvironmentBuilder().fromChunk().build()}
+                {new EnvironmentBuilder().fromChunk().build()},
+                {new EnvironmentBuilder().fromPages().build()},
+                {new EnvironmentBuilder().setPageSize(8).fromPages().build()},
+                {new EnvironmentBuilder().fromCopy().build()},
+                {new EnvironmentBuilder().fromCopy(.5).build()},
+                {new EnvironmentBuilder().fromOffHeap().build()}
         };
     }
 
@@ -0,0 +1,192 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory;
+
+import org.chocosolver.memory.copying.EnvironmentCopying;
+import org.chocosolver.memory.trailing.EnvironmentTrailing;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class EnvironmentCopyingTest {
+
+    @DataProvider(name = "ratio")
+    public Object[][] ratios() {
+        return new Object[][]{{0.}, {.1}, {.5}, {2.}};
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "ratio")
+    public void testAgainstTrailing(double ratio) {
+        for (int seed = 0; seed < 20; seed++) {
+            Random rnd = new Random(seed);
+            EnvironmentTrailing trailing = new EnvironmentBuilder().build();
+            EnvironmentTrailing copying = new EnvironmentBuilder().fromCopy(ratio).build();
+            Assert.assertTrue(copying instanceof EnvironmentCopying);
+            int n = 10;
+            IStateInt[] ti = new IStateInt[2 * n], ci = new IStateInt[2 * n];
+            IStateLong[] tl = new IStateLong[n], cl = new IStateLong[n];
+            IStateBool[] tb = new IStateBool[n], cb = new IStateBool[n];
+            int ni = n;
+            for (int i = 0; i < n; i++) {
+                ti[i] = trailing.makeInt(i);
+                ci[i] = copying.makeInt(i);
+                tl[i] = trailing.makeLong(i);
+                cl[i] = copying.makeLong(i);
+                tb[i] = trailing.makeBool(false);
+                cb[i] = copying.makeBool(false);
+            }
+            for (int step = 0; step < 2000; step++) {
+                int action = rnd.nextInt(10);
+                if (action < 2) {
+                    trailing.worldPush();
+                    copying.worldPush();
+                } else if (action < 4 && trailing.getWorldIndex() > 0) {
+                    if (rnd.nextInt(4) == 0) {
+                        trailing.worldCommit();
+                        copying.worldCommit();
+                    } else {
+                        trailing.worldPop();
+                        copying.worldPop();
+                    }
+                } else if (action < 5 && ni < ti.length) {
+                    // primitives created during search
+                    ti[ni] = trailing.makeInt(-ni);
+                    ci[ni] = copying.makeInt(-ni);
+                    ni++;
+                } else {
+                    int v = rnd.nextInt(100);
+                    int i = rnd.nextInt(ni);
+                    ti[i].set(v);
+                    ci[i].set(v);
+                    i = rnd.nextInt(n);
+                    tl[i].set(v);
+                    cl[i].set(v);
+                    tb[i].set(v % 2 == 0);
+                    cb[i].set(v % 2 == 0);
+                }
+                Assert.assertEquals(copying.getWorldIndex(), trailing.getWorldIndex());
+                for (int i = 0; i < ni; i++) {
+                    Assert.assertEquals(ci[i].get(), ti[i].get());
+                }
+                for (int i = 0; i < n; i++) {
+                    Assert.assertEquals(cl[i].get(), tl[i].get());
+                    Assert.assertEquals(cb[i].get(), tb[i].get());
+                }
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testHybrid() {
+        EnvironmentCopying env = new EnvironmentCopying(.5);
+        IStateInt[] si = new IStateInt[10];
+        for (int i = 0; i < si.length; i++) {
+            si[i] = env.makeInt(0);
+        }
+        // few modifications per world: trailed
+        for (int w = 0; w < 20; w++) {
+            env.worldPush();
+            si[0].add(1);
+            env.worldPop();
+        }
+        Assert.assertEquals(env.getNbCopiedWorlds(), 0);
+        Assert.assertEquals(env.getNbTrailedWorlds(), 20);
+        // many modifications per world: copied, eventually
+        for (int w = 0; w < 20; w++) {
+            env.worldPush();
+            for (IStateInt s : si) {
+                s.add(1);
+            }
+            env.worldPop();
+        }
+        Assert.assertTrue(env.getNbCopiedWorlds() > 0);
+        for (IStateInt s : si) {
+            Assert.assertEquals(s.get(), 0);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "ratio")
+    public void testCommit(double ratio) {
+        EnvironmentCopying env = new EnvironmentCopying(ratio);
+        IStateInt a = env.makeInt(0);
+        IStateInt b = env.makeInt(0);
+        env.worldPush();
+        a.set(1);
+        env.worldPush();
+        a.set(2);
+        b.set(2);
+        env.worldCommit();
+        Assert.assertEquals(env.getWorldIndex(), 1);
+        Assert.assertEquals(a.get(), 2);
+        Assert.assertEquals(b.get(), 2);
+        env.worldPush();
+        b.set(3);
+        env.worldPop();
+        Assert.assertEquals(b.get(), 2);
+        env.worldPop();
+        Assert.assertEquals(a.get(), 0);
+        Assert.assertEquals(b.get(), 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "ratio")
+    public void testSearch(double ratio) {
+        Solver trailing = queens(new EnvironmentBuilder().build(), 8);
+        Solver copying = queens(new EnvironmentBuilder().fromCopy(ratio).build(), 8);
+        Assert.assertEquals(copying.streamSolutions().count(), trailing.streamSolutions().count());
+        Assert.assertEquals(copying.getNodeCount(), trailing.getNodeCount());
+        Assert.assertEquals(copying.getFailCount(), trailing.getFailCount());
+    }
+
+    @Test(groups = "10s", timeOut = 300000)
+    public void testAllEnvironments() {
+        //noinspection unchecked
+        Supplier<IEnvironment>[] envs = new Supplier[]{
+                () -> new EnvironmentBuilder().build(),
+                () -> new EnvironmentBuilder().fromPages().build(),
+                () -> new EnvironmentBuilder().fromCopy().build(),
+                () -> new EnvironmentBuilder().fromCopy(.1).build(),
+        };
+        long nodes = -1;
+        long fails = -1;
+        for (Supplier<IEnvironment> env : envs) {
+            Solver solver = queens(env.get(), 10);
+            Assert.assertEquals(solver.streamSolutions().count(), 724);
+            if (nodes == -1) {
+                nodes = solver.getNodeCount();
+                fails = solver.getFailCount();
+            }
+            Assert.assertEquals(solver.getNodeCount(), nodes);
+            Assert.assertEquals(solver.getFailCount(), fails);
+        }
+    }
+
+    private static Solver queens(IEnvironment env, int n) {
+        Model model = new Model(env, "queens");
+        IntVar[] q = model.intVarArray("q", n, 1, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                model.arithm(q[i], "!=", q[j], "+", j - i).post();
+                model.arithm(q[i], "!=", q[j], "-", j - i).post();
+            }
+        }
+        model.allDifferent(q, "AC").post();
+        return model.getSolver();
+    }
+}
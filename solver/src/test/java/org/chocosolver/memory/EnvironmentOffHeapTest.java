@@ -0,0 +1,153 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory;
+
+import org.chocosolver.memory.offheap.EnvironmentOffHeap;
+import org.chocosolver.memory.offheap.OffHeapMemory;
+import org.chocosolver.memory.trailing.EnvironmentTrailing;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class EnvironmentOffHeapTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testAgainstTrailing() {
+        for (int seed = 0; seed < 20; seed++) {
+            Random rnd = new Random(seed);
+            EnvironmentTrailing trailing = new EnvironmentBuilder().build();
+            EnvironmentTrailing offheap = new EnvironmentBuilder().fromOffHeap().build();
+            Assert.assertTrue(offheap instanceof EnvironmentOffHeap);
+            int n = 10;
+            IStateInt[] ti = new IStateInt[n], oi = new IStateInt[n];
+            IStateLong[] tl = new IStateLong[n], ol = new IStateLong[n];
+            IStateBool[] tb = new IStateBool[n], ob = new IStateBool[n];
+            IStateLongArray ta = trailing.makeLongArray(n, 0), oa = offheap.makeLongArray(n, 0);
+            for (int i = 0; i < n; i++) {
+                ti[i] = trailing.makeInt(i);
+                oi[i] = offheap.makeInt(i);
+                tl[i] = trailing.makeLong(i);
+                ol[i] = offheap.makeLong(i);
+                tb[i] = trailing.makeBool(false);
+                ob[i] = offheap.makeBool(false);
+            }
+            for (int step = 0; step < 2000; step++) {
+                int action = rnd.nextInt(10);
+                if (action < 2) {
+                    trailing.worldPush();
+                    offheap.worldPush();
+                } else if (action < 4 && trailing.getWorldIndex() > 0) {
+                    trailing.worldPop();
+                    offheap.worldPop();
+                } else if (action < 5 && trailing.getWorldIndex() > 1) {
+                    trailing.worldCommit();
+                    offheap.worldCommit();
+                } else {
+                    int i = rnd.nextInt(n);
+                    int v = rnd.nextInt(100);
+                    ti[i].set(v);
+                    oi[i].set(v);
+                    tl[i].set(v);
+                    ol[i].set(v);
+                    tb[i].set(v % 2 == 0);
+                    ob[i].set(v % 2 == 0);
+                    ta.set(i, v);
+                    oa.set(i, v);
+                }
+                Assert.assertEquals(offheap.getWorldIndex(), trailing.getWorldIndex());
+                for (int i = 0; i < n; i++) {
+                    Assert.assertEquals(oi[i].get(), ti[i].get());
+                    Assert.assertEquals(ol[i].get(), tl[i].get());
+                    Assert.assertEquals(ob[i].get(), tb[i].get());
+                    Assert.assertEquals(oa.get(i), ta.get(i));
+                }
+            }
+            offheap.close();
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testLargeTrail() {
+        EnvironmentOffHeap env = new EnvironmentOffHeap();
+        // more than one page of trail
+        IStateInt[] si = new IStateInt[1 << 18];
+        for (int i = 0; i < si.length; i++) {
+            si[i] = env.makeInt(i);
+        }
+        env.worldPush();
+        for (IStateInt s : si) {
+            s.add(1);
+        }
+        env.worldPop();
+        for (int i = 0; i < si.length; i++) {
+            Assert.assertEquals(si[i].get(), i);
+        }
+        env.close();
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testMapped() throws IOException {
+        Path dir = Files.createTempDirectory("choco");
+        EnvironmentTrailing env = new EnvironmentBuilder().fromOffHeap(dir).build();
+        OffHeapMemory memory = ((EnvironmentOffHeap) env).getMemory();
+        Assert.assertTrue(memory.isMapped());
+        Solver solver = queens(env, 6);
+        Assert.assertEquals(solver.streamSolutions().count(), 4);
+        Assert.assertTrue(memory.allocated() > 0);
+        solver.getModel().close();
+        Assert.assertTrue(memory.isClosed());
+        try (Stream<Path> files = Files.list(dir)) {
+            Assert.assertEquals(files.count(), 0);
+        }
+        Files.delete(dir);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = IllegalStateException.class)
+    public void testClosed() {
+        EnvironmentTrailing env = new EnvironmentBuilder().fromOffHeap().build();
+        env.close();
+        env.makeLongArray(10, 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSearch() {
+        Solver trailing = queens(new EnvironmentBuilder().build(), 8);
+        Solver offheap = queens(new EnvironmentBuilder().fromOffHeap().build(), 8);
+        Assert.assertEquals(offheap.streamSolutions().count(), trailing.streamSolutions().count());
+        Assert.assertEquals(offheap.getNodeCount(), trailing.getNodeCount());
+        Assert.assertEquals(offheap.getFailCount(), trailing.getFailCount());
+        offheap.getModel().close();
+    }
+
+    private static Solver queens(IEnvironment env, int n) {
+        Model model = new Model(env, "queens");
+        IntVar[] q = model.intVarArray("q", n, 1, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                model.arithm(q[i], "!=", q[j], "+", j - i).post();
+                model.arithm(q[i], "!=", q[j], "-", j - i).post();
+            }
+        }
+        model.allDifferent(q, "AC").post();
+        return model.getSolver();
+    }
+}
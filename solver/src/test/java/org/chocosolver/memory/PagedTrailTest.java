@@ -0,0 +1,149 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory;
+
+import org.chocosolver.memory.trailing.EnvironmentTrailing;
+import org.chocosolver.memory.trailing.trail.paged.PagedIntTrail;
+import org.chocosolver.memory.trailing.trail.paged.PagedOperationTrail;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class PagedTrailTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testPageSize() {
+        Assert.assertEquals(new PagedIntTrail(1, 4, 2.).getPageSize(), 1);
+        Assert.assertEquals(new PagedIntTrail(5, 4, 2.).getPageSize(), 8);
+        Assert.assertEquals(new PagedIntTrail(8, 4, 2.).getPageSize(), 8);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = IllegalArgumentException.class)
+    public void testWrongPageSize() {
+        new PagedIntTrail(0, 4, 2.);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testAgainstFlat() {
+        for (int seed = 0; seed < 20; seed++) {
+            Random rnd = new Random(seed);
+            EnvironmentTrailing flat = new EnvironmentBuilder().fromFlat().build();
+            EnvironmentTrailing paged = new EnvironmentBuilder().setPageSize(4).fromPages().build();
+            int n = 10;
+            IStateInt[] fi = new IStateInt[n], pi = new IStateInt[n];
+            IStateLong[] fl = new IStateLong[n], pl = new IStateLong[n];
+            IStateBool[] fb = new IStateBool[n], pb = new IStateBool[n];
+            IStateDouble[] fd = new IStateDouble[n], pd = new IStateDouble[n];
+            for (int i = 0; i < n; i++) {
+                fi[i] = flat.makeInt(i);
+                pi[i] = paged.makeInt(i);
+                fl[i] = flat.makeLong(i);
+                pl[i] = paged.makeLong(i);
+                fb[i] = flat.makeBool(false);
+                pb[i] = paged.makeBool(false);
+                fd[i] = flat.makeFloat(i);
+                pd[i] = paged.makeFloat(i);
+            }
+            for (int step = 0; step < 2000; step++) {
+                int action = rnd.nextInt(10);
+                if (action < 2) {
+                    flat.worldPush();
+                    paged.worldPush();
+                } else if (action < 4 && flat.getWorldIndex() > 0) {
+                    flat.worldPop();
+                    paged.worldPop();
+                } else if (action < 5 && flat.getWorldIndex() > 1) {
+                    flat.worldCommit();
+                    paged.worldCommit();
+                } else {
+                    int i = rnd.nextInt(n);
+                    int v = rnd.nextInt(100);
+                    fi[i].set(v);
+                    pi[i].set(v);
+                    fl[i].set(v);
+                    pl[i].set(v);
+                    fb[i].set(v % 2 == 0);
+                    pb[i].set(v % 2 == 0);
+                    fd[i].set(v);
+                    pd[i].set(v);
+                }
+                Assert.assertEquals(paged.getWorldIndex(), flat.getWorldIndex());
+                for (int i = 0; i < n; i++) {
+                    Assert.assertEquals(pi[i].get(), fi[i].get());
+                    Assert.assertEquals(pl[i].get(), fl[i].get());
+                    Assert.assertEquals(pb[i].get(), fb[i].get());
+                    Assert.assertEquals(pd[i].get(), fd[i].get());
+                }
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testPagesReused() {
+        PagedIntTrail trail = new PagedIntTrail(4, 4, 2.);
+        EnvironmentTrailing env = new EnvironmentBuilder().setTrail(trail).build();
+        IStateInt[] si = new IStateInt[10];
+        for (int i = 0; i < si.length; i++) {
+            si[i] = env.makeInt(0);
+        }
+        int allocated = 0;
+        for (int r = 0; r < 3; r++) {
+            for (int w = 1; w <= 20; w++) {
+                env.worldPush();
+                for (IStateInt s : si) {
+                    s.set(w);
+                }
+            }
+            for (int w = 0; w < 20; w++) {
+                env.worldPop();
+            }
+            for (IStateInt s : si) {
+                Assert.assertEquals(s.get(), 0);
+            }
+            if (r == 0) {
+                allocated = trail.allocated();
+                Assert.assertEquals(allocated, 200);
+            } else {
+                Assert.assertEquals(trail.allocated(), allocated);
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testOperations() {
+        EnvironmentTrailing env = new EnvironmentBuilder()
+                .setTrail(new PagedOperationTrail(2, 4, 2.))
+                .build();
+        List<Integer> undone = new ArrayList<>();
+        env.worldPush(); // 1
+        env.save(() -> undone.add(1));
+        env.save(() -> undone.add(2));
+        env.worldPush(); // 2
+        env.save(() -> undone.add(3));
+        env.worldPush(); // 3
+        env.save(() -> undone.add(4));
+        env.save(() -> undone.add(5));
+        env.saveAt(() -> undone.add(0), 1);
+        env.worldPop();
+        Assert.assertEquals(undone, Arrays.asList(5, 4));
+        env.worldPop();
+        Assert.assertEquals(undone, Arrays.asList(5, 4, 3));
+        env.worldPop();
+        Assert.assertEquals(undone, Arrays.asList(5, 4, 3, 2, 1, 0));
+    }
+}
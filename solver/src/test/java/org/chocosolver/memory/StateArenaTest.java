@@ -0,0 +1,167 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory;
+
+import org.chocosolver.memory.structure.S64BitSet;
+import org.chocosolver.memory.trailing.EnvironmentTrailing;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class StateArenaTest {
+
+    @DataProvider(name = "env")
+    public Object[][] environments() {
+        return new Object[][]{
+                {(Supplier<EnvironmentTrailing>) () -> new EnvironmentBuilder().build()},
+                {(Supplier<EnvironmentTrailing>) () -> new EnvironmentBuilder().fromCopy(.5).build()},
+                {(Supplier<EnvironmentTrailing>) () -> new EnvironmentBuilder().fromOffHeap().build()},
+        };
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testLongArrayAgainstLongs() {
+        for (int seed = 0; seed < 20; seed++) {
+            Random rnd = new Random(seed);
+            EnvironmentTrailing env = new EnvironmentBuilder().build();
+            int n = 10;
+            IStateLong[] ls = new IStateLong[n];
+            for (int i = 0; i < n; i++) {
+                ls[i] = env.makeLong(3);
+            }
+            IStateLongArray la = env.makeLongArray(n, 3);
+            Assert.assertEquals(la.length(), n);
+            for (int step = 0; step < 2000; step++) {
+                int action = rnd.nextInt(10);
+                if (action < 2) {
+                    env.worldPush();
+                } else if (action < 4 && env.getWorldIndex() > 0) {
+                    env.worldPop();
+                } else if (action < 5 && env.getWorldIndex() > 1) {
+                    env.worldCommit();
+                } else {
+                    int i = rnd.nextInt(n);
+                    long v = rnd.nextLong();
+                    ls[i].set(v);
+                    la.set(i, v);
+                }
+                for (int i = 0; i < n; i++) {
+                    Assert.assertEquals(la.get(i), ls[i].get());
+                }
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testArena() {
+        EnvironmentTrailing env = new EnvironmentBuilder().build();
+        IStateLongArray a = env.makeLongArray(4, 0);
+        IStateLongArray b = env.makeLongArray(4, 1);
+        Assert.assertEquals(env.getArena().getNbLongs(), 8);
+        env.worldPush();
+        a.set(3, 7);
+        b.set(0, 8);
+        Assert.assertEquals(a.get(3), 7);
+        Assert.assertEquals(b.get(0), 8);
+        Assert.assertEquals(b.get(3), 1);
+        env.worldPop();
+        Assert.assertEquals(a.get(3), 0);
+        Assert.assertEquals(b.get(0), 1);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "env")
+    public void testLongArrayGrowth(Supplier<EnvironmentTrailing> supplier) {
+        EnvironmentTrailing env = supplier.get();
+        IStateLongArray a = env.makeLongArray(2, 5);
+        env.worldPush();
+        a.set(0, 1);
+        env.worldPush();
+        a.set(1, 2);
+        a.ensureCapacity(6);
+        Assert.assertEquals(a.length(), 6);
+        a.set(5, 3);
+        Assert.assertEquals(a.get(4), 5);
+        env.worldPop();
+        // updates made before growing are redirected to the new words
+        Assert.assertEquals(a.get(0), 1);
+        Assert.assertEquals(a.get(1), 5);
+        env.worldPop();
+        Assert.assertEquals(a.get(0), 5);
+        Assert.assertEquals(a.length(), 6);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "env")
+    public void testIntVectorGrowth(Supplier<EnvironmentTrailing> supplier) {
+        EnvironmentTrailing env = supplier.get();
+        IStateIntVector v = env.makeIntVector(3, -1);
+        env.worldPush();
+        v.set(0, 10);
+        for (int i = 0; i < 20; i++) {
+            v.add(i);
+        }
+        env.worldPush();
+        v.set(1, 11);
+        for (int i = 0; i < 100; i++) {
+            v.add(i);
+        }
+        Assert.assertEquals(v.quickGet(122), 99);
+        env.worldPop();
+        Assert.assertEquals(v.quickGet(0), 10);
+        Assert.assertEquals(v.quickGet(1), -1);
+        Assert.assertEquals(v.quickGet(22), 19);
+        env.worldPop();
+        Assert.assertEquals(v.quickGet(0), -1);
+        Assert.assertEquals(v.quickGet(2), -1);
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> v.set(3, 0));
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "env")
+    public void testBitSet(Supplier<EnvironmentTrailing> supplier) {
+        Random rnd = new Random(0);
+        EnvironmentTrailing env = supplier.get();
+        S64BitSet bs = new S64BitSet(env, 64);
+        BitSet[] refs = new BitSet[64];
+        refs[0] = new BitSet();
+        for (int step = 0; step < 5000; step++) {
+            int action = rnd.nextInt(10);
+            int w = env.getWorldIndex();
+            if (action < 2 && w < refs.length - 1) {
+                env.worldPush();
+                refs[w + 1] = (BitSet) refs[w].clone();
+            } else if (action < 4 && w > 0) {
+                env.worldPop();
+            } else {
+                // may grow the bitset
+                int i = rnd.nextInt(500);
+                if (rnd.nextBoolean()) {
+                    bs.set(i);
+                    refs[w].set(i);
+                } else {
+                    bs.clear(i);
+                    refs[w].clear(i);
+                }
+            }
+            BitSet ref = refs[env.getWorldIndex()];
+            Assert.assertEquals(bs.cardinality(), ref.cardinality());
+            Assert.assertEquals(bs.nextSetBit(0), ref.nextSetBit(0));
+            for (int i = ref.nextSetBit(0); i >= 0; i = ref.nextSetBit(i + 1)) {
+                Assert.assertTrue(bs.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory;
+
+import org.chocosolver.memory.trailing.EnvironmentTrailing;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+/**
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class TrailMetricsTest {
+
+    @DataProvider(name = "env")
+    public Object[][] envs() {
+        return new Object[][]{
+                {new EnvironmentBuilder().fromFlat().build()},
+                {new EnvironmentBuilder().fromChunk().build()},
+                {new EnvironmentBuilder().fromPages().build()},
+                {new EnvironmentBuilder().fromCopy(2.).build()},
+                {new EnvironmentBuilder().fromOffHeap().build()},
+        };
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "env")
+    public void testCounts(EnvironmentTrailing env) {
+        IStateInt[] si = new IStateInt[10];
+        for (int i = 0; i < si.length; i++) {
+            si[i] = env.makeInt(0);
+        }
+        TrailMetrics metrics = env.enableMetrics();
+        Assert.assertSame(env.enableMetrics(), metrics);
+        env.worldPush();
+        for (IStateInt s : si) {
+            s.set(1);
+        }
+        env.worldPush();
+        si[0].set(2);
+        si[1].set(2);
+        si[2].set(2);
+        env.worldPop();
+        env.worldPush();
+        env.worldPop();
+        env.worldPop();
+        long saved = 0, restored = 0;
+        int peak = 0;
+        for (int i = 0; i < metrics.getNbTrails(); i++) {
+            saved += metrics.getSavedCount(i);
+            restored += metrics.getRestoredCount(i);
+            peak = Math.max(peak, metrics.getHighWaterMark(i));
+        }
+        Assert.assertEquals(saved, 13);
+        Assert.assertEquals(restored, 13);
+        Assert.assertEquals(peak, 13);
+        Assert.assertEquals(metrics.getPopCount(), 3);
+        Assert.assertEquals(metrics.getMaxDepth(), 2);
+        long[] histogram = metrics.getRestoredHistogram();
+        Assert.assertEquals(histogram[0], 1); // nothing
+        Assert.assertEquals(histogram[2], 1); // 3 entries
+        Assert.assertEquals(histogram[4], 1); // 10 entries
+        Assert.assertEquals(metrics.size(), 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCommit() {
+        EnvironmentTrailing env = new EnvironmentBuilder().fromFlat().build();
+        TrailMetrics metrics = env.enableMetrics();
+        IStateInt s = env.makeInt(0);
+        env.worldPush();
+        s.set(1);
+        env.worldPush();
+        s.set(2);
+        env.worldCommit();
+        env.worldPop();
+        Assert.assertEquals(s.get(), 0);
+        Assert.assertEquals(metrics.getPopCount(), 1);
+        Assert.assertEquals(metrics.size(), 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSearch() {
+        Model model = new Model();
+        int n = 8;
+        IntVar[] q = model.intVarArray("q", n, 1, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                model.arithm(q[i], "!=", q[j], "+", j - i).post();
+                model.arithm(q[i], "!=", q[j], "-", j - i).post();
+            }
+        }
+        model.allDifferent(q, "AC").post();
+        Solver solver = model.getSolver();
+        TrailMetrics metrics = solver.recordTrailMetrics();
+        Assert.assertEquals(solver.streamSolutions().count(), 92);
+        Assert.assertSame(solver.getTrailMetrics(), metrics);
+        Assert.assertTrue(metrics.getPopCount() > 0);
+        Assert.assertTrue(metrics.getMaxDepth() > 0);
+        Assert.assertFalse(metrics.getTopWriters(5).isEmpty());
+        long previous = Long.MAX_VALUE;
+        for (Map.Entry<Object, Long> e : metrics.getTopWriters(5)) {
+            Assert.assertTrue(e.getKey() instanceof Propagator);
+            Assert.assertTrue(e.getValue() <= previous);
+            previous = e.getValue();
+        }
+        Assert.assertTrue(solver.getMeasures().toMultiLineString().contains("Trail statistics"));
+        Assert.assertTrue(solver.getMeasures().toOneLineString().contains("Worlds popped"));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.util.ProblemMaker;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.chocosolver.solver.ModelTest.knapsack;
+
+/**
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class EmbarrassinglyParallelSearchTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNQueensAllSolutions() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(ProblemMaker.makeNQueenWithBinaryConstraints(8));
+        }
+        List<Solution> solutions = eps.findAllSolutions();
+        Assert.assertEquals(solutions.size(), 92);
+        Assert.assertEquals(eps.getSolutionCount(), 92);
+        Assert.assertTrue(eps.getNbSubproblems() >= 4 * 30);
+        List<EmbarrassinglyParallelSearch.SubproblemStatistics> stats = eps.getSubproblemStatistics();
+        Assert.assertEquals(stats.size(), eps.getNbSubproblems());
+        Assert.assertEquals(stats.stream().mapToLong(EmbarrassinglyParallelSearch.SubproblemStatistics::getSolutionCount).sum(), 92);
+        Assert.assertTrue(stats.stream().allMatch(EmbarrassinglyParallelSearch.SubproblemStatistics::isCompleted));
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNQueensWithSearch() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 3; i++) {
+            Model m = ProblemMaker.makeNQueenWithOneAlldifferent(8);
+            m.getSolver().setSearch(Search.domOverWDegSearch(m.retrieveIntVars(true)));
+            eps.addModel(m);
+        }
+        eps.setSubproblemsPerWorker(5);
+        Assert.assertEquals(eps.findAllSolutions().size(), 92);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFirstSolution() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(ProblemMaker.makeNQueenWithBinaryConstraints(12));
+        }
+        Assert.assertTrue(eps.solve());
+        Model finder = eps.getBestModel();
+        Assert.assertNotNull(finder);
+        Assert.assertTrue(finder.getSolver().getSolutionCount() >= 1);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNoSolution() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 2; i++) {
+            eps.addModel(ProblemMaker.makeNQueenWithBinaryConstraints(3));
+        }
+        Assert.assertFalse(eps.solve());
+        Assert.assertNull(eps.getBestModel());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testOptimization() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(knapsack());
+        }
+        Assert.assertTrue(eps.solve());
+        Model finder = eps.getBestModel();
+        Assert.assertEquals(finder.getSolver().getObjectiveManager().getBestSolutionValue(), 51);
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testGolomb() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(ProblemMaker.makeGolombRuler(8));
+        }
+        Assert.assertTrue(eps.solve());
+        Assert.assertEquals(eps.getBestModel().getSolver().getObjectiveManager().getBestSolutionValue(), 34);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = SolverException.class,
+            expectedExceptionsMessageRegExp = "worker failure")
+    public void testWorkerFailure() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 2; i++) {
+            Model m = ProblemMaker.makeNQueenWithBinaryConstraints(8);
+            m.getSolver().plugMonitor((IMonitorSolution) () -> {
+                throw new SolverException("worker failure");
+            });
+            eps.addModel(m);
+        }
+        eps.findAllSolutions();
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testWorkStealingAllSolutions() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(ProblemMaker.makeNQueenWithBinaryConstraints(8));
+        }
+        eps.setWorkStealing(true);
+        eps.setMaxDecompositionDepth(0);
+        List<Solution> solutions = eps.findAllSolutions();
+        Assert.assertEquals(solutions.size(), 92);
+        Assert.assertEquals(eps.getSolutionCount(), 92);
+        Assert.assertEquals(eps.getNbSubproblems(), 1 + eps.getNbSteals());
+        List<EmbarrassinglyParallelSearch.SubproblemStatistics> stats = eps.getSubproblemStatistics();
+        Assert.assertEquals(stats.size(), eps.getNbSubproblems());
+        Assert.assertTrue(stats.stream().allMatch(EmbarrassinglyParallelSearch.SubproblemStatistics::isCompleted));
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testWorkStealingWithDecomposition() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 3; i++) {
+            Model m = ProblemMaker.makeNQueenWithOneAlldifferent(9);
+            m.getSolver().setSearch(Search.domOverWDegSearch(m.retrieveIntVars(true)));
+            eps.addModel(m);
+        }
+        eps.setWorkStealing(true);
+        eps.setSubproblemsPerWorker(1);
+        Assert.assertEquals(eps.findAllSolutions().size(), 352);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testWorkStealingFirstSolution() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(ProblemMaker.makeNQueenWithBinaryConstraints(12));
+        }
+        eps.setWorkStealing(true);
+        eps.setMaxDecompositionDepth(0);
+        Assert.assertTrue(eps.solve());
+        Assert.assertNotNull(eps.getBestModel());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testWorkStealingOptimization() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(knapsack());
+        }
+        eps.setWorkStealing(true);
+        eps.setMaxDecompositionDepth(0);
+        Assert.assertTrue(eps.solve());
+        Assert.assertEquals(eps.getBestModel().getSolver().getObjectiveManager().getBestSolutionValue(), 51);
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testWorkStealingGolomb() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(ProblemMaker.makeGolombRuler(8));
+        }
+        eps.setWorkStealing(true);
+        eps.setMaxDecompositionDepth(0);
+        Assert.assertTrue(eps.solve());
+        Assert.assertEquals(eps.getBestModel().getSolver().getObjectiveManager().getBestSolutionValue(), 34);
+        Assert.assertTrue(eps.getNbSteals() > 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = SolverException.class,
+            expectedExceptionsMessageRegExp = "worker failure")
+    public void testWorkStealingWorkerFailure() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 4; i++) {
+            // any worker may be the one that finds a solution, the others may never get work
+            Model m = ProblemMaker.makeNQueenWithBinaryConstraints(8);
+            m.getSolver().plugMonitor((IMonitorSolution) () -> {
+                throw new SolverException("worker failure");
+            });
+            eps.addModel(m);
+        }
+        eps.setWorkStealing(true);
+        eps.setMaxDecompositionDepth(0);
+        eps.findAllSolutions();
+    }
+}
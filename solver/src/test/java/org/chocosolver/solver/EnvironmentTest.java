@@ -34,7 +34,10 @@ public class EnvironmentTest {
 	public Object[][] getEnvs(){
 		return new EnvironmentTrailing[][]{
 				{new EnvironmentBuilder().fromFlat().build()},
-				{new EnvironmentBuilder().fromChunk().build()}
+				{new EnvironmentBuilder().fromChunk().build()},
+				{new EnvironmentBuilder().fromPages().build()},
+				{new EnvironmentBuilder().fromCopy().build()},
+				{new EnvironmentBuilder().fromCopy(.1).build()}
 		};
 	}
 
@@ -9,6 +9,9 @@
  */
 package org.chocosolver.solver;
 
+import org.chocosolver.solver.constraints.nary.clauses.ClauseExchange;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.search.restart.MonotonicCutoff;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ProblemMaker;
@@ -63,6 +66,73 @@ public class PortFolioTest {
         Assert.assertEquals(finder.getSolver().getObjectiveManager().getBestSolutionValue(), 44);
     }
 
+    @Test(groups = "10s", timeOut = 60000)
+    public void testExchanges() {
+        ParallelPortfolio pares = new ParallelPortfolio();
+        for (int i = 0; i < 4; i++) {
+            pares.addModel(ProblemMaker.makeGolombRuler(8));
+        }
+        pares.stealNogoodsOnRestarts();
+        int nbSols = 0;
+        while (pares.solve()) {
+            nbSols++;
+        }
+        Model finder = pares.getBestModel();
+        Assert.assertNotNull(finder);
+        Assert.assertEquals(finder.getSolver().getObjectiveManager().getBestSolutionValue(), 34);
+        Assert.assertEquals(pares.getNbExportedBounds(), nbSols);
+        Assert.assertTrue(pares.getNbImportedBounds() > 0);
+        Assert.assertTrue(pares.getNbExportedNogoods() > 0);
+        Assert.assertTrue(pares.getNbImportedNogoods() > 0);
+        Assert.assertTrue(pares.getExchangeTimeInNanoSeconds() > 0);
+        for (Model m : pares.getModels()) {
+            Assert.assertEquals(m.getSolver().getObjectiveManager().getBestSolutionValue(), 34);
+        }
+    }
+
+    private static Model pigeons(int n) {
+        Model model = new Model("php" + n);
+        IntVar[] p = model.intVarArray("p", n + 1, 0, n - 1, false);
+        for (int i = 0; i <= n; i++) {
+            for (int j = i + 1; j <= n; j++) {
+                model.arithm(p[i], "!=", p[j]).post();
+            }
+        }
+        model.getSolver().setLearningSignedClauses();
+        return model;
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testShareClauses() {
+        ParallelPortfolio pares = new ParallelPortfolio();
+        for (int i = 0; i < 4; i++) {
+            pares.addModel(pigeons(7));
+        }
+        pares.shareLearntClauses();
+        Assert.assertFalse(pares.solve());
+        Assert.assertTrue(pares.getNbExportedClauses() > 0);
+        Assert.assertTrue(pares.getNbImportedClauses() > 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = SolverException.class,
+            expectedExceptionsMessageRegExp = "worker failure")
+    public void testWorkerFailure() {
+        ParallelPortfolio pares = new ParallelPortfolio();
+        for (int i = 0; i < 2; i++) {
+            Model model = knapsack();
+            model.getSolver().plugMonitor((IMonitorSolution) () -> {
+                throw new SolverException("worker failure");
+            });
+            pares.addModel(model);
+        }
+        pares.solve();
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = SolverException.class)
+    public void testShareClausesNoLearning() {
+        new ClauseExchange().add(knapsack());
+    }
+
     @Test(groups = "10s", timeOut = 60000)
     public void testParBug() {
         for (int iter = 0; iter < 50; iter++) {
@@ -0,0 +1,128 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.search.SearchState;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ProblemMaker;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.chocosolver.solver.ModelTest.knapsack;
+
+/**
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class SolvingServiceTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testManyModels() throws InterruptedException {
+        List<CompletableFuture<Solution>> futures = new ArrayList<>();
+        try (SolvingService service = new SolvingService(2)) {
+            for (int i = 4; i < 40; i++) {
+                futures.add(service.submit(ProblemMaker.makeNQueenWithOneAlldifferent(i % 8 + 4)));
+            }
+            for (CompletableFuture<Solution> f : futures) {
+                Assert.assertNotNull(f.join());
+            }
+            service.close();
+            Assert.assertTrue(service.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNoSolution() {
+        try (SolvingService service = new SolvingService(1)) {
+            Model model = new Model();
+            IntVar x = model.intVar("x", 0, 3);
+            model.arithm(x, ">", 5).post();
+            Assert.assertNull(service.submit(model).join());
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testOptimization() {
+        try (SolvingService service = new SolvingService()) {
+            Model model = knapsack();
+            Solution sol = service.submit(model).join();
+            Assert.assertNotNull(sol);
+            Assert.assertEquals(sol.getIntVal((IntVar) model.getObjective()), 51);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEachSolution() {
+        try (SolvingService service = new SolvingService(1)) {
+            AtomicLong count = new AtomicLong();
+            Model model = ProblemMaker.makeNQueenWithBinaryConstraints(8);
+            Assert.assertEquals(service.submit(model, s -> count.incrementAndGet()).join().longValue(), 92);
+            Assert.assertEquals(count.get(), 92);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testLimits() {
+        try (SolvingService service = new SolvingService(1)) {
+            Model model = ProblemMaker.makeGolombRuler(11);
+            service.submit(model, new FailCounter(model, 100)).join();
+            Assert.assertEquals(model.getSolver().getSearchState(), SearchState.STOPPED);
+            Assert.assertTrue(model.getSolver().getFailCount() <= 101);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCancel() {
+        try (SolvingService service = new SolvingService(1)) {
+            Model hard = ProblemMaker.makeGolombRuler(14);
+            CompletableFuture<Solution> f1 = service.submit(hard);
+            // the only thread is busy with f1, so f2 can only complete once f1 is cancelled
+            CompletableFuture<Solution> f2 = service.submit(ProblemMaker.makeNQueenWithBinaryConstraints(8));
+            while (hard.getSolver().getSearchState() != SearchState.RUNNING) {
+                Thread.yield();
+            }
+            Assert.assertTrue(f1.cancel(true));
+            Assert.assertNotNull(f2.join());
+            Assert.assertEquals(hard.getSolver().getSearchState(), SearchState.STOPPED);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testPortfolioExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 5; i++) {
+                ParallelPortfolio portfolio = new ParallelPortfolio();
+                portfolio.setExecutor(executor);
+                for (int j = 0; j < 4; j++) {
+                    portfolio.addModel(knapsack());
+                }
+                int best = 0;
+                while (portfolio.solve()) {
+                    best = portfolio.getBestModel().getSolver().getObjectiveManager().getBestSolutionValue().intValue();
+                }
+                Assert.assertEquals(best, 51);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.nary.cumulative.Cumulative;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compares the pruning and the search of the filtering algorithms of the cumulative constraint
+ * on random single-resource instances with release dates and deadlines.
+ * <p>
+ * For each combination of filters, the instance is propagated once, then solved with a node limit.
+ * The pruning is the sum of the domain sizes of the starting times after the initial propagation
+ * (the lower the better).
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class CumulativeFiltersBenchmarkTest {
+
+    private static final Cumulative.Filter[][] FILTERS = {
+            {Cumulative.Filter.TIME},
+            {Cumulative.Filter.SWEEP},
+            {Cumulative.Filter.TIME, Cumulative.Filter.NRJ},
+            {Cumulative.Filter.TIME, Cumulative.Filter.EDGE_FINDING},
+            {Cumulative.Filter.TIME, Cumulative.Filter.TIMETABLE_EDGE_FINDING},
+            {Cumulative.Filter.TIME, Cumulative.Filter.EDGE_FINDING, Cumulative.Filter.TIMETABLE_EDGE_FINDING},
+            {Cumulative.Filter.SWEEP, Cumulative.Filter.TIMETABLE_EDGE_FINDING},
+    };
+
+    @Test(groups = "10s", timeOut = 300000)
+    public void testMedium() {
+        for (long seed = 0; seed < 3; seed++) {
+            benchmark(500, 10, seed, 1000);
+        }
+    }
+
+    @Test(groups = "1m", timeOut = 600000)
+    public void testLarge() {
+        for (long seed = 0; seed < 3; seed++) {
+            benchmark(2000, 10, seed, 100);
+        }
+    }
+
+    /**
+     * Run each combination of filters on the same feasible instance and check that none of them fails,
+     * and that the additional filters never prune less than the filter they complete.
+     *
+     * @param n     number of tasks
+     * @param capa  capacity of the resource
+     * @param seed  seed of the instance
+     * @param nodes node limit of the search
+     */
+    private static void benchmark(int n, int capa, long seed, int nodes) {
+        long[] sizes = new long[FILTERS.length];
+        for (int f = 0; f < FILTERS.length; f++) {
+            Model model = new Model();
+            IntVar[] starts = instance(model, n, capa, seed, FILTERS[f]);
+            Solver solver = model.getSolver();
+            try {
+                solver.propagate();
+            } catch (ContradictionException e) {
+                Assert.fail("the instance is feasible, " + Arrays.toString(FILTERS[f]));
+            }
+            sizes[f] = Arrays.stream(starts).mapToLong(IntVar::getDomainSize).sum();
+            model = new Model();
+            starts = instance(model, n, capa, seed, FILTERS[f]);
+            solver = model.getSolver();
+            solver.setSearch(Search.minDomLBSearch(starts));
+            solver.limitNode(nodes);
+            // the search either finds a solution or reaches the node limit, it never proves infeasibility
+            Assert.assertTrue(solver.solve() || solver.isStopCriterionMet(), Arrays.toString(FILTERS[f]));
+        }
+        // TIME + EF, TIME + TTEF and TIME + EF + TTEF against TIME
+        for (int f = 3; f < 6; f++) {
+            Assert.assertTrue(sizes[f] <= sizes[0], Arrays.toString(FILTERS[f]));
+        }
+    }
+
+    /**
+     * Build a random feasible instance: tasks are first scheduled in a random order at the earliest time
+     * the resource allows, then the domain of each starting time is a window around its date in this schedule.
+     */
+    private static IntVar[] instance(Model model, int n, int capa, long seed, Cumulative.Filter... filters) {
+        Random rnd = new Random(seed);
+        int[] d = new int[n];
+        int[] h = new int[n];
+        int[] date = new int[n];
+        int[] profile = new int[10 * n + 1];
+        for (int i = 0; i < n; i++) {
+            d[i] = 1 + rnd.nextInt(10);
+            h[i] = 1 + rnd.nextInt(capa / 2);
+            int t = 0;
+            boolean fit;
+            do {
+                fit = true;
+                for (int k = t; k < t + d[i] && fit; k++) {
+                    if (profile[k] + h[i] > capa) {
+                        fit = false;
+                        t = k + 1;
+                    }
+                }
+            } while (!fit);
+            date[i] = t;
+            for (int k = t; k < t + d[i]; k++) {
+                profile[k] += h[i];
+            }
+        }
+        IntVar[] starts = new IntVar[n];
+        Task[] tasks = new Task[n];
+        IntVar[] heights = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            int lb = Math.max(0, date[i] - rnd.nextInt(3 * d[i] + 1));
+            int ub = date[i] + rnd.nextInt(3 * d[i] + 1);
+            starts[i] = model.intVar("s" + i, lb, ub, true);
+            tasks[i] = new Task(starts[i], d[i]);
+            heights[i] = model.intVar(h[i]);
+        }
+        model.cumulative(tasks, heights, model.intVar(capa), false, filters).post();
+        return starts;
+    }
+}
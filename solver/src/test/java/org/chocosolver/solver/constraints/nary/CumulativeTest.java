@@ -9,8 +9,11 @@
  */
 package org.chocosolver.solver.constraints.nary;
 
+import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.nary.cumulative.Cumulative;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
@@ -19,6 +22,7 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.Arrays;
+import java.util.Random;
 
 import static org.chocosolver.solver.search.strategy.Search.lastConflict;
 import static org.chocosolver.solver.search.strategy.Search.randomSearch;
@@ -209,4 +213,137 @@ public class CumulativeTest {
             }
         }
 	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testUnwatchedTasks() throws ContradictionException {
+		for (boolean graphBased : new boolean[]{false, true}) {
+			Model m = new Model();
+			IntVar[] s = m.intVarArray("s", 3, 0, 10);
+			Task[] tasks = new Task[3];
+			IntVar[] h = m.intVarArray("h", 3, 0, 2);
+			for (int i = 0; i < 3; i++) {
+				tasks[i] = new Task(s[i], m.intVar(3), m.intVar("e" + i, 0, 13));
+			}
+			Constraint c = new Cumulative(tasks, h, m.intVar(2), graphBased, Cumulative.Filter.TIME);
+			c.post();
+			Solver solver = m.getSolver();
+			solver.propagate();
+			m.getEnvironment().worldPush();
+			h[0].instantiateTo(0, Cause.Null);
+			solver.propagate();
+			for (Propagator<?> p : c.getPropagators()) {
+				// start, duration, end and height of the task
+				for (int k = 0; k < 4; k++) {
+					Assert.assertFalse(p.isWatching(k * 3));
+					Assert.assertTrue(p.isWatching(k * 3 + 1));
+				}
+			}
+			s[0].updateLowerBound(4, Cause.Null);
+			for (Propagator<?> p : c.getPropagators()) {
+				Assert.assertFalse(p.isScheduled());
+			}
+			solver.propagate();
+			m.getEnvironment().worldPop();
+			for (Propagator<?> p : c.getPropagators()) {
+				Assert.assertTrue(p.isWatching(0));
+			}
+			Assert.assertEquals(solver.streamSolutions().count(), countByHand());
+		}
+	}
+
+	private static long countByHand() {
+		// starts in [0, 10], durations of 3, heights in [0, 2] and a capacity of 2
+		long count = 0;
+		int[] st = new int[3];
+		int[] he = new int[3];
+		for (int k = 0; k < 11 * 11 * 11 * 27; k++) {
+			int r = k;
+			for (int i = 0; i < 3; i++) {
+				st[i] = r % 11;
+				r /= 11;
+			}
+			for (int i = 0; i < 3; i++) {
+				he[i] = r % 3;
+				r /= 3;
+			}
+			boolean ok = true;
+			for (int t = 0; t < 13 && ok; t++) {
+				int load = 0;
+				for (int i = 0; i < 3; i++) {
+					if (st[i] <= t && t < st[i] + 3) {
+						load += he[i];
+					}
+				}
+				ok = load <= 2;
+			}
+			if (ok) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testEdgeFindingCount(){
+		Cumulative.Filter[][] filters = new Cumulative.Filter[][]{
+				{Cumulative.Filter.TIME, Cumulative.Filter.EDGE_FINDING},
+				{Cumulative.Filter.TIME, Cumulative.Filter.TIMETABLE_EDGE_FINDING},
+				{Cumulative.Filter.SWEEP, Cumulative.Filter.EDGE_FINDING, Cumulative.Filter.TIMETABLE_EDGE_FINDING}
+		};
+		for (long seed = 0; seed < 10; seed++) {
+			for (boolean g : new boolean[]{true, false}) {
+				long ref = solveAll(seed, g, Cumulative.Filter.TIME);
+				for (Cumulative.Filter[] f : filters) {
+					Assert.assertEquals(solveAll(seed, g, f), ref, "seed " + seed + ", " + Arrays.toString(f));
+				}
+			}
+		}
+	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testEdgeFindingPruning() throws ContradictionException {
+		// three tasks of height 1 have to be processed in [0, 4), on a resource of capacity 2,
+		// so a task of height 2 and duration 2 cannot start before 3
+		int[][] filtered = new int[3][];
+		Cumulative.Filter[] filters = {Cumulative.Filter.TIME, Cumulative.Filter.EDGE_FINDING, Cumulative.Filter.TIMETABLE_EDGE_FINDING};
+		for (int f = 0; f < filters.length; f++) {
+			Model model = new Model();
+			IntVar x = model.intVar("X", 0, 8);
+			Task[] t = new Task[]{
+					new Task(model.intVar("A", 0, 2), 2),
+					new Task(model.intVar("B", 0, 2), 2),
+					new Task(model.intVar("C", 0, 2), 2),
+					new Task(x, 2)};
+			model.cumulative(t, new IntVar[]{model.intVar(1), model.intVar(1), model.intVar(1), model.intVar(2)}, model.intVar(2), false,
+					filters[f]).post();
+			model.getSolver().propagate();
+			filtered[f] = new int[]{x.getLB(), x.getUB()};
+		}
+		Assert.assertEquals(filtered[0], new int[]{0, 8});
+		Assert.assertEquals(filtered[1], new int[]{3, 8});
+		Assert.assertEquals(filtered[2], new int[]{3, 8});
+	}
+
+	private static long solveAll(long seed, boolean graph, Cumulative.Filter... filters) {
+		Random rnd = new Random(seed);
+		int n = 4 + rnd.nextInt(3);
+		int capa = 2 + rnd.nextInt(3);
+		int horizon = 8 + rnd.nextInt(3);
+		Model model = new Model();
+		Task[] t = new Task[n];
+		IntVar[] h = new IntVar[n];
+		for (int i = 0; i < n; i++) {
+			int est = rnd.nextInt(3);
+			int dur = 2 + rnd.nextInt(3);
+			IntVar s = model.intVar("s" + i, est, horizon - dur);
+			IntVar d = rnd.nextInt(4) == 0 ? model.intVar("d" + i, dur - 1, dur) : model.intVar(dur);
+			t[i] = new Task(s, d, model.intVar("e" + i, 0, horizon));
+			h[i] = model.intVar(1 + rnd.nextInt(capa));
+		}
+		model.cumulative(t, h, model.intVar(capa), graph, filters).post();
+		Solver solver = model.getSolver();
+		solver.setSearch(randomSearch(model.retrieveIntVars(false), seed));
+		while (solver.solve()) ;
+		return solver.getSolutionCount();
+	}
 }
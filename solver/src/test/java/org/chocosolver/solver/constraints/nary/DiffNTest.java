@@ -0,0 +1,193 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.tools.ArrayUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static org.chocosolver.solver.search.strategy.Search.randomSearch;
+
+/**
+ * Tests the k-dimensional diffN constraint, based on a sweep.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class DiffNTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCount2D() {
+        for (long seed = 0; seed < 20; seed++) {
+            Assert.assertEquals(solveAll(seed, 2, 0), solveAll(seed, 2, 1), "seed " + seed);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCount3D() {
+        for (long seed = 0; seed < 10; seed++) {
+            Assert.assertEquals(solveAll(seed, 3, 0), solveAll(seed, 3, 2), "seed " + seed);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCount1D() {
+        for (long seed = 0; seed < 20; seed++) {
+            Assert.assertEquals(solveAll(seed, 1, 0), solveAll(seed, 1, 2), "seed " + seed);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSweep() throws ContradictionException {
+        Model model = new Model();
+        // two fixed squares leave room for the third one only at the right of them
+        IntVar[][] origins = {
+                {model.intVar(0), model.intVar(0)},
+                {model.intVar(0), model.intVar(2)},
+                {model.intVar("x", 0, 5), model.intVar("y", 0, 2)}};
+        IntVar[][] lengths = {
+                {model.intVar(2), model.intVar(2)},
+                {model.intVar(2), model.intVar(2)},
+                {model.intVar(2), model.intVar(2)}};
+        model.diffN(origins, lengths).post();
+        model.getSolver().propagate();
+        Assert.assertEquals(origins[2][0].getLB(), 2);
+        Assert.assertEquals(origins[2][1].getUB(), 2);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFail() {
+        Model model = new Model();
+        IntVar[][] origins = model.intVarMatrix("o", 5, 2, 0, 2);
+        IntVar[][] lengths = new IntVar[5][2];
+        for (int i = 0; i < 5; i++) {
+            lengths[i] = new IntVar[]{model.intVar(2), model.intVar(2)};
+        }
+        model.diffN(origins, lengths).post();
+        Assert.assertFalse(model.getSolver().solve());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEntailment() {
+        Model model = new Model();
+        IntVar[][] origins = model.intVarMatrix("o", 3, 2, 0, 2);
+        IntVar[][] lengths = model.intVarMatrix("l", 3, 2, 1, 2);
+        Constraint c = model.diffN(origins, lengths);
+        c.post();
+        while (model.getSolver().solve()) {
+            Assert.assertEquals(c.isSatisfied(), ESat.TRUE);
+        }
+        Assert.assertTrue(model.getSolver().getSolutionCount() > 0);
+    }
+
+    /**
+     * Compare the propagators on a large packing instance: squares of random sizes are placed in a strip.
+     */
+    @Test(groups = "10s", timeOut = 300000)
+    public void testLargePacking() {
+        for (int n : new int[]{200, 500}) {
+            long[] nodes = new long[2];
+            for (int mode = 0; mode < 2; mode++) {
+                Model model = new Model();
+                IntVar[][] origins = packing(model, n, mode);
+                Solver solver = model.getSolver();
+                solver.setSearch(Search.inputOrderLBSearch(ArrayUtils.flatten(origins)));
+                solver.limitTime("60s");
+                Assert.assertTrue(solver.solve());
+                for (Constraint c : model.getCstrs()) {
+                    Assert.assertEquals(c.isSatisfied(), ESat.TRUE);
+                }
+                nodes[mode] = solver.getNodeCount();
+            }
+            Assert.assertTrue(nodes[0] <= nodes[1]);
+        }
+    }
+
+    private static IntVar[][] packing(Model model, int n, int mode) {
+        Random rnd = new Random(n);
+        int width = (int) Math.sqrt(n) * 4;
+        int area = 0;
+        int[] size = new int[n];
+        for (int i = 0; i < n; i++) {
+            size[i] = 1 + rnd.nextInt(4);
+            area += size[i] * size[i];
+        }
+        int height = 2 * area / width;
+        IntVar[][] origins = new IntVar[n][2];
+        IntVar[][] lengths = new IntVar[n][2];
+        for (int i = 0; i < n; i++) {
+            origins[i][0] = model.intVar("x" + i, 0, width - size[i], true);
+            origins[i][1] = model.intVar("y" + i, 0, height - size[i], true);
+            lengths[i][0] = lengths[i][1] = model.intVar(size[i]);
+        }
+        if (mode == 0) {
+            model.diffN(origins, lengths).post();
+        } else {
+            model.diffN(ArrayUtils.getColumn(origins, 0), ArrayUtils.getColumn(origins, 1),
+                    ArrayUtils.getColumn(lengths, 0), ArrayUtils.getColumn(lengths, 1), false).post();
+        }
+        return origins;
+    }
+
+    /**
+     * Count the solutions of a random instance with the sweep-based propagator (mode 0),
+     * with the 2D one (mode 1) or with a decomposition (mode 2).
+     */
+    private static long solveAll(long seed, int k, int mode) {
+        Random rnd = new Random(seed);
+        int n = 2 + rnd.nextInt(k == 1 ? 4 : 5 - k);
+        int span = 4 - k + rnd.nextInt(2);
+        Model model = new Model();
+        IntVar[][] origins = new IntVar[n][k];
+        IntVar[][] lengths = new IntVar[n][k];
+        for (int i = 0; i < n; i++) {
+            for (int d = 0; d < k; d++) {
+                int l = rnd.nextInt(3);
+                origins[i][d] = model.intVar("o" + i + "_" + d, 0, span);
+                lengths[i][d] = rnd.nextInt(3) == 0 ? model.intVar("l" + i + "_" + d, Math.max(0, l - 1), l) : model.intVar(l);
+            }
+        }
+        switch (mode) {
+            case 0:
+                model.diffN(origins, lengths).post();
+                break;
+            case 1:
+                model.diffN(ArrayUtils.getColumn(origins, 0), ArrayUtils.getColumn(origins, 1),
+                        ArrayUtils.getColumn(lengths, 0), ArrayUtils.getColumn(lengths, 1), false).post();
+                break;
+            default:
+                for (int i = 0; i < n; i++) {
+                    for (int j = i + 1; j < n; j++) {
+                        Constraint[] disjoint = new Constraint[2 * k];
+                        for (int d = 0; d < k; d++) {
+                            disjoint[2 * d] = model.arithm(origins[i][d], "+", lengths[i][d], "<=", origins[j][d]);
+                            disjoint[2 * d + 1] = model.arithm(origins[j][d], "+", lengths[j][d], "<=", origins[i][d]);
+                        }
+                        model.or(disjoint).post();
+                    }
+                }
+        }
+        Solver solver = model.getSolver();
+        solver.setSearch(randomSearch(ArrayUtils.append(ArrayUtils.flatten(origins), ArrayUtils.flatten(lengths)), seed));
+        while (solver.solve()) ;
+        return solver.getSolutionCount();
+    }
+}
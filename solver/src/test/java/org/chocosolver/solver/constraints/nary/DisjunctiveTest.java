@@ -0,0 +1,228 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.nary.cumulative.Cumulative;
+import org.chocosolver.solver.constraints.nary.cumulative.PropDisjunctive;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.tools.ArrayUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.chocosolver.solver.search.strategy.Search.randomSearch;
+
+/**
+ * Tests the disjunctive constraint.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class DisjunctiveTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCount() {
+        for (long seed = 0; seed < 30; seed++) {
+            Assert.assertEquals(solveAll(seed, false, true), solveAll(seed, false, false), "seed " + seed);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCountOptional() {
+        for (long seed = 0; seed < 30; seed++) {
+            Assert.assertEquals(solveAll(seed, true, true), solveAll(seed, true, false), "seed " + seed);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDetectablePrecedence() throws ContradictionException {
+        Model model = new Model();
+        // A and B have to start before 5, the earliest completion time of C, so C is processed after both
+        IntVar a = model.intVar("A", 0, 1);
+        IntVar b = model.intVar("B", 2, 3);
+        IntVar c = model.intVar("C", 1, 20);
+        model.disjunctive(new Task[]{new Task(a, 3), new Task(b, 2), new Task(c, 4)}).post();
+        model.getSolver().propagate();
+        Assert.assertEquals(c.getLB(), 5);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEdgeFinding() throws ContradictionException {
+        Model model = new Model();
+        // A, B and C have to be processed in [0, 7), D cannot be processed before them
+        IntVar[] s = {
+                model.intVar("A", 0, 5),
+                model.intVar("B", 0, 5),
+                model.intVar("C", 0, 5),
+                model.intVar("D", 0, 20)};
+        model.disjunctive(new Task[]{new Task(s[0], 2), new Task(s[1], 2), new Task(s[2], 2), new Task(s[3], 3)}).post();
+        model.getSolver().propagate();
+        Assert.assertEquals(s[3].getLB(), 6);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testOptional() throws ContradictionException {
+        Model model = new Model();
+        // A and B fill [0, 6), so C cannot be performed
+        IntVar a = model.intVar("A", 0, 2);
+        IntVar b = model.intVar("B", 0, 3);
+        IntVar c = model.intVar("C", 0, 3);
+        BoolVar[] performed = {model.boolVar(true), model.boolVar(true), model.boolVar("pC")};
+        model.disjunctive(new Task[]{new Task(a, 3), new Task(b, 3), new Task(c, 3)}, performed).post();
+        model.getSolver().propagate();
+        Assert.assertTrue(performed[2].isInstantiatedTo(0));
+        Assert.assertEquals(c.getLB(), 0);
+        Assert.assertEquals(c.getUB(), 3);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testMandatory() {
+        Model model = new Model();
+        IntVar[] s = model.intVarArray("s", 3, 0, 10);
+        Constraint c = model.disjunctive(new Task[]{new Task(s[0], 2), new Task(s[1], 2), new Task(s[2], 3)});
+        Propagator<?> p = c.getPropagator(0);
+        // one distinct performed variable per task, fixed to true
+        Set<Variable> performed = new HashSet<>();
+        for (int i = 9; i < 12; i++) {
+            Assert.assertTrue(((IntVar) p.getVar(i)).isInstantiatedTo(1));
+            performed.add(p.getVar(i));
+        }
+        Assert.assertEquals(performed.size(), 3);
+        Assert.assertNotSame(p.getVar(9), model.boolVar(true));
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEmpty() {
+        Model model = new Model();
+        model.disjunctive(new Task[0]).post();
+        Assert.assertTrue(model.getSolver().solve());
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = SolverException.class)
+    public void testDifferentSizes() {
+        Model model = new Model();
+        IntVar[] s = model.intVarArray("s", 2, 0, 10);
+        new PropDisjunctive(s, new IntVar[]{model.intVar(2)}, s, model.boolVarArray(2));
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testOverload() {
+        Model model = new Model();
+        IntVar[] s = model.intVarArray("s", 3, 0, 3);
+        model.disjunctive(new Task[]{new Task(s[0], 2), new Task(s[1], 2), new Task(s[2], 3)}).post();
+        Assert.assertFalse(model.getSolver().solve());
+        Assert.assertEquals(model.getSolver().getNodeCount(), 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEntailment() {
+        Model model = new Model();
+        IntVar[] s = model.intVarArray("s", 3, 0, 10);
+        Task[] t = {new Task(s[0], 2), new Task(s[1], 2), new Task(s[2], 3)};
+        model.disjunctive(t).post();
+        while (model.getSolver().solve()) {
+            Assert.assertEquals(model.getCstrs()[0].isSatisfied(), ESat.TRUE);
+        }
+    }
+
+    /**
+     * Fisher and Thompson 6x6 job-shop instance, whose optimal makespan is 55
+     */
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFT06() {
+        int[][] machines = {
+                {2, 0, 1, 3, 5, 4},
+                {1, 2, 4, 5, 0, 3},
+                {2, 3, 5, 0, 1, 4},
+                {1, 0, 2, 3, 4, 5},
+                {2, 1, 4, 5, 0, 3},
+                {1, 3, 5, 0, 4, 2}};
+        int[][] durations = {
+                {1, 3, 6, 7, 3, 6},
+                {8, 5, 10, 10, 10, 4},
+                {5, 4, 8, 9, 1, 7},
+                {5, 5, 5, 3, 8, 9},
+                {9, 3, 5, 4, 3, 1},
+                {3, 3, 9, 10, 4, 1}};
+        Model model = new Model();
+        IntVar makespan = model.intVar("makespan", 0, 200);
+        Task[][] onMachine = new Task[6][6];
+        IntVar[][] starts = new IntVar[6][6];
+        for (int j = 0; j < 6; j++) {
+            for (int o = 0; o < 6; o++) {
+                starts[j][o] = model.intVar("s_" + j + "_" + o, 0, 200);
+                Task t = new Task(starts[j][o], durations[j][o]);
+                onMachine[machines[j][o]][j] = t;
+                if (o > 0) {
+                    model.arithm(starts[j][o - 1], "+", model.intVar(durations[j][o - 1]), "<=", starts[j][o]).post();
+                }
+            }
+            model.arithm(starts[j][5], "+", model.intVar(durations[j][5]), "<=", makespan).post();
+        }
+        for (int r = 0; r < 6; r++) {
+            model.disjunctive(onMachine[r]).post();
+        }
+        model.setObjective(Model.MINIMIZE, makespan);
+        Solver solver = model.getSolver();
+        solver.setSearch(Search.minDomLBSearch(ArrayUtils.append(ArrayUtils.flatten(starts), new IntVar[]{makespan})));
+        int best = Integer.MAX_VALUE;
+        while (solver.solve()) {
+            best = makespan.getValue();
+        }
+        Assert.assertEquals(best, 55);
+        Assert.assertFalse(solver.isStopCriterionMet());
+    }
+
+    /**
+     * Count the solutions of a random instance with either the disjunctive constraint or a cumulative one
+     * of capacity 1.
+     */
+    private static long solveAll(long seed, boolean optional, boolean disjunctive) {
+        Random rnd = new Random(seed);
+        int n = 3 + rnd.nextInt(3);
+        int horizon = 8 + rnd.nextInt(4);
+        Model model = new Model();
+        Task[] t = new Task[n];
+        BoolVar[] b = new BoolVar[n];
+        for (int i = 0; i < n; i++) {
+            int dur = 1 + rnd.nextInt(3);
+            int est = rnd.nextInt(3);
+            IntVar s = model.intVar("s" + i, est, est + rnd.nextInt(horizon - dur - est + 1));
+            IntVar d = rnd.nextInt(4) == 0 ? model.intVar("d" + i, dur - 1, dur) : model.intVar(dur);
+            t[i] = new Task(s, d, model.intVar("e" + i, 0, horizon));
+            b[i] = optional && rnd.nextBoolean() ? model.boolVar("b" + i) : model.boolVar(true);
+        }
+        if (disjunctive) {
+            model.disjunctive(t, b).post();
+        } else {
+            model.cumulative(t, b, model.intVar(1), false, Cumulative.Filter.TIME).post();
+        }
+        Solver solver = model.getSolver();
+        solver.setSearch(randomSearch(model.retrieveIntVars(false), seed));
+        while (solver.solve()) ;
+        return solver.getSolutionCount();
+    }
+}
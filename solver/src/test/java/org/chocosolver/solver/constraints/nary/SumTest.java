@@ -14,6 +14,7 @@ import org.chocosolver.solver.Settings;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.tools.ArrayUtils;
@@ -21,6 +22,8 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.Random;
+
 import static java.util.Arrays.stream;
 import static org.testng.Assert.*;
 
@@ -688,4 +691,57 @@ public class SumTest {
             Assert.assertNotNull(cp.getSolver().findSolution());
         }
     }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSparseEventMasks() {
+        for (int seed = 0; seed < 10; seed++) {
+            long[] counts = new long[2];
+            for (int k = 0; k < 2; k++) {
+                Random rnd = new Random(seed);
+                Model m = new Model(Settings.init().setMinArityForSparseEventMasks(k == 0 ? Integer.MAX_VALUE : 1));
+                BoolVar[] bs = m.boolVarArray("b", 14);
+                for (int c = 0; c < 3; c++) {
+                    BoolVar[] sc = new BoolVar[12];
+                    for (int i = 0; i < sc.length; i++) {
+                        sc[i] = bs[rnd.nextInt(bs.length)];
+                    }
+                    m.sum(sc, rnd.nextBoolean() ? "<=" : ">=", 3 + rnd.nextInt(6)).post();
+                }
+                m.getSolver().setSearch(Search.randomSearch(bs, seed));
+                counts[k] = m.getSolver().streamSolutions().count();
+            }
+            assertEquals(counts[1], counts[0]);
+        }
+    }
+
+    @Test(groups = "10s", timeOut = 300000)
+    public void testSparseEventMasksHighArity() {
+        int n = 200_000;
+        long[] nodes = new long[2];
+        long[] mems = new long[2];
+        for (int k = 0; k < 2; k++) {
+            Model m = new Model(Settings.init()
+                    .setMinArityForSparseEventMasks(k == 0 ? Integer.MAX_VALUE : 1 << 12)
+                    .setMinCardinalityForSumDecomposition(Integer.MAX_VALUE));
+            BoolVar[] bs = m.boolVarArray("b", n);
+            mems[k] = -usedMemory();
+            for (int i = 0; i < 10; i++) {
+                m.sum(bs, i % 2 == 0 ? "<=" : ">=", n / 2 + (i % 2 == 0 ? i : -i)).post();
+            }
+            mems[k] += usedMemory();
+            m.getSolver().setSearch(Search.inputOrderUBSearch(bs));
+            Assert.assertTrue(m.getSolver().solve());
+            nodes[k] = m.getSolver().getNodeCount();
+        }
+        assertEquals(nodes[1], nodes[0]);
+        // sparse masks do not allocate a mask and a queue slot per variable
+        Assert.assertTrue(mems[1] < mems[0], mems[1] + " vs. " + mems[0]);
+    }
+
+    private static long usedMemory() {
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+    }
 }
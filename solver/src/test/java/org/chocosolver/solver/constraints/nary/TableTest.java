@@ -20,6 +20,7 @@ import org.chocosolver.solver.constraints.extension.Tuples;
 import org.chocosolver.solver.constraints.extension.TuplesFactory;
 import org.chocosolver.solver.constraints.extension.hybrid.HybridTuples;
 import org.chocosolver.solver.constraints.extension.hybrid.ISupportable;
+import org.chocosolver.solver.constraints.extension.nary.PropCompactTable;
 import org.chocosolver.solver.constraints.extension.nary.TuplesLargeTable;
 import org.chocosolver.solver.constraints.extension.nary.TuplesTable;
 import org.chocosolver.solver.constraints.extension.nary.TuplesVeryLargeTable;
@@ -34,10 +35,12 @@ import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Function;
 
 import static java.lang.System.out;
 import static org.chocosolver.solver.constraints.extension.TuplesFactory.generateTuples;
@@ -964,4 +967,164 @@ public class TableTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test(groups = "1s")
+    public void testGetShared() {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 2, 0, 3);
+        IntVar[] ys = model.intVarArray("y", 2, 0, 3, true);
+        IntVar[] zs = model.intVarArray("z", 2, 0, 2);
+        IntVar[] ws = new IntVar[]{model.intVar("w1", new int[]{0, 2}), model.intVar("w2", new int[]{0, 2})};
+        Tuples tuples = new Tuples(new int[][]{{0, 1}, {1, 2}}, true);
+        int[] calls = {0};
+        Function<Tuples, Object> builder = t -> {
+            calls[0]++;
+            return new Object();
+        };
+        Object data = tuples.getShared(Tuples.key(Object.class, xs), builder);
+        // same domains, same data
+        Assert.assertSame(tuples.getShared(Tuples.key(Object.class, xs), builder), data);
+        Assert.assertSame(tuples.getShared(Tuples.key(Object.class, ys), builder), data);
+        // other domains or other type, other data
+        Assert.assertNotSame(tuples.getShared(Tuples.key(Object.class, zs), builder), data);
+        Assert.assertNotSame(tuples.getShared(Tuples.key(Object.class, ws), builder), data);
+        Assert.assertNotSame(tuples.getShared(Tuples.key(String.class, xs), builder), data);
+        Assert.assertEquals(calls[0], 4);
+        // any modification of the tuples drops the data
+        tuples.add(2, 3);
+        Object next = tuples.getShared(Tuples.key(Object.class, xs), builder);
+        Assert.assertNotSame(next, data);
+        tuples.sort();
+        data = tuples.getShared(Tuples.key(Object.class, xs), builder);
+        Assert.assertNotSame(data, next);
+        tuples.setUniversalValue(-1);
+        Assert.assertNotSame(tuples.getShared(Tuples.key(Object.class, xs), builder), data);
+        Assert.assertEquals(calls[0], 7);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "algos")
+    public void testSharedTuples(String a) {
+        Tuples shared = sharedTuples();
+        for (int[] bounds : new int[][]{{0, 4}, {1, 3}, {0, 4}, {2, 4}}) {
+            Assert.assertEquals(countSharedTuples(shared, bounds[0], bounds[1], a),
+                    countSharedTuples(sharedTuples(), bounds[0], bounds[1], a));
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "balgos")
+    public void testSharedCouples(String a) {
+        Tuples shared = sharedCouples();
+        for (int[] bounds : new int[][]{{0, 4}, {1, 3}, {0, 4}, {2, 4}}) {
+            Assert.assertEquals(countSharedCouples(shared, bounds[0], bounds[1], a),
+                    countSharedCouples(sharedCouples(), bounds[0], bounds[1], a));
+        }
+    }
+
+    private static Tuples sharedTuples() {
+        Tuples tuples = new Tuples(true);
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                for (int k = 0; k < 5; k++) {
+                    if (i + j != k) {
+                        tuples.add(i, j, k);
+                    }
+                }
+            }
+        }
+        return tuples;
+    }
+
+    private static Tuples sharedCouples() {
+        Tuples tuples = new Tuples(true);
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                if (i != j + 1) {
+                    tuples.add(i, j);
+                }
+            }
+        }
+        return tuples;
+    }
+
+    private static long countSharedTuples(Tuples tuples, int lb, int ub, String a) {
+        Model model = new Model();
+        IntVar x = model.intVar("x", lb, ub);
+        IntVar y = model.intVar("y", 0, 4);
+        IntVar z = model.intVar("z", 0, 4);
+        model.table(new IntVar[]{x, y, z}, tuples, a).post();
+        model.table(new IntVar[]{z, y, x}, tuples, a).post();
+        model.table(new IntVar[]{y, z, x}, tuples, a).post();
+        return model.getSolver().findAllSolutions().size();
+    }
+
+    private static long countSharedCouples(Tuples tuples, int lb, int ub, String a) {
+        Model model = new Model();
+        IntVar x = model.intVar("x", lb, ub);
+        IntVar y = model.intVar("y", 0, 4);
+        IntVar z = model.intVar("z", 0, 4);
+        model.table(x, y, tuples, a).post();
+        model.table(y, z, tuples, a).post();
+        model.table(z, x, tuples, a).post();
+        return model.getSolver().findAllSolutions().size();
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCTSparseSupports() throws NoSuchFieldException, IllegalAccessException {
+        Field indices = PropCompactTable.class.getDeclaredField("indices");
+        indices.setAccessible(true);
+        // wide domains: most words of the supports are null, they are stored sparsely
+        for (long seed = 0; seed < 6; seed++) {
+            Random rnd = new Random(seed);
+            Tuples tuples = new Tuples();
+            for (int t = 0; t < 300; t++) {
+                tuples.add(rnd.nextInt(300), rnd.nextInt(10), rnd.nextInt(300));
+            }
+            long[] counts = new long[2];
+            long[] nodes = new long[2];
+            for (int a = 0; a < 2; a++) {
+                Model model = new Model();
+                IntVar[] vars = {
+                        model.intVar("x", 0, 300, seed % 2 == 0),
+                        model.intVar("y", -5, 5, false),
+                        model.intVar("z", 50, 600, false)};
+                Constraint table = model.table(vars, tuples, a == 0 ? "CT+" : "GAC3rm");
+                if (a == 0) {
+                    int[][][] idx = (int[][][]) indices.get(table.getPropagator(0));
+                    Assert.assertNotNull(idx[0]);
+                    Assert.assertNull(idx[1]);
+                }
+                table.post();
+                model.arithm(vars[0], "<", vars[2]).post();
+                model.getSolver().setSearch(randomSearch(vars, seed));
+                while (model.getSolver().solve()) ;
+                counts[a] = model.getSolver().getSolutionCount();
+                nodes[a] = model.getSolver().getNodeCount();
+            }
+            assertEquals(counts[0], counts[1], "seed " + seed);
+            assertEquals(nodes[0], nodes[1], "seed " + seed);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCTSharedSupports() throws NoSuchFieldException, IllegalAccessException {
+        Tuples tuples = new Tuples();
+        tuples.add(0, 1, 2);
+        tuples.add(1, 2, 3);
+        tuples.add(2, 3, 0);
+        tuples.add(3, 0, 1);
+        Model model = new Model();
+        IntVar[] x = model.intVarArray("x", 3, 0, 3);
+        IntVar[] y = model.intVarArray("y", 3, 1, 5);
+        Constraint c1 = model.table(x, tuples, "CT+");
+        Constraint c2 = model.table(y, tuples, "CT+");
+        model.post(c1, c2);
+        Field supports = PropCompactTable.class.getDeclaredField("supports");
+        supports.setAccessible(true);
+        Assert.assertSame(supports.get(c2.getPropagator(0)), supports.get(c1.getPropagator(0)));
+        while (model.getSolver().solve()) ;
+        assertEquals(model.getSolver().getSolutionCount(), 4);
+        // adding a tuple drops the shared supports
+        tuples.add(3, 3, 3);
+        Constraint c3 = model.table(model.intVarArray("z", 3, 0, 3), tuples, "CT+");
+        Assert.assertNotSame(supports.get(c3.getPropagator(0)), supports.get(c1.getPropagator(0)));
+    }
+}
@@ -1074,4 +1074,129 @@ public class IntLinCombTest {
         model.getSolver().findAllSolutions();
         Assert.assertEquals(model.getSolver().getSolutionCount(), 772);
     }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testIncrementalSums() {
+        String[] ops = {"=", "<=", ">=", "<", ">", "!="};
+        for (int seed = 0; seed < 60; seed++) {
+            long[] counts = new long[2];
+            boolean[] incr = new boolean[2];
+            for (int k = 0; k < 2; k++) {
+                Random rnd = new Random(seed);
+                Model model = new Model(Settings.init().setMinCardinalityForIncrementalSum(k == 0 ? 1 : Integer.MAX_VALUE));
+                int n = 3 + rnd.nextInt(3);
+                IntVar[] xs = new IntVar[n];
+                int[] cs = new int[n];
+                for (int i = 0; i < n; i++) {
+                    int lb = rnd.nextInt(7) - 3;
+                    xs[i] = model.intVar("x" + i, lb, lb + rnd.nextInt(5));
+                    // unit coefficients on even seeds, to get sums
+                    cs[i] = seed % 2 == 0 ? (rnd.nextBoolean() ? 1 : -1) : rnd.nextInt(9) - 4;
+                }
+                // large coefficients on some seeds, to get sums with longs
+                if (seed % 3 == 0) {
+                    cs[0] *= 1_000_000_000;
+                    xs[0] = model.intVar("x0", -3, 3);
+                }
+                String op = ops[rnd.nextInt(ops.length)];
+                int b = rnd.nextInt(11) - 5;
+                Constraint c = model.scalar(xs, cs, op, b);
+                if (seed % 4 == 1) {
+                    // reified, to check the opposite too
+                    c.reify();
+                } else {
+                    c.post();
+                }
+                incr[k] = Arrays.stream(c.getPropagators())
+                        .anyMatch(p -> p instanceof PropSumIncr || p instanceof PropSumWithLongIncr);
+                counts[k] = model.getSolver().streamSolutions().count();
+            }
+            Assert.assertFalse(incr[1]);
+            Assert.assertEquals(counts[0], counts[1], "seed " + seed);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testIncrementalSumsSelection() {
+        Model model = new Model(Settings.init().setMinCardinalityForIncrementalSum(4));
+        IntVar[] xs = model.intVarArray("x", 4, 0, 5);
+        Assert.assertTrue(model.sum(xs, "<=", 10).getPropagator(0) instanceof PropSumIncr);
+        Assert.assertTrue(model.scalar(xs, new int[]{1, 2, -3, 4}, ">=", 1).getPropagator(0) instanceof PropScalarIncr);
+        Assert.assertTrue(model.scalar(xs, new int[]{1, 2, -3, Integer.MAX_VALUE}, "=", 1).getPropagator(0)
+                instanceof PropScalarWithLongIncr);
+        // not incremental
+        Assert.assertFalse(model.sum(xs, "!=", 10).getPropagator(0) instanceof PropSumIncr);
+        Assert.assertFalse(model.sum(Arrays.copyOf(xs, 3), "<=", 10).getPropagator(0) instanceof PropSumIncr);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testIncrementalSumsByDefault() {
+        Model model = new Model();
+        int n = model.getSettings().getMinCardForIncrementalSum() + 1;
+        Assert.assertTrue(n > model.getSettings().getMinCardForSumDecomposition());
+        IntVar[] xs = model.intVarArray("x", n, 0, 5);
+        int[] coeffs = new int[n];
+        for (int i = 0; i < n; i++) {
+            coeffs[i] = 1 + i % 3;
+        }
+        Assert.assertTrue(model.sum(xs, "<=", 10).getPropagator(0) instanceof PropSumIncr);
+        Assert.assertTrue(model.scalar(xs, coeffs, "=", 20).getPropagator(0) instanceof PropScalarIncr);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testIncrementalSumsNormalizedArity() {
+        // the arity of the normalized sum decides both decomposition and incrementality
+        Model model = new Model();
+        int n = model.getSettings().getMinCardForIncrementalSum();
+        IntVar[] xs = model.intVarArray("x", n - 1, 0, 5);
+        IntVar z = model.intVar("z", 0, 5 * n);
+        Constraint sum = model.sum(xs, "=", z);
+        Assert.assertTrue(sum.getPropagator(0) instanceof PropSumIncr);
+        Assert.assertEquals(sum.getPropagator(0).getNbVars(), n);
+        // constants and duplicates are removed before deciding
+        IntVar[] ys = ArrayUtils.append(xs, xs, new IntVar[]{model.intVar(1), model.intVar(2)});
+        int nbCstrs = model.getNbCstrs();
+        sum = model.sum(ys, "<=", 20);
+        Assert.assertFalse(sum.getPropagator(0) instanceof PropScalarIncr);
+        Assert.assertTrue(model.getNbCstrs() > nbCstrs);
+    }
+
+    @Test(groups = "10s", timeOut = 300000)
+    public void testIncrementalSumsHighArity() throws ContradictionException {
+        // a linear objective over 50,000 variables, not decomposed, and one event per propagation
+        int n = 50_000;
+        long[] checksums = new long[2];
+        for (int k = 0; k < 2; k++) {
+            Random rnd = new Random(0);
+            Model model = new Model(Settings.init()
+                    .setMinCardinalityForSumDecomposition(Integer.MAX_VALUE)
+                    .setMinCardinalityForIncrementalSum(k == 0 ? Integer.MAX_VALUE : 1024));
+            IntVar[] xs = model.intVarArray("x", n, 0, 10);
+            int[] cs = new int[n];
+            for (int i = 0; i < n; i++) {
+                cs[i] = 1 + rnd.nextInt(20);
+            }
+            IntVar obj = model.intVar("obj", 0, 1_000);
+            Constraint scalar = model.scalar(xs, cs, "=", obj);
+            Assert.assertEquals(scalar.getPropagator(0) instanceof PropScalarIncr, k == 1);
+            scalar.post();
+            Solver solver = model.getSolver();
+            solver.propagate();
+            for (int e = 0; e < 5_000; e++) {
+                model.getEnvironment().worldPush();
+                int i = rnd.nextInt(n);
+                try {
+                    xs[i].instantiateTo(xs[i].getUB() / 2, Cause.Null);
+                    obj.updateUpperBound(obj.getUB() - 500 - rnd.nextInt(100), Cause.Null);
+                    solver.propagate();
+                    checksums[k] += obj.getLB() + 31L * obj.getUB() + xs[(i + 1) % n].getUB();
+                } catch (ContradictionException ex) {
+                    solver.getEngine().flush();
+                    checksums[k]--;
+                }
+                model.getEnvironment().worldPop();
+            }
+        }
+        Assert.assertEquals(checksums[0], checksums[1]);
+    }
 }
@@ -9,6 +9,7 @@
  */
 package org.chocosolver.solver.propagation;
 
+import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Constraint;
@@ -22,6 +23,7 @@ import org.chocosolver.solver.variables.delta.EnumDelta;
 import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.procedure.IntProcedure;
+import org.chocosolver.util.procedure.SafeIntProcedure;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -123,6 +125,38 @@ public class DeltaTest {
         }
     }
 
+    @Test(groups="1s", timeOut=60000)
+    public void testFillRemVals() throws ContradictionException {
+        Model model = new Model();
+        IntVar[] xs = {
+                model.intVar("e", 0, 9, false),
+                model.intVar("b", 0, 9, true),
+                model.boolVar("o"),
+                model.intView(-2, model.intVar("v", 0, 9, false), 3)
+        };
+        Propagator<?> cause = new PropTestDM2(xs[0], xs[1]);
+        for (IntVar x : xs) {
+            IIntDeltaMonitor m1 = x.monitorDelta(cause);
+            IIntDeltaMonitor m2 = x.monitorDelta(cause);
+            m1.startMonitoring();
+            m2.startMonitoring();
+            int lb = x.getLB();
+            x.updateLowerBound(lb + 1, Null);
+            if (x.getDomainSize() > 3) {
+                x.removeValue(x.nextValue(x.getLB()), cause);
+                x.updateUpperBound(x.previousValue(x.getUB()), Null);
+            }
+            TIntArrayList expected = new TIntArrayList();
+            m1.forEachRemVal((SafeIntProcedure) expected::add);
+            TIntArrayList values = new TIntArrayList();
+            values.add(-1);
+            m2.fillRemVals(values);
+            Assert.assertEquals(values.removeAt(0), -1);
+            Assert.assertEquals(values, expected, x.getName());
+            Assert.assertTrue(values.contains(lb), x.getName());
+        }
+    }
+
     private static class PropTestDM1 extends Propagator<IntVar> {
         IntVar i, j;
         IIntDeltaMonitor iD;
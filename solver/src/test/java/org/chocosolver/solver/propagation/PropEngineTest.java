@@ -9,18 +9,27 @@
  */
 package org.chocosolver.solver.propagation;
 
+import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.ProblemMaker;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.chocosolver.solver.constraints.PropagatorPriority.BINARY;
+import static org.chocosolver.solver.constraints.PropagatorPriority.QUADRATIC;
 import static org.chocosolver.solver.constraints.PropagatorPriority.UNARY;
 import static org.chocosolver.solver.search.strategy.Search.minDomLBSearch;
 import static org.chocosolver.solver.search.strategy.Search.randomSearch;
@@ -192,4 +201,209 @@ public class PropEngineTest {
         solver.getEngine().clear();
         solver.reset(); // error (null)
     }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testAdaptivePriority() {
+        long[] counts = new long[2];
+        long[] deferrals = new long[2];
+        for (int k = 0; k < 2; k++) {
+            Model model = makeNQueenWithBinaryConstraints(8);
+            model.getSettings().setAdaptivePropagatorPriority(k == 1);
+            IntVar[] vars = model.retrieveIntVars(true);
+            model.allDifferent(vars, "AC").post();
+            // an expensive propagator which never filters
+            new Constraint("Idle", new Propagator<IntVar>(vars, QUADRATIC, false) {
+                int sink;
+
+                @Override
+                public void propagate(int evtmask) {
+                    for (int r = 0; r < 200; r++) {
+                        for (IntVar v : vars) {
+                            for (int i = v.getLB(); i <= v.getUB(); i = v.nextValue(i)) {
+                                sink += i;
+                            }
+                        }
+                    }
+                }
+
+                @Override
+                public ESat isEntailed() {
+                    return TRUE;
+                }
+            }).post();
+            Solver solver = model.getSolver();
+            solver.setEngine(new PropagationEngine(model));
+            solver.setSearch(minDomLBSearch(vars));
+            counts[k] = solver.streamSolutions().count();
+            deferrals[k] = solver.getEngine().getNbDeferrals();
+        }
+        assertEquals(counts[0], 92);
+        assertEquals(counts[1], 92);
+        assertEquals(deferrals[0], 0);
+        Assert.assertTrue(deferrals[1] > 0);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testAdaptivePriorityCount() {
+        for (int seed = 0; seed < 5; seed++) {
+            long[] counts = new long[2];
+            for (int k = 0; k < 2; k++) {
+                Model model = ProblemMaker.makeGolombRuler(6);
+                model.getSettings().setAdaptivePropagatorPriority(k == 1);
+                Solver solver = model.getSolver();
+                solver.setEngine(new PropagationEngine(model));
+                solver.setSearch(randomSearch(model.retrieveIntVars(true), seed));
+                counts[k] = solver.streamSolutions().count();
+            }
+            assertEquals(counts[1], counts[0]);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testDynamicAdditionAndDeletion() throws ContradictionException {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 10, 0, 9);
+        for (int i = 0; i < 9; i++) {
+            model.arithm(xs[i], "!=", xs[i + 1]).post();
+        }
+        Solver solver = model.getSolver();
+        solver.propagate();
+        int n0 = solver.getEngine().propagators.size();
+        Random rnd = new Random(0);
+        List<Constraint> cstrs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Constraint c = model.arithm(xs[rnd.nextInt(10)], "<=", 5 + rnd.nextInt(5));
+            c.post();
+            cstrs.add(c);
+        }
+        Collections.shuffle(cstrs, rnd);
+        for (int i = 0; i < cstrs.size(); i++) {
+            if (i % 3 == 0) {
+                model.unpost(cstrs.get(i));
+            } else {
+                solver.getEngine().propagateOnBacktrack(cstrs.get(i).getPropagator(0));
+            }
+        }
+        // positions are consistent
+        List<Propagator<?>> props = solver.getEngine().propagators;
+        for (int i = 0; i < props.size(); i++) {
+            assertEquals(props.get(i).getPosition(), i);
+        }
+        assertEquals(props.size(), n0 + 1000 - 334);
+        Assert.assertTrue(solver.solve());
+        for (Constraint c : model.getCstrs()) {
+            assertEquals(c.isSatisfied(), TRUE);
+        }
+    }
+
+    @Test(groups="10s", timeOut=120000)
+    public void testDynamicAdditionAndDeletionLarge() throws ContradictionException {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 100, 0, 1_000_000);
+        Solver solver = model.getSolver();
+        solver.propagate();
+        int n = 1_000_000;
+        Constraint[] cstrs = new Constraint[n];
+        // with O(n) additions and deletions, this would not end before the time out
+        for (int i = 0; i < n; i++) {
+            cstrs[i] = model.arithm(xs[i % 100], ">=", i / 100);
+            cstrs[i].post();
+        }
+        Random rnd = new Random(0);
+        for (int i = n - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            Constraint c = cstrs[i];
+            cstrs[i] = cstrs[j];
+            cstrs[j] = c;
+        }
+        for (int i = 0; i < n; i++) {
+            if ((i & 1) == 0) {
+                model.unpost(cstrs[i]);
+            } else {
+                solver.getEngine().propagateOnBacktrack(cstrs[i].getPropagator(0));
+            }
+        }
+        List<Propagator<?>> props = solver.getEngine().propagators;
+        assertEquals(props.size(), n / 2);
+        for (int i = 0; i < props.size(); i++) {
+            assertEquals(props.get(i).getPosition(), i);
+        }
+        solver.propagate();
+        Assert.assertTrue(xs[0].getLB() > 0);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testNonIdempotent() throws ContradictionException {
+        for (boolean idempotent : new boolean[]{true, false}) {
+            Model model = new Model();
+            IntVar x = model.intVar("x", 0, 10);
+            IntVar y = model.intVar("y", 0, 3);
+            // x <= y, one value at a time
+            new Constraint("Step", new Propagator<IntVar>(new IntVar[]{x, y}, BINARY, false) {
+                @Override
+                public void propagate(int evtmask) throws ContradictionException {
+                    if (x.getUB() > y.getUB()) {
+                        x.updateUpperBound(x.getUB() - 1, this);
+                    }
+                }
+
+                @Override
+                public boolean isIdempotent() {
+                    return idempotent;
+                }
+
+                @Override
+                public ESat isEntailed() {
+                    return ESat.UNDEFINED;
+                }
+            }).post();
+            model.getSolver().propagate();
+            assertEquals(x.getUB(), idempotent ? 9 : 3);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testWatches() throws ContradictionException {
+        Model model = new Model();
+        BoolVar b = model.boolVar("b");
+        IntVar x = model.intVar("x", 0, 10);
+        int[] calls = new int[1];
+        // b => x >= 5, x is not watched anymore once b is false
+        Propagator<IntVar> prop = new Propagator<IntVar>(new IntVar[]{b, x}, BINARY, false) {
+            @Override
+            public void propagate(int evtmask) throws ContradictionException {
+                calls[0]++;
+                if (b.isInstantiatedTo(1)) {
+                    x.updateLowerBound(5, this);
+                } else if (b.isInstantiatedTo(0)) {
+                    unwatch(1);
+                }
+            }
+
+            @Override
+            public ESat isEntailed() {
+                return ESat.UNDEFINED;
+            }
+        };
+        new Constraint("Watch", prop).post();
+        Solver solver = model.getSolver();
+        solver.propagate();
+        Assert.assertTrue(prop.isWatching(1));
+        model.getEnvironment().worldPush();
+        b.setToFalse(Cause.Null);
+        solver.propagate();
+        Assert.assertFalse(prop.isWatching(1));
+        int before = calls[0];
+        model.getEnvironment().worldPush();
+        x.updateUpperBound(8, Cause.Null);
+        solver.propagate();
+        assertEquals(calls[0], before);
+        model.getEnvironment().worldPop();
+        model.getEnvironment().worldPop();
+        // watches are restored on backtrack
+        Assert.assertTrue(prop.isWatching(1));
+        x.updateUpperBound(8, Cause.Null);
+        solver.propagate();
+        assertEquals(calls[0], before + 1);
+    }
 }
@@ -14,6 +14,7 @@ import org.chocosolver.solver.Settings;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.propagation.PropagationProfiler;
 import org.chocosolver.solver.search.limits.NodeCounter;
 import org.chocosolver.solver.search.loop.lns.neighbors.RandomNeighborhood;
@@ -447,4 +448,56 @@ public class SolverTest {
         long after = VariableUtils.domainCardinality(model.retrieveIntVars(true));
         Assert.assertEquals(after,32);
     }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testParallelPreprocessing() throws ContradictionException {
+        for (int w = 0; w < 3; w++) {
+            for (boolean incremental : new boolean[]{false, true}) {
+                Model model = ProblemMaker.makeNQueenWithBinaryConstraints(4);
+                Model[] copies = new Model[w];
+                for (int c = 0; c < w; c++) {
+                    copies[c] = ProblemMaker.makeNQueenWithBinaryConstraints(4);
+                }
+                Solver solver = model.getSolver();
+                solver.propagate();
+                solver.preprocessing(2000, incremental, copies);
+                // rounds are run to a fix point, which is stronger than a single pass
+                Assert.assertEquals(VariableUtils.domainCardinality(model.retrieveIntVars(true)), 16);
+                for (Model copy : copies) {
+                    Assert.assertEquals(VariableUtils.domainCardinality(copy.retrieveIntVars(true)), 16);
+                }
+                Assert.assertEquals(solver.streamSolutions().count(), 2);
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = SolverException.class)
+    public void testParallelPreprocessingFails() throws ContradictionException {
+        Model[] models = new Model[2];
+        for (int m = 0; m < models.length; m++) {
+            models[m] = new Model();
+            IntVar[] x = models[m].intVarArray("x", 3, 0, 1);
+            models[m].arithm(x[0], "!=", x[1]).post();
+            models[m].arithm(x[1], "!=", x[2]).post();
+            models[m].arithm(x[0], "!=", x[2]).post();
+        }
+        models[0].getSolver().propagate();
+        models[0].getSolver().preprocessing(2000, true, models[1]);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = SolverException.class)
+    public void testParallelPreprocessingMismatch() throws ContradictionException {
+        Model model = ProblemMaker.makeNQueenWithBinaryConstraints(4);
+        model.getSolver().propagate();
+        model.getSolver().preprocessing(2000, false, ProblemMaker.makeNQueenWithBinaryConstraints(5));
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testPreprocessingSettings() {
+        Model model = ProblemMaker.makeNQueenWithBinaryConstraints(8);
+        model.getSettings()
+                .setTimeLimitForPreprocessing(2000)
+                .setIncrementalPreprocessing(true);
+        Assert.assertEquals(model.getSolver().streamSolutions().count(), 92);
+    }
 }
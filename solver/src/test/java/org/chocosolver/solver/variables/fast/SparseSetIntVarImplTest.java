@@ -0,0 +1,289 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.fast;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Settings;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
+import org.chocosolver.solver.variables.impl.BitsetIntVarImpl;
+import org.chocosolver.solver.variables.impl.IntervalIntVarImpl;
+import org.chocosolver.solver.variables.impl.SparseSetIntVarImpl;
+import org.chocosolver.util.iterators.DisposableRangeIterator;
+import org.chocosolver.util.iterators.DisposableValueIterator;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+import org.chocosolver.util.procedure.SafeIntProcedure;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class SparseSetIntVarImplTest {
+
+    SparseSetIntVarImpl var;
+
+    public void setUp() {
+        var = new SparseSetIntVarImpl("test", new int[]{-5, 0, 3, 4, 5}, new Model());
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = ContradictionException.class)
+    public void testUpdateInfeasBounds() throws Exception {
+        setUp();
+        var.updateBounds(1, -1, Cause.Null);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRemoveValue() throws Exception {
+        setUp();
+        Assert.assertFalse(var.removeValue(7, Cause.Null));
+        Assert.assertFalse(var.removeValue(1, Cause.Null));
+        Assert.assertTrue(var.removeValue(4, Cause.Null));
+        Assert.assertFalse(var.contains(4));
+        Assert.assertTrue(var.contains(3));
+        Assert.assertTrue(var.contains(5));
+        Assert.assertEquals(var.getDomainSize(), 4);
+        Assert.assertEquals(var.toString(), "test = {-5,0,3,5}");
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRemoveInterval() throws Exception {
+        setUp();
+        Assert.assertFalse(var.removeInterval(7, 8, Cause.Null));
+        Assert.assertFalse(var.removeInterval(1, 2, Cause.Null));
+        Assert.assertTrue(var.removeInterval(0, 3, Cause.Null));
+        Assert.assertFalse(var.contains(0));
+        Assert.assertFalse(var.contains(3));
+        Assert.assertEquals(var.getDomainSize(), 3);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testBounds() throws Exception {
+        setUp();
+        Assert.assertFalse(var.updateLowerBound(-6, Cause.Null));
+        Assert.assertTrue(var.updateLowerBound(-3, Cause.Null));
+        Assert.assertEquals(var.getLB(), 0);
+        Assert.assertTrue(var.updateUpperBound(2, Cause.Null));
+        Assert.assertTrue(var.isInstantiatedTo(0));
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNextPrevious() {
+        setUp();
+        Assert.assertEquals(var.nextValue(-6), -5);
+        Assert.assertEquals(var.nextValue(-5), 0);
+        Assert.assertEquals(var.nextValue(1), 3);
+        Assert.assertEquals(var.nextValue(5), Integer.MAX_VALUE);
+        Assert.assertEquals(var.previousValue(6), 5);
+        Assert.assertEquals(var.previousValue(3), 0);
+        Assert.assertEquals(var.previousValue(-5), Integer.MIN_VALUE);
+        Assert.assertEquals(var.nextValueOut(2), 6);
+        Assert.assertEquals(var.nextValueOut(-6), -4);
+        Assert.assertEquals(var.previousValueOut(5), 2);
+        Assert.assertEquals(var.previousValueOut(0), -1);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testIterators() {
+        setUp();
+        DisposableValueIterator vit = var.getValueIterator(true);
+        for (int v : new int[]{-5, 0, 3, 4, 5}) {
+            Assert.assertTrue(vit.hasNext());
+            Assert.assertEquals(vit.next(), v);
+        }
+        Assert.assertFalse(vit.hasNext());
+        vit.dispose();
+        DisposableRangeIterator rit = var.getRangeIterator(false);
+        for (int[] r : new int[][]{{3, 5}, {0, 0}, {-5, -5}}) {
+            Assert.assertTrue(rit.hasPrevious());
+            Assert.assertEquals(rit.min(), r[0]);
+            Assert.assertEquals(rit.max(), r[1]);
+            rit.previous();
+        }
+        Assert.assertFalse(rit.hasPrevious());
+        rit.dispose();
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDelta() throws ContradictionException {
+        Model model = new Model();
+        SparseSetIntVarImpl x = new SparseSetIntVarImpl("x", 0, 1_000, model);
+        IIntDeltaMonitor monitor = x.monitorDelta(Cause.Null);
+        monitor.startMonitoring();
+        x.removeInterval(10, 12, Cause.Null);
+        x.updateLowerBound(9, Cause.Null);
+        int[] sum = new int[1];
+        monitor.forEachRemVal((SafeIntProcedure) v -> sum[0] += v);
+        Assert.assertEquals(sum[0], 10 + 11 + 12 + 1 + 2 + 3 + 4 + 5 + 6 + 7 + 8);
+        Assert.assertEquals(x.getLB(), 9);
+        Assert.assertEquals(x.nextValue(9), 13);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testAgainstBitset() throws ContradictionException {
+        for (int seed = 0; seed < 50; seed++) {
+            Random rnd = new Random(seed);
+            Model model = new Model();
+            IEnvironment env = model.getEnvironment();
+            int[] values = IntStream.range(-20, 60).filter(i -> rnd.nextInt(4) > 0).toArray();
+            BitsetIntVarImpl b = new BitsetIntVarImpl("b", values, model);
+            SparseSetIntVarImpl r = new SparseSetIntVarImpl("r", values, model);
+            int depth = 0;
+            for (int step = 0; step < 300; step++) {
+                int action = rnd.nextInt(12);
+                if (action < 2) {
+                    env.worldPush();
+                    depth++;
+                    continue;
+                } else if (action < 4 && depth > 0) {
+                    env.worldPop();
+                    depth--;
+                    assertSame(r, b);
+                    continue;
+                }
+                int v = rnd.nextInt(90) - 25;
+                int w = v + rnd.nextInt(10);
+                IntIterableRangeSet set = randomSet(rnd);
+                Operation op;
+                switch (action) {
+                    case 4:
+                        op = x -> x.removeValue(v, Cause.Null);
+                        break;
+                    case 5:
+                        op = x -> x.removeInterval(v, w, Cause.Null);
+                        break;
+                    case 6:
+                        op = x -> x.updateLowerBound(v, Cause.Null);
+                        break;
+                    case 7:
+                        op = x -> x.updateUpperBound(w, Cause.Null);
+                        break;
+                    case 8:
+                        op = x -> x.updateBounds(v, w + 20, Cause.Null);
+                        break;
+                    case 9:
+                        op = x -> x.removeValues(set, Cause.Null);
+                        break;
+                    case 10:
+                        set.addBetween(v, w + 30);
+                        op = x -> x.removeAllValuesBut(set, Cause.Null);
+                        break;
+                    default:
+                        op = x -> x.instantiateTo(v, Cause.Null);
+                        break;
+                }
+                int fb = apply(op, b);
+                int fr = apply(op, r);
+                Assert.assertEquals(fr, fb);
+                if (fb < 0) {
+                    if (depth == 0) {
+                        break;
+                    }
+                    env.worldPop();
+                    depth--;
+                }
+                assertSame(r, b);
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testForEachValue() throws ContradictionException {
+        setUp();
+        var.removeValue(3, Cause.Null);
+        int[] sum = new int[1];
+        var.forEachValue(v -> sum[0] += v);
+        Assert.assertEquals(sum[0], -5 + 4 + 5);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFactory() {
+        Model model = new Model(Settings.init().setMaxDomSizeForSparseSet(100));
+        Assert.assertTrue(model.intVar("x", 0, 99, false) instanceof SparseSetIntVarImpl);
+        Assert.assertTrue(model.intVar("x", 0, 100, false) instanceof BitsetIntVarImpl);
+        Assert.assertTrue(model.intVar("x", new int[]{0, 50, 99}) instanceof SparseSetIntVarImpl);
+        Assert.assertTrue(model.intVar("x", 0, 99, true) instanceof IntervalIntVarImpl);
+        Assert.assertTrue(new Model().intVar("x", 0, 99, false) instanceof BitsetIntVarImpl);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSolve() {
+        Assert.assertEquals(queens(64, 8).streamSolutions().count(), 92);
+    }
+
+    @Test(groups = "10s", timeOut = 300000)
+    public void testSameSearchAsBitset() {
+        Solver bitset = queens(0, 10);
+        Solver sparse = queens(64, 10);
+        Assert.assertEquals(bitset.streamSolutions().count(), 724);
+        Assert.assertEquals(sparse.streamSolutions().count(), 724);
+        Assert.assertEquals(sparse.getNodeCount(), bitset.getNodeCount());
+        Assert.assertEquals(sparse.getFailCount(), bitset.getFailCount());
+    }
+
+    private static Solver queens(int maxDomSizeForSparseSet, int n) {
+        Model model = new Model(Settings.init().setMaxDomSizeForSparseSet(maxDomSizeForSparseSet));
+        IntVar[] q = model.intVarArray("q", n, 1, n, false);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                model.arithm(q[i], "!=", q[j], "+", j - i).post();
+                model.arithm(q[i], "!=", q[j], "-", j - i).post();
+            }
+        }
+        model.allDifferent(q, "AC").post();
+        return model.getSolver();
+    }
+
+    private interface Operation {
+        boolean apply(IntVar x) throws ContradictionException;
+    }
+
+    /**
+     * @return -1 on failure, 1 on modification, 0 otherwise
+     */
+    private static int apply(Operation op, IntVar x) {
+        try {
+            return op.apply(x) ? 1 : 0;
+        } catch (ContradictionException cex) {
+            return -1;
+        }
+    }
+
+    private static IntIterableRangeSet randomSet(Random rnd) {
+        IntIterableRangeSet set = new IntIterableRangeSet();
+        for (int i = 0; i < 5; i++) {
+            int v = rnd.nextInt(90) - 25;
+            set.addBetween(v, v + rnd.nextInt(5));
+        }
+        return set;
+    }
+
+    private static void assertSame(IntVar r, IntVar b) {
+        Assert.assertEquals(r.toString().substring(1), b.toString().substring(1));
+        Assert.assertEquals(r.getDomainSize(), b.getDomainSize());
+        Assert.assertEquals(r.getLB(), b.getLB());
+        Assert.assertEquals(r.getUB(), b.getUB());
+        for (int v = -30; v < 70; v++) {
+            Assert.assertEquals(r.contains(v), b.contains(v), "" + v);
+            Assert.assertEquals(r.nextValue(v), b.nextValue(v), "" + v);
+            Assert.assertEquals(r.previousValue(v), b.previousValue(v), "" + v);
+            Assert.assertEquals(r.nextValueOut(v), b.nextValueOut(v), "" + v);
+            Assert.assertEquals(r.previousValueOut(v), b.previousValueOut(v), "" + v);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2024, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.util.objects.queues;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * @author Charles Prud'homme
+ * @since 4.10.18
+ */
+public class SpscQueueTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNominal() {
+        SpscQueue<Integer> queue = new SpscQueue<>(3);
+        assertEquals(queue.capacity(), 4);
+        assertNull(queue.poll());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+        assertEquals(queue.size(), 4);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(queue.poll(), Integer.valueOf(i));
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.offer(5));
+        assertEquals(queue.poll(), Integer.valueOf(5));
+        assertEquals(queue.size(), 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = IllegalArgumentException.class)
+    public void testWrongCapacity() {
+        new SpscQueue<Integer>(0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testTwoThreads() throws InterruptedException {
+        int n = 10_000;
+        SpscQueue<Integer> queue = new SpscQueue<>(8);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < n; i++) {
+                while (!queue.offer(i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+        for (int i = 0; i < n; i++) {
+            Integer e;
+            while ((e = queue.poll()) == null) {
+                Thread.yield();
+            }
+            assertEquals(e.intValue(), i);
+        }
+        producer.join();
+        assertNull(queue.poll());
+    }
+}